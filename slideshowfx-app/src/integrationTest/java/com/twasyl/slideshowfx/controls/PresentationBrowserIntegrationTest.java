@@ -0,0 +1,183 @@
+package com.twasyl.slideshowfx.controls;
+
+import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
+import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
+import com.twasyl.slideshowfx.engine.template.configuration.SlideTemplate;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+
+/**
+ * Class testing that the {@link PresentationBrowser} modifies the slides of the displayed page without reloading it
+ * when the template allows it, and falls back to a reload otherwise.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+@DisplayName("The PresentationBrowser")
+@ExtendWith(ApplicationExtension.class)
+public class PresentationBrowserIntegrationTest {
+
+    private PresentationBrowser browser;
+
+    @Start
+    void onStart(final Stage stage) {
+        this.browser = new PresentationBrowser();
+        this.browser.setSpinnerAllowed(false);
+
+        stage.setScene(new Scene(this.browser, 800, 600));
+        stage.show();
+    }
+
+    /**
+     * Get a template bundled with SlideshowFX. Tests can either be executed from the root of the project or from the
+     * directory of this module.
+     *
+     * @param name The name of the template archive.
+     * @return The template archive.
+     */
+    private static File template(final String name) {
+        final File fromRoot = new File("examples/templates", name);
+        return fromRoot.exists() ? fromRoot : new File("../examples/templates", name);
+    }
+
+    private static PresentationEngine createPresentation(final String templateName, final int numberOfSlides) throws Exception {
+        final PresentationEngine presentation = new PresentationEngine();
+        presentation.createFromTemplate(template(templateName));
+
+        for (int index = 0; index < numberOfSlides; index++) {
+            presentation.addSlide(slideTemplate(presentation), null);
+        }
+
+        return presentation;
+    }
+
+    private static SlideTemplate slideTemplate(final PresentationEngine presentation) {
+        return presentation.getTemplateConfiguration().getSlideTemplates().get(0);
+    }
+
+    private void load(final PresentationEngine presentation) throws Exception {
+        final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        asyncFx(() -> this.browser.loadPresentationAndDo(presentation, () -> loaded.complete(null)));
+        loaded.get(30, SECONDS);
+    }
+
+    private <T> T onFxThread(final Callable<T> callable) throws Exception {
+        return asyncFx(callable).get(10, SECONDS);
+    }
+
+    private Object executeScript(final String script) throws Exception {
+        return this.onFxThread(() -> this.browser.getInternalBrowser().getEngine().executeScript(script));
+    }
+
+    private String nextSlideIdOf(final Slide slide) throws Exception {
+        return (String) this.executeScript(String.format(
+                "var next = document.getElementById('%1$s').nextElementSibling; next == null ? null : next.id;", slide.getId()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"dark-template.sfxt", "devoxxfr-template.sfxt", "devoxxfr-1280x720-template.sfxt",
+            "mix-it-template.sfxt", "revealjs-template.sfxt", "shower-template.sfxt"})
+    @DisplayName("inserts a slide without reloading with bundled templates")
+    void insertSlideWithBundledTemplates(final String templateName) throws Exception {
+        final PresentationEngine presentation = createPresentation(templateName, 2);
+        this.load(presentation);
+        this.executeScript("window.notReloaded = true;");
+
+        final Slide first = presentation.getConfiguration().getSlides().get(0);
+        final Slide inserted = presentation.addSlide(slideTemplate(presentation), first.getSlideNumber());
+        final String insertedHtml = presentation.getConfiguration().getSlideHtml(inserted);
+
+        assertTrue(this.onFxThread(() -> this.browser.insertSlide(insertedHtml, first.getId())));
+        assertEquals(inserted.getId(), this.nextSlideIdOf(first));
+        assertEquals(Boolean.TRUE, this.executeScript("window.notReloaded === true;"));
+    }
+
+    @Test
+    @DisplayName("removes a slide without reloading")
+    void removeSlide() throws Exception {
+        final PresentationEngine presentation = createPresentation("revealjs-template.sfxt", 2);
+        this.load(presentation);
+
+        final Slide second = presentation.getConfiguration().getSlides().get(1);
+
+        assertTrue(this.onFxThread(() -> this.browser.removeSlide(second.getId())));
+        assertEquals(Boolean.TRUE, this.executeScript(String.format("document.getElementById('%1$s') == null;", second.getId())));
+    }
+
+    @Test
+    @DisplayName("moves a slide without reloading")
+    void moveSlide() throws Exception {
+        final PresentationEngine presentation = createPresentation("revealjs-template.sfxt", 3);
+        this.load(presentation);
+
+        final Slide first = presentation.getConfiguration().getSlides().get(0);
+        final Slide second = presentation.getConfiguration().getSlides().get(1);
+        final Slide third = presentation.getConfiguration().getSlides().get(2);
+
+        assertTrue(this.onFxThread(() -> this.browser.moveSlide(third.getId(), first.getId())));
+        assertEquals(first.getId(), this.nextSlideIdOf(third));
+
+        assertTrue(this.onFxThread(() -> this.browser.moveSlide(third.getId(), null)));
+        assertEquals(third.getId(), this.nextSlideIdOf(second));
+        assertNull(this.nextSlideIdOf(third));
+    }
+
+    @Test
+    @DisplayName("adds a script resource without reloading")
+    void addResource() throws Exception {
+        final PresentationEngine presentation = createPresentation("revealjs-template.sfxt", 1);
+        this.load(presentation);
+
+        assertTrue(this.onFxThread(() -> this.browser.addResource("<script type=\"text/javascript\">window.resourceAdded = true;</script>")));
+        assertEquals(Boolean.TRUE, this.executeScript("window.resourceAdded === true;"));
+    }
+
+    @Test
+    @DisplayName("requires a reload when no presentation is loaded")
+    void noPatchWithoutPresentation() throws Exception {
+        assertFalse(this.onFxThread(() -> this.browser.canPatchSlides()));
+        assertFalse(this.onFxThread(() -> this.browser.removeSlide("slide-1")));
+        assertFalse(this.onFxThread(() -> this.browser.addResource("<script></script>")));
+    }
+
+    @Test
+    @DisplayName("requires a reload when the template doesn't define the slides changed method")
+    void noPatchWithoutSlidesChangedMethod() throws Exception {
+        final PresentationEngine presentation = createPresentation("revealjs-template.sfxt", 2);
+        this.load(presentation);
+        this.executeScript("window.slideshowFXSlidesChanged = undefined;");
+
+        final Slide second = presentation.getConfiguration().getSlides().get(1);
+
+        assertFalse(this.onFxThread(() -> this.browser.canPatchSlides()));
+        assertFalse(this.onFxThread(() -> this.browser.removeSlide(second.getId())));
+        assertEquals(Boolean.FALSE, this.executeScript(String.format("document.getElementById('%1$s') == null;", second.getId())));
+    }
+
+    @Test
+    @DisplayName("requires a reload when the slides changed method fails")
+    void noPatchWhenSlidesChangedMethodFails() throws Exception {
+        final PresentationEngine presentation = createPresentation("revealjs-template.sfxt", 2);
+        this.load(presentation);
+        this.executeScript("window.slideshowFXSlidesChanged = function() { throw 'Can not refresh the slides'; };");
+
+        final Slide second = presentation.getConfiguration().getSlides().get(1);
+
+        assertFalse(this.onFxThread(() -> this.browser.removeSlide(second.getId())));
+    }
+}
@@ -34,7 +34,7 @@ import java.util.logging.Logger;
  * JavaFX application class to launch SlideshowFX.
  *
  * @author Thierry Wasylczenko
- * @version 1.1
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class SlideshowFX extends Application {
@@ -65,7 +65,10 @@ public class SlideshowFX extends Application {
 
         prepareLoggingConfiguration();
 
+        // Plugins are started in the background. Only the hosting connectors are needed by the main screen, the other
+        // plugins are waited for when they are first used
         PluginManager.getInstance().start();
+        PluginManager.getInstance().whenStarted(IHostingConnector.class).join();
 
         resolveFilesToOpenAtStartup();
     }
@@ -223,6 +226,7 @@ public class SlideshowFX extends Application {
         }
 
         stopPluginManager();
+        GlobalConfiguration.flush();
     }
 
     /**
@@ -1,29 +1,40 @@
 package com.twasyl.slideshowfx.concurrent;
 
 import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
+import com.twasyl.slideshowfx.engine.presentation.configuration.PresentationConfiguration;
 import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.global.configuration.RecentPresentation;
+import com.twasyl.slideshowfx.plugin.manager.PluginManager;
+import com.twasyl.slideshowfx.snippet.executor.ISnippetExecutor;
 import com.twasyl.slideshowfx.utils.concurrent.SlideshowFXTask;
 import javafx.beans.property.SimpleStringProperty;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * This tasks loads a SlideshowFX presentation. It takes a {@link PresentationEngine}
  * that will host the loaded template.
  * In order to load a presentation, the {@link File} corresponding to the presentation to load must be passed
  * to each instance of this task.
+ * Once loaded, the snippet executors of the code snippets contained in the presentation are
+ * {@link ISnippetExecutor#prepare() prepared}, so that the first execution during the presentation is faster.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class LoadPresentationTask extends SlideshowFXTask<PresentationEngine> {
     private static final Logger LOGGER = Logger.getLogger(LoadPresentationTask.class.getName());
+    private static final Pattern SNIPPET_EXECUTOR_CODE = Pattern.compile("executeCodeSnippet\\('([A-Z0-9_]+)'");
+
     private File dataFile;
 
     public LoadPresentationTask(File dataFile) {
@@ -40,12 +51,41 @@ public class LoadPresentationTask extends SlideshowFXTask<PresentationEngine> {
         engine.loadArchive(this.dataFile);
         engine.setModifiedSinceLatestSave(false);
 
+        this.prepareSnippetExecutors(engine.getConfiguration());
+
         final RecentPresentation presentation = new RecentPresentation(this.dataFile.getAbsolutePath(), LocalDateTime.now());
         GlobalConfiguration.saveRecentPresentation(presentation);
 
         return engine;
     }
 
+    /**
+     * Prepare the snippet executors used by the code snippets of the given presentation.
+     *
+     * @param configuration The configuration of the loaded presentation.
+     */
+    private void prepareSnippetExecutors(final PresentationConfiguration configuration) {
+        final Set<String> codes = new HashSet<>();
+
+        configuration.getSlides().forEach(slide -> {
+            final String html = configuration.getSlideHtml(slide);
+
+            if (html != null) {
+                final Matcher matcher = SNIPPET_EXECUTOR_CODE.matcher(html);
+                while (matcher.find()) {
+                    codes.add(matcher.group(1));
+                }
+            }
+        });
+
+        if (!codes.isEmpty()) {
+            PluginManager.getInstance().getServices(ISnippetExecutor.class)
+                    .stream()
+                    .filter(executor -> codes.contains(executor.getCode()))
+                    .forEach(ISnippetExecutor::prepare);
+        }
+    }
+
     @Override
     protected void scheduled() {
         super.scheduled();
@@ -1,39 +1,41 @@
 package com.twasyl.slideshowfx.controllers;
 
+import com.twasyl.slideshowfx.logs.LogEntry;
 import com.twasyl.slideshowfx.logs.SlideshowFXHandler;
 import com.twasyl.slideshowfx.ui.controls.ZoomTextArea;
-import javafx.beans.property.adapter.ReadOnlyJavaBeanStringProperty;
-import javafx.beans.property.adapter.ReadOnlyJavaBeanStringPropertyBuilder;
-import javafx.beans.value.ChangeListener;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.Parent;
 import javafx.scene.layout.BorderPane;
 
+import java.beans.PropertyChangeListener;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.logging.Handler;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Controller class for the {@code Logs.fxml} file.
+ * Controller class for the {@code Logs.fxml} file. The logs area displays at most as many logs as the
+ * {@link SlideshowFXHandler#getCapacity() handler keeps}: the oldest ones are removed when new ones are appended.
  *
  * @author Thierry Wasylczenko
- * @version 1.1-SNAPSHOT
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class LogsController implements ThemeAwareController {
     private static final Logger LOGGER = Logger.getLogger(LogsController.class.getName());
 
     private SlideshowFXHandler handler;
-    private ReadOnlyJavaBeanStringProperty latestLog;
-    private ChangeListener<String> latestLogChangeListener = (value, oldLog, newLog) -> {
-        if (newLog != null) {
-            this.logsArea.appendText(System.lineSeparator());
-            this.logsArea.appendText(newLog);
-        }
-    };
+    private long nextSequence = 0;
+    /*
+     * Length of each log displayed in the logs area, from the oldest to the newest.
+     */
+    private final Deque<Integer> displayedLengths = new ArrayDeque<>();
+    private final PropertyChangeListener latestLogChangeListener = event -> Platform.runLater(this::appendNewLogs);
 
     @FXML
     private BorderPane root;
@@ -42,22 +44,45 @@ public class LogsController implements ThemeAwareController {
     private ZoomTextArea logsArea;
 
     private void refreshLogs() {
-        if (handler != null) {
-            this.logsArea.setText(handler.getAllLogs());
-        } else {
-            logsArea.setText("");
-        }
+        this.logsArea.setText("");
+        this.nextSequence = 0;
+        this.displayedLengths.clear();
+        this.appendNewLogs();
     }
 
-    private void setLogHandlerListener() throws NoSuchMethodException {
+    /**
+     * Append the logs received by the handler since the last ones displayed. Must be called on the JavaFX thread.
+     */
+    private void appendNewLogs() {
         if (this.handler != null) {
-            latestLog = ReadOnlyJavaBeanStringPropertyBuilder.create()
-                    .bean(this.handler)
-                    .getter("getLatestLog")
-                    .name("latestLog")
-                    .build();
+            final List<LogEntry> logs = this.handler.getLogsSince(this.nextSequence);
+
+            if (!logs.isEmpty()) {
+                final StringBuilder text = new StringBuilder();
+                logs.forEach(log -> {
+                    text.append(log.getMessage());
+                    this.displayedLengths.addLast(log.getMessage().length());
+                });
+
+                this.logsArea.appendText(text.toString());
+                this.nextSequence = logs.get(logs.size() - 1).getSequence() + 1;
+                this.removeOldestLogs();
+            }
+        }
+    }
 
-            latestLog.addListener(latestLogChangeListener);
+    /**
+     * Remove the oldest logs from the logs area so that it doesn't display more logs than the handler keeps.
+     */
+    private void removeOldestLogs() {
+        int removedLength = 0;
+
+        while (this.displayedLengths.size() > this.handler.getCapacity()) {
+            removedLength += this.displayedLengths.removeFirst();
+        }
+
+        if (removedLength > 0) {
+            this.logsArea.deleteText(0, removedLength);
         }
     }
 
@@ -81,18 +106,16 @@ public class LogsController implements ThemeAwareController {
         this.handler = getHandler();
         this.refreshLogs();
 
-        try {
-            this.setLogHandlerListener();
-        } catch (NoSuchMethodException e) {
-            LOGGER.log(Level.SEVERE, "Can not initialize the logs controller properly");
-        }
+        if (this.handler != null) {
+            this.handler.addPropertyChangeListener(this.latestLogChangeListener);
 
-        this.logsArea.sceneProperty().addListener((sceneValue, oldScene, newScene) ->
-                newScene.windowProperty().addListener((windowValue, oldWindow, newWindow) -> {
-                    if (newWindow != null && latestLog != null && latestLogChangeListener != null) {
-                        newWindow.setOnCloseRequest(event -> latestLog.removeListener(latestLogChangeListener));
-                    }
-                })
-        );
+            this.logsArea.sceneProperty().addListener((sceneValue, oldScene, newScene) ->
+                    newScene.windowProperty().addListener((windowValue, oldWindow, newWindow) -> {
+                        if (newWindow != null) {
+                            newWindow.setOnCloseRequest(event -> this.handler.removePropertyChangeListener(this.latestLogChangeListener));
+                        }
+                    })
+            );
+        }
     }
 }
@@ -8,6 +8,7 @@ import com.twasyl.slideshowfx.controls.PresentationBrowser;
 import com.twasyl.slideshowfx.controls.PresentationVariablesPanel;
 import com.twasyl.slideshowfx.controls.SlideContentEditor;
 import com.twasyl.slideshowfx.controls.outline.PresentationOutline;
+import com.twasyl.slideshowfx.controls.outline.PresentationOutlineEvent;
 import com.twasyl.slideshowfx.dao.TaskDAO;
 import com.twasyl.slideshowfx.engine.Variable;
 import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
@@ -18,6 +19,7 @@ import com.twasyl.slideshowfx.engine.template.configuration.SlideTemplate;
 import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.icons.FontAwesome;
 import com.twasyl.slideshowfx.markup.IMarkup;
+import com.twasyl.slideshowfx.markup.MarkupCache;
 import com.twasyl.slideshowfx.plugin.manager.PluginManager;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
 import com.twasyl.slideshowfx.snippet.executor.ISnippetExecutor;
@@ -30,6 +32,7 @@ import javafx.beans.property.adapter.JavaBeanObjectPropertyBuilder;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -44,6 +47,10 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,12 +64,21 @@ import static java.util.logging.Level.SEVERE;
  * represented by the FXML.
  *
  * @author Thierry Wasyczenko
- * @version 1.5-SNAPSHOT
+ * @version 1.6-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class PresentationViewController implements ThemeAwareController {
     private static final Logger LOGGER = Logger.getLogger(PresentationViewController.class.getName());
 
+    /**
+     * Converts the content of the displayed slide in the background, one slide after the other.
+     */
+    private static final ExecutorService MARKUP_CONVERSION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "converting-markup-contents");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private PresentationEngine presentationEngine;
     private final ReadOnlyStringProperty presentationName = new SimpleStringProperty();
     private final ReadOnlyBooleanProperty presentationModified = new SimpleBooleanProperty(false);
@@ -135,7 +151,9 @@ public class PresentationViewController implements ThemeAwareController {
                     .forEach(slide -> this.presentationEngine.getConfiguration().updateSlideInDocument(slide));
 
             this.presentationEngine.savePresentationFile();
-            this.reloadPresentationBrowser();
+            this.presentationEngine.getConfiguration()
+                    .getSlides()
+                    .forEach(this::defineSlideContentInBrowser);
         }
     }
 
@@ -152,7 +170,13 @@ public class PresentationViewController implements ThemeAwareController {
             slide = this.presentationEngine.addSlide(template, this.getCurrentSlideNumber());
             this.presentationOutline.addPreview(slide.getId());
 
-            TaskDAO.getInstance().startTask(new ReloadPresentationViewAndGoToTask(this, slide.getId()));
+            final Slide previousSlide = this.presentationEngine.getConfiguration().getSlideBefore(slide.getSlideNumber());
+
+            if (this.browser.insertSlide(this.presentationEngine.getConfiguration().getSlideHtml(slide), previousSlide == null ? null : previousSlide.getId())) {
+                this.goToSlide(slide.getId());
+            } else {
+                TaskDAO.getInstance().startTask(new ReloadPresentationViewAndGoToTask(this, slide.getId()));
+            }
         } catch (IOException e) {
             LOGGER.log(SEVERE, "Error when adding a slide", e);
         }
@@ -170,7 +194,9 @@ public class PresentationViewController implements ThemeAwareController {
             final Slide copiedSlide = this.presentationEngine.duplicateSlide(source);
             this.presentationOutline.addPreview(copiedSlide.getId());
 
-            TaskDAO.getInstance().startTask(new ReloadPresentationViewTask(this));
+            if (!this.browser.insertSlide(this.presentationEngine.getConfiguration().getSlideHtml(copiedSlide), source.getId())) {
+                TaskDAO.getInstance().startTask(new ReloadPresentationViewTask(this));
+            }
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Error when copying the slide", e);
         }
@@ -187,12 +213,12 @@ public class PresentationViewController implements ThemeAwareController {
 
             if (answer == ButtonType.YES) {
                 final Slide slideBefore = this.presentationEngine.getConfiguration().getSlideBefore(slideNumberToDelete);
+                final String slideIdToDelete = getCurrentSlideId();
 
                 this.presentationEngine.deleteSlide(slideNumberToDelete);
-                this.presentationOutline.deletePreview(getCurrentSlideId());
+                this.presentationOutline.deletePreview(slideIdToDelete);
 
-                if (slideBefore == null) this.reloadPresentation();
-                else reloadPresentationAndGoToSlide(slideBefore.getId());
+                this.removeSlideFromBrowser(slideIdToDelete, slideBefore);
             }
         }
     }
@@ -214,16 +240,47 @@ public class PresentationViewController implements ThemeAwareController {
                 final String currentSlideId = getCurrentSlideId();
                 if (slideId.equals(currentSlideId)) {
                     final Slide slideBefore = this.presentationEngine.getConfiguration().getSlideBefore(slideToDelete.getSlideNumber());
-
-                    if (slideBefore == null) this.reloadPresentation();
-                    else reloadPresentationAndGoToSlide(slideBefore.getId());
+                    this.removeSlideFromBrowser(slideId, slideBefore);
                 } else {
-                    this.reloadPresentation();
+                    this.removeSlideFromBrowser(slideId, null);
                 }
             }
         }
     }
 
+    /**
+     * Remove the given slide from the browser without reloading the presentation if possible, and go to the given
+     * slide. If the slide can not be removed this way, the presentation is reloaded.
+     *
+     * @param slideId     The ID of the slide to remove.
+     * @param slideToShow The slide to display once the slide is removed, may be {@code null}.
+     */
+    private void removeSlideFromBrowser(final String slideId, final Slide slideToShow) {
+        if (this.browser.removeSlide(slideId)) {
+            if (slideToShow != null) this.goToSlide(slideToShow.getId());
+        } else if (slideToShow == null) {
+            this.reloadPresentation();
+        } else {
+            this.reloadPresentationAndGoToSlide(slideToShow.getId());
+        }
+    }
+
+    /**
+     * Define the content of all elements of the given slide in the browser, without reloading the presentation.
+     *
+     * @param slide The slide which elements' content must be defined.
+     */
+    private void defineSlideContentInBrowser(final Slide slide) {
+        final String elementIdPrefix = slide.getSlideNumber() + "-";
+
+        slide.getElements()
+                .stream()
+                .filter(element -> element.getId().startsWith(elementIdPrefix))
+                .forEach(element -> this.browser.defineContent(slide.getSlideNumber(),
+                        element.getId().substring(elementIdPrefix.length()),
+                        element.getClearedHtmlContent(this.presentationEngine.getConfiguration().getVariables())));
+    }
+
     /**
      * This method updates a slide of the presentation. The <code>markup</code> and the <code>originalContent</code> are
      * deduced from the user interface. If all parameters can be deduced, then {@link #updateSlide(IMarkup, String)} is
@@ -249,7 +306,7 @@ public class PresentationViewController implements ThemeAwareController {
      */
     private void updateSlide(final IMarkup markup, final String originalContent) {
         final String elementId = String.format("%1$s-%2$s", this.slideNumber.getText(), this.fieldName.getText());
-        String htmlContent = markup.convertAsHtml(originalContent);
+        String htmlContent = markup.convertAsHtmlUsingCache(originalContent);
 
         // Update the SlideElement
         final Slide slideToUpdate = this.presentationEngine.getConfiguration().getSlideByNumber(this.slideNumber.getText());
@@ -257,7 +314,7 @@ public class PresentationViewController implements ThemeAwareController {
 
         this.presentationEngine.getConfiguration().updateSlideInDocument(slideToUpdate);
 
-        this.presentationEngine.savePresentationFile();
+        this.presentationEngine.savePresentationFile(slideToUpdate);
 
         // Clear the HTML of any variables
         htmlContent = slideToUpdate.getElement(elementId).getClearedHtmlContent(this.presentationEngine.getConfiguration().getVariables());
@@ -318,25 +375,18 @@ public class PresentationViewController implements ThemeAwareController {
     }
 
     /**
-     * Test if the given {@code contentCode} is supported.
+     * Test if the given {@code contentCode} is supported. The markups displayed in the view are checked, so that the
+     * JavaFX application thread never waits for markup plugins to be started.
      *
      * @param contentCode The code of the {@link IMarkup} to test if it is supported.
      * @return {@code true} if there is a plugin having the given code, {@code false} otherwise.
      */
     private boolean isContentSupported(final String contentCode) {
-        boolean supported = false;
-
-        List<IMarkup> services = PluginManager.getInstance().getServices(IMarkup.class);
-
-        if (services != null) {
-            Optional<IMarkup> iMarkup = services.stream()
-                    .filter(service -> contentCode.equals(service.getCode()))
-                    .findFirst();
-
-            supported = iMarkup.isPresent();
-        }
-
-        return supported;
+        return this.markupContentTypeBox.getChildren()
+                .stream()
+                .filter(child -> child instanceof RadioButton)
+                .map(child -> (IMarkup) child.getUserData())
+                .anyMatch(markup -> markup.getCode().equals(contentCode));
     }
 
     /**
@@ -362,18 +412,21 @@ public class PresentationViewController implements ThemeAwareController {
                 final String decodedString = new String(Base64.getDecoder().decode(base64CodeSnippet), GlobalConfiguration.getDefaultCharset());
                 final CodeSnippet codeSnippetDecoded = CodeSnippet.toObject(decodedString);
                 final ObservableList<String> consoleOutput = snippetExecutor.get().execute(codeSnippetDecoded);
+                final AtomicInteger pushedLines = new AtomicInteger();
+
+                // Push the lines of the execution result not yet pushed to the presentation.
+                final Runnable pushNewLines = () -> run(() -> {
+                    final List<String> lines = new ArrayList<>(consoleOutput);
+
+                    for (int index = pushedLines.get(); index < lines.size(); index++) {
+                        this.browser.updateCodeSnippetConsole(consoleOutputId, lines.get(index));
+                    }
+                    pushedLines.set(lines.size());
+                });
 
-                consoleOutput.addListener((ListChangeListener<String>) change ->
-                        // Push the execution result to the presentation.
-                        run(() -> {
-                            while (change.next()) {
-                                if (change.wasAdded()) {
-                                    change.getAddedSubList()
-                                            .forEach(line -> this.browser.updateCodeSnippetConsole(consoleOutputId, line));
-                                }
-                            }
-                            change.reset();
-                        }));
+                consoleOutput.addListener((ListChangeListener<String>) change -> pushNewLines.run());
+                // Lines may have been added before listening to the console output, like the rejection of the execution
+                pushNewLines.run();
             }
         }
     }
@@ -434,7 +487,9 @@ public class PresentationViewController implements ThemeAwareController {
 
                     contentExtension.getResources()
                             .stream()
-                            .forEach(this.presentationEngine::addCustomResource);
+                            .map(this.presentationEngine::addCustomResource)
+                            .filter(Objects::nonNull)
+                            .forEach(this.browser::addResource);
                 }
             }
         });
@@ -470,8 +525,19 @@ public class PresentationViewController implements ThemeAwareController {
 
     /**
      * Refresh the part of the view that allows to choose a markup syntax to reflect the currently installed plugin.
+     * The view is refreshed once the markup plugins are started, without blocking the caller.
      */
     public void refreshMarkupSyntax() {
+        PluginManager.getInstance().getServicesWhenStarted(IMarkup.class)
+                .thenAccept(markups -> run(() -> this.displayMarkupSyntax(markups)));
+    }
+
+    /**
+     * Display the given markups in the part of the view that allows to choose a markup syntax.
+     *
+     * @param markups The markups to display.
+     */
+    private void displayMarkupSyntax(final List<IMarkup> markups) {
         // Clear already present markups
         final Iterator<Node> it = this.markupContentTypeBox.getChildren().iterator();
         Node child;
@@ -483,16 +549,26 @@ public class PresentationViewController implements ThemeAwareController {
         }
 
         // Creating RadioButtons for each markup bundle installed
-        PluginManager.getInstance().getServices(IMarkup.class)
-                .stream()
+        markups.stream()
                 .sorted((markup1, markup2) -> markup1.getName().compareToIgnoreCase(markup2.getName()))
                 .forEach(this::createRadioButtonForMakup);
     }
 
     /**
-     * Refresh the UI in order to display all content extensions that are installed on the system.
+     * Refresh the UI in order to display all content extensions that are installed on the system. The view is refreshed
+     * once the content extension plugins are started, without blocking the caller.
      */
     public void refreshContentExtensions() {
+        PluginManager.getInstance().getServicesWhenStarted(IContentExtension.class)
+                .thenAccept(extensions -> run(() -> this.displayContentExtensions(extensions)));
+    }
+
+    /**
+     * Display the given content extensions in the UI.
+     *
+     * @param extensions The content extensions to display.
+     */
+    private void displayContentExtensions(final List<IContentExtension> extensions) {
         final Iterator<Node> iterator = this.contentExtensionToolBar.getItems().iterator();
         Node child;
 
@@ -503,8 +579,7 @@ public class PresentationViewController implements ThemeAwareController {
         }
 
         // Creating Buttons for each extension bundle installed
-        PluginManager.getInstance().getServices(IContentExtension.class)
-                .stream()
+        extensions.stream()
                 .sorted(Comparator.comparing(IContentExtension::getCode))
                 .forEach(this::createButtonForContentExtension);
     }
@@ -627,8 +702,12 @@ public class PresentationViewController implements ThemeAwareController {
             final Slide beforeSlide = this.presentationEngine.getConfiguration().getSlideById(event.getTargetSlideId());
             this.presentationEngine.moveSlide(slideToMove, beforeSlide);
 
-            final ReloadPresentationViewTask task = new ReloadPresentationViewTask(this);
-            TaskDAO.getInstance().startTask(task);
+            if (slideToMove.equals(beforeSlide)) return;
+
+            if (!this.browser.moveSlide(slideToMove.getId(), beforeSlide == null ? null : beforeSlide.getId())) {
+                final ReloadPresentationViewTask task = new ReloadPresentationViewTask(this);
+                TaskDAO.getInstance().startTask(task);
+            }
         });
 
         this.presentationOutline.setOnSlideDeletionRequested(event -> this.deleteSlide(event.getSourceSlideId()));
@@ -639,6 +718,7 @@ public class PresentationViewController implements ThemeAwareController {
 
                 if (slideId != null) {
                     this.goToSlide(slideId);
+                    this.convertMarkupContentsInBackground(this.presentationEngine.getConfiguration().getSlideById(slideId));
                 }
             }
         });
@@ -652,6 +732,41 @@ public class PresentationViewController implements ThemeAwareController {
         thread.start();
     }
 
+    /**
+     * Convert the original content of the elements of the given slide as HTML, in the background, so that the
+     * conversions are available in the {@link MarkupCache} when the elements of the displayed slide are edited. Only
+     * the displayed slide is converted, as most elements of a presentation are never edited and other elements are
+     * converted when they are edited. The contents of each markup are converted in a single call, allowing the markup
+     * to convert them concurrently. The contents are collected in the calling thread so that the presentation can be
+     * modified during the conversion.
+     *
+     * @param slide The displayed slide. Nothing is converted if {@code null}.
+     */
+    private void convertMarkupContentsInBackground(final Slide slide) {
+        if (slide == null) return;
+
+        final Map<String, List<String>> contentsByMarkup = new HashMap<>();
+
+        slide.getElements()
+                .stream()
+                .filter(element -> element.getOriginalContentCode() != null && element.getOriginalContent() != null)
+                .forEach(element -> contentsByMarkup.computeIfAbsent(element.getOriginalContentCode(), code -> new ArrayList<>())
+                        .add(element.getOriginalContent()));
+
+        if (contentsByMarkup.isEmpty()) return;
+
+        MARKUP_CONVERSION_EXECUTOR.execute(() -> PluginManager.getInstance().getServices(IMarkup.class)
+                .stream()
+                .filter(markup -> contentsByMarkup.containsKey(markup.getCode()))
+                .forEach(markup -> {
+                    try {
+                        MarkupCache.convertAllAsHtml(markup, contentsByMarkup.get(markup.getCode()));
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Can not convert the content of the presentation using " + markup.getName(), e);
+                    }
+                }));
+    }
+
     /**
      * Defines the presentation for the given view and load it in the browser.
      *
@@ -662,7 +777,21 @@ public class PresentationViewController implements ThemeAwareController {
         if (presentation == null) throw new NullPointerException("The presentation can not be null");
 
         this.presentationEngine = presentation;
+
+        // Large resources are extracted in the background, the elements displaying them are reloaded once they are
+        // extracted so that the current slide is kept
+        final CompletableFuture<Void> resourcesExtraction = presentation.getResourcesExtraction();
+
+        if (!resourcesExtraction.isDone()) {
+            final Consumer<File> extractedResourceListener = file -> run(() ->
+                    this.browser.reloadResource(presentation.relativizeFromWorkingDirectory(file)));
+
+            presentation.addExtractedResourceListener(extractedResourceListener);
+            resourcesExtraction.whenComplete((result, error) -> presentation.removeExtractedResourceListener(extractedResourceListener));
+        }
+
         this.loadPresentationInBrowser();
+        this.convertMarkupContentsInBackground(this.presentationEngine.getConfiguration().getFirstSlide());
 
         try {
             final JavaBeanObjectProperty<File> archiveFile = JavaBeanObjectPropertyBuilder.create()
@@ -734,6 +863,25 @@ public class PresentationViewController implements ThemeAwareController {
         return this.browser.getCurrentSlideId();
     }
 
+    /**
+     * Add a handler notified each time the outline of the presentation stores the thumbnail of a slide. The ID of the
+     * slide is the {@link PresentationOutlineEvent#getSourceSlideId() source} of the event.
+     *
+     * @param handler The handler to add.
+     */
+    public void addThumbnailStoredHandler(final EventHandler<PresentationOutlineEvent> handler) {
+        this.presentationOutline.addEventHandler(PresentationOutlineEvent.THUMBNAIL_STORED, handler);
+    }
+
+    /**
+     * Remove a handler previously added with {@link #addThumbnailStoredHandler(EventHandler)}.
+     *
+     * @param handler The handler to remove.
+     */
+    public void removeThumbnailStoredHandler(final EventHandler<PresentationOutlineEvent> handler) {
+        this.presentationOutline.removeEventHandler(PresentationOutlineEvent.THUMBNAIL_STORED, handler);
+    }
+
     /**
      * Go to a specific slide ID. If the given ID is {@code null} or empty, nothing will be performed.
      *
@@ -780,12 +928,7 @@ public class PresentationViewController implements ThemeAwareController {
         this.browser.setBackend(this);
 
         this.refreshMarkupSyntax();
-
-        // Creating buttons for each content extension bundle installed
-        PluginManager.getInstance().getServices(IContentExtension.class)
-                .stream()
-                .sorted(Comparator.comparing(IContentExtension::getCode))
-                .forEach(this::createButtonForContentExtension);
+        this.refreshContentExtensions();
 
         // Change the mode for the content editor as the selection for markup language changes
         this.markupContentType.selectedToggleProperty().addListener((value, oldToggle, newToggle) -> {
@@ -5,6 +5,7 @@ import com.twasyl.slideshowfx.concurrent.*;
 import com.twasyl.slideshowfx.controls.Tour;
 import com.twasyl.slideshowfx.controls.list.RecentPresentationsView;
 import com.twasyl.slideshowfx.controls.notification.NotificationCenter;
+import com.twasyl.slideshowfx.controls.outline.PresentationOutlineEvent;
 import com.twasyl.slideshowfx.controls.slideshow.Context;
 import com.twasyl.slideshowfx.controls.slideshow.SlideshowStage;
 import com.twasyl.slideshowfx.controls.stages.AboutStage;
@@ -94,7 +95,7 @@ import static javafx.stage.WindowEvent.WINDOW_CLOSE_REQUEST;
  * represented by the FXML.
  *
  * @author Thierry Wasyczenko
- * @version 1.5
+ * @version 1.6-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class SlideshowFXController implements ThemeAwareController {
@@ -359,6 +360,7 @@ public class SlideshowFXController implements ThemeAwareController {
             final PresentationEngine presentation = Presentations.getCurrentDisplayedPresentation();
 
             if (presentation != null) {
+                presentation.flushPresentationFile();
                 final var presentationFile = presentation.getConfiguration().getPresentationFile();
 
                 if (presentationFile != null && presentationFile.exists()) {
@@ -1174,6 +1176,8 @@ public class SlideshowFXController implements ThemeAwareController {
     /**
      * Start the slideshow.
      * If the {@code fromCurrentSlide} parameter is set to {@code true}, the current slide is also determined.
+     * The slideshow starts immediately, even if the outline of the presentation is still rendering the thumbnails of
+     * slides: the information screen displays each thumbnail as soon as it is stored.
      *
      * @param fromCurrentSlide Indicates if the slideshow must be started from the current slide or not.
      */
@@ -1181,7 +1185,7 @@ public class SlideshowFXController implements ThemeAwareController {
         final PresentationViewController view = this.getCurrentPresentationView();
 
         if (view != null) {
-            final PresentationEngine presentation = Presentations.getCurrentDisplayedPresentation();
+            final PresentationEngine presentation = view.getPresentation();
             final String currentSlideId = fromCurrentSlide ? view.getCurrentSlideId() : null;
 
             if (presentation.getConfiguration() != null
@@ -1193,7 +1197,12 @@ public class SlideshowFXController implements ThemeAwareController {
                 context.setPresentation(presentation);
 
                 final var stage = new SlideshowStage(context);
+                final EventHandler<PresentationOutlineEvent> thumbnailStored = event -> stage.thumbnailStored(event.getSourceSlideId());
+                view.addThumbnailStoredHandler(thumbnailStored);
+
                 stage.onClose(() -> {
+                    view.removeThumbnailStoredHandler(thumbnailStored);
+
                     final String slideId = stage.getDisplayedSlideId();
                     view.goToSlide(slideId);
                 });
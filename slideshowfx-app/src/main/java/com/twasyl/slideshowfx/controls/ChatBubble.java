@@ -53,7 +53,7 @@ public class ChatBubble extends VBox {
                                                         .add(JSON_KEY_FIELD_STATUS)
                                                         .add(JSON_KEY_FIELD_ACTION)));
 
-                SlideshowFXServer.getSingleton().callService(request.encode());
+                SlideshowFXServer.getSingleton().callServiceAsync(request.encode());
             }
         });
 
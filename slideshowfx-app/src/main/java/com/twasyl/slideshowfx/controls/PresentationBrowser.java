@@ -33,6 +33,7 @@ import java.util.logging.Logger;
 
 import static com.twasyl.slideshowfx.global.configuration.GlobalConfiguration.getDefaultCharset;
 import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
 import static javafx.print.PageOrientation.LANDSCAPE;
 import static javafx.print.Paper.A4;
 
@@ -43,7 +44,7 @@ import static javafx.print.Paper.A4;
  * browser under the name returned by {@link TemplateConfiguration#getJsObject()} variable stored in the {@link #presentationProperty()}.
  *
  * @author Thierry Wasylczenko
- * @version 1.3-SNAPSHOT
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public final class PresentationBrowser extends StackPane {
@@ -312,6 +313,7 @@ public final class PresentationBrowser extends StackPane {
     public final void loadPresentationAndDo(final PresentationEngine presentation, final Runnable action, final long delay) {
         if (presentation != null) {
             this.presentation.set(presentation);
+            presentation.flushPresentationFile();
 
             final ChangeListener<Worker.State> stateListener = new ChangeListener<Worker.State>() {
                 @Override
@@ -375,6 +377,10 @@ public final class PresentationBrowser extends StackPane {
         };
         loadWorker.stateProperty().addListener(stateListener);
 
+        if (this.getPresentation() != null) {
+            this.getPresentation().flushPresentationFile();
+        }
+
         PlatformHelper.run(() -> this.internalBrowser.getEngine().reload());
 
         return reloadDone;
@@ -442,6 +448,174 @@ public final class PresentationBrowser extends StackPane {
         this.internalBrowser.getEngine().executeScript(jsCommand);
     }
 
+    /**
+     * Indicates if modifications of the slides can be applied to the displayed page without reloading it. This is only
+     * the case when the page is loaded and the template defines the JavaScript method identified by the name returned
+     * by {@link TemplateConfiguration#getSlidesChangedMethod()}, which is called after each modification.
+     *
+     * @return {@code true} if slides can be modified without reloading the page, {@code false} otherwise.
+     */
+    public final boolean canPatchSlides() {
+        if (this.getPresentation() == null
+                || this.getPresentation().getTemplateConfiguration() == null
+                || this.getPresentation().getTemplateConfiguration().getSlidesChangedMethod() == null
+                || this.internalBrowser.getEngine().getLoadWorker().getState() != Worker.State.SUCCEEDED) {
+            return false;
+        }
+
+        final String script = String.format("typeof %1$s === 'function' && typeof slideshowFXInsertSlide === 'function';",
+                this.getPresentation().getTemplateConfiguration().getSlidesChangedMethod());
+
+        try {
+            return Boolean.TRUE.equals(this.internalBrowser.getEngine().executeScript(script));
+        } catch (JSException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Insert a slide in the displayed page without reloading it. The {@code slideHtml} must not be Base64 encoded.
+     *
+     * @param slideHtml       The HTML of the slide to insert.
+     * @param previousSlideId The ID of the slide after which the slide is inserted. If {@code null}, the slide is
+     *                        inserted at the end of the presentation.
+     * @return {@code true} if the slide has been inserted, {@code false} if the page must be reloaded instead.
+     */
+    public final boolean insertSlide(final String slideHtml, final String previousSlideId) {
+        return this.patchSlides(String.format("slideshowFXInsertSlide('%1$s', %2$s, '%3$s');",
+                this.getPresentation().getTemplateConfiguration().getSlidesContainer(),
+                toJavaScriptString(previousSlideId),
+                Base64.getEncoder().encodeToString(slideHtml.getBytes(getDefaultCharset()))));
+    }
+
+    /**
+     * Remove a slide from the displayed page without reloading it.
+     *
+     * @param slideId The ID of the slide to remove.
+     * @return {@code true} if the slide has been removed, {@code false} if the page must be reloaded instead.
+     */
+    public final boolean removeSlide(final String slideId) {
+        return this.patchSlides(String.format("slideshowFXRemoveSlide(%1$s);", toJavaScriptString(slideId)));
+    }
+
+    /**
+     * Move a slide in the displayed page without reloading it.
+     *
+     * @param slideId     The ID of the slide to move.
+     * @param nextSlideId The ID of the slide before which the slide is moved. If {@code null}, the slide is moved at
+     *                    the end of the presentation.
+     * @return {@code true} if the slide has been moved, {@code false} if the page must be reloaded instead.
+     */
+    public final boolean moveSlide(final String slideId, final String nextSlideId) {
+        return this.patchSlides(String.format("slideshowFXMoveSlide('%1$s', %2$s, %3$s);",
+                this.getPresentation().getTemplateConfiguration().getSlidesContainer(),
+                toJavaScriptString(slideId),
+                toJavaScriptString(nextSlideId)));
+    }
+
+    /**
+     * Add a resource, like a script or a stylesheet, to the displayed page without reloading it. The
+     * {@code resourceHtml} must not be Base64 encoded.
+     *
+     * @param resourceHtml The HTML including the resource.
+     * @return {@code true} if the resource has been added, {@code false} if the page must be reloaded instead.
+     */
+    public final boolean addResource(final String resourceHtml) {
+        if (this.getPresentation() == null
+                || this.internalBrowser.getEngine().getLoadWorker().getState() != Worker.State.SUCCEEDED) {
+            return false;
+        }
+
+        try {
+            if (!Boolean.TRUE.equals(this.internalBrowser.getEngine().executeScript("typeof slideshowFXAddResource === 'function';"))) {
+                return false;
+            }
+
+            this.internalBrowser.getEngine().executeScript(String.format("slideshowFXAddResource('%1$s');",
+                    Base64.getEncoder().encodeToString(resourceHtml.getBytes(getDefaultCharset()))));
+            return true;
+        } catch (JSException e) {
+            LOGGER.log(WARNING, "Can not add the resource to the presentation", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reload the elements of the displayed page, like images or videos, which source is the given resource, without
+     * reloading the page. This keeps the current slide and scroll position. If the page is still loading, the elements
+     * are reloaded once it is loaded.
+     *
+     * @param resourcePath The path of the resource, relative to the working directory of the presentation.
+     */
+    public final void reloadResource(final String resourcePath) {
+        if (resourcePath == null || this.getPresentation() == null) return;
+
+        final Worker<Void> loadWorker = this.internalBrowser.getEngine().getLoadWorker();
+
+        if (loadWorker.getState() == Worker.State.SUCCEEDED) {
+            this.reloadResourceElements(resourcePath);
+        } else if (loadWorker.isRunning()) {
+            loadWorker.stateProperty().addListener(new ChangeListener<>() {
+                @Override
+                public void changed(ObservableValue<? extends Worker.State> observable, Worker.State oldValue, Worker.State newValue) {
+                    if (!loadWorker.isRunning()) {
+                        observable.removeListener(this);
+                        if (newValue == Worker.State.SUCCEEDED) reloadResourceElements(resourcePath);
+                    }
+                }
+            });
+        }
+    }
+
+    private void reloadResourceElements(final String resourcePath) {
+        final String script = "(function(path) {" +
+                "var elements = document.querySelectorAll('[src], object[data], video[poster]');" +
+                "for (var index = 0; index < elements.length; index++) {" +
+                "var element = elements[index];" +
+                "['src', 'data', 'poster'].forEach(function(attribute) {" +
+                "var value = element[attribute];" +
+                "if (typeof value !== 'string' || !element.hasAttribute(attribute)) return;" +
+                "var url = value.split(/[?#]/)[0];" +
+                "try { url = decodeURI(url); } catch (e) { }" +
+                "if (url.endsWith('/' + path)) {" +
+                "element.setAttribute(attribute, element.getAttribute(attribute));" +
+                "var media = element.tagName === 'SOURCE' ? element.parentNode : element;" +
+                "if (media && typeof media.load === 'function') media.load();" +
+                "}});" +
+                "}})(" + toJavaScriptString(resourcePath) + ");";
+
+        try {
+            this.internalBrowser.getEngine().executeScript(script);
+        } catch (JSException e) {
+            LOGGER.log(WARNING, "Can not reload the resource " + resourcePath + " in the presentation", e);
+        }
+    }
+
+    /**
+     * Execute the given script modifying the slides of the displayed page and then notify the template that slides
+     * have changed.
+     *
+     * @param script The script modifying the slides.
+     * @return {@code true} if the slides have been modified, {@code false} if the page must be reloaded instead.
+     */
+    private boolean patchSlides(final String script) {
+        if (!this.canPatchSlides()) return false;
+
+        try {
+            this.internalBrowser.getEngine().executeScript(script);
+            this.internalBrowser.getEngine().executeScript(
+                    this.getPresentation().getTemplateConfiguration().getSlidesChangedMethod() + "();");
+            return true;
+        } catch (JSException e) {
+            LOGGER.log(WARNING, "Can not modify the slides of the presentation without reloading it", e);
+            return false;
+        }
+    }
+
+    private static String toJavaScriptString(final String value) {
+        return value == null ? "null" : "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
     /**
      * Updates the output of a console within the presentation. The {@code consoleLine} must not be Base64 encoded.
      * The JavaScript method identified by the name returned by the
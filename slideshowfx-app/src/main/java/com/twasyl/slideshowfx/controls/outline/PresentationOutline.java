@@ -4,6 +4,7 @@ import com.twasyl.slideshowfx.app.SlideshowFX;
 import com.twasyl.slideshowfx.controls.PresentationBrowser;
 import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
 import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
+import com.twasyl.slideshowfx.utils.PlatformHelper;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -11,6 +12,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.control.ListView;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -18,6 +20,13 @@ import javafx.scene.layout.Border;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,9 +36,13 @@ import static java.util.logging.Level.SEVERE;
 
 /*
  * Component holding an outline of a given {@link PresentationEngine}.
+ * Previews are taken at the resolution of the outline and stored using {@link SlideThumbnails}, so only slides that
+ * have been modified since their preview was stored are snapshotted. Only previews of visible slides are kept in
+ * memory. Thumbnails are written in the background and a {@link PresentationOutlineEvent#THUMBNAIL_STORED} event is
+ * fired, on the JavaFX application thread, each time the thumbnail of a slide is stored.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX @@NEXT-VERSION@@
  */
 public class PresentationOutline extends ListView<ImageView> {
@@ -44,6 +57,12 @@ public class PresentationOutline extends ListView<ImageView> {
     private Stage browserStage;
     private final PresentationBrowser browser = new PresentationBrowser();
 
+    private SlideThumbnails thumbnails;
+    private final Deque<String> pendingSnapshots = new ArrayDeque<>();
+    private final Map<ImageView, Set<PreviewCell>> displayedPreviews = new HashMap<>();
+    private boolean browserOutdated = false;
+    private double previewRatio = 16d / 9d;
+
     public PresentationOutline() {
         this.presentation.addListener((value, oldPresentation, newPresentation) -> {
             if (newPresentation != null) {
@@ -143,11 +162,7 @@ public class PresentationOutline extends ListView<ImageView> {
                 this.getItems().add(newPreview);
             }
 
-            defineAndShowBrowserStage();
-            this.browser.reloadAndDo(() -> {
-                this.browser.slide(slideId);
-                this.takeSnapshot(slideId, false, false);
-            }, getSnapshotDelay());
+            this.refreshPreview(addedSlide);
         }
     }
 
@@ -157,11 +172,33 @@ public class PresentationOutline extends ListView<ImageView> {
      * @param slideId The slide ID for which to update the preview.
      */
     public void updatePreview(final String slideId) {
-        defineAndShowBrowserStage();
-        this.browser.reloadAndDo(() -> {
-            this.browser.slide(slideId);
-            this.takeSnapshot(slideId, false, false);
-        }, getSnapshotDelay());
+        final Slide slide = this.presentation.get().getConfiguration().getSlideById(slideId);
+
+        if (slide != null) {
+            this.refreshPreview(slide);
+        }
+    }
+
+    /**
+     * Refresh the preview of the given slide. If a thumbnail of the slide in its current state is stored, it is used,
+     * otherwise a snapshot of the slide is requested.
+     *
+     * @param slide The slide for which to refresh the preview.
+     */
+    private void refreshPreview(final Slide slide) {
+        this.thumbnails.computeHashes(Collections.singletonList(slide));
+
+        final ImageView preview = this.findSlidePreview(slide.getId());
+
+        if (this.thumbnails.hasThumbnail(slide.getId())) {
+            if (preview != null && this.displayedPreviews.containsKey(preview)) {
+                this.showThumbnail(preview, this.thumbnails.load(slide.getId()));
+            } else if (preview != null) {
+                preview.setImage(null);
+            }
+        } else {
+            this.requestSnapshot(slide.getId());
+        }
     }
 
     /**
@@ -178,17 +215,24 @@ public class PresentationOutline extends ListView<ImageView> {
 
         if (view != null) {
             this.getItems().remove(view);
-            this.browser.reload();
+            this.displayedPreviews.remove(view);
+            this.pendingSnapshots.remove(slideId);
+            this.thumbnails.remove(slideId);
+
+            if (this.isLoading()) {
+                this.browserOutdated = true;
+            }
+
             this.fireEvent(new PresentationOutlineEvent(SLIDE_DELETED, slideId, null));
         }
     }
 
     /**
-     * Take a snapshot of the browser. According the value of the {@code recursive} parameter, snapshots of other
-     * slides after the current one are taken.
+     * Take a snapshot of the browser. According the value of the {@code recursive} parameter, snapshots of the other
+     * slides waiting for a preview are taken.
      *
      * @param slideId   The current displayed slide.
-     * @param recursive Indicates if a snapshot of slides after the current slide should be taken.
+     * @param recursive Indicates if snapshots of the other slides waiting for a preview should be taken.
      */
     public void takeSnapshot(String slideId, boolean recursive, boolean javascriptCall) {
         if (!javascriptCall) {
@@ -204,40 +248,28 @@ public class PresentationOutline extends ListView<ImageView> {
                 final ImageView preview = this.findSlidePreview(slideId);
 
                 if (preview != null) {
-                    final Image snapshot = this.browser.snapshot(null, null);
+                    final Image snapshot = this.browser.snapshot(this.createSnapshotParameters(), null);
 
                     if (snapshot != null) {
-                        preview.setImage(snapshot);
-
-                        if (preview.fitHeightProperty().isBound()) {
-                            preview.fitHeightProperty().unbind();
-                        }
+                        this.thumbnails.storeInBackground(slideId, snapshot).thenRun(() ->
+                                PlatformHelper.run(() -> this.fireEvent(new PresentationOutlineEvent(THUMBNAIL_STORED, slideId, null))));
+                        this.fitPreviewHeight(preview, snapshot.getWidth(), snapshot.getHeight());
 
-                        double imageRatio = snapshot.getWidth() / snapshot.getHeight();
-                        preview.fitHeightProperty().bind(preview.fitWidthProperty().divide(imageRatio));
-
-                        if (recursive) {
-                            final Slide slide = this.presentation.get().getConfiguration().getSlideById(slideId);
-                            final Slide after = this.presentation.get().getConfiguration().getSlideAfter(slide.getSlideNumber());
-
-                            if (after != null) {
-                                this.browser.slide(after.getId());
-                                this.takeSnapshot(after.getId(), true, false);
-                            } else {
-                                closeBrowserStage();
-                                this.setLoading(false);
-                            }
-                        } else {
-                            closeBrowserStage();
-                            this.setLoading(false);
+                        // Previews of slides that are not visible are not kept in memory
+                        if (this.displayedPreviews.containsKey(preview)) {
+                            preview.setImage(snapshot);
                         }
                     }
-                } else {
-                    this.setLoading(false);
                 }
             } catch (Exception e) {
-                LOGGER.log(SEVERE, "Can't take snapshot of browser", e);
-                this.setLoading(false);
+                // Only the failed slide is left without preview, the snapshots of the other slides are still taken
+                LOGGER.log(SEVERE, "Can't take snapshot of browser for slide " + slideId, e);
+            }
+
+            if (recursive) {
+                this.snapshotNextSlide();
+            } else {
+                this.stopSnapshots();
             }
         }
     }
@@ -260,29 +292,190 @@ public class PresentationOutline extends ListView<ImageView> {
     }
 
     private void reset() {
+        this.pendingSnapshots.clear();
+        this.displayedPreviews.clear();
         this.getItems().clear();
+        this.thumbnails = null;
     }
 
     /**
-     * Loads all the slides of this presentation and take care of starting the process of cascading snapshots of it.
+     * Loads all the slides of this presentation. Stored thumbnails are used for slides that haven't been modified
+     * and snapshots are taken, one after the other, for the other slides.
      */
     private void loadAllSlides() {
+        if (this.presentation.get() != null) {
+            this.thumbnails = new SlideThumbnails(this.presentation.get());
+        }
+
         if (this.presentation.get() != null && this.presentation.get().getConfiguration().hasSlides()) {
-            defineAndShowBrowserStage();
+            this.thumbnails.computeHashes(this.presentation.get().getConfiguration().getSlides());
+            this.thumbnails.prune();
 
             this.presentation.get().getConfiguration().getSlides().forEach(slide -> {
                 final ImageView preview = this.createPreview(slide.getId());
                 this.getItems().add(preview);
+
+                if (!this.thumbnails.hasThumbnail(slide.getId())) {
+                    this.pendingSnapshots.add(slide.getId());
+                }
             });
 
-            final String firstSlideId = this.presentation.get().getConfiguration().getFirstSlide().getId();
-            this.browser.loadPresentationAndDo(this.presentation.get(), () -> {
-                this.browser.slide(firstSlideId);
-                this.takeSnapshot(firstSlideId, true, false);
-            }, getSnapshotDelay());
+            if (!this.pendingSnapshots.isEmpty()) {
+                this.setLoading(true);
+                this.snapshotNextSlide();
+            }
+        }
+    }
+
+    /**
+     * Request a snapshot of the given slide. If snapshots are already being taken, the snapshot will be taken once the
+     * current ones are done, otherwise it is taken immediately.
+     *
+     * @param slideId The ID of the slide to take a snapshot of.
+     */
+    private void requestSnapshot(final String slideId) {
+        if (!this.pendingSnapshots.contains(slideId)) {
+            this.pendingSnapshots.add(slideId);
+        }
+
+        if (this.isLoading()) {
+            // The presentation has been modified since it has been loaded for taking the current snapshots
+            this.browserOutdated = true;
+        } else {
+            this.setLoading(true);
+            this.snapshotNextSlide();
+        }
+    }
+
+    /**
+     * Take a snapshot of the next slide waiting for one. The presentation is loaded in the browser if it is not yet,
+     * or reloaded if it has been modified.
+     */
+    private void snapshotNextSlide() {
+        final String slideId = this.pendingSnapshots.poll();
+
+        if (slideId == null) {
+            this.stopSnapshots();
+            return;
+        }
+
+        final Runnable snapshot = () -> {
+            this.browser.slide(slideId);
+            this.takeSnapshot(slideId, true, false);
+        };
+
+        if (this.browserStage == null) {
+            this.defineAndShowBrowserStage();
+            this.browserOutdated = false;
+            this.browser.loadPresentationAndDo(this.presentation.get(), snapshot, getSnapshotDelay());
+        } else if (this.browserOutdated) {
+            this.browserOutdated = false;
+            this.browser.reloadAndDo(snapshot, getSnapshotDelay());
+        } else {
+            snapshot.run();
         }
     }
 
+    /**
+     * Stop taking snapshots and close the browser used for taking them.
+     */
+    private void stopSnapshots() {
+        this.pendingSnapshots.clear();
+        this.closeBrowserStage();
+        this.setLoading(false);
+    }
+
+    /**
+     * Create the parameters for taking a snapshot of the browser at the resolution of the thumbnails.
+     *
+     * @return The parameters for taking a snapshot.
+     */
+    private SnapshotParameters createSnapshotParameters() {
+        return SlideThumbnails.createSnapshotParameters(this.browser.getWidth(), SlideThumbnails.THUMBNAIL_WIDTH);
+    }
+
+    /**
+     * Indicates the given preview is displayed by the given cell of the outline. Its image is loaded from the stored
+     * thumbnail if it isn't in memory.
+     *
+     * @param cell    The cell displaying the preview.
+     * @param preview The preview that is displayed.
+     */
+    void previewDisplayed(final PreviewCell cell, final ImageView preview) {
+        this.displayedPreviews.computeIfAbsent(preview, view -> new HashSet<>()).add(cell);
+
+        if (preview.getImage() == null && this.thumbnails != null) {
+            final Image thumbnail = this.thumbnails.load((String) preview.getUserData());
+
+            if (thumbnail != null) {
+                this.showThumbnail(preview, thumbnail);
+            }
+        }
+    }
+
+    /**
+     * Indicates the given preview isn't displayed by the given cell of the outline anymore. Its image is released from
+     * memory once no cell displays it and if the corresponding thumbnail is stored.
+     *
+     * @param cell    The cell that doesn't display the preview anymore.
+     * @param preview The preview that isn't displayed anymore.
+     */
+    void previewHidden(final PreviewCell cell, final ImageView preview) {
+        // Cells may be updated in any order, so a preview is hidden once no cell displays it anymore
+        final Set<PreviewCell> cells = this.displayedPreviews.get(preview);
+
+        if (cells != null) {
+            cells.remove(cell);
+
+            if (!cells.isEmpty()) return;
+
+            this.displayedPreviews.remove(preview);
+        }
+
+        if (this.thumbnails != null && this.thumbnails.hasThumbnail((String) preview.getUserData())) {
+            preview.setImage(null);
+        }
+    }
+
+    /**
+     * Display the given thumbnail in the given preview. The thumbnail may still be loading.
+     *
+     * @param preview   The preview displaying the thumbnail.
+     * @param thumbnail The thumbnail to display.
+     */
+    private void showThumbnail(final ImageView preview, final Image thumbnail) {
+        preview.setImage(thumbnail);
+
+        if (thumbnail.getProgress() >= 1) {
+            this.fitPreviewHeight(preview, thumbnail.getWidth(), thumbnail.getHeight());
+        } else {
+            thumbnail.progressProperty().addListener((value, oldProgress, newProgress) -> {
+                if (newProgress.doubleValue() >= 1 && !thumbnail.isError()) {
+                    this.fitPreviewHeight(preview, thumbnail.getWidth(), thumbnail.getHeight());
+                }
+            });
+        }
+    }
+
+    /**
+     * Bind the height of the preview to its width so its ratio is the one of the thumbnail. The height of the preview
+     * is kept when its image is released from memory.
+     *
+     * @param preview The preview to fit.
+     * @param width   The width of the thumbnail.
+     * @param height  The height of the thumbnail.
+     */
+    private void fitPreviewHeight(final ImageView preview, final double width, final double height) {
+        if (width <= 0 || height <= 0) return;
+
+        if (preview.fitHeightProperty().isBound()) {
+            preview.fitHeightProperty().unbind();
+        }
+
+        this.previewRatio = width / height;
+        preview.fitHeightProperty().bind(preview.fitWidthProperty().divide(this.previewRatio));
+    }
+
     /**
      * The {@link #browserStage} will be created with proper configuration. If the
      * stage isn't {@code null} when calling this method, this method will take care of closing it before recreating it.
@@ -327,6 +520,8 @@ public class PresentationOutline extends ListView<ImageView> {
         preview.setUserData(slideId);
         preview.setPreserveRatio(true);
         preview.fitWidthProperty().bind(this.widthProperty());
+        // Previews without image keep the size of the other previews
+        preview.fitHeightProperty().bind(preview.fitWidthProperty().divide(this.previewRatio));
 
         return preview;
     }
@@ -15,6 +15,7 @@ public class PresentationOutlineEvent extends Event {
     public static final EventType<PresentationOutlineEvent> SLIDE_MOVED = new EventType<>(Event.ANY, "SLIDE_MOVED");
     public static final EventType<PresentationOutlineEvent> SLIDE_DELETED = new EventType<>(Event.ANY, "SLIDE_DELETED");
     public static final EventType<PresentationOutlineEvent> SLIDE_DELETION_REQUESTED = new EventType<>(Event.ANY, "SLIDE_DELETION_REQUESTED");
+    public static final EventType<PresentationOutlineEvent> THUMBNAIL_STORED = new EventType<>(Event.ANY, "THUMBNAIL_STORED");
 
     private String sourceSlideId;
     private String targetSlideId;
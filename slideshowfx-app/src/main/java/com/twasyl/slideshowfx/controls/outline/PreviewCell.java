@@ -24,6 +24,7 @@ public class PreviewCell extends ListCell<ImageView> {
     public PreviewCell() {
         this.initializeDragDropBehaviour();
         this.initializeContextMenu();
+        this.initializeDisplayTracking();
         this.setPadding(new Insets(0, 0, 5, 0));
     }
 
@@ -81,11 +82,50 @@ public class PreviewCell extends ListCell<ImageView> {
         setContextMenu(menu);
     }
 
+    /**
+     * Cells discarded by the list, for instance when it is refreshed or when its cell factory changes, are removed
+     * from the scene graph or from the list without their item being updated. The outline is told that they don't
+     * display their preview anymore.
+     */
+    private void initializeDisplayTracking() {
+        this.parentProperty().addListener((value, oldParent, newParent) -> {
+            final PresentationOutline outline = this.getOutline();
+
+            if (outline != null && this.getItem() != null && !this.isEmpty()) {
+                if (newParent == null) {
+                    outline.previewHidden(this, this.getItem());
+                } else if (oldParent == null) {
+                    outline.previewDisplayed(this, this.getItem());
+                }
+            }
+        });
+
+        this.listViewProperty().addListener((value, oldListView, newListView) -> {
+            if (oldListView instanceof PresentationOutline && this.getItem() != null && !this.isEmpty()) {
+                ((PresentationOutline) oldListView).previewHidden(this, this.getItem());
+            }
+        });
+    }
+
+    private PresentationOutline getOutline() {
+        return this.getListView() instanceof PresentationOutline ? (PresentationOutline) this.getListView() : null;
+    }
+
     @Override
     protected void updateItem(ImageView item, boolean empty) {
+        final ImageView previousItem = this.getItem();
+
         super.updateItem(item, empty);
 
+        final PresentationOutline outline = this.getOutline();
+
+        if (outline != null && previousItem != null && (previousItem != item || empty)) {
+            outline.previewHidden(this, previousItem);
+        }
+
         if (item != null && !empty) {
+            // A cell is only counted once however many times it is updated with the same preview
+            if (outline != null) outline.previewDisplayed(this, item);
             this.setGraphic(item);
         } else {
             this.setGraphic(null);
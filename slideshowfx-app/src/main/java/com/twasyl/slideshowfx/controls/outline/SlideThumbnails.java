@@ -0,0 +1,276 @@
+package com.twasyl.slideshowfx.controls.outline;
+
+import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
+import com.twasyl.slideshowfx.engine.presentation.configuration.PresentationConfiguration;
+import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
+import com.twasyl.slideshowfx.utils.io.IOUtils;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.transform.Transform;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Stores the thumbnails of the slides of a presentation. Thumbnails are saved as PNG files in the
+ * {@link #THUMBNAILS_DIRECTORY} of the presentation's working directory, so they are saved within the presentation's
+ * archive. Each thumbnail is identified by a hash of the HTML of its slide and of the head of the presentation: a
+ * thumbnail only has to be taken again when its slide, or the resources of the presentation, have been modified.
+ * Thumbnails can also be stored in another directory, for instance for keeping snapshots rendered differently apart
+ * from the ones of the presentation. Thumbnails are written, and outdated ones deleted, by a single background thread
+ * so that encoding them doesn't block the JavaFX application thread and a thumbnail is never written twice at the
+ * same time.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.3-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class SlideThumbnails {
+    private static final Logger LOGGER = Logger.getLogger(SlideThumbnails.class.getName());
+
+    /**
+     * The name of the directory, within the presentation's working directory, where thumbnails are stored.
+     */
+    static final String THUMBNAILS_DIRECTORY = "sfx-thumbnails";
+
+    /**
+     * The width, in pixels, of the thumbnails.
+     */
+    public static final double THUMBNAIL_WIDTH = 480;
+
+    private static final String THUMBNAIL_EXTENSION = ".png";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "slide-thumbnails-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PresentationEngine presentation;
+    private final File directory;
+    private final Map<String, String> hashes = new HashMap<>();
+
+    public SlideThumbnails(final PresentationEngine presentation) {
+        this(presentation, new File(presentation.getWorkingDirectory(), THUMBNAILS_DIRECTORY));
+    }
+
+    /**
+     * Creates thumbnails of the given presentation stored in the given directory.
+     *
+     * @param presentation The presentation.
+     * @param directory    The directory where thumbnails are stored.
+     */
+    public SlideThumbnails(final PresentationEngine presentation, final File directory) {
+        if (directory == null) throw new NullPointerException("The thumbnails directory can not be null");
+
+        this.presentation = presentation;
+        this.directory = directory;
+    }
+
+    /**
+     * Compute the hash identifying the thumbnail of the given slides in their current state. This method must be
+     * called each time slides are modified.
+     *
+     * @param slides The slides to compute the hash of.
+     */
+    public void computeHashes(final Collection<Slide> slides) {
+        final PresentationConfiguration configuration = this.presentation.getConfiguration();
+        final String head = configuration.getHeadHtml();
+
+        for (Slide slide : slides) {
+            final String slideHtml = configuration.getSlideHtml(slide);
+
+            if (head != null && slideHtml != null) {
+                this.hashes.put(slide.getId(), hash(head, slideHtml));
+            } else {
+                this.hashes.remove(slide.getId());
+            }
+        }
+    }
+
+    /**
+     * Forget the thumbnail of the given slide. The thumbnail's file is kept until {@link #prune()} is called.
+     *
+     * @param slideId The ID of the slide.
+     */
+    void remove(final String slideId) {
+        this.hashes.remove(slideId);
+    }
+
+    /**
+     * Indicates if an up to date thumbnail of the given slide is stored.
+     *
+     * @param slideId The ID of the slide.
+     * @return {@code true} if the thumbnail of the slide is stored, {@code false} otherwise.
+     */
+    public boolean hasThumbnail(final String slideId) {
+        final File file = this.getThumbnailFile(slideId);
+        return file != null && file.exists();
+    }
+
+    /**
+     * Load the thumbnail of the given slide. The image is loaded in the background.
+     *
+     * @param slideId The ID of the slide.
+     * @return The thumbnail of the slide or {@code null} if it isn't stored.
+     */
+    public Image load(final String slideId) {
+        final File file = this.getThumbnailFile(slideId);
+
+        if (file != null && file.exists()) {
+            return new Image(file.toURI().toString(), true);
+        }
+
+        return null;
+    }
+
+    /**
+     * Store the thumbnail of the given slide in the background. The pixels of the thumbnail are read by the calling
+     * thread, typically the JavaFX application thread, while the thumbnail is encoded and written by another thread.
+     *
+     * @param slideId   The ID of the slide.
+     * @param thumbnail The thumbnail of the slide.
+     * @return A future completed once the thumbnail is written.
+     */
+    public CompletableFuture<Void> storeInBackground(final String slideId, final Image thumbnail) {
+        return this.storeInBackground(slideId, toBufferedImage(thumbnail));
+    }
+
+    /**
+     * Store the given image as thumbnail of the given slide in the background.
+     *
+     * @param slideId   The ID of the slide.
+     * @param thumbnail The thumbnail of the slide.
+     * @return A future completed once the thumbnail is written.
+     */
+    CompletableFuture<Void> storeInBackground(final String slideId, final BufferedImage thumbnail) {
+        final File file = this.getThumbnailFile(slideId);
+        if (file == null) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> this.write(slideId, file, thumbnail), WRITER);
+    }
+
+    /**
+     * Write the given thumbnail in the given file. This method must only be called by the {@link #WRITER} so that a
+     * thumbnail is never written by two threads at the same time.
+     *
+     * @param slideId   The ID of the slide.
+     * @param file      The file of the thumbnail.
+     * @param thumbnail The thumbnail of the slide.
+     */
+    private void write(final String slideId, final File file, final BufferedImage thumbnail) {
+        if (!this.directory.exists() && !this.directory.mkdirs()) {
+            LOGGER.log(WARNING, "Can not create the thumbnails directory");
+            return;
+        }
+
+        // The thumbnail is moved once written so that it is never read partially written
+        final File temporaryFile = new File(this.directory, file.getName() + TEMPORARY_EXTENSION);
+
+        try {
+            ImageIO.write(thumbnail, "png", temporaryFile);
+            IOUtils.moveAtomically(temporaryFile.toPath(), file.toPath());
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not store the thumbnail of the slide " + slideId, e);
+
+            if (temporaryFile.exists() && !temporaryFile.delete()) {
+                LOGGER.log(WARNING, "Can not delete the temporary thumbnail " + temporaryFile.getName());
+            }
+        }
+    }
+
+    private static BufferedImage toBufferedImage(final Image thumbnail) {
+        final int width = (int) thumbnail.getWidth();
+        final int height = (int) thumbnail.getHeight();
+        final int[] pixels = new int[width * height];
+        thumbnail.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+
+        return image;
+    }
+
+    /**
+     * Delete the stored thumbnails that don't correspond to any slide anymore. The thumbnails are deleted in the
+     * background, once the thumbnails already being written are stored.
+     *
+     * @return A future completed once the outdated thumbnails are deleted.
+     */
+    CompletableFuture<Void> prune() {
+        final Set<String> currentFiles = new HashSet<>();
+        this.hashes.values().forEach(hash -> currentFiles.add(hash + THUMBNAIL_EXTENSION));
+
+        return CompletableFuture.runAsync(() -> {
+            final File[] files = this.directory.listFiles();
+            if (files == null) return;
+
+            for (File file : files) {
+                if (!currentFiles.contains(file.getName()) && !file.getName().endsWith(TEMPORARY_EXTENSION) && !file.delete()) {
+                    LOGGER.log(WARNING, "Can not delete the outdated thumbnail " + file.getName());
+                }
+            }
+        }, WRITER);
+    }
+
+    /**
+     * Create the parameters for taking a snapshot of a node so that the snapshot is at most the given width.
+     *
+     * @param nodeWidth     The width of the node to take a snapshot of.
+     * @param snapshotWidth The maximum width of the snapshot.
+     * @return The parameters for taking the snapshot.
+     */
+    public static SnapshotParameters createSnapshotParameters(final double nodeWidth, final double snapshotWidth) {
+        final SnapshotParameters parameters = new SnapshotParameters();
+
+        if (nodeWidth > snapshotWidth && snapshotWidth > 0) {
+            final double scale = snapshotWidth / nodeWidth;
+            parameters.setTransform(Transform.scale(scale, scale));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Get the file of the thumbnail of the given slide in its current state.
+     *
+     * @param slideId The ID of the slide.
+     * @return The file of the thumbnail or {@code null} if the hash of the slide isn't known.
+     */
+    File getThumbnailFile(final String slideId) {
+        final String hash = this.hashes.get(slideId);
+        return hash == null ? null : new File(this.directory, hash + THUMBNAIL_EXTENSION);
+    }
+
+    private static String hash(final String head, final String slide) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(head.getBytes(StandardCharsets.UTF_8));
+            digest.update(slide.getBytes(StandardCharsets.UTF_8));
+
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
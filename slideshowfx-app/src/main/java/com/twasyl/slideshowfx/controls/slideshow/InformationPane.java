@@ -1,14 +1,17 @@
 package com.twasyl.slideshowfx.controls.slideshow;
 
-import com.twasyl.slideshowfx.controls.PresentationBrowser;
+import com.twasyl.slideshowfx.controls.outline.SlideThumbnails;
+import com.twasyl.slideshowfx.icons.IconStack;
 import com.twasyl.slideshowfx.style.Styles;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.beans.binding.DoubleBinding;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.input.KeyEvent;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
@@ -16,12 +19,21 @@ import javafx.scene.text.TextAlignment;
 import java.time.Duration;
 import java.time.LocalTime;
 
+import static com.twasyl.slideshowfx.icons.Icon.BAN;
+import static com.twasyl.slideshowfx.icons.Icon.PICTURE_ALT;
+
 /**
  * A pane that is used to display information about the presentation when the presentation mode is active. It displays
  * the current slide of the presentation, the next one and the time elapsed since the beginning of the presentation.
+ * <p>
+ * Slides are displayed as images so that the presentation is only rendered once, by the view displayed to the
+ * audience: the current slide is a snapshot of that {@link #setSlideshowView(Node) view}, only refreshed when
+ * {@link #refreshCurrentSlide() requested}, typically when the slide or one of its fragments is displayed, while the
+ * next slide is an image given to this pane, typically a stored thumbnail. A placeholder is displayed when no image
+ * of the next slide is available.
  *
  * @author Thierry Wasylczenko
- * @version 1.2
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class InformationPane extends StackPane {
@@ -30,12 +42,14 @@ public class InformationPane extends StackPane {
     private final Timeline timeline = new Timeline();
     private final Text currentTime = new Text();
     private final Text timeElapsed = new Text();
-    private final PresentationBrowser currentSlideBrowser = new PresentationBrowser();
-    private final PresentationBrowser nextSlideBrowser = new PresentationBrowser();
+    private final ImageView currentSlidePreview = new ImageView();
+    private final ImageView nextSlidePreview = new ImageView();
+    private final IconStack nextSlidePlaceholder = new IconStack();
     private final ScrollPane speakerNotesScrollPane = new ScrollPane();
     private final Text speakerNotes = new Text();
 
     private LocalTime beginningTime;
+    private Node slideshowView;
 
     public InformationPane(final Context context) {
         super();
@@ -118,23 +132,15 @@ public class InformationPane extends StackPane {
      * Initialize the node displaying the current slide of the presentation.
      */
     private final void initializeCurrentSlide() {
-        final DoubleBinding width = this.widthProperty().divide(1.8);
-        final DoubleBinding height = this.heightProperty().divide(1.8);
-
-        this.currentSlideBrowser.prefWidthProperty().bind(width);
-        this.currentSlideBrowser.minWidthProperty().bind(width);
-        this.currentSlideBrowser.maxWidthProperty().bind(width);
+        this.currentSlidePreview.fitWidthProperty().bind(this.widthProperty().divide(1.8));
+        this.currentSlidePreview.fitHeightProperty().bind(this.heightProperty().divide(1.8));
+        this.currentSlidePreview.setPreserveRatio(true);
+        this.currentSlidePreview.setSmooth(true);
 
-        this.currentSlideBrowser.prefHeightProperty().bind(height);
-        this.currentSlideBrowser.minHeightProperty().bind(height);
-        this.currentSlideBrowser.maxHeightProperty().bind(height);
+        this.currentSlidePreview.setTranslateX(50);
+        this.currentSlidePreview.setTranslateY(50);
 
-        this.currentSlideBrowser.setTranslateX(50);
-        this.currentSlideBrowser.setTranslateY(50);
-
-        this.currentSlideBrowser.setInteractionAllowed(false);
-        this.currentSlideBrowser.setBackend(this);
-        this.getChildren().add(this.currentSlideBrowser);
+        this.getChildren().add(this.currentSlidePreview);
     }
 
     /**
@@ -142,23 +148,26 @@ public class InformationPane extends StackPane {
      */
     private final void initializeNextSlide() {
         final DoubleBinding width = this.widthProperty().divide(3.5);
-        final DoubleBinding height = this.heightProperty().divide(3.5);
-
-        this.nextSlideBrowser.prefWidthProperty().bind(width);
-        this.nextSlideBrowser.minWidthProperty().bind(width);
-        this.nextSlideBrowser.maxWidthProperty().bind(width);
-
-        this.nextSlideBrowser.prefHeightProperty().bind(height);
-        this.nextSlideBrowser.minHeightProperty().bind(height);
-        this.nextSlideBrowser.maxHeightProperty().bind(height);
 
-        this.nextSlideBrowser.translateXProperty().bind(this.widthProperty().subtract(width).subtract(50));
-        this.nextSlideBrowser.setTranslateY(50);
-
-        this.nextSlideBrowser.setInteractionAllowed(false);
-        this.nextSlideBrowser.setBackend(this);
-
-        this.getChildren().add(this.nextSlideBrowser);
+        this.nextSlidePreview.fitWidthProperty().bind(width);
+        this.nextSlidePreview.fitHeightProperty().bind(this.heightProperty().divide(3.5));
+        this.nextSlidePreview.setPreserveRatio(true);
+        this.nextSlidePreview.setSmooth(true);
+
+        this.nextSlidePreview.translateXProperty().bind(this.widthProperty().subtract(width).subtract(50));
+        this.nextSlidePreview.setTranslateY(50);
+
+        this.nextSlidePlaceholder.getStyleClass().add("next-slide-placeholder");
+        this.nextSlidePlaceholder.addIcon(PICTURE_ALT).addIcon(BAN);
+        this.nextSlidePlaceholder.prefWidthProperty().bind(width);
+        this.nextSlidePlaceholder.maxWidthProperty().bind(width);
+        this.nextSlidePlaceholder.prefHeightProperty().bind(width.multiply(9d / 16d));
+        this.nextSlidePlaceholder.maxHeightProperty().bind(width.multiply(9d / 16d));
+        this.nextSlidePlaceholder.translateXProperty().bind(this.nextSlidePreview.translateXProperty());
+        this.nextSlidePlaceholder.setTranslateY(50);
+        this.nextSlidePlaceholder.visibleProperty().bind(this.nextSlidePreview.imageProperty().isNull());
+
+        this.getChildren().addAll(this.nextSlidePreview, this.nextSlidePlaceholder);
     }
 
     /**
@@ -194,35 +203,46 @@ public class InformationPane extends StackPane {
         this.timeline.stop();
     }
 
-    public void sendKey(KeyEvent event) {
-        this.currentSlideBrowser.fireEvent(event);
-        this.nextSlideBrowser.fireEvent(event);
+    /**
+     * Defines the node displaying the presentation to the audience. Snapshots of this node are used to display the
+     * current slide.
+     *
+     * @param slideshowView The node displaying the presentation.
+     */
+    public void setSlideshowView(final Node slideshowView) {
+        this.slideshowView = slideshowView;
     }
 
     /**
-     * Defines the speaker notes to display.
-     *
-     * @param speakerNotes The speaker notes to be displayed.
+     * Refresh the display of the current slide by taking a snapshot of the {@link #setSlideshowView(Node) view}
+     * displaying the presentation. The snapshot is taken at the size of the display of the current slide.
      */
-    public void setSpeakerNotes(final String speakerNotes) {
-        this.speakerNotes.setText(speakerNotes);
+    public void refreshCurrentSlide() {
+        if (this.slideshowView == null || this.slideshowView.getScene() == null) return;
+
+        final double viewWidth = this.slideshowView.getLayoutBounds().getWidth();
+        if (viewWidth <= 0) return;
+
+        this.currentSlidePreview.setImage(this.slideshowView.snapshot(
+                SlideThumbnails.createSnapshotParameters(viewWidth, this.currentSlidePreview.getFitWidth()), null));
     }
 
     /**
-     * Get the browser that displays the next slide of the presentation.
+     * Defines the image of the next slide to display.
      *
-     * @return The browser displaying the next slide of the presentation.
+     * @param nextSlide The image of the next slide or {@code null} if none is available, in which case a placeholder
+     *                  is displayed.
      */
-    public PresentationBrowser getNextSlideBrowser() {
-        return nextSlideBrowser;
+    public void setNextSlide(final Image nextSlide) {
+        this.nextSlidePreview.setImage(nextSlide);
     }
 
     /**
-     * Get the browser that displays the current slide of the presentation.
+     * Defines the speaker notes to display.
      *
-     * @return The browser displaying the current slide of the presentation.
+     * @param speakerNotes The speaker notes to be displayed.
      */
-    public PresentationBrowser getCurrentSlideBrowser() {
-        return currentSlideBrowser;
+    public void setSpeakerNotes(final String speakerNotes) {
+        this.speakerNotes.setText(speakerNotes);
     }
 }
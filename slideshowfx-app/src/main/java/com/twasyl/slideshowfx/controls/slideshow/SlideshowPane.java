@@ -30,6 +30,7 @@ import static com.twasyl.slideshowfx.server.service.AbstractSlideshowFXService.*
 import static com.twasyl.slideshowfx.server.service.ISlideshowFXServices.SERVICE_CHAT_ATTENDEE_HISTORY;
 import static com.twasyl.slideshowfx.server.service.PresenterChatService.SERVICE_CHAT_PRESENTER_ON_MESSAGE;
 import static com.twasyl.slideshowfx.server.service.QuizService.SERVICE_QUIZ_ON_RESULT;
+import static java.util.logging.Level.WARNING;
 import static javafx.geometry.HPos.RIGHT;
 
 /**
@@ -40,6 +41,8 @@ import static javafx.geometry.HPos.RIGHT;
  * @since SlideshowFX 1.0
  */
 public class SlideshowPane extends StackPane implements Actor {
+    private static final Logger LOGGER = Logger.getLogger(SlideshowPane.class.getName());
+
     private final ObjectProperty<PresentationBrowser> browser = new SimpleObjectProperty<>();
 
     private final ChatPanel chatPanel = new ChatPanel();
@@ -159,21 +162,29 @@ public class SlideshowPane extends StackPane implements Actor {
     }
 
     /**
-     * Retrieve the chat history and display it in the {@link #chatPanel}.
+     * Retrieve the chat history and display it in the {@link #chatPanel}. The history is retrieved in the background
+     * so that a slow chat service doesn't delay the display of the slideshow.
      */
     private void initializeChatPanel() {
         final JsonObject request = new JsonObject()
                 .put(JSON_KEY_SERVICE, SERVICE_CHAT_ATTENDEE_HISTORY)
                 .put(JSON_KEY_DATA, new JsonObject());
 
-        final JsonArray history = SlideshowFXServer.getSingleton().callService(request.encode())
-                .getJsonArray(JSON_KEY_CONTENT);
+        SlideshowFXServer.getSingleton().callServiceAsync(request.encode()).whenComplete((response, error) -> {
+            if (error != null) {
+                LOGGER.log(WARNING, "Can not retrieve the chat history", error);
+                return;
+            }
+
+            final JsonArray history = response == null ? null : response.getJsonArray(JSON_KEY_CONTENT);
 
-        if (history != null) {
-            for (Object message : history) {
-                this.publishMessage(ChatMessage.build(((JsonObject) message).encode(), null));
+            if (history != null) {
+                // Messages are added to the chat panel on the JavaFX application thread
+                for (Object message : history) {
+                    this.publishMessage(ChatMessage.build(((JsonObject) message).encode(), null));
+                }
             }
-        }
+        });
     }
 
     public ObjectProperty<PresentationBrowser> browserProperty() {
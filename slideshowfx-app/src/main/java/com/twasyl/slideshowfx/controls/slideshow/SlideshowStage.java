@@ -1,31 +1,52 @@
 package com.twasyl.slideshowfx.controls.slideshow;
 
+import com.twasyl.slideshowfx.controls.outline.SlideThumbnails;
 import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
 import com.twasyl.slideshowfx.events.SlideChangedEvent;
 import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.server.bus.Actor;
 import com.twasyl.slideshowfx.style.theme.Themes;
 import com.twasyl.slideshowfx.utils.PlatformHelper;
+import com.twasyl.slideshowfx.utils.io.IOUtils;
+import javafx.animation.PauseTransition;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
+import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.web.WebView;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.WARNING;
 
 /**
  * The stage is defined when the presentation enters in slideshow mode. It is necessary to create the stage with a {@link Context}
  * to properly configure the stage.
  * The stage will take care of the creation of the necessary screens (slideshow and information screens) as well as
  * defining to which event screen will respond (key event and so on).
+ * Only the slideshow screen renders the presentation: the information screen displays snapshots of it for the current
+ * slide, refreshed when a slide is displayed or a key is pressed to display its fragments, and previews for the next
+ * slide. Previews are the {@link SlideThumbnails thumbnails} of the presentation, rendered by the outline, or
+ * snapshots of the slideshow screen taken when slides are displayed, kept in a temporary directory apart from the
+ * thumbnails which are only read. Snapshots are written in the background. When no preview of the next slide is
+ * available, a placeholder is displayed until the outline {@link #thumbnailStored(String) stores} its thumbnail.
  *
  * @author Thierry Wasylczenko
- * @version 1.1-SNAPSHOT
+ * @version 1.3-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class SlideshowStage implements Actor {
+    private static final Logger LOGGER = Logger.getLogger(SlideshowStage.class.getName());
     private static final String DO_NOT_CONSIDER_EVENT_TEXT = "do_not_consider";
     private Context context;
 
@@ -34,6 +55,13 @@ public class SlideshowStage implements Actor {
     private Stage informationStage;
     private SlideshowPane slideshowPane;
     private InformationPane informationPane;
+    private SlideThumbnails thumbnails;
+    private SlideThumbnails slideshowSnapshots;
+    private File slideshowSnapshotsDirectory;
+    private PauseTransition slideTransition;
+    private PauseTransition currentSlideRefresh;
+    private String nextSlideId;
+    private CompletableFuture<Void> storedPreviews = CompletableFuture.completedFuture(null);
 
     /**
      * Creates a stage according the configuration stored within the {@code context}.
@@ -123,8 +151,37 @@ public class SlideshowStage implements Actor {
             this.informationStage.setScene(scene);
             this.informationStage.setAlwaysOnTop(true);
 
-            this.informationStage.setOnCloseRequest(event -> this.informationPane.stop());
+            this.informationStage.setOnCloseRequest(event -> {
+                this.informationPane.stop();
+                this.currentSlideRefresh.stop();
+                this.deleteSlideshowSnapshots();
+            });
             this.informationStage.setOnShowing(event -> this.informationPane.start());
+
+            this.informationPane.setSlideshowView(this.slideshowPane.getBrowser().getInternalBrowser());
+
+            this.thumbnails = new SlideThumbnails(this.context.getPresentation());
+            this.thumbnails.computeHashes(this.context.getPresentation().getConfiguration().getSlides());
+            this.initializeSlideshowSnapshots();
+
+            this.slideTransition = new PauseTransition(Duration.millis(GlobalConfiguration.getSnapshotDelay()));
+            this.currentSlideRefresh = new PauseTransition(Duration.millis(GlobalConfiguration.getSnapshotDelay()));
+            this.currentSlideRefresh.setOnFinished(event -> this.informationPane.refreshCurrentSlide());
+        }
+    }
+
+    /**
+     * Initializes the storage of the snapshots of the slideshow screen. They are stored in a temporary directory so
+     * that they neither replace the thumbnails of the presentation, which are rendered differently, nor are saved
+     * within the presentation's archive.
+     */
+    private void initializeSlideshowSnapshots() {
+        try {
+            this.slideshowSnapshotsDirectory = Files.createTempDirectory("sfx-slideshow-").toFile();
+            this.slideshowSnapshots = new SlideThumbnails(this.context.getPresentation(), this.slideshowSnapshotsDirectory);
+            this.slideshowSnapshots.computeHashes(this.context.getPresentation().getConfiguration().getSlides());
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not create the directory of the slideshow snapshots", e);
         }
     }
 
@@ -159,6 +216,11 @@ public class SlideshowStage implements Actor {
         if (this.informationPane != null) {
             this.informationPane.getScene().addEventHandler(KeyEvent.KEY_PRESSED, handler);
 
+            // A key pressed within a slide may display one of its fragments without changing the current slide
+            this.slideshowPane.getBrowser().getInternalBrowser().addEventHandler(KeyEvent.KEY_PRESSED, event -> {
+                if (!event.getCode().equals(KeyCode.ESCAPE)) this.currentSlideRefresh.playFromStart();
+            });
+
             this.slideshowPane.getBrowser().startListeningToSlideChangedEvents();
             this.slideshowPane.getBrowser().subscribeToEvents(this);
         }
@@ -177,20 +239,112 @@ public class SlideshowStage implements Actor {
             final Slide currentSlide = this.context.getPresentation().getConfiguration().getSlideById(event.getCurrentSlide());
 
             if (currentSlide != null) {
-                PlatformHelper.run(() -> {
-                    Slide nextSlide = this.context.getPresentation().getConfiguration().getSlideAfter(currentSlide.getSlideNumber());
-                    if (nextSlide == null) {
-                        nextSlide = currentSlide;
-                    }
-
-                    this.informationPane.getCurrentSlideBrowser().slide(currentSlide.getId());
-                    this.informationPane.getNextSlideBrowser().slide(nextSlide.getId());
-                    this.informationPane.setSpeakerNotes(currentSlide.getSpeakerNotes());
-                });
+                PlatformHelper.run(() -> this.updateInformationPane(currentSlide));
+            }
+        }
+    }
+
+    /**
+     * Update the information screen for the given slide, displayed in the slideshow screen. The next slide is
+     * displayed from its preview and the current slide is refreshed once the transition to the slide is finished.
+     * If the current slide has no preview yet, one is taken at the same time.
+     *
+     * @param currentSlide The slide displayed in the slideshow screen.
+     */
+    private void updateInformationPane(final Slide currentSlide) {
+        Slide nextSlide = this.context.getPresentation().getConfiguration().getSlideAfter(currentSlide.getSlideNumber());
+        if (nextSlide == null) {
+            nextSlide = currentSlide;
+        }
+
+        this.informationPane.setSpeakerNotes(currentSlide.getSpeakerNotes());
+
+        this.nextSlideId = nextSlide.getId();
+        this.informationPane.setNextSlide(this.loadPreview(this.nextSlideId));
+
+        this.slideTransition.setOnFinished(event -> {
+            this.informationPane.refreshCurrentSlide();
+
+            if (this.slideshowSnapshots != null && !this.slideshowSnapshots.hasThumbnail(currentSlide.getId())) {
+                this.storePreview(currentSlide.getId(), this.slideshowPane.getBrowser().getInternalBrowser());
             }
+        });
+        this.slideTransition.playFromStart();
+    }
+
+    /**
+     * Indicates the thumbnail of the given slide has been stored, typically by the outline of the presentation which
+     * may still be rendering thumbnails while the slideshow is running. If the slide is the next one and no preview
+     * of it is displayed yet, the thumbnail replaces the placeholder.
+     *
+     * @param slideId The ID of the slide which thumbnail has been stored.
+     */
+    public void thumbnailStored(final String slideId) {
+        if (this.informationPane != null && slideId != null && slideId.equals(this.nextSlideId)
+                && (this.slideshowSnapshots == null || !this.slideshowSnapshots.hasThumbnail(slideId))) {
+            this.informationPane.setNextSlide(this.thumbnails.load(slideId));
+        }
+    }
+
+    /**
+     * Load the preview of the given slide: the snapshot of the slideshow screen if one has been taken, otherwise the
+     * thumbnail of the presentation if it is stored.
+     *
+     * @param slideId The ID of the slide.
+     * @return The preview of the slide or {@code null} if none is available.
+     */
+    private Image loadPreview(final String slideId) {
+        final Image snapshot = this.slideshowSnapshots == null ? null : this.slideshowSnapshots.load(slideId);
+        return snapshot == null ? this.thumbnails.load(slideId) : snapshot;
+    }
+
+    /**
+     * Store a snapshot of the given view as preview of the given slide. The snapshot is taken on the JavaFX application
+     * thread but written in the background. If the slide is the next one, its preview is updated in the information
+     * screen.
+     *
+     * @param slideId The ID of the slide displayed by the view.
+     * @param view    The view displaying the slide.
+     */
+    private void storePreview(final String slideId, final WebView view) {
+        final Image snapshot;
+
+        try {
+            snapshot = view.snapshot(SlideThumbnails.createSnapshotParameters(view.getWidth(), SlideThumbnails.THUMBNAIL_WIDTH), null);
+        } catch (RuntimeException e) {
+            LOGGER.log(WARNING, "Can not take the preview of the slide " + slideId, e);
+            return;
+        }
+
+        this.storedPreviews = CompletableFuture.allOf(this.storedPreviews,
+                this.slideshowSnapshots.storeInBackground(slideId, snapshot));
+
+        if (slideId.equals(this.nextSlideId)) {
+            this.informationPane.setNextSlide(snapshot);
         }
     }
 
+    /**
+     * Delete the snapshots of the slideshow screen which are only useful during the slideshow, once they are all
+     * written.
+     */
+    private void deleteSlideshowSnapshots() {
+        final File directory = this.slideshowSnapshotsDirectory;
+
+        // Snapshots still being written would otherwise recreate the directory
+        this.storedPreviews.whenComplete((result, error) -> {
+            if (directory != null && directory.exists()) {
+                try {
+                    IOUtils.deleteDirectory(directory);
+                } catch (IOException e) {
+                    LOGGER.log(WARNING, "Can not delete the directory of the slideshow snapshots", e);
+                }
+            }
+        });
+
+        this.slideshowSnapshots = null;
+    }
+
     /**
      * Copy a given {@code event} and set its text with a given {@code newText}. All other parameters of the original
      * event are kept.
@@ -235,21 +389,9 @@ public class SlideshowStage implements Actor {
                     currentSlide = this.context.getPresentation().getConfiguration().getSlideById(this.context.getStartAtSlideId());
                 }
 
-                if (currentSlide.getSpeakerNotes() != null) {
-                    this.informationPane.setSpeakerNotes(currentSlide.getSpeakerNotes());
+                if (currentSlide != null) {
+                    this.updateInformationPane(currentSlide);
                 }
-
-                this.informationPane.getCurrentSlideBrowser().loadPresentationAndDo(this.context.getPresentation(), () -> {
-                    this.informationPane.getCurrentSlideBrowser().slide(this.context.getStartAtSlideId());
-
-                    this.informationPane.getNextSlideBrowser().loadPresentationAndDo(this.context.getPresentation(), () -> {
-                        final Slide nextSlide = this.context.getPresentation().getConfiguration().getSlideAfter(currentSlide.getSlideNumber());
-
-                        if (nextSlide != null) {
-                            this.informationPane.getNextSlideBrowser().slide(nextSlide.getId());
-                        }
-                    });
-                });
             }
         };
     }
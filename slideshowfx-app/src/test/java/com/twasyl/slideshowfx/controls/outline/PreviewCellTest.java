@@ -0,0 +1,170 @@
+package com.twasyl.slideshowfx.controls.outline;
+
+import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
+import com.twasyl.slideshowfx.engine.presentation.configuration.PresentationConfiguration;
+import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.stage.Stage;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class testing that the {@link PreviewCell cells} of a {@link PresentationOutline} only keep the previews they
+ * display in memory.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+@ExtendWith(ApplicationExtension.class)
+public class PreviewCellTest {
+
+    private static final String HTML = "<html><head><title>Test</title></head><body><div id=\"slides\">" +
+            "<section id=\"slide-1\"><p>First</p></section>" +
+            "<section id=\"slide-2\"><p>Second</p></section>" +
+            "</div></body></html>";
+
+    @TempDir
+    Path workingDirectory;
+
+    @Start
+    void onStart(final Stage stage) {
+        stage.show();
+    }
+
+    private static <T> T onFxThread(final Callable<T> callable) throws Exception {
+        return WaitForAsyncUtils.asyncFx(callable).get(5, SECONDS);
+    }
+
+    private static Slide createSlide(final String id, final String number) {
+        final Slide slide = new Slide(number);
+        slide.setId(id);
+        return slide;
+    }
+
+    private PresentationOutline createOutline() throws Exception {
+        final PresentationConfiguration configuration = new PresentationConfiguration();
+        configuration.setDocument(Jsoup.parse(HTML));
+        configuration.getSlides().add(createSlide("slide-1", "1"));
+        configuration.getSlides().add(createSlide("slide-2", "2"));
+
+        final PresentationEngine presentation = new PresentationEngine();
+        presentation.setWorkingDirectory(this.workingDirectory.toFile());
+        presentation.setConfiguration(configuration);
+
+        // Thumbnails of all slides are stored so the outline doesn't take any snapshot
+        final SlideThumbnails thumbnails = new SlideThumbnails(presentation);
+        thumbnails.computeHashes(configuration.getSlides());
+
+        for (Slide slide : configuration.getSlides()) {
+            final File file = thumbnails.getThumbnailFile(slide.getId());
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.createFile(file.toPath());
+        }
+
+        return onFxThread(() -> {
+            final PresentationOutline outline = new PresentationOutline();
+            outline.setPresentation(presentation);
+            return outline;
+        });
+    }
+
+    private static PreviewCell createCell(final PresentationOutline outline) {
+        final PreviewCell cell = new PreviewCell();
+        cell.updateListView(outline);
+        return cell;
+    }
+
+    @Test
+    public void previewIsReleasedAfterRepeatedUpdates() throws Exception {
+        final PresentationOutline outline = this.createOutline();
+        final ImageView first = outline.getItems().get(0);
+        final ImageView second = outline.getItems().get(1);
+
+        final PreviewCell cell = onFxThread(() -> {
+            final PreviewCell previewCell = createCell(outline);
+
+            for (int update = 0; update < 3; update++) {
+                previewCell.updateItem(first, false);
+            }
+
+            return previewCell;
+        });
+
+        assertNotNull(first.getImage());
+
+        onFxThread(() -> {
+            cell.updateItem(second, false);
+            return null;
+        });
+
+        assertNull(first.getImage());
+        assertNotNull(second.getImage());
+    }
+
+    @Test
+    public void previewIsKeptWhileAnotherCellDisplaysIt() throws Exception {
+        final PresentationOutline outline = this.createOutline();
+        final ImageView first = outline.getItems().get(0);
+        final ImageView second = outline.getItems().get(1);
+
+        final PreviewCell[] cells = onFxThread(() -> {
+            final PreviewCell firstCell = createCell(outline);
+            final PreviewCell secondCell = createCell(outline);
+            firstCell.updateItem(first, false);
+            secondCell.updateItem(first, false);
+            firstCell.updateItem(first, false);
+            return new PreviewCell[]{firstCell, secondCell};
+        });
+
+        onFxThread(() -> {
+            cells[0].updateItem(second, false);
+            return null;
+        });
+
+        assertNotNull(first.getImage());
+
+        onFxThread(() -> {
+            cells[1].updateItem(null, true);
+            return null;
+        });
+
+        assertNull(first.getImage());
+    }
+
+    @Test
+    public void previewIsReleasedWhenCellIsDiscarded() throws Exception {
+        final PresentationOutline outline = this.createOutline();
+        final ImageView first = outline.getItems().get(0);
+
+        final Group container = onFxThread(() -> {
+            final PreviewCell cell = createCell(outline);
+            final Group group = new Group(cell);
+            cell.updateItem(first, false);
+            return group;
+        });
+
+        assertNotNull(first.getImage());
+
+        onFxThread(() -> {
+            container.getChildren().clear();
+            return null;
+        });
+
+        assertNull(first.getImage());
+    }
+}
@@ -0,0 +1,180 @@
+package com.twasyl.slideshowfx.controls.outline;
+
+import com.twasyl.slideshowfx.engine.presentation.PresentationEngine;
+import com.twasyl.slideshowfx.engine.presentation.configuration.PresentationConfiguration;
+import com.twasyl.slideshowfx.engine.presentation.configuration.Slide;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class testing the {@link SlideThumbnails} class.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class SlideThumbnailsTest {
+
+    private static final String HTML = "<html><head><title>Test</title></head><body><div id=\"slides\">" +
+            "<section id=\"slide-1\"><p>First</p></section>" +
+            "<section id=\"slide-2\"><p>Second</p></section>" +
+            "</div></body></html>";
+
+    @TempDir
+    Path workingDirectory;
+
+    private PresentationConfiguration configuration;
+    private PresentationEngine presentation;
+    private Slide first;
+    private Slide second;
+    private SlideThumbnails thumbnails;
+
+    @BeforeEach
+    public void before() {
+        this.configuration = new PresentationConfiguration();
+        this.configuration.setDocument(Jsoup.parse(HTML));
+
+        this.first = createSlide("slide-1", "1");
+        this.second = createSlide("slide-2", "2");
+        this.configuration.getSlides().add(this.first);
+        this.configuration.getSlides().add(this.second);
+
+        this.presentation = new PresentationEngine();
+        this.presentation.setWorkingDirectory(this.workingDirectory.toFile());
+        this.presentation.setConfiguration(this.configuration);
+
+        this.thumbnails = new SlideThumbnails(this.presentation);
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+    }
+
+    private static Slide createSlide(final String id, final String number) {
+        final Slide slide = new Slide(number);
+        slide.setId(id);
+        return slide;
+    }
+
+    private void createThumbnailFile(final String slideId) throws IOException {
+        final File file = this.thumbnails.getThumbnailFile(slideId);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.createFile(file.toPath());
+    }
+
+    @Test
+    public void thumbnailFileNaming() {
+        final File file = this.thumbnails.getThumbnailFile("slide-1");
+
+        assertEquals(new File(this.workingDirectory.toFile(), SlideThumbnails.THUMBNAILS_DIRECTORY), file.getParentFile());
+        assertTrue(file.getName().matches("[0-9a-f]{64}\\.png"), file.getName());
+        assertNotEquals(file, this.thumbnails.getThumbnailFile("slide-2"));
+    }
+
+    @Test
+    public void thumbnailsInOtherDirectory() throws IOException {
+        final File otherDirectory = this.workingDirectory.resolve("other").toFile();
+        final SlideThumbnails otherThumbnails = new SlideThumbnails(this.presentation, otherDirectory);
+        otherThumbnails.computeHashes(this.configuration.getSlides());
+        this.createThumbnailFile("slide-1");
+
+        assertEquals(otherDirectory, otherThumbnails.getThumbnailFile("slide-1").getParentFile());
+        assertEquals(this.thumbnails.getThumbnailFile("slide-1").getName(), otherThumbnails.getThumbnailFile("slide-1").getName());
+        assertFalse(otherThumbnails.hasThumbnail("slide-1"));
+    }
+
+    @Test
+    public void sameContentSameThumbnail() {
+        final File before = this.thumbnails.getThumbnailFile("slide-1");
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+
+        assertEquals(before, this.thumbnails.getThumbnailFile("slide-1"));
+    }
+
+    @Test
+    public void modifiedSlideNewThumbnail() throws IOException {
+        this.createThumbnailFile("slide-1");
+        this.createThumbnailFile("slide-2");
+        final File secondBefore = this.thumbnails.getThumbnailFile("slide-2");
+
+        this.configuration.getDocument().getElementById("slide-1").text("Modified");
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+
+        assertFalse(this.thumbnails.hasThumbnail("slide-1"));
+        assertTrue(this.thumbnails.hasThumbnail("slide-2"));
+        assertEquals(secondBefore, this.thumbnails.getThumbnailFile("slide-2"));
+    }
+
+    @Test
+    public void modifiedHeadNewThumbnails() throws IOException {
+        this.createThumbnailFile("slide-1");
+        this.createThumbnailFile("slide-2");
+
+        this.configuration.getDocument().head().append("<style>p { color: red; }</style>");
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+
+        assertFalse(this.thumbnails.hasThumbnail("slide-1"));
+        assertFalse(this.thumbnails.hasThumbnail("slide-2"));
+    }
+
+    @Test
+    public void slideNotInDocument() {
+        this.configuration.getDocument().getElementById("slide-2").remove();
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+
+        assertNull(this.thumbnails.getThumbnailFile("slide-2"));
+        assertFalse(this.thumbnails.hasThumbnail("slide-2"));
+        assertNull(this.thumbnails.load("slide-2"));
+    }
+
+    @Test
+    public void pruneOutdatedThumbnails() throws IOException {
+        this.createThumbnailFile("slide-1");
+        this.createThumbnailFile("slide-2");
+        final File outdated = this.thumbnails.getThumbnailFile("slide-1");
+
+        this.configuration.getDocument().getElementById("slide-1").text("Modified");
+        this.thumbnails.computeHashes(this.configuration.getSlides());
+        this.thumbnails.prune().join();
+
+        assertFalse(outdated.exists());
+        assertTrue(this.thumbnails.hasThumbnail("slide-2"));
+    }
+
+    @Test
+    public void pruneKeepsThumbnailsBeingWritten() throws IOException {
+        this.createThumbnailFile("slide-1");
+        final File file = this.thumbnails.getThumbnailFile("slide-1");
+        final File temporaryFile = new File(file.getParentFile(), "written.png.tmp");
+        Files.createFile(temporaryFile.toPath());
+
+        this.thumbnails.prune().join();
+
+        assertTrue(temporaryFile.exists());
+        assertTrue(this.thumbnails.hasThumbnail("slide-1"));
+    }
+
+    @Test
+    public void storeThumbnailInBackground() {
+        this.thumbnails.storeInBackground("slide-1", new BufferedImage(4, 3, BufferedImage.TYPE_INT_ARGB)).join();
+
+        assertTrue(this.thumbnails.hasThumbnail("slide-1"));
+    }
+
+    @Test
+    public void storeReplacesThumbnailWithoutTemporaryFile() throws IOException {
+        this.createThumbnailFile("slide-1");
+
+        this.thumbnails.storeInBackground("slide-1", new BufferedImage(4, 3, BufferedImage.TYPE_INT_ARGB)).join();
+
+        final File file = this.thumbnails.getThumbnailFile("slide-1");
+        assertTrue(file.length() > 0);
+        assertFalse(new File(file.getParentFile(), file.getName() + ".tmp").exists());
+    }
+}
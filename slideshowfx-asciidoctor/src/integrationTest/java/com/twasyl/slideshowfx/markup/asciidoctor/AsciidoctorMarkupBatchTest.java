@@ -0,0 +1,52 @@
+package com.twasyl.slideshowfx.markup.asciidoctor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performs tests for the conversion of several contents at once by the Asciidoctor markup. These tests start JRuby
+ * and are therefore run as integration tests.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class AsciidoctorMarkupBatchTest {
+
+    private static AsciidoctorMarkup markup;
+
+    @BeforeAll
+    public static void setUp() {
+        markup = new AsciidoctorMarkup();
+    }
+
+    @Test
+    public void convertAllLikeOneByOne() {
+        final List<String> contents = List.of("= A title", "*Strong text*", "* One\n* Two", "*Strong text*");
+
+        final List<String> result = markup.convertAllAsHtml(contents);
+
+        assertEquals(contents.stream().map(markup::convertAsHtml).collect(toList()), result);
+        assertTrue(result.get(1).contains("<strong>Strong text</strong>"));
+    }
+
+    @Test
+    public void convertAllEmpty() {
+        assertTrue(markup.convertAllAsHtml(List.of()).isEmpty());
+    }
+
+    @Test
+    public void convertAllWithNullList() {
+        assertThrows(NullPointerException.class, () -> markup.convertAllAsHtml(null));
+    }
+
+    @Test
+    public void convertAllWithNullContent() {
+        assertThrows(IllegalArgumentException.class, () -> markup.convertAllAsHtml(Arrays.asList("= A title", null)));
+    }
+}
@@ -1,26 +1,60 @@
 package com.twasyl.slideshowfx.markup.asciidoctor;
 
+import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.markup.AbstractMarkup;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.AttributesBuilder;
 import org.asciidoctor.OptionsBuilder;
 
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static java.util.stream.Collectors.toList;
+
 /**
  * This class implements the asciidoctor syntax.
  * This markup language is identified byt the code {@code ASCIIDOCTOR} which is returned by {@link com.twasyl.slideshowfx.markup.IMarkup#getCode()}.
+ * <p>
+ * Creating an Asciidoctor runtime boots a JRuby runtime, which takes several seconds. The first runtime is therefore
+ * created in the background when the markup is instantiated, and conversions wait for it to be ready. Additional
+ * runtimes are created on demand, up to the number defined by the {@link #RUNTIMES_PROPERTY} property of the
+ * {@link GlobalConfiguration} (one by default), so that concurrent conversions don't wait for each other.
  *
  * @author Thierry Wasylczenko
- * @version 1.2
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
 public class AsciidoctorMarkup extends AbstractMarkup {
-    private final Asciidoctor asciidoctor;
+    private static final Logger LOGGER = Logger.getLogger(AsciidoctorMarkup.class.getName());
+
+    /**
+     * The name of the property of the {@link GlobalConfiguration} defining the maximum number of Asciidoctor runtimes
+     * used for converting content.
+     */
+    public static final String RUNTIMES_PROPERTY = "markup.asciidoctor.runtimes";
+
+    private final int maximumRuntimes;
+    private final AtomicInteger createdRuntimes = new AtomicInteger(1);
+    private final BlockingQueue<Asciidoctor> idleRuntimes = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Asciidoctor> warmUp;
 
     public AsciidoctorMarkup() {
         super("ASCIIDOCTOR", "asciidoctor", "ace/mode/asciidoc");
-        this.asciidoctor = Asciidoctor.Factory.create();
+
+        final Integer runtimes = GlobalConfiguration.getIntegerProperty(RUNTIMES_PROPERTY);
+        this.maximumRuntimes = runtimes == null ? 1 : Math.max(1, runtimes);
+        this.warmUp = CompletableFuture.supplyAsync(AsciidoctorMarkup::createRuntime, runnable -> {
+            final Thread thread = new Thread(runnable, "asciidoctor-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        this.warmUp.thenAccept(this.idleRuntimes::offer);
     }
 
     @Override
@@ -40,6 +74,92 @@ public class AsciidoctorMarkup extends AbstractMarkup {
                 .backend("html5")
                 .attributes(attributes);
 
-        return this.asciidoctor.convert(markupString, options).trim();
+        final Asciidoctor asciidoctor = this.acquireRuntime();
+
+        try {
+            return asciidoctor.convert(markupString, options).trim();
+        } finally {
+            this.idleRuntimes.offer(asciidoctor);
+        }
+    }
+
+    /**
+     * Convert all given strings as HTML. Conversions are performed concurrently when more than one Asciidoctor runtime
+     * is allowed.
+     *
+     * @param markupStrings The strings written in the Asciidoctor syntax to convert as HTML.
+     * @return The HTML representation of the given strings, in the same order.
+     * @throws IllegalArgumentException If one of the given strings is {@code null}.
+     */
+    @Override
+    public List<String> convertAllAsHtml(final List<String> markupStrings) throws IllegalArgumentException {
+        if (markupStrings == null) throw new NullPointerException("The strings to convert can not be null");
+
+        if (this.maximumRuntimes > 1) {
+            return markupStrings.parallelStream().map(this::convertAsHtml).collect(toList());
+        } else {
+            return markupStrings.stream().map(this::convertAsHtml).collect(toList());
+        }
+    }
+
+    /**
+     * Get an idle Asciidoctor runtime, waiting for the warm-up to complete if necessary. A new runtime is created if
+     * none is idle and the maximum number of runtimes isn't reached, otherwise this method waits for a runtime to be
+     * released.
+     *
+     * @return An Asciidoctor runtime that must be released in {@link #idleRuntimes} once used.
+     * @throws IllegalStateException If the Asciidoctor runtime can not be created or the current thread is interrupted.
+     */
+    private Asciidoctor acquireRuntime() {
+        try {
+            this.warmUp.join();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("The Asciidoctor runtime can not be created", e);
+        }
+
+        Asciidoctor asciidoctor = this.idleRuntimes.poll();
+
+        if (asciidoctor == null && this.reserveRuntime()) {
+            try {
+                asciidoctor = createRuntime();
+            } catch (RuntimeException e) {
+                this.createdRuntimes.decrementAndGet();
+                throw new IllegalStateException("The Asciidoctor runtime can not be created", e);
+            }
+        }
+
+        if (asciidoctor == null) {
+            try {
+                asciidoctor = this.idleRuntimes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an Asciidoctor runtime", e);
+            }
+        }
+
+        return asciidoctor;
+    }
+
+    /**
+     * Reserve the creation of a new runtime if the maximum number of runtimes isn't reached.
+     *
+     * @return {@code true} if a new runtime can be created, {@code false} otherwise.
+     */
+    private boolean reserveRuntime() {
+        int created;
+
+        do {
+            created = this.createdRuntimes.get();
+            if (created >= this.maximumRuntimes) return false;
+        } while (!this.createdRuntimes.compareAndSet(created, created + 1));
+
+        return true;
+    }
+
+    private static Asciidoctor createRuntime() {
+        final long start = System.nanoTime();
+        final Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+        LOGGER.fine(() -> "Asciidoctor runtime created in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return asciidoctor;
     }
 }
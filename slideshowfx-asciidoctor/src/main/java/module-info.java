@@ -7,5 +7,6 @@ module slideshowfx.asciidoctor {
     requires asciidoctorj;
     requires asciidoctorj.api;
     requires java.logging;
+    requires slideshowfx.global.configuration;
     requires slideshowfx.markup;
 }
\ No newline at end of file
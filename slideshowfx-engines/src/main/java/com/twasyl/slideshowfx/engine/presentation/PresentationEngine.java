@@ -11,7 +11,6 @@ import com.twasyl.slideshowfx.engine.template.DynamicAttribute;
 import com.twasyl.slideshowfx.engine.template.TemplateEngine;
 import com.twasyl.slideshowfx.engine.template.configuration.SlideTemplate;
 import com.twasyl.slideshowfx.engine.template.configuration.TemplateConfiguration;
-import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.utils.DOMUtils;
 import com.twasyl.slideshowfx.utils.JSONHelper;
 import com.twasyl.slideshowfx.utils.TemplateProcessor;
@@ -25,9 +24,14 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -72,12 +76,22 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
     private static final String TEMPLATE_SFX_SNIPPET_EXECUTOR_SCRIPT = "/com/twasyl/slideshowfx/engine/js/snippetExecutor.js";
     private static final String TEMPLATE_SFX_CALLBACK_SCRIPT = "/com/twasyl/slideshowfx/engine/js/sendInformationToSlideshowFX.js";
     private static final String TEMPLATE_SFX_QUIZ_CALLER_SCRIPT = "/com/twasyl/slideshowfx/engine/js/quizCaller.js";
+    private static final String TEMPLATE_SFX_SLIDES_PATCHER_SCRIPT = "/com/twasyl/slideshowfx/engine/js/slidesPatcher.js";
 
     private static final String TEMPLATE_SFX_CALLBACK_CALL = "sendInformationToSlideshowFX(this);";
 
+    /**
+     * Entries of an archive which uncompressed size is at least this value, in bytes, are extracted in the background
+     * when the archive is loaded.
+     */
+    private static final long DEFERRED_EXTRACTION_MIN_SIZE = 2 * 1024 * 1024;
+
     private TemplateEngine templateEngine;
 
     private boolean modifiedSinceLatestSave;
+    private PresentationFileWriter presentationFileWriter;
+    private CompletableFuture<Void> resourcesExtraction = CompletableFuture.completedFuture(null);
+    private final List<Consumer<File>> extractedResourceListeners = new CopyOnWriteArrayList<>();
 
     public PresentationEngine() {
         super(DEFAULT_ARCHIVE_EXTENSION, DEFAULT_CONFIGURATION_FILE_NAME);
@@ -243,7 +257,8 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
 
         this.setArchive(file);
         this.setWorkingDirectory(this.generateWorkingDirectory());
-        ZipUtils.unzip(this.getArchive(), this.getWorkingDirectory());
+        this.resourcesExtraction = ZipUtils.unzipDeferringLargeEntries(this.getArchive(), this.getWorkingDirectory(),
+                DEFERRED_EXTRACTION_MIN_SIZE, this::resourceExtracted);
 
         // The template configuration has to be read and set
         this.templateEngine = new TemplateEngine();
@@ -259,10 +274,11 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
 
         this.setConfiguration(configuration);
 
-        final Configuration templateConfiguration = TemplateProcessor.getDefaultConfiguration();
-        templateConfiguration.setDirectoryForTemplateLoading(this.templateEngine.getConfiguration().getFile().getParentFile());
+        final List<List<Node>> renderedSlides = this.renderSlides(configuration);
 
-        final Map tokens = new HashMap<>();
+        final Configuration templateConfiguration = TemplateProcessor.createConfiguration(this.templateEngine.getConfiguration().getFile().getParentFile());
+
+        final Map<String, Object> tokens = new HashMap<>();
         tokens.put(TEMPLATE_SFX_JAVASCRIPT_RESOURCES_TOKEN, this.buildJavaScriptResourcesToInclude());
 
         // Replacing the template tokens
@@ -273,8 +289,6 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
             writer.flush();
 
             this.configuration.setDocument(Jsoup.parse(writer.toString()));
-
-            this.savePresentationFile();
         } catch (TemplateException e) {
             LOGGER.log(SEVERE, "Can not parse template", e);
         }
@@ -286,49 +300,87 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
                 .forEach(this::addCustomResource);
 
         // Append the slides' content to the presentation
-        tokens.clear();
-        tokens.put(TEMPLATE_SFX_CALLBACK_TOKEN, TEMPLATE_SFX_CALLBACK_CALL);
-        tokens.put(TEMPLATE_SLIDE_ID_PREFIX_TOKEN, this.templateEngine.getConfiguration().getSlideIdPrefix());
-        tokens.putAll(this.configuration.getVariables().stream().collect(Collectors.toMap(Variable::getName, Variable::getValue)));
-
-        for (Slide s : this.configuration.getSlides()) {
-            templateConfiguration.setDirectoryForTemplateLoading(s.getTemplate().getFile().getParentFile());
+        final Element slidesContainer = this.configuration.getDocument()
+                .getElementById(this.templateEngine.getConfiguration().getSlidesContainer());
+        renderedSlides.forEach(nodes -> nodes.forEach(slidesContainer::appendChild));
 
-            try (final StringWriter writer = new StringWriter()) {
-                tokens.put(TEMPLATE_SLIDE_NUMBER_TOKEN, s.getSlideNumber());
-
-                final Template slideTemplate = templateConfiguration.getTemplate(s.getTemplate().getFile().getName());
-                slideTemplate.process(tokens, writer);
-                writer.flush();
-
-                this.configuration.getDocument()
-                        .getElementById(this.templateEngine.getConfiguration().getSlidesContainer())
-                        .append(writer.toString());
-
-                s.getElements()
-                        .stream()
-                        .forEach(element -> this.configuration.getDocument()
-                                .getElementById(element.getId())
-                                .html(element.getClearedHtmlContent(this.getConfiguration().getVariables())));
-            } catch (IOException | TemplateException e) {
-                LOGGER.log(SEVERE, "Can not read slide's template", e);
-            }
-        }
-
-        this.savePresentationFile();
+        this.flushPresentationFile();
     }
 
     @Override
     public synchronized void saveArchive(File file) throws IOException {
 
+        this.waitForResourcesExtraction();
+        this.flushPresentationFile();
         this.writeConfiguration();
 
-        ZipUtils.zip(this.getWorkingDirectory(), file);
+        ZipUtils.zipIncrementally(this.getWorkingDirectory(), file);
 
         this.setModifiedSinceLatestSave(false);
         LOGGER.fine("Presentation saved");
     }
 
+    /**
+     * Get the extraction of the resources of the presentation that are extracted in the background when the archive
+     * is loaded, like videos or high resolution images. The returned {@link CompletableFuture} is completed when all
+     * resources are present in the {@link #getWorkingDirectory() working directory}.
+     *
+     * @return The extraction of the resources of the presentation.
+     */
+    public CompletableFuture<Void> getResourcesExtraction() {
+        return this.resourcesExtraction;
+    }
+
+    /**
+     * Add a listener notified each time a resource of the presentation has been extracted in the background, for
+     * instance to display it without reloading the whole presentation. The listener is called by the thread
+     * extracting the resources with the extracted file.
+     *
+     * @param listener The listener to add.
+     * @throws NullPointerException If {@code listener} is {@code null}.
+     * @see #getResourcesExtraction()
+     */
+    public void addExtractedResourceListener(final Consumer<File> listener) {
+        if (listener == null) throw new NullPointerException("The listener can not be null");
+        this.extractedResourceListeners.add(listener);
+    }
+
+    /**
+     * Remove a listener previously added with {@link #addExtractedResourceListener(Consumer)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeExtractedResourceListener(final Consumer<File> listener) {
+        this.extractedResourceListeners.remove(listener);
+    }
+
+    private void resourceExtracted(final File file) {
+        this.extractedResourceListeners.forEach(listener -> listener.accept(file));
+    }
+
+    /**
+     * Wait for all resources of the presentation to be extracted in the working directory. If the extraction failed,
+     * the resources that are missing are extracted again so that a failure doesn't prevent all later saves.
+     *
+     * @throws IOException If the resources could not be extracted.
+     */
+    private void waitForResourcesExtraction() throws IOException {
+        try {
+            this.resourcesExtraction.join();
+        } catch (CompletionException e) {
+            LOGGER.log(WARNING, "Some resources of the presentation could not be extracted, extracting them again", e.getCause());
+
+            try {
+                ZipUtils.unzipMissingLargeEntries(this.getArchive(), this.getWorkingDirectory(), DEFERRED_EXTRACTION_MIN_SIZE);
+            } catch (IOException ex) {
+                ex.addSuppressed(e.getCause());
+                throw new IOException("Some resources of the presentation could not be extracted", ex);
+            }
+
+            this.resourcesExtraction = CompletableFuture.completedFuture(null);
+        }
+    }
+
     /**
      * Indicates if the presentation has already been saved by testing if the {@link #getArchive()}
      * method returns {@code null} or not.
@@ -396,7 +448,7 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
 
             this.configuration.setDocument(Jsoup.parse(writer.toString()));
 
-            this.savePresentationFile();
+            this.flushPresentationFile();
         } catch (TemplateException e) {
             LOGGER.log(SEVERE, "Can not parse the template", e);
         }
@@ -458,7 +510,7 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
                     .after(createdSlide.getValue().outerHtml());
         }
 
-        this.savePresentationFile();
+        this.getPresentationFileWriter().scheduleWrite();
 
         return createdSlide.getKey();
     }
@@ -480,7 +532,7 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
                     .getElementById(slideToRemove.getId()).remove();
         }
 
-        this.savePresentationFile();
+        this.getPresentationFileWriter().scheduleWrite();
     }
 
     /**
@@ -523,7 +575,7 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
         this.getConfiguration().getDocument().getElementById(slide.getId()).after(duplicatedSlide.getValue().outerHtml());
         this.getConfiguration().updateSlideInDocument(duplicatedSlide.getKey());
 
-        this.savePresentationFile();
+        this.getPresentationFileWriter().scheduleWrite();
 
         return duplicatedSlide.getKey();
     }
@@ -567,7 +619,7 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
                         .before(slideHtml);
             }
 
-            this.savePresentationFile();
+            this.getPresentationFileWriter().scheduleWrite();
         }
     }
 
@@ -576,8 +628,9 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
      * as in the presentation's document.
      *
      * @param resource The resource to add in the collection and the document.
+     * @return The HTML added to the presentation's document or {@code null} if the document hasn't been modified.
      */
-    public void addCustomResource(Resource resource) {
+    public String addCustomResource(Resource resource) {
         if (resource != null
                 && resource.getContent() != null
                 && !resource.getContent().trim().isEmpty()) {
@@ -594,19 +647,75 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
 
             if (!this.configuration.getDocument().head().html().contains(resourceHtml)) {
                 this.configuration.getDocument().head().append(htmlString);
+
+                final PresentationFileWriter writer = this.getPresentationFileWriter();
+                writer.markSkeletonDirty();
+                writer.scheduleWrite();
+
+                return htmlString;
             }
         }
+
+        return null;
     }
 
+    /**
+     * Save the whole presentation file. Every part of the presentation's document is rendered again. The file is
+     * written asynchronously and writes requested in a short period of time are coalesced. Use
+     * {@link #flushPresentationFile()} to ensure the file is written.
+     */
     public void savePresentationFile() {
-        try (final FileOutputStream fileOutputStream = new FileOutputStream(this.configuration.getPresentationFile());
-             final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(fileOutputStream, GlobalConfiguration.getDefaultCharset());
-             final Writer writer = new BufferedWriter(outputStreamWriter)) {
-            writer.write(this.configuration.getDocument().html());
-            writer.flush();
-        } catch (IOException e) {
-            LOGGER.log(SEVERE, "Can not save presentation file", e);
+        final PresentationFileWriter writer = this.getPresentationFileWriter();
+        writer.markAllDirty();
+        writer.scheduleWrite();
+    }
+
+    /**
+     * Save the presentation file after the given {@code slide} has been updated in the presentation's document. Only
+     * the given slide is rendered again. The file is written asynchronously and writes requested in a short period of
+     * time are coalesced. Use {@link #flushPresentationFile()} to ensure the file is written.
+     *
+     * @param slide The slide that has been updated.
+     */
+    public void savePresentationFile(final Slide slide) {
+        final PresentationFileWriter writer = this.getPresentationFileWriter();
+        writer.markSlideDirty(slide == null ? null : slide.getId());
+        writer.scheduleWrite();
+    }
+
+    /**
+     * Write all pending modifications of the presentation's document to the presentation file immediately. This
+     * method should be called before the presentation file is read, for instance by a browser.
+     */
+    public void flushPresentationFile() {
+        if (this.configuration != null && this.configuration.getDocument() != null) {
+            this.getPresentationFileWriter().flush();
+        }
+    }
+
+    /**
+     * Get the writer persisting the document of the current configuration. If the document or the presentation file
+     * of the configuration changed, a new writer is created.
+     *
+     * @return The writer for the current presentation's document.
+     */
+    private PresentationFileWriter getPresentationFileWriter() {
+        if (this.presentationFileWriter == null
+                || this.presentationFileWriter.getDocument() != this.configuration.getDocument()
+                || !Objects.equals(this.presentationFileWriter.getFile(), this.configuration.getPresentationFile())) {
+
+            if (this.presentationFileWriter != null) {
+                this.presentationFileWriter.cancel();
+            }
+
+            final String slidesContainer = this.getTemplateConfiguration() != null ?
+                    this.getTemplateConfiguration().getSlidesContainer() : null;
+
+            this.presentationFileWriter = new PresentationFileWriter(this.configuration.getPresentationFile(),
+                    this.configuration.getDocument(), slidesContainer);
         }
+
+        return this.presentationFileWriter;
     }
 
     /**
@@ -620,11 +729,84 @@ public class PresentationEngine extends AbstractEngine<PresentationConfiguration
         builder.append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_CONTENT_DEFINER_SCRIPT))).append("\n\n")
                 .append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_SNIPPET_EXECUTOR_SCRIPT))).append("\n\n")
                 .append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_CALLBACK_SCRIPT))).append("\n\n")
-                .append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_QUIZ_CALLER_SCRIPT))).append("\n\n");
+                .append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_QUIZ_CALLER_SCRIPT))).append("\n\n")
+                .append(IOUtils.read(PresentationEngine.class.getResourceAsStream(TEMPLATE_SFX_SLIDES_PATCHER_SCRIPT))).append("\n\n");
 
         return builder.toString();
     }
 
+    /**
+     * Render concurrently all slides of the given {@code configuration}. The presentation's document is not modified.
+     *
+     * @param configuration The configuration containing the slides to render.
+     * @return The nodes of each rendered slide, in the order of the slides.
+     * @throws IOException If the template configurations of the slides could not be created.
+     */
+    private List<List<Node>> renderSlides(final PresentationConfiguration configuration) throws IOException {
+        final Map<String, Object> tokens = new HashMap<>();
+        tokens.put(TEMPLATE_SFX_CALLBACK_TOKEN, TEMPLATE_SFX_CALLBACK_CALL);
+        tokens.put(TEMPLATE_SLIDE_ID_PREFIX_TOKEN, this.templateEngine.getConfiguration().getSlideIdPrefix());
+        tokens.putAll(configuration.getVariables().stream().collect(Collectors.toMap(Variable::getName, Variable::getValue)));
+
+        // Each template directory gets its own configuration so slides can be rendered concurrently
+        final Map<File, Configuration> slideTemplateConfigurations = new HashMap<>();
+        for (Slide s : configuration.getSlides()) {
+            final File templateDirectory = s.getTemplate().getFile().getParentFile();
+
+            if (!slideTemplateConfigurations.containsKey(templateDirectory)) {
+                slideTemplateConfigurations.put(templateDirectory, TemplateProcessor.createConfiguration(templateDirectory));
+            }
+        }
+
+        return configuration.getSlides()
+                .parallelStream()
+                .map(slide -> this.renderSlide(slide, tokens, slideTemplateConfigurations, configuration.getVariables()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Render the given {@code slide} and the content of its elements into an independent fragment. The presentation's
+     * document is not modified, so this method can be called concurrently for several slides.
+     *
+     * @param slide          The slide to render.
+     * @param commonTokens   The tokens shared by all slides, used to process the slide's template.
+     * @param configurations The template configurations to use, by template directory.
+     * @param variables      The variables of the presentation, replaced in the content of the slide's elements.
+     * @return The nodes of the rendered slide, or an empty list if the slide could not be rendered.
+     */
+    private List<Node> renderSlide(final Slide slide, final Map<String, Object> commonTokens,
+                                   final Map<File, Configuration> configurations, final Set<Variable> variables) {
+        final Map<String, Object> tokens = new HashMap<>(commonTokens);
+        tokens.put(TEMPLATE_SLIDE_NUMBER_TOKEN, slide.getSlideNumber());
+
+        final Configuration templateConfiguration = configurations.get(slide.getTemplate().getFile().getParentFile());
+
+        try (final StringWriter writer = new StringWriter()) {
+            final Template slideTemplate = templateConfiguration.getTemplate(slide.getTemplate().getFile().getName());
+            slideTemplate.process(tokens, writer);
+            writer.flush();
+
+            final Element fragment = Jsoup.parseBodyFragment(writer.toString()).body();
+
+            slide.getElements()
+                    .stream()
+                    .forEach(element -> {
+                        final Element htmlElement = fragment.getElementById(element.getId());
+
+                        if (htmlElement != null) {
+                            htmlElement.html(element.getClearedHtmlContent(variables));
+                        } else {
+                            LOGGER.log(WARNING, "Can not find the element " + element.getId() + " in the slide " + slide.getId());
+                        }
+                    });
+
+            return new ArrayList<>(fragment.childNodes());
+        } catch (IOException | TemplateException e) {
+            LOGGER.log(SEVERE, "Can not read slide's template", e);
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Create a {@link Slide slide} from the given {@link SlideTemplate template}.
      *
@@ -0,0 +1,282 @@
+package com.twasyl.slideshowfx.engine.presentation;
+
+import com.twasyl.slideshowfx.utils.io.DefaultCharsetWriter;
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.SEVERE;
+
+/**
+ * This class persists the HTML document of a presentation incrementally. The document is split into a skeleton, which
+ * is everything surrounding the slides' container, and one HTML fragment per slide. Only the parts that have been
+ * marked as dirty are re-rendered, all others are reused from the previous rendering.
+ * Writes requested within {@link #DEBOUNCE_DELAY} milliseconds are coalesced into a single write to the file, which is
+ * performed in the background. {@link #flush()} can be used to force pending changes to be written immediately, for
+ * instance before the file is loaded in a browser.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+class PresentationFileWriter {
+    private static final Logger LOGGER = Logger.getLogger(PresentationFileWriter.class.getName());
+
+    /**
+     * The delay, in milliseconds, during which write requests are coalesced.
+     */
+    static final long DEBOUNCE_DELAY = 300;
+
+    private static final String SLIDES_MARKER = "sfx-slides-container-content";
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "presentation-file-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File file;
+    private final Document document;
+    private final String slidesContainer;
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, String> fragments = new HashMap<>();
+    private final Set<String> dirtySlides = new HashSet<>();
+    private boolean skeletonDirty = true;
+    private String skeletonHead;
+    private String skeletonTail;
+
+    private final Object writeLock = new Object();
+    private final AtomicReference<List<String>> pendingContent = new AtomicReference<>();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    private ScheduledFuture<?> pendingWrite;
+
+    /**
+     * Creates a writer for the given {@code document}.
+     *
+     * @param file            The file the document will be written into.
+     * @param document        The document to write.
+     * @param slidesContainer The ID of the element containing all slides of the presentation.
+     */
+    PresentationFileWriter(final File file, final Document document, final String slidesContainer) {
+        this(file, document, slidesContainer, EXECUTOR);
+    }
+
+    /**
+     * Creates a writer for the given {@code document} performing the scheduled writes with the given executor.
+     *
+     * @param file            The file the document will be written into.
+     * @param document        The document to write.
+     * @param slidesContainer The ID of the element containing all slides of the presentation.
+     * @param executor        The executor performing the scheduled writes.
+     */
+    PresentationFileWriter(final File file, final Document document, final String slidesContainer, final ScheduledExecutorService executor) {
+        this.file = file;
+        this.document = document;
+        this.slidesContainer = slidesContainer;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the file this writer writes into.
+     *
+     * @return The file this writer writes into.
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the document this writer persists.
+     *
+     * @return The document this writer persists.
+     */
+    Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Get the number of times the file has been written by this writer.
+     *
+     * @return The number of writes performed.
+     */
+    int getWriteCount() {
+        return this.writeCount.get();
+    }
+
+    /**
+     * Get the write that has been scheduled and not performed yet.
+     *
+     * @return The scheduled write or {@code null} if no write is scheduled.
+     */
+    synchronized ScheduledFuture<?> getPendingWrite() {
+        return this.pendingWrite;
+    }
+
+    /**
+     * Indicates the slide identified by the given ID must be rendered again.
+     *
+     * @param slideId The ID of the slide that has been modified.
+     */
+    synchronized void markSlideDirty(final String slideId) {
+        if (slideId != null) {
+            this.dirtySlides.add(slideId);
+        }
+    }
+
+    /**
+     * Indicates that the document outside the slides, like the resources present in the head of the document, must
+     * be rendered again.
+     */
+    synchronized void markSkeletonDirty() {
+        this.skeletonDirty = true;
+    }
+
+    /**
+     * Indicates that the whole document must be rendered again.
+     */
+    synchronized void markAllDirty() {
+        this.skeletonDirty = true;
+        this.fragments.clear();
+    }
+
+    /**
+     * Render the dirty parts of the document and schedule a write of the file. If a write is already scheduled, it
+     * will write the content rendered by this call.
+     * This method must be called by the thread modifying the document.
+     */
+    synchronized void scheduleWrite() {
+        this.pendingContent.set(this.render());
+
+        if (this.pendingWrite == null || this.pendingWrite.isDone()) {
+            this.pendingWrite = this.executor.schedule(this::writePendingContent, DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Render the dirty parts of the document and write the file immediately, in the calling thread.
+     * This method must be called by the thread modifying the document.
+     */
+    void flush() {
+        synchronized (this) {
+            this.pendingContent.set(this.render());
+
+            if (this.pendingWrite != null) {
+                this.pendingWrite.cancel(false);
+                this.pendingWrite = null;
+            }
+        }
+
+        this.writePendingContent();
+    }
+
+    /**
+     * Cancel any write that has been scheduled and not performed yet.
+     */
+    synchronized void cancel() {
+        if (this.pendingWrite != null) {
+            this.pendingWrite.cancel(false);
+            this.pendingWrite = null;
+        }
+
+        this.pendingContent.set(null);
+    }
+
+    /**
+     * Render the document by only rendering the parts marked as dirty. All other parts are taken from the previous
+     * rendering.
+     *
+     * @return The list of HTML parts that must be written in order to produce the whole document.
+     */
+    private List<String> render() {
+        final Element container = this.slidesContainer == null ? null : this.document.getElementById(this.slidesContainer);
+
+        if (container == null) {
+            return Collections.singletonList(this.document.html());
+        }
+
+        if (this.skeletonDirty) {
+            this.renderSkeleton();
+        }
+
+        final List<String> parts = new ArrayList<>(container.childNodeSize() + 2);
+        final Map<String, String> renderedFragments = new HashMap<>();
+
+        parts.add(this.skeletonHead);
+
+        for (Node node : container.childNodes()) {
+            final String id = node instanceof Element ? ((Element) node).id() : "";
+
+            if (id.isEmpty()) {
+                parts.add(node.outerHtml());
+            } else {
+                String fragment = this.dirtySlides.contains(id) ? null : this.fragments.get(id);
+
+                if (fragment == null) {
+                    fragment = node.outerHtml();
+                }
+
+                renderedFragments.put(id, fragment);
+                parts.add(fragment);
+            }
+        }
+
+        parts.add(this.skeletonTail);
+
+        // Only keep fragments of slides still present in the document
+        this.fragments.clear();
+        this.fragments.putAll(renderedFragments);
+        this.dirtySlides.clear();
+
+        return parts;
+    }
+
+    /**
+     * Render the document without the content of the slides' container. The rendering is split in two parts: what is
+     * before the content of the container and what is after.
+     */
+    private void renderSkeleton() {
+        final Document skeleton = this.document.clone();
+        final Element container = skeleton.getElementById(this.slidesContainer);
+        container.empty().appendChild(new Comment(SLIDES_MARKER));
+
+        final String html = skeleton.html();
+        final String marker = "<!--" + SLIDES_MARKER + "-->";
+        final int index = html.indexOf(marker);
+
+        this.skeletonHead = html.substring(0, index);
+        this.skeletonTail = html.substring(index + marker.length());
+        this.skeletonDirty = false;
+    }
+
+    /**
+     * Write the latest rendered content, if any, to the file.
+     */
+    private void writePendingContent() {
+        synchronized (this.writeLock) {
+            final List<String> parts = this.pendingContent.getAndSet(null);
+
+            if (parts != null) {
+                try (final Writer writer = new DefaultCharsetWriter(this.file)) {
+                    for (String part : parts) {
+                        writer.write(part);
+                    }
+                    writer.flush();
+                    this.writeCount.incrementAndGet();
+                } catch (IOException e) {
+                    LOGGER.log(SEVERE, "Can not save presentation file", e);
+                }
+            }
+        }
+    }
+}
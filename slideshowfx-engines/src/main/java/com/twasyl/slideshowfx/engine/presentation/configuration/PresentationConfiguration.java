@@ -4,6 +4,7 @@ import com.twasyl.slideshowfx.content.extension.Resource;
 import com.twasyl.slideshowfx.engine.IConfiguration;
 import com.twasyl.slideshowfx.engine.Variable;
 import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 
 import java.io.File;
 import java.util.*;
@@ -106,6 +107,28 @@ public class PresentationConfiguration implements IConfiguration {
                 .orElse(null);
     }
 
+    /**
+     * Get the HTML of the head of the presentation's document, which includes the resources of the presentation.
+     *
+     * @return The HTML of the head of the document or {@code null} if there is no document.
+     */
+    public String getHeadHtml() {
+        return this.document == null ? null : this.document.head().outerHtml();
+    }
+
+    /**
+     * Get the HTML of the given slide, as present in the presentation's document.
+     *
+     * @param slide The slide to get the HTML of.
+     * @return The HTML of the slide or {@code null} if the slide isn't present in the document.
+     */
+    public String getSlideHtml(final Slide slide) {
+        if (slide == null || this.document == null) return null;
+
+        final Element element = this.document.getElementById(slide.getId());
+        return element == null ? null : element.outerHtml();
+    }
+
     /**
      * Get the first slide of the presentation. If the presentation has no slides, {@code null} is returned.
      *
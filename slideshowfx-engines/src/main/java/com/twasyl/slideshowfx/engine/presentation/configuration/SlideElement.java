@@ -10,13 +10,14 @@ import freemarker.template.TemplateException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.util.Base64;
-import java.util.Map;
-import java.util.Set;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import static com.twasyl.slideshowfx.global.configuration.GlobalConfiguration.getDefaultCharset;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.logging.Level.SEVERE;
 
 /**
@@ -30,6 +31,29 @@ import static java.util.logging.Level.SEVERE;
 public class SlideElement {
     private static final Logger LOGGER = Logger.getLogger(SlideElement.class.getName());
 
+    /**
+     * The maximum number of parsed templates kept in {@link #TEMPLATES_CACHE}.
+     */
+    private static final int TEMPLATES_CACHE_SIZE = 512;
+
+    /**
+     * Sequences indicating that a content must be processed by the template engine: interpolations, directives and
+     * user defined directives, in both angle and square brackets syntaxes.
+     */
+    private static final String[] TEMPLATE_SEQUENCES = {"${", "#{", "<#", "</#", "<@", "</@", "[#", "[/#", "[@", "[/@"};
+
+    /**
+     * Cache of templates already parsed, by digest of their HTML content. The least recently used templates are evicted
+     * first.
+     */
+    private static final Map<String, Template> TEMPLATES_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(TEMPLATES_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                    return this.size() > TEMPLATES_CACHE_SIZE;
+                }
+            });
+
     private String id;
     private SlideElementTemplate template;
     private String htmlContent;
@@ -56,17 +80,20 @@ public class SlideElement {
      * Replace all variables stored in the given {@code variables} in the HTML content and return a variable free
      * HTML content. If the current HTML content is {@code null} or empty, an empty String is returned.
      * The original HTML content is not affected by the modification.
+     * Parsed templates are cached by content and contents without any template sequence are returned as is.
      *
      * @return A variable free HTML content.
      */
     public String getClearedHtmlContent(Set<Variable> variables) {
         final StringBuilder builder = new StringBuilder();
 
-        if (this.htmlContent != null && !this.htmlContent.isEmpty()) {
+        if (this.htmlContent != null && !this.htmlContent.isEmpty() && !isTemplate(this.htmlContent)) {
+            builder.append(this.htmlContent);
+        } else if (this.htmlContent != null && !this.htmlContent.isEmpty()) {
             final Map<String, String> tokens = variables.stream().collect(Collectors.toMap(Variable::getName, Variable::getValue));
 
             try (StringWriter writer = new StringWriter()) {
-                final Template htmlContentTemplate = new Template("variable", new StringReader(this.getHtmlContent()), TemplateProcessor.getDefaultConfiguration());
+                final Template htmlContentTemplate = getTemplate(this.htmlContent);
                 htmlContentTemplate.process(tokens, writer);
                 writer.flush();
 
@@ -78,6 +105,59 @@ public class SlideElement {
         return builder.toString();
     }
 
+    /**
+     * Indicates if the given {@code content} contains sequences that must be processed by the template engine.
+     *
+     * @param content The content to check.
+     * @return {@code true} if the content must be processed by the template engine, {@code false} otherwise.
+     */
+    private static boolean isTemplate(final String content) {
+        for (String sequence : TEMPLATE_SEQUENCES) {
+            if (content.contains(sequence)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the template for the given {@code content}. If the content has already been parsed, the cached template is
+     * returned, otherwise it is parsed and stored in the cache.
+     *
+     * @param content The content to get the template for.
+     * @return The parsed template.
+     * @throws IOException If the content can not be parsed.
+     */
+    private static Template getTemplate(final String content) throws IOException {
+        final String key = digest(content);
+        Template template = TEMPLATES_CACHE.get(key);
+
+        if (template == null) {
+            template = new Template("variable", new StringReader(content), TemplateProcessor.getDefaultConfiguration());
+            TEMPLATES_CACHE.put(key, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Compute the SHA-256 digest of the given {@code content}, used as key of the {@link #TEMPLATES_CACHE} so that the
+     * cache doesn't keep whole contents in memory.
+     *
+     * @param content The content to compute the digest for.
+     * @return The Base64 encoded digest of the content.
+     */
+    private static String digest(final String content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(content.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Sets the HTML content for this {@link SlideElement}. The HTML content must not be encoded.
      *
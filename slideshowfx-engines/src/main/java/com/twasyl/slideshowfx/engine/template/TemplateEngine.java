@@ -90,6 +90,9 @@ public class TemplateEngine extends AbstractEngine<TemplateConfiguration> {
         templateConfiguration.setUpdateCodeSnippetConsoleMethod("updateCodeSnippetConsole");
         LOGGER.fine("[Template configuration] update code snippet console method = " + templateConfiguration.getUpdateCodeSnippetConsoleMethod());
 
+        templateConfiguration.setSlidesChangedMethod("slideshowFXSlidesChanged");
+        LOGGER.fine("[Template configuration] slides changed method = " + templateConfiguration.getSlidesChangedMethod());
+
         // Settings the default variables
         templateConfiguration.setDefaultVariables(new HashSet<>());
         JsonArray defaultVariablesJson = templateJson.getJsonArray(TEMPLATE_DEFAULT_VARIABLES.getFieldName());
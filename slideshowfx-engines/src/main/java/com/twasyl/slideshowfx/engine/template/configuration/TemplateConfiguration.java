@@ -24,6 +24,7 @@ public class TemplateConfiguration implements IConfiguration {
     private String updateCodeSnippetConsoleMethod;
     private String gotoSlideMethod;
     private String getCurrentSlideMethod;
+    private String slidesChangedMethod;
     private String jsObject;
     private String sfxServerObject;
     private File slidesTemplateDirectory;
@@ -151,6 +152,20 @@ public class TemplateConfiguration implements IConfiguration {
         this.gotoSlideMethod = gotoSlideMethod;
     }
 
+    /**
+     * Get the name of the JavaScript method a template defines to take into account slides that have been added,
+     * removed or moved in the page without reloading it. Defining this method in a template is optional.
+     *
+     * @return The name of the method called when slides have changed.
+     */
+    public String getSlidesChangedMethod() {
+        return slidesChangedMethod;
+    }
+
+    public void setSlidesChangedMethod(String slidesChangedMethod) {
+        this.slidesChangedMethod = slidesChangedMethod;
+    }
+
     public SlideTemplate getSlideTemplate(int slideId) {
         return getSlideTemplates()
                 .stream()
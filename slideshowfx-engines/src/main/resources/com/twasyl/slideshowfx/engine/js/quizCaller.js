@@ -5,12 +5,12 @@ function quiz(src, encodedQuiz) {
         if (quizIsStopped) {
             var sibling = src.parentElement.querySelector("span.stop-quiz");
             var data = '{ "service" : "slideshowfx.quiz.start", "data" : { "encoded-quiz" : "' + encodedQuiz + '" } }';
-            sfxServer.callService(data);
+            sfxServer.callServiceAsync(data);
         } else {
             var sibling = src.parentElement.querySelector("span.start-quiz");
             var decodedQuiz = decodeURIComponent(escape(window.atob(encodedQuiz)));
             var data = '{ "service" : "slideshowfx.quiz.stop", "data" : { "id" : ' + JSON.parse(decodedQuiz).id + ' } }';
-            sfxServer.callService(data);
+            sfxServer.callServiceAsync(data);
         }
 
         src.style.display = "none";
@@ -0,0 +1,70 @@
+/*
+ * These methods apply a modification of the presentation to the displayed page without reloading it. HTML contents are
+ * given in Base64. Once slides have been inserted, removed or moved, SlideshowFX calls the slideshowFXSlidesChanged
+ * method of the template, if any, so the template can take the new slides into account.
+ */
+function slideshowFXDecodeHtml(html) {
+    var container = document.createElement('div');
+    container.innerHTML = decodeURIComponent(escape(window.atob(html)));
+
+    return container;
+}
+
+/*
+ * Insert a slide after the slide identified by previousSlideId. If there is no such slide, the slide is added at the
+ * end of the slides container.
+ */
+function slideshowFXInsertSlide(slidesContainerId, previousSlideId, slideHtml) {
+    var slide = slideshowFXDecodeHtml(slideHtml).firstElementChild;
+    var previousSlide = previousSlideId == null ? null : document.getElementById(previousSlideId);
+
+    if(previousSlide != undefined) {
+        previousSlide.parentNode.insertBefore(slide, previousSlide.nextSibling);
+    } else {
+        document.getElementById(slidesContainerId).appendChild(slide);
+    }
+}
+
+function slideshowFXRemoveSlide(slideId) {
+    var slide = document.getElementById(slideId);
+
+    if(slide != undefined) {
+        slide.parentNode.removeChild(slide);
+    }
+}
+
+/*
+ * Move a slide before the slide identified by nextSlideId. If there is no such slide, the slide is moved at the end of
+ * the slides container.
+ */
+function slideshowFXMoveSlide(slidesContainerId, slideId, nextSlideId) {
+    var slide = document.getElementById(slideId);
+    var nextSlide = nextSlideId == null ? null : document.getElementById(nextSlideId);
+
+    if(nextSlide != undefined) {
+        nextSlide.parentNode.insertBefore(slide, nextSlide);
+    } else {
+        document.getElementById(slidesContainerId).appendChild(slide);
+    }
+}
+
+/*
+ * Add a resource to the head of the page. Scripts are re-created so the browser executes them.
+ */
+function slideshowFXAddResource(resourceHtml) {
+    var nodes = Array.prototype.slice.call(slideshowFXDecodeHtml(resourceHtml).childNodes);
+
+    nodes.forEach(function(node) {
+        if(node.nodeName === 'SCRIPT') {
+            var script = document.createElement('script');
+
+            Array.prototype.slice.call(node.attributes).forEach(function(attribute) {
+                script.setAttribute(attribute.name, attribute.value);
+            });
+            script.text = node.text;
+            node = script;
+        }
+
+        document.head.appendChild(node);
+    });
+}
@@ -0,0 +1,238 @@
+package com.twasyl.slideshowfx.engine.presentation;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresentationEngineTest {
+
+    private static final int SLIDES_COUNT = 40;
+    private static final String TITLE_TEMPLATE = "<section id=\"slide-${slideNumber}\"><h1 id=\"${slideNumber}-title\">Title</h1></section>";
+    private static final String REGULAR_TEMPLATE = "<section id=\"slide-${slideNumber}\"><h1 id=\"${slideNumber}-title\">Title</h1><div id=\"${slideNumber}-content\"></div></section>";
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger workingDirectories = new AtomicInteger();
+
+    private PresentationEngine createEngine() {
+        return new PresentationEngine() {
+            @Override
+            public File generateWorkingDirectory() {
+                return tempDir.resolve("working-directory-" + workingDirectories.incrementAndGet()).toFile();
+            }
+        };
+    }
+
+    private static String encode(final String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(UTF_8));
+    }
+
+    private static String slideNumber(final int index) {
+        return String.format("%02d", index);
+    }
+
+    private static JsonObject createTemplateConfiguration() {
+        final JsonArray slidesDefinition = new JsonArray()
+                .add(new JsonObject()
+                        .put("id", 1)
+                        .put("name", "Title")
+                        .put("file", "title.html")
+                        .put("elements", new JsonArray()
+                                .add(new JsonObject().put("id", 1).put("html-id", "${slideNumber}-title").put("default-content", "Title"))))
+                .add(new JsonObject()
+                        .put("id", 2)
+                        .put("name", "Regular slide")
+                        .put("file", "regular.html")
+                        .put("elements", new JsonArray()
+                                .add(new JsonObject().put("id", 1).put("html-id", "${slideNumber}-title").put("default-content", "Title"))
+                                .add(new JsonObject().put("id", 2).put("html-id", "${slideNumber}-content").put("default-content", "Content"))));
+
+        return new JsonObject().put("template", new JsonObject()
+                .put("name", "Test template")
+                .put("version", "1.0")
+                .put("file", "template.html")
+                .put("js-object", "sfx")
+                .put("resources-directory", "resources")
+                .put("default-variables", new JsonArray()
+                        .add(new JsonObject().put("name", "author").put("value", encode("Someone"))))
+                .put("slides", new JsonObject()
+                        .put("configuration", new JsonObject()
+                                .put("slides-container", "slides")
+                                .put("slide-id-prefix", "slide-")
+                                .put("template-directory", "slides/template"))
+                        .put("slides-definition", slidesDefinition)));
+    }
+
+    private static JsonObject createPresentationConfiguration() {
+        final JsonArray slides = new JsonArray();
+
+        for (int index = 1; index <= SLIDES_COUNT; index++) {
+            final String number = slideNumber(index);
+            final boolean title = index % 2 == 1;
+
+            final JsonArray elements = new JsonArray()
+                    .add(createElement(1, number + "-title", "Title of slide " + number));
+
+            if (!title) {
+                elements.add(createElement(2, number + "-content", "Content of slide " + number));
+            }
+
+            slides.add(new JsonObject()
+                    .put("template-id", title ? 1 : 2)
+                    .put("id", "slide-" + number)
+                    .put("number", number)
+                    .put("elements", elements));
+        }
+
+        return new JsonObject().put("presentation", new JsonObject()
+                .put("id", 1)
+                .put("custom-resources", new JsonArray()
+                        .add(new JsonObject().put("type", "SCRIPT").put("content", encode("function hello() { console.log('Hello'); }"))))
+                .put("variables", new JsonArray())
+                .put("slides", slides));
+    }
+
+    private static JsonObject createElement(final int templateId, final String elementId, final String content) {
+        return new JsonObject()
+                .put("template-id", templateId)
+                .put("element-id", elementId)
+                .put("original-content-code", "HTML")
+                .put("original-content", encode(content))
+                .put("html-content", encode(content));
+    }
+
+    private static void putEntry(final ZipOutputStream output, final String name, final String content) throws IOException {
+        output.putNextEntry(new ZipEntry(name));
+        output.write(content.getBytes(UTF_8));
+        output.closeEntry();
+    }
+
+    private File createArchive(final String regularTemplate) throws IOException {
+        final File file = this.tempDir.resolve("presentation-" + System.nanoTime() + PresentationEngine.DEFAULT_DOTTED_ARCHIVE_EXTENSION).toFile();
+
+        try (final ZipOutputStream output = new ZipOutputStream(new FileOutputStream(file))) {
+            putEntry(output, "template-config.json", createTemplateConfiguration().encodePrettily());
+            putEntry(output, "presentation-config.json", createPresentationConfiguration().encodePrettily());
+            putEntry(output, "template.html", "<html><head></head><body><div id=\"slides\"></div></body></html>");
+            putEntry(output, "resources/style.css", "section { color: black; }");
+            putEntry(output, "slides/template/title.html", TITLE_TEMPLATE);
+            putEntry(output, "slides/template/regular.html", regularTemplate);
+        }
+
+        return file;
+    }
+
+    private static Map<String, byte[]> readTree(final File directory) throws IOException {
+        final Map<String, byte[]> tree = new TreeMap<>();
+
+        try (final Stream<Path> files = Files.walk(directory.toPath())) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                tree.put(directory.toPath().relativize(file).toString(), Files.readAllBytes(file));
+            }
+        }
+
+        return tree;
+    }
+
+    private static String writeConfiguration(final PresentationEngine engine) throws IOException {
+        try (final StringWriter writer = new StringWriter()) {
+            engine.writeConfiguration(writer);
+            return writer.toString();
+        }
+    }
+
+    private PresentationEngine loadSequentially(final File archive) throws Exception {
+        // Parallel streams run in the pool of the thread using them, so a single thread renders all slides
+        final ForkJoinPool pool = new ForkJoinPool(1);
+
+        try {
+            return pool.submit(() -> {
+                final PresentationEngine engine = this.createEngine();
+                engine.loadArchive(archive);
+                return engine;
+            }).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void loadArchiveMatchesSequentialLoad() throws Exception {
+        final File archive = this.createArchive(REGULAR_TEMPLATE);
+
+        final PresentationEngine sequential = this.loadSequentially(archive);
+        sequential.getResourcesExtraction().join();
+
+        final PresentationEngine parallel = this.createEngine();
+        parallel.loadArchive(archive);
+        parallel.getResourcesExtraction().join();
+
+        final Map<String, byte[]> expectedTree = readTree(sequential.getWorkingDirectory());
+        final Map<String, byte[]> actualTree = readTree(parallel.getWorkingDirectory());
+
+        assertEquals(expectedTree.keySet(), actualTree.keySet());
+        expectedTree.forEach((path, content) -> assertArrayEquals(content, actualTree.get(path), path));
+
+        assertEquals(writeConfiguration(sequential), writeConfiguration(parallel));
+        assertEquals(sequential.getConfiguration().getDocument().html(), parallel.getConfiguration().getDocument().html());
+    }
+
+    @Test
+    public void loadArchiveKeepsSlidesOrder() throws Exception {
+        final PresentationEngine engine = this.createEngine();
+        engine.loadArchive(this.createArchive(REGULAR_TEMPLATE));
+
+        final Element slides = engine.getConfiguration().getDocument().getElementById("slides");
+        assertEquals(SLIDES_COUNT, slides.children().size());
+
+        for (int index = 1; index <= SLIDES_COUNT; index++) {
+            final String number = slideNumber(index);
+
+            assertEquals("slide-" + number, slides.child(index - 1).id());
+            assertEquals("Title of slide " + number, slides.child(index - 1).getElementById(number + "-title").text());
+        }
+    }
+
+    @Test
+    public void failingSlideDoesNotPreventOtherSlidesFromLoading() throws Exception {
+        final PresentationEngine engine = this.createEngine();
+        engine.loadArchive(this.createArchive("<section id=\"slide-${slideNumber\"></section>"));
+
+        // Only the slides using the regular template can not be rendered
+        assertEquals(SLIDES_COUNT, engine.getConfiguration().getSlides().size());
+
+        final Element slides = engine.getConfiguration().getDocument().getElementById("slides");
+        assertEquals(SLIDES_COUNT / 2, slides.children().size());
+
+        for (int index = 1; index <= SLIDES_COUNT; index += 2) {
+            final String number = slideNumber(index);
+
+            assertEquals("slide-" + number, slides.child(index / 2).id());
+            assertEquals("Title of slide " + number, slides.child(index / 2).getElementById(number + "-title").text());
+        }
+
+        assertTrue(new File(engine.getWorkingDirectory(), "presentation.html").exists());
+    }
+}
@@ -0,0 +1,159 @@
+package com.twasyl.slideshowfx.engine.presentation;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PresentationFileWriterTest {
+
+    private static final String HTML = "<html><head><title>Test</title></head><body><div id=\"slides\">" +
+            "<section id=\"slide-1\"><p id=\"1-title\">First</p></section>" +
+            "<section id=\"slide-2\"><p id=\"2-title\">Second</p></section>" +
+            "</div><script>var end = true;</script></body></html>";
+
+    @TempDir
+    Path tempDir;
+
+    private File file;
+    private Document document;
+    private PresentationFileWriter writer;
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        this.file = this.tempDir.resolve("presentation.html").toFile();
+        this.document = Jsoup.parse(HTML);
+        this.writer = new PresentationFileWriter(this.file, this.document, "slides");
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void after() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Keep the executor busy until the returned latch is released, so that no scheduled write can be performed before.
+     *
+     * @return The latch to release for unblocking the executor.
+     */
+    private CountDownLatch blockExecutor() {
+        final CountDownLatch release = new CountDownLatch(1);
+        this.executor.submit(() -> release.await(5, SECONDS));
+        return release;
+    }
+
+    private Document readFile() throws IOException {
+        return Jsoup.parse(new String(Files.readAllBytes(this.file.toPath()), UTF_8));
+    }
+
+    @Test
+    public void flushWritesWholeDocument() throws IOException {
+        this.writer.flush();
+
+        final Document written = this.readFile();
+        assertEquals("Test", written.title());
+        assertEquals("First", written.getElementById("1-title").text());
+        assertEquals("Second", written.getElementById("2-title").text());
+        assertEquals(2, written.getElementById("slides").children().size());
+        assertEquals(1, written.getElementsByTag("script").size());
+    }
+
+    @Test
+    public void onlyDirtySlidesAreRenderedAgain() throws IOException {
+        this.writer.flush();
+
+        this.document.getElementById("1-title").text("Updated first");
+        this.document.getElementById("2-title").text("Updated second");
+        this.writer.markSlideDirty("slide-1");
+        this.writer.flush();
+
+        final Document written = this.readFile();
+        assertEquals("Updated first", written.getElementById("1-title").text());
+        assertEquals("Second", written.getElementById("2-title").text());
+    }
+
+    @Test
+    public void slideStructureChangesAreWritten() throws IOException {
+        this.writer.flush();
+
+        this.document.getElementById("slide-1").remove();
+        this.document.getElementById("slides").append("<section id=\"slide-3\"><p id=\"3-title\">Third</p></section>");
+        this.writer.flush();
+
+        final Document written = this.readFile();
+        assertNull(written.getElementById("slide-1"));
+        assertEquals("slide-2", written.getElementById("slides").child(0).id());
+        assertEquals("slide-3", written.getElementById("slides").child(1).id());
+    }
+
+    @Test
+    public void skeletonIsRenderedAgainWhenDirty() throws IOException {
+        this.writer.flush();
+
+        this.document.head().append("<style>p { color: red; }</style>");
+        this.writer.markSkeletonDirty();
+        this.writer.flush();
+
+        final Document written = this.readFile();
+        assertEquals(1, written.head().getElementsByTag("style").size());
+        assertEquals(2, written.getElementById("slides").children().size());
+    }
+
+    @Test
+    public void scheduledWritesAreCoalesced() throws Exception {
+        this.writer = new PresentationFileWriter(this.file, this.document, "slides", this.executor);
+        final CountDownLatch release = this.blockExecutor();
+
+        this.writer.scheduleWrite();
+        final ScheduledFuture<?> pendingWrite = this.writer.getPendingWrite();
+        this.document.getElementById("1-title").text("Updated first");
+        this.writer.markSlideDirty("slide-1");
+        this.writer.scheduleWrite();
+
+        assertSame(pendingWrite, this.writer.getPendingWrite());
+
+        release.countDown();
+        pendingWrite.get(5, SECONDS);
+
+        assertEquals(1, this.writer.getWriteCount());
+        assertEquals("Updated first", this.readFile().getElementById("1-title").text());
+    }
+
+    @Test
+    public void flushCancelsScheduledWrite() throws Exception {
+        this.writer = new PresentationFileWriter(this.file, this.document, "slides", this.executor);
+        final CountDownLatch release = this.blockExecutor();
+
+        this.writer.scheduleWrite();
+        final ScheduledFuture<?> pendingWrite = this.writer.getPendingWrite();
+        this.writer.flush();
+
+        assertTrue(pendingWrite.isCancelled());
+        assertNull(this.writer.getPendingWrite());
+        assertEquals(1, this.writer.getWriteCount());
+        assertEquals("First", this.readFile().getElementById("1-title").text());
+
+        release.countDown();
+        this.executor.shutdown();
+        assertTrue(this.executor.awaitTermination(5, SECONDS));
+
+        assertEquals(1, this.writer.getWriteCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.twasyl.slideshowfx.engine.presentation.configuration;
+
+import com.twasyl.slideshowfx.engine.Variable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlideElementTest {
+
+    private static Set<Variable> variables(final String name, final String value) {
+        final Variable variable = new Variable();
+        variable.setName(name);
+        variable.setValue(value);
+
+        final Set<Variable> variables = new HashSet<>();
+        variables.add(variable);
+        return variables;
+    }
+
+    @Test
+    public void contentWithoutVariable() {
+        final SlideElement element = new SlideElement();
+        element.setHtmlContent("<p>No variable {here}</p>");
+
+        assertEquals("<p>No variable {here}</p>", element.getClearedHtmlContent(variables("here", "there")));
+    }
+
+    @Test
+    public void contentWithVariable() {
+        final SlideElement element = new SlideElement();
+        element.setHtmlContent("<p>Hello ${name}</p>");
+
+        assertEquals("<p>Hello SlideshowFX</p>", element.getClearedHtmlContent(variables("name", "SlideshowFX")));
+    }
+
+    @Test
+    public void cachedTemplateWithDifferentValues() {
+        final SlideElement first = new SlideElement();
+        first.setHtmlContent("<p>Hello ${name}</p>");
+        final SlideElement second = new SlideElement();
+        second.setHtmlContent("<p>Hello ${name}</p>");
+
+        assertEquals("<p>Hello first</p>", first.getClearedHtmlContent(variables("name", "first")));
+        assertEquals("<p>Hello second</p>", second.getClearedHtmlContent(variables("name", "second")));
+    }
+
+    @Test
+    public void differentContentsAreCachedSeparately() {
+        final SlideElement first = new SlideElement();
+        first.setHtmlContent("<p>Hello ${name}</p>");
+        final SlideElement second = new SlideElement();
+        second.setHtmlContent("<p>Goodbye ${name}</p>");
+
+        assertEquals("<p>Hello you</p>", first.getClearedHtmlContent(variables("name", "you")));
+        assertEquals("<p>Goodbye you</p>", second.getClearedHtmlContent(variables("name", "you")));
+    }
+
+    @Test
+    public void emptyContent() {
+        final SlideElement element = new SlideElement();
+        element.setHtmlContent("");
+
+        assertEquals("", element.getClearedHtmlContent(variables("name", "value")));
+    }
+}
@@ -0,0 +1,375 @@
+package com.twasyl.slideshowfx.global.configuration;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * In-memory snapshot of a properties file. The file is read once and its properties are then served from memory
+ * without locking: each change replaces the snapshot by a new immutable one. Changes are written to the file in
+ * batches, {@value #WRITE_DELAY} milliseconds after the first unsaved change, by a background thread, and when the
+ * JVM shuts down. The directory of the file is watched so that external modifications of the file are reloaded; if the
+ * file is deleted externally, its properties and unsaved changes are discarded. External modifications are detected by
+ * comparing the size, last modification date and checksum of the file, so that an edit keeping the same size within
+ * the same modification date tick isn't missed.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+final class ConfigurationStore {
+    private static final Logger LOGGER = Logger.getLogger(ConfigurationStore.class.getName());
+
+    /**
+     * The delay in milliseconds between the first unsaved change and the write of the file.
+     */
+    static final long WRITE_DELAY = 500;
+
+    private static final Map<File, ConfigurationStore> STORES = new ConcurrentHashMap<>();
+    private static final Set<Path> WATCHED_DIRECTORIES = new HashSet<>();
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "configuration-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static WatchService watchService;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigurationStore::flushAll, "configuration-flush"));
+    }
+
+    private final File file;
+    private volatile Map<String, String> properties;
+    /*
+     * Changes not written yet, guarded by this. An empty value is a removal.
+     */
+    private final Map<String, Optional<String>> unsavedChanges = new HashMap<>();
+    private ScheduledFuture<?> scheduledWrite;
+    private FileState knownState;
+
+    private ConfigurationStore(final File file) {
+        this.file = file;
+        this.load();
+        watch(file);
+    }
+
+    /**
+     * Get the store of the given file, reading the file if it hasn't been read yet.
+     *
+     * @param file The properties file.
+     * @return The store of the file.
+     */
+    static ConfigurationStore of(final File file) {
+        return STORES.computeIfAbsent(file.getAbsoluteFile(), ConfigurationStore::new);
+    }
+
+    /**
+     * Write the unsaved changes of all stores.
+     */
+    static void flushAll() {
+        STORES.values().forEach(ConfigurationStore::flush);
+    }
+
+    /**
+     * Get the value of a property.
+     *
+     * @param name The name of the property.
+     * @return The value of the property or {@code null} if it is not defined.
+     */
+    String get(final String name) {
+        return this.properties.get(name);
+    }
+
+    /**
+     * Check if a property is defined.
+     *
+     * @param name The name of the property.
+     * @return {@code true} if the property is defined, {@code false} otherwise.
+     */
+    boolean contains(final String name) {
+        return this.properties.containsKey(name);
+    }
+
+    /**
+     * Get all properties of this store.
+     *
+     * @return An immutable snapshot of the properties.
+     */
+    Map<String, String> getAll() {
+        return this.properties;
+    }
+
+    /**
+     * Define the value of a property. The change is written later to the file.
+     *
+     * @param name  The name of the property.
+     * @param value The value of the property.
+     */
+    synchronized void set(final String name, final String value) {
+        if (value.equals(this.properties.get(name))) return;
+
+        final Map<String, String> newProperties = new HashMap<>(this.properties);
+        newProperties.put(name, value);
+        this.properties = Collections.unmodifiableMap(newProperties);
+
+        this.unsavedChanges.put(name, Optional.of(value));
+        this.scheduleWrite();
+    }
+
+    /**
+     * Remove a property. The change is written later to the file. If the property isn't defined, nothing is performed.
+     *
+     * @param name The name of the property.
+     */
+    synchronized void remove(final String name) {
+        if (!this.properties.containsKey(name)) return;
+
+        final Map<String, String> newProperties = new HashMap<>(this.properties);
+        newProperties.remove(name);
+        this.properties = Collections.unmodifiableMap(newProperties);
+
+        this.unsavedChanges.put(name, Optional.empty());
+        this.scheduleWrite();
+    }
+
+    /**
+     * Write the unsaved changes to the file, if any. If the file has been modified externally since it was last read or
+     * written, it is reloaded first.
+     */
+    synchronized void flush() {
+        this.cancelScheduledWrite();
+        this.reloadIfModified();
+
+        if (!this.unsavedChanges.isEmpty()) {
+            final Properties toWrite = new Properties();
+            toWrite.putAll(this.properties);
+
+            try (final Writer writer = new FileWriter(this.file)) {
+                toWrite.store(writer, "");
+                writer.flush();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Can not save configuration", e);
+            }
+
+            this.unsavedChanges.clear();
+            this.knownState = FileState.of(this.file);
+            watch(this.file);
+        }
+    }
+
+    /**
+     * Read the file again, discarding the unsaved changes. Typically called when the file has been created.
+     */
+    synchronized void reset() {
+        this.cancelScheduledWrite();
+        this.unsavedChanges.clear();
+        this.load();
+        watch(this.file);
+    }
+
+    /**
+     * Reload the file if its state on disk is not the one it had when it was last read or written. The unsaved changes
+     * are applied on top of the reloaded properties, unless the file has been deleted.
+     */
+    private synchronized void reloadIfModified() {
+        if (this.knownState.equals(FileState.of(this.file))) return;
+
+        LOGGER.fine(() -> "The configuration file has been modified externally: " + this.file.getAbsolutePath());
+
+        if (!this.file.exists()) {
+            this.cancelScheduledWrite();
+            this.unsavedChanges.clear();
+        }
+
+        this.load();
+
+        if (!this.unsavedChanges.isEmpty()) {
+            final Map<String, String> newProperties = new HashMap<>(this.properties);
+            this.unsavedChanges.forEach((name, value) -> {
+                if (value.isPresent()) newProperties.put(name, value.get());
+                else newProperties.remove(name);
+            });
+            this.properties = Collections.unmodifiableMap(newProperties);
+        }
+    }
+
+    private void load() {
+        final Properties loaded = new Properties();
+        final byte[] content = readContent(this.file);
+        final FileState state = FileState.of(this.file, content);
+
+        if (content != null) {
+            try (final Reader reader = new StringReader(new String(content, Charset.defaultCharset()))) {
+                loaded.load(reader);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Can not load configuration file: " + this.file.getAbsolutePath(), e);
+            }
+        }
+
+        final Map<String, String> newProperties = new HashMap<>();
+        loaded.stringPropertyNames().forEach(name -> newProperties.put(name, loaded.getProperty(name)));
+
+        this.properties = Collections.unmodifiableMap(newProperties);
+        this.knownState = state;
+    }
+
+    /**
+     * Read the whole content of the given file.
+     *
+     * @param file The file to read.
+     * @return The content of the file or {@code null} if it doesn't exist or can not be read.
+     */
+    private static byte[] readContent(final File file) {
+        if (!file.exists()) return null;
+
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Can not read configuration file: " + file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    private void scheduleWrite() {
+        if (this.scheduledWrite == null || this.scheduledWrite.isDone()) {
+            this.scheduledWrite = WRITER.schedule(this::flush, WRITE_DELAY, MILLISECONDS);
+        }
+    }
+
+    private void cancelScheduledWrite() {
+        if (this.scheduledWrite != null) {
+            this.scheduledWrite.cancel(false);
+            this.scheduledWrite = null;
+        }
+    }
+
+    /**
+     * Watch the directory of the given file, if it exists and isn't already watched.
+     *
+     * @param file The file to watch.
+     */
+    private static synchronized void watch(final File file) {
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (directory == null || !directory.isDirectory()) return;
+
+        final Path path = directory.toPath();
+        if (WATCHED_DIRECTORIES.contains(path)) return;
+
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+
+                final Thread watcher = new Thread(() -> processEvents(watchService), "configuration-watcher");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+
+            path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            WATCHED_DIRECTORIES.add(path);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not watch the configuration directory: " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    private static void processEvents(final WatchService service) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            final Path directory = (Path) key.watchable();
+            final Set<Path> modifiedFiles = new HashSet<>();
+            boolean overflow = false;
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    overflow = true;
+                } else {
+                    modifiedFiles.add((Path) event.context());
+                }
+            }
+
+            // Other files, like log files, may live in the same directory: only stores of modified files are checked
+            final boolean checkAll = overflow;
+            STORES.values().stream()
+                    .filter(store -> directory.equals(store.file.getParentFile().toPath()))
+                    .filter(store -> checkAll || modifiedFiles.contains(store.file.toPath().getFileName()))
+                    .forEach(ConfigurationStore::reloadIfModified);
+
+            if (!key.reset()) {
+                synchronized (ConfigurationStore.class) {
+                    WATCHED_DIRECTORIES.remove(directory);
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of a file on disk, used to detect external modifications.
+     */
+    private static final class FileState {
+        private final boolean exists;
+        private final long lastModified;
+        private final long length;
+        private final long checksum;
+
+        private FileState(final boolean exists, final long lastModified, final long length, final long checksum) {
+            this.exists = exists;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        private static FileState of(final File file) {
+            return of(file, readContent(file));
+        }
+
+        /**
+         * Get the state of the given file, which content has already been read.
+         *
+         * @param file    The file.
+         * @param content The content of the file, {@code null} if it doesn't exist.
+         * @return The state of the file.
+         */
+        private static FileState of(final File file, final byte[] content) {
+            if (content == null) return new FileState(false, 0, 0, 0);
+
+            final CRC32 crc = new CRC32();
+            crc.update(content);
+
+            return new FileState(true, file.lastModified(), content.length, crc.getValue());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final FileState other = (FileState) o;
+            return this.exists == other.exists && this.lastModified == other.lastModified && this.length == other.length
+                    && this.checksum == other.checksum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.exists, this.lastModified, this.length, this.checksum);
+        }
+    }
+}
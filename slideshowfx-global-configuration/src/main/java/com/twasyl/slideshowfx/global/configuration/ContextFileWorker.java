@@ -19,7 +19,9 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.logging.Level;
@@ -36,7 +38,7 @@ import static javax.xml.xpath.XPathConstants.NODE;
  * Class for interacting with a SlideshowFX context file.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX 2.0
  */
 public class ContextFileWorker {
@@ -98,171 +100,41 @@ public class ContextFileWorker {
     }
 
     /**
-     * Save a given {@code recentPresentation} to a specified {@code contextFile}. If the context file doesn't exist or
-     * is empty, it's structure will be created in order to properly add the recent presentation to the file.
+     * Replace the recent presentations stored in the given {@code contextFile} by the given ones. The document is first
+     * written to a temporary file which then replaces the context file, so the context file is never partially written.
      *
-     * @param contextFile        The context file to write to.
-     * @param recentPresentation The presentation to add.
-     * @throws ContextFileException If something went wrong when saving recent presentation to a file.
+     * @param contextFile         The context file to write to.
+     * @param recentPresentations The presentations to store.
+     * @throws ContextFileException If something went wrong when writing the context file.
      */
-    public static void saveRecentPresentationToFile(final File contextFile, final RecentPresentation recentPresentation) throws ContextFileException {
+    static void writeRecentPresentationsToFile(final File contextFile, final Collection<RecentPresentation> recentPresentations) throws ContextFileException {
         checkContextFileValidity(contextFile);
 
+        final Document document = createDocumentFromInput(null);
+        final Node recentPresentationsNode = getRecentPresentationsNode(document);
 
-        try (final InputStream input = getInputStreamForFile(contextFile);
-             final OutputStream output = new FileOutputStream(contextFile)) {
-            saveRecentPresentation(input, output, recentPresentation);
-        } catch (IOException e) {
-            throw new ContextFileException(e);
-        }
-    }
-
-    /**
-     * Update a given {@code recentPresentation} to a specified {@code contextFile}. If the context file doesn't exist or
-     * is empty, it's structure will be created in order to properly add the recent presentation to the file.
-     *
-     * @param contextFile        The context file to write to.
-     * @param recentPresentation The presentation to add.
-     * @throws ContextFileException If something went wrong when updating the recent presentation in the file.
-     */
-    public static void updateRecentPresentationInFile(final File contextFile, final RecentPresentation recentPresentation) throws ContextFileException {
-        checkContextFileValidity(contextFile);
-
-        try (final InputStream input = getInputStreamForFile(contextFile);
-             final OutputStream output = new FileOutputStream(contextFile)) {
-            updateRecentPresentation(input, output, recentPresentation);
-        } catch (IOException e) {
-            throw new ContextFileException(e);
-        }
-    }
+        recentPresentations.stream()
+                .map(presentation -> createNodeFromRecentPresentation(document, presentation))
+                .filter(Objects::nonNull)
+                .forEach(recentPresentationsNode::appendChild);
 
-    /**
-     * Tests if a given {@link RecentPresentation recentPresentation} is found by it's ID in the given document.
-     *
-     * @param contextFile        The document to search in.
-     * @param recentPresentation The presentation to search.
-     * @return {@code true} if the presentation has been found in the document, {@code false} otherwise.
-     */
-    public static boolean recentPresentationAlreadyPresent(final File contextFile, final RecentPresentation recentPresentation) throws ContextFileException {
-        checkContextFileValidity(contextFile);
+        final File temporaryFile = new File(contextFile.getAbsoluteFile().getParentFile(), contextFile.getName() + ".tmp");
 
-        final InputStream input;
         try {
-            input = getInputStreamForFile(contextFile);
-        } catch (IOException e) {
-            throw new ContextFileException(e);
-        }
-
-        return recentPresentationAlreadyPresent(input, recentPresentation);
-    }
-
-    /**
-     * Purge the oldest recent presentations from the given document represented by {@code contextFile} in order to keep
-     * at most the given number of recent presentations.
-     *
-     * @param contextFile                       The document to purge from.
-     * @param numberOfRecentPresentationsToKeep The number of recent presentations to keep.
-     * @return The recent presentations that are now stored in the context file.
-     * @throws ContextFileException If something went wrong when purging recent presentations.
-     */
-    static Set<RecentPresentation> purgeRecentPresentations(final File contextFile, final long numberOfRecentPresentationsToKeep) throws ContextFileException {
-        checkContextFileValidity(contextFile);
-        if (numberOfRecentPresentationsToKeep < 0)
-            throw new IllegalArgumentException("The number of recent presentations to keep can not be negative");
-
+            try (final OutputStream output = new FileOutputStream(temporaryFile)) {
+                writeDocument(document, output);
+            }
 
-        try (final InputStream input = getInputStreamForFile(contextFile);
-             final OutputStream output = new FileOutputStream(contextFile)) {
-            return purgeRecentPresentations(input, output, numberOfRecentPresentationsToKeep);
+            try {
+                Files.move(temporaryFile.toPath(), contextFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile.toPath(), contextFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             throw new ContextFileException(e);
         }
     }
 
-    /**
-     * <p>Save a given {@code recentPresentation} to a given {@code output}. The method will consider the {@code input}
-     * object as the XML document and will try to read it and the result of the appending will be written in the {@code output}.</p>
-     * <p>
-     * If the input is considered empty (meaning {@link InputStream#available()} returns {@code 0}), then the structure
-     * of XML file will be created in order to properly add the presentation.</p>
-     *
-     * @param input              The document to which append the presentation.
-     * @param output             The document where the result of the appending will be persisted.
-     * @param recentPresentation The presentation to add.
-     * @throws ContextFileException If something went wrong when saving the presentation.
-     */
-    protected static void saveRecentPresentation(final InputStream input, final OutputStream output,
-                                                 final RecentPresentation recentPresentation) throws ContextFileException {
-        final Document document = createDocumentFromInput(input);
-
-        populateDocumentIfNecessary(document);
-
-        final Node recentPresentationsNode = getRecentPresentationsNode(document);
-        final Node recentPresentationNode = createNodeFromRecentPresentation(document, recentPresentation);
-
-        if (recentPresentationNode != null) {
-            recentPresentationsNode.appendChild(recentPresentationNode);
-            writeDocument(document, output);
-        }
-    }
-
-    /**
-     * <p>Update a given {@code recentPresentation} to a given {@code output}. The method will consider the {@code input}
-     * object as the XML document and will try to read it and the result of the update will be written in the {@code output}.</p>
-     * <p>If the input is considered empty (meaning {@link InputStream#available()} returns {@code 0}), then the structure
-     * of XML file will be created in order to properly add the presentation.</p>
-     *
-     * @param input              The document to which update the presentation.
-     * @param output             The document where the result of the update will be persisted.
-     * @param recentPresentation The presentation to update.
-     * @throws ContextFileException If something went wrong in {@link #createDocumentFromInput(InputStream)}.
-     */
-    protected static void updateRecentPresentation(final InputStream input, final OutputStream output,
-                                                   final RecentPresentation recentPresentation) throws ContextFileException {
-        final Document document = createDocumentFromInput(input);
-        populateDocumentIfNecessary(document);
-
-        Node recentPresentationNode = null;
-
-        try {
-            recentPresentationNode = findRecentPresentationNodeFromID(document, recentPresentation);
-        } catch (ContextFileException e) {
-            LOGGER.log(Level.WARNING, "Error when trying to find the recent presentation in document", e);
-        }
-
-        final Node recentPresentationsNode = getRecentPresentationsNode(document);
-        final Node newRecentPresentationNode = createNodeFromRecentPresentation(document, recentPresentation);
-
-        if (recentPresentationNode != null) {
-            recentPresentationsNode.removeChild(recentPresentationNode);
-        }
-
-        recentPresentationsNode.appendChild(newRecentPresentationNode);
-
-        writeDocument(document, output);
-    }
-
-    /**
-     * Tests if a given {@link RecentPresentation recentPresentation} is found by it's ID in the given document.
-     *
-     * @param input              The document to search in.
-     * @param recentPresentation The presentation to search.
-     * @return {@code true} if the presentation has been found in the document, {@code false} otherwise.
-     */
-    protected static boolean recentPresentationAlreadyPresent(final InputStream input, final RecentPresentation recentPresentation) {
-        boolean presentationFound = false;
-
-        try {
-            final Document document = documentBuilder.parse(input);
-
-            presentationFound = findRecentPresentationNodeFromID(document, recentPresentation) != null;
-        } catch (ContextFileException | SAXException | IOException e) {
-            LOGGER.log(Level.FINE, "Can not read XML document", e);
-        }
-
-        return presentationFound;
-    }
-
     /**
      * Read all recent presentations from the provided document.
      *
@@ -293,56 +165,6 @@ public class ContextFileWorker {
         return presentations;
     }
 
-    /**
-     * Purge the oldest recent presentations from the given document represented by {@code input} in order to keep at most
-     * the given number of recent presentations.
-     *
-     * @param input                             The document to purge from.
-     * @param output                            The document to write to.
-     * @param numberOfRecentPresentationsToKeep The number of recent presentations to keep.
-     * @return The recent presentations that are now stored in the document.
-     * @throws ContextFileException If something went wrong in {@link #createDocumentFromInput(InputStream)}.
-     */
-    public static Set<RecentPresentation> purgeRecentPresentations(final InputStream input, final OutputStream output, final long numberOfRecentPresentationsToKeep) throws ContextFileException {
-        Set<RecentPresentation> presentations = readRecentPresentationFromStream(input);
-
-        if (presentations.size() > numberOfRecentPresentationsToKeep) {
-            final Comparator<RecentPresentation> byDateDesc = (rp1, rp2) -> {
-                int result;
-
-                if (rp1.getOpenedDateTime() == null && rp2.getOpenedDateTime() != null) {
-                    result = -1;
-                } else if (rp1.getOpenedDateTime() != null && rp2.getOpenedDateTime() == null) {
-                    result = 1;
-                } else {
-                    result = rp2.getOpenedDateTime().compareTo(rp1.getOpenedDateTime());
-                }
-
-                return result;
-            };
-
-            Set<RecentPresentation> presentationsSortedByDateDesc = new TreeSet<>(byDateDesc);
-            presentationsSortedByDateDesc.addAll(presentations);
-
-            presentationsSortedByDateDesc = presentationsSortedByDateDesc.stream()
-                    .limit(numberOfRecentPresentationsToKeep)
-                    .collect(Collectors.toSet());
-
-            final Document document = createDocumentFromInput(null);
-            final Node recentPresentationsNode = getRecentPresentationsNode(document);
-
-            presentationsSortedByDateDesc.stream()
-                    .map(presentation -> createNodeFromRecentPresentation(document, presentation))
-                    .forEach(recentPresentationsNode::appendChild);
-
-            writeDocument(document, output);
-
-            presentations = new TreeSet<>(presentationsSortedByDateDesc);
-        }
-
-        return presentations;
-    }
-
     /**
      * Get the root element of the document with the name {@value ROOT_TAG}. If the root element doesn't exist, it will
      * be created and added to the document.
@@ -14,10 +14,12 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 /**
- * This class provides methods for accessing configuration properties.
+ * This class provides methods for accessing configuration properties. Configuration files are read once and kept in
+ * memory: reading a property doesn't access the disk and changes are written to the disk in batches, shortly after
+ * being made. Use {@link #flush()} to write them immediately.
  *
  * @author Thierry Wasylczenko
- * @version 1.2-SNAPSHOT
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class GlobalConfiguration {
@@ -39,10 +41,9 @@ public class GlobalConfiguration {
     private static File APPLICATION_DIRECTORY = null;
     private static File PLUGINS_DIRECTORY = null;
     private static File TEMPLATE_LIBRARY_DIRECTORY = null;
-    private static File CONFIG_FILE = null;
+    private static volatile File CONFIG_FILE = null;
     private static File LOGGING_CONFIG_FILE = null;
-    private static Set<RecentPresentation> RECENT_PRESENTATIONS = null;
-    private static final Object RECENT_PRESENTATIONS_LOCK = new Object();
+    private static volatile RecentPresentationsStore RECENT_PRESENTATIONS = null;
 
     private static final GlobalConfigurationObservable OBSERVABLE = new GlobalConfigurationObservable();
 
@@ -219,12 +220,17 @@ public class GlobalConfiguration {
      *
      * @return The configuration file.
      */
-    public static synchronized File getConfigurationFile() {
-        if (CONFIG_FILE == null) {
-            CONFIG_FILE = new File(getApplicationDirectory(), SLIDESHOWFX_CONFIGURATION_FILE);
-        }
+    public static File getConfigurationFile() {
+        final File configurationFile = CONFIG_FILE;
+        if (configurationFile != null) return configurationFile;
+
+        synchronized (GlobalConfiguration.class) {
+            if (CONFIG_FILE == null) {
+                CONFIG_FILE = new File(getApplicationDirectory(), SLIDESHOWFX_CONFIGURATION_FILE);
+            }
 
-        return CONFIG_FILE;
+            return CONFIG_FILE;
+        }
     }
 
     /**
@@ -319,6 +325,7 @@ public class GlobalConfiguration {
         if (!configurationFileExists()) {
             try {
                 created = getConfigurationFile().createNewFile();
+                if (created) ConfigurationStore.of(getConfigurationFile()).reset();
             } catch (IOException e) {
                 LOGGER.log(Level.SEVERE, "Can not create the configuration file", e);
             }
@@ -339,6 +346,7 @@ public class GlobalConfiguration {
         if (!getLoggingConfigFile().exists()) {
             try {
                 created = getLoggingConfigFile().createNewFile();
+                if (created) ConfigurationStore.of(getLoggingConfigFile()).reset();
             } catch (IOException e) {
                 LOGGER.log(Level.SEVERE, "Can not create the logging configuration file", e);
             }
@@ -359,6 +367,7 @@ public class GlobalConfiguration {
         if (!loggingConfigFile.exists()) {
             try {
                 created = loggingConfigFile.createNewFile();
+                if (created) ConfigurationStore.of(loggingConfigFile).reset();
             } catch (IOException e) {
                 LOGGER.log(Level.SEVERE, "Can not create the logging configuration file", e);
             }
@@ -374,13 +383,15 @@ public class GlobalConfiguration {
      */
     public static synchronized void fillConfigurationWithDefaultValue() {
         if (configurationFileExists()) {
-            final Properties properties = readAllPropertiesFromConfigurationFile(getConfigurationFile());
+            final ConfigurationStore properties = ConfigurationStore.of(getConfigurationFile());
 
-            if (!properties.containsKey(TEMPORARY_FILES_DELETION_ON_EXIT_PARAMETER))
+            if (!properties.contains(TEMPORARY_FILES_DELETION_ON_EXIT_PARAMETER))
                 enableTemporaryFilesDeletionOnExit(true);
-            if (!properties.containsKey(TEMPORARY_FILES_MAX_AGE_PARAMETER)) setTemporaryFilesMaxAge(7);
-            if (!properties.containsKey(AUTO_SAVING_ENABLED_PARAMETER)) enableAutoSaving(false);
-            if (!properties.containsKey(AUTO_SAVING_INTERVAL_PARAMETER)) setAutoSavingInterval(5);
+            if (!properties.contains(TEMPORARY_FILES_MAX_AGE_PARAMETER)) setTemporaryFilesMaxAge(7);
+            if (!properties.contains(AUTO_SAVING_ENABLED_PARAMETER)) enableAutoSaving(false);
+            if (!properties.contains(AUTO_SAVING_INTERVAL_PARAMETER)) setAutoSavingInterval(5);
+
+            properties.flush();
         }
     }
 
@@ -389,22 +400,24 @@ public class GlobalConfiguration {
      */
     public static synchronized void fillLoggingConfigurationFileWithDefaultValue() {
         if (getLoggingConfigFile().exists()) {
-            final Properties properties = readAllPropertiesFromConfigurationFile(getLoggingConfigFile());
+            final ConfigurationStore properties = ConfigurationStore.of(getLoggingConfigFile());
 
-            if (!properties.containsKey(LOG_LEVEL_PARAMETER)) setLogLevel(Level.INFO);
-            if (!properties.containsKey(LOG_HANDLERS_PARAMETER))
+            if (!properties.contains(LOG_LEVEL_PARAMETER)) setLogLevel(Level.INFO);
+            if (!properties.contains(LOG_HANDLERS_PARAMETER))
                 setLogHandler(ConsoleHandler.class, FileHandler.class, SlideshowFXHandler.class);
-            if (!properties.containsKey(LOG_FILE_APPEND_PARAMETER)) setLogFileAppend(true);
-            if (!properties.containsKey(FileHandler.class.getName().concat(LOG_ENCODING_SUFFIX)))
+            if (!properties.contains(LOG_FILE_APPEND_PARAMETER)) setLogFileAppend(true);
+            if (!properties.contains(FileHandler.class.getName().concat(LOG_ENCODING_SUFFIX)))
                 setLogEncoding(FileHandler.class, UTF_8);
-            if (!properties.containsKey(FileHandler.class.getName().concat(LOG_FORMATTER_SUFFIX)))
+            if (!properties.contains(FileHandler.class.getName().concat(LOG_FORMATTER_SUFFIX)))
                 setLogFormatter(FileHandler.class, SimpleFormatter.class);
-            if (!properties.containsKey(LOG_FILE_LIMIT_PARAMETER)) setLogFileLimit(50000);
-            if (!properties.containsKey(LOG_FILE_PATTERN_PARAMETER)) setLogFilePattern("%h/.SlideshowFX/sfx%g.log");
-            if (!properties.containsKey(SlideshowFXHandler.class.getName().concat(LOG_ENCODING_SUFFIX)))
+            if (!properties.contains(LOG_FILE_LIMIT_PARAMETER)) setLogFileLimit(50000);
+            if (!properties.contains(LOG_FILE_PATTERN_PARAMETER)) setLogFilePattern("%h/.SlideshowFX/sfx%g.log");
+            if (!properties.contains(SlideshowFXHandler.class.getName().concat(LOG_ENCODING_SUFFIX)))
                 setLogEncoding(SlideshowFXHandler.class, UTF_8);
-            if (!properties.containsKey(SlideshowFXHandler.class.getName().concat(LOG_FORMATTER_SUFFIX)))
+            if (!properties.contains(SlideshowFXHandler.class.getName().concat(LOG_FORMATTER_SUFFIX)))
                 setLogFormatter(SlideshowFXHandler.class, SimpleFormatter.class);
+
+            properties.flush();
         }
     }
 
@@ -414,17 +427,17 @@ public class GlobalConfiguration {
      */
     public static synchronized void loadHttpProxyConfiguration() {
         if (configurationFileExists()) {
-            final Properties properties = readAllPropertiesFromConfigurationFile(getConfigurationFile());
+            final ConfigurationStore properties = ConfigurationStore.of(getConfigurationFile());
 
-            if (properties.containsKey(HTTP_PROXY_HOST_PARAMETER)) {
-                OBSERVABLE.notifyProxyHostChanged(false, System.getProperty("http.proxyHost"), properties.getProperty(HTTP_PROXY_HOST_PARAMETER));
+            if (properties.contains(HTTP_PROXY_HOST_PARAMETER)) {
+                OBSERVABLE.notifyProxyHostChanged(false, System.getProperty("http.proxyHost"), properties.get(HTTP_PROXY_HOST_PARAMETER));
             }
 
-            if (properties.containsKey(HTTPS_PROXY_HOST_PARAMETER)) {
-                OBSERVABLE.notifyProxyHostChanged(true, System.getProperty("https.proxyHost"), properties.getProperty(HTTPS_PROXY_HOST_PARAMETER));
+            if (properties.contains(HTTPS_PROXY_HOST_PARAMETER)) {
+                OBSERVABLE.notifyProxyHostChanged(true, System.getProperty("https.proxyHost"), properties.get(HTTPS_PROXY_HOST_PARAMETER));
             }
 
-            if (properties.containsKey(HTTP_PROXY_PORT_PARAMETER)) {
+            if (properties.contains(HTTP_PROXY_PORT_PARAMETER)) {
                 Integer currentPort = null;
                 try {
                     currentPort = Integer.valueOf(System.getProperty("http.proxyPort"));
@@ -434,7 +447,7 @@ public class GlobalConfiguration {
 
                 Integer newPort = null;
                 try {
-                    newPort = Integer.valueOf(properties.getProperty(HTTP_PROXY_PORT_PARAMETER));
+                    newPort = Integer.valueOf(properties.get(HTTP_PROXY_PORT_PARAMETER));
                 } catch (NumberFormatException e) {
                     LOGGER.log(FINE, "Can not parse " + HTTP_PROXY_HOST_PARAMETER + " parameter", e);
                 }
@@ -442,7 +455,7 @@ public class GlobalConfiguration {
                 OBSERVABLE.notifyProxyPortChanged(false, currentPort, newPort);
             }
 
-            if (properties.containsKey(HTTPS_PROXY_PORT_PARAMETER)) {
+            if (properties.contains(HTTPS_PROXY_PORT_PARAMETER)) {
                 Integer currentPort = null;
                 try {
                     currentPort = Integer.valueOf(System.getProperty("https.proxyPort"));
@@ -452,7 +465,7 @@ public class GlobalConfiguration {
 
                 Integer newPort = null;
                 try {
-                    newPort = Integer.valueOf(properties.getProperty(HTTPS_PROXY_PORT_PARAMETER));
+                    newPort = Integer.valueOf(properties.get(HTTPS_PROXY_PORT_PARAMETER));
                 } catch (NumberFormatException e) {
                     LOGGER.log(FINE, "Can not parse " + HTTPS_PROXY_HOST_PARAMETER + " parameter", e);
                 }
@@ -478,41 +491,11 @@ public class GlobalConfiguration {
     }
 
     /**
-     * Read all properties stored in the configuration file. If no properties are found or if the configuration file
-     * doesn't exist, an empty object is returned.
-     *
-     * @return The properties stored in the configuration file.
+     * Write the configuration changes that haven't been written to the disk yet. Changes are otherwise written shortly
+     * after being made and when the application exits.
      */
-    protected static synchronized Properties readAllPropertiesFromConfigurationFile(final File file) {
-        final Properties properties = new Properties();
-
-        if (file.exists()) {
-
-            try (final Reader reader = new FileReader(file)) {
-                properties.load(reader);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not load configuration file: " + file.getAbsolutePath(), e);
-            }
-        }
-
-        return properties;
-    }
-
-    /**
-     * Writes all properties to the configuration file. If the given properties are null, nothing is performed.
-     *
-     * @param file       The file in which the properties will be written.
-     * @param properties The properties to write to the configuration file.
-     */
-    private static synchronized void writeAllPropertiesToConfigurationFile(final File file, final Properties properties) {
-        if (properties != null) {
-            try (final Writer writer = new FileWriter(file)) {
-                properties.store(writer, "");
-                writer.flush();
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not save configuration", e);
-            }
-        }
+    public static void flush() {
+        ConfigurationStore.flushAll();
     }
 
     /**
@@ -524,7 +507,7 @@ public class GlobalConfiguration {
      * @throws NullPointerException     If the property name is null.
      * @throws IllegalArgumentException If the property name is empty.
      */
-    public static synchronized String getProperty(final String propertyName) {
+    public static String getProperty(final String propertyName) {
         return getProperty(getConfigurationFile(), propertyName);
     }
 
@@ -538,17 +521,10 @@ public class GlobalConfiguration {
      * @throws NullPointerException     If the property name is null.
      * @throws IllegalArgumentException If the property name is empty.
      */
-    public static synchronized String getProperty(final File file, final String propertyName) {
+    public static String getProperty(final File file, final String propertyName) {
         checkPropertyName(propertyName);
 
-        String value = null;
-
-        if (file.exists()) {
-            final Properties properties = readAllPropertiesFromConfigurationFile(file);
-            value = properties.getProperty(propertyName.trim());
-        }
-
-        return value;
+        return ConfigurationStore.of(file).get(propertyName.trim());
     }
 
     /**
@@ -559,7 +535,7 @@ public class GlobalConfiguration {
      * @throws NullPointerException     If the name or value of the property is null.
      * @throws IllegalArgumentException If the name or value of the property is empty.
      */
-    public static synchronized void setProperty(final String propertyName, final String propertyValue) {
+    public static void setProperty(final String propertyName, final String propertyValue) {
         setProperty(getConfigurationFile(), propertyName, propertyValue);
     }
 
@@ -572,13 +548,11 @@ public class GlobalConfiguration {
      * @throws NullPointerException     If the name or value of the property is null.
      * @throws IllegalArgumentException If the name or value of the property is empty.
      */
-    private static synchronized void setProperty(final File file, final String propertyName, final String propertyValue) {
+    private static void setProperty(final File file, final String propertyName, final String propertyValue) {
         checkPropertyName(propertyName);
         checkPropertyValue(propertyValue);
 
-        final Properties properties = readAllPropertiesFromConfigurationFile(file);
-        properties.put(propertyName.trim(), propertyValue);
-        writeAllPropertiesToConfigurationFile(file, properties);
+        ConfigurationStore.of(file).set(propertyName.trim(), propertyValue);
     }
 
     /**
@@ -586,7 +560,7 @@ public class GlobalConfiguration {
      *
      * @param propertyName The name of the property to remove.
      */
-    public static synchronized void removeProperty(final String propertyName) {
+    public static void removeProperty(final String propertyName) {
         removeProperty(getConfigurationFile(), propertyName);
     }
 
@@ -596,15 +570,10 @@ public class GlobalConfiguration {
      * @param file         The file from which the property will be removed.
      * @param propertyName The name of the property to remove.
      */
-    public static synchronized void removeProperty(final File file, final String propertyName) {
+    public static void removeProperty(final File file, final String propertyName) {
         checkPropertyName(propertyName);
 
-        final Properties properties = readAllPropertiesFromConfigurationFile(file);
-
-        if (properties.containsKey(propertyName.trim())) {
-            properties.remove(propertyName.trim());
-            writeAllPropertiesToConfigurationFile(file, properties);
-        }
+        ConfigurationStore.of(file).remove(propertyName.trim());
     }
 
     /**
@@ -912,19 +881,24 @@ public class GlobalConfiguration {
     }
 
     /**
-     * Set the maximum number of recent presentations that must be stored and displayed in the "Open recent" menu.
+     * Set the maximum number of recent presentations that must be stored and displayed in the "Open recent" menu. If
+     * more presentations have been opened recently, the oldest ones are removed.
      *
      * @param maxRecentPresentations The maximum number of recent presentations.
      */
     public static void setMaxRecentPresentations(final long maxRecentPresentations) {
         setProperty(MAX_RECENT_PRESENTATIONS, String.valueOf(maxRecentPresentations));
+        trimRecentPresentations();
     }
 
     /**
      * Remove the maximum number of recent presentations that must be stored and displayed in the "Open recent" menu.
+     * If more presentations than the {@link #getDefaultMaxRecentPresentations() default maximum} have been opened
+     * recently, the oldest ones are removed.
      */
     public static void removeMaxRecentPresentations() {
         removeProperty(MAX_RECENT_PRESENTATIONS);
+        trimRecentPresentations();
     }
 
     /**
@@ -1149,86 +1123,59 @@ public class GlobalConfiguration {
     }
 
     /**
-     * Get a collection of presentations opened recently.
+     * Get a collection of presentations opened recently. The context file is only read the first time the recent
+     * presentations are accessed.
      *
-     * @return The collection of presentations opened recently.
+     * @return An immutable collection of presentations opened recently.
      */
-    public static synchronized Set<RecentPresentation> getRecentPresentations() {
-        if (RECENT_PRESENTATIONS == null) {
-            try {
-                RECENT_PRESENTATIONS = ContextFileWorker.readRecentPresentationFromFile(new File(getApplicationDirectory(), SLIDESHOWFX_CONTEXT_FILE_NAME));
-            } catch (ContextFileException e) {
-                LOGGER.log(WARNING, "Can not read the recent opened presentations", e);
-            }
-        }
-        final Long maxRecentPresentations = getMaxRecentPresentations();
-
-        synchronized (RECENT_PRESENTATIONS_LOCK) {
-            if (RECENT_PRESENTATIONS.size() > maxRecentPresentations) {
-                final File contextFile = new File(getApplicationDirectory(), SLIDESHOWFX_CONTEXT_FILE_NAME);
-                try {
-                    RECENT_PRESENTATIONS = ContextFileWorker.purgeRecentPresentations(contextFile, maxRecentPresentations);
-                } catch (ContextFileException e) {
-                    LOGGER.log(WARNING, "Can not purge recent presentations", e);
-                }
-            }
-        }
+    public static Set<RecentPresentation> getRecentPresentations() {
+        return getRecentPresentationsStore().getAll();
+    }
 
-        return RECENT_PRESENTATIONS;
+    /**
+     * Get a presentation opened recently by its {@link RecentPresentation#getId() ID}.
+     *
+     * @param id The ID of the presentation.
+     * @return The presentation opened recently or {@code null} if it hasn't been opened recently.
+     */
+    public static RecentPresentation getRecentPresentation(final String id) {
+        return getRecentPresentationsStore().get(id);
     }
 
     /**
-     * Save a {@link RecentPresentation} as a recently opened presentation. This save is persisted on disk.
+     * Save a {@link RecentPresentation} as a recently opened presentation. This save is persisted on disk by appending
+     * it to a journal, which is periodically compacted into the context file.
      *
      * @param recentPresentation The presentation to save as recently opened.
      */
-    public static synchronized void saveRecentPresentation(final RecentPresentation recentPresentation) {
+    public static void saveRecentPresentation(final RecentPresentation recentPresentation) {
         if (recentPresentation != null) {
-            final File contextFile = new File(getApplicationDirectory(), SLIDESHOWFX_CONTEXT_FILE_NAME);
-            boolean presentationAlreadyPresent = false;
-
-            try {
-                presentationAlreadyPresent = ContextFileWorker.recentPresentationAlreadyPresent(contextFile, recentPresentation);
-            } catch (ContextFileException e) {
-                LOGGER.log(WARNING, "Context file seems to not exist", e);
-            }
+            getRecentPresentationsStore().add(recentPresentation, getMaxRecentPresentations());
+        }
+    }
 
-            synchronized (RECENT_PRESENTATIONS) {
-                if (RECENT_PRESENTATIONS.contains(recentPresentation)) {
-                    RECENT_PRESENTATIONS.remove(recentPresentation);
-                }
-            }
+    /**
+     * Remove the oldest recent presentations exceeding the {@link #getMaxRecentPresentations() maximum}. Nothing is
+     * done if the recent presentations haven't been loaded yet, as they are trimmed when they are loaded.
+     */
+    private static void trimRecentPresentations() {
+        final RecentPresentationsStore store = RECENT_PRESENTATIONS;
 
-            if (presentationAlreadyPresent) {
-                try {
-                    synchronized (RECENT_PRESENTATIONS) {
-                        ContextFileWorker.updateRecentPresentationInFile(contextFile, recentPresentation);
-                        RECENT_PRESENTATIONS.add(recentPresentation);
-                    }
-                } catch (ContextFileException e) {
-                    LOGGER.log(WARNING, "Can not update recently opened presentation", e);
-                }
-            } else {
-                try {
-                    synchronized (RECENT_PRESENTATIONS) {
-                        ContextFileWorker.saveRecentPresentationToFile(contextFile, recentPresentation);
-                        RECENT_PRESENTATIONS.add(recentPresentation);
-                    }
-                } catch (ContextFileException e) {
-                    LOGGER.log(WARNING, "The recent presentation couldn't be saved", e);
-                }
-            }
+        if (store != null) {
+            store.trim(getMaxRecentPresentations());
+        }
+    }
 
-            synchronized (RECENT_PRESENTATIONS_LOCK) {
-                final Long maxRecentPresentations = getMaxRecentPresentations();
-                if (RECENT_PRESENTATIONS.size() > maxRecentPresentations) {
-                    try {
-                        RECENT_PRESENTATIONS = ContextFileWorker.purgeRecentPresentations(contextFile, maxRecentPresentations);
-                    } catch (ContextFileException e) {
-                        LOGGER.log(WARNING, "Can not purge recent presentations", e);
-                    }
+    private static RecentPresentationsStore getRecentPresentationsStore() {
+        if (RECENT_PRESENTATIONS == null) {
+            synchronized (GlobalConfiguration.class) {
+                if (RECENT_PRESENTATIONS == null) {
+                    final File contextFile = new File(getApplicationDirectory(), SLIDESHOWFX_CONTEXT_FILE_NAME);
+                    RECENT_PRESENTATIONS = new RecentPresentationsStore(contextFile, getMaxRecentPresentations());
                 }
             }
         }
+
+        return RECENT_PRESENTATIONS;
     }
 }
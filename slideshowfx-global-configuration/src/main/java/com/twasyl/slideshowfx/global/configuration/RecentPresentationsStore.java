@@ -0,0 +1,240 @@
+package com.twasyl.slideshowfx.global.configuration;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Keeps the presentations opened recently in memory. The context file, an XML document written by the
+ * {@link ContextFileWorker}, is only read once. Each opened presentation is then appended to a journal, a small text
+ * file stored next to the context file with one line per opening, so opening a presentation doesn't parse nor rewrite
+ * the context file. Once the journal contains {@value #COMPACTION_THRESHOLD} entries, the recent presentations are
+ * written to the context file and the journal is emptied, by a background thread. The journal is also compacted when
+ * the store is loaded.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+final class RecentPresentationsStore {
+    private static final Logger LOGGER = Logger.getLogger(RecentPresentationsStore.class.getName());
+
+    /**
+     * The number of journal entries triggering the compaction of the journal.
+     */
+    static final int COMPACTION_THRESHOLD = 32;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final char SEPARATOR = '\t';
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "recent-presentations-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File contextFile;
+    private final File journalFile;
+    private final Map<String, RecentPresentation> presentationsById = new ConcurrentHashMap<>();
+    private volatile Set<RecentPresentation> presentations = Collections.emptySet();
+    private int journalEntries = 0;
+    private boolean compactionScheduled = false;
+
+    /**
+     * Create a store for the given context file and load it, including the entries of its journal.
+     *
+     * @param contextFile             The context file.
+     * @param maxRecentPresentations The maximum number of recent presentations to keep.
+     */
+    RecentPresentationsStore(final File contextFile, final long maxRecentPresentations) {
+        if (contextFile == null) throw new NullPointerException("The context file can not be null");
+
+        this.contextFile = contextFile;
+        this.journalFile = new File(contextFile.getAbsoluteFile().getParentFile(), contextFile.getName() + JOURNAL_SUFFIX);
+
+        this.load(maxRecentPresentations);
+    }
+
+    /**
+     * Get the journal file of this store.
+     *
+     * @return The journal file.
+     */
+    File getJournalFile() {
+        return this.journalFile;
+    }
+
+    /**
+     * Get the presentations opened recently.
+     *
+     * @return An immutable snapshot of the recent presentations, sorted by path.
+     */
+    Set<RecentPresentation> getAll() {
+        return this.presentations;
+    }
+
+    /**
+     * Get a recent presentation by its {@link RecentPresentation#getId() ID}.
+     *
+     * @param id The ID of the presentation.
+     * @return The recent presentation or {@code null} if it hasn't been opened recently.
+     */
+    RecentPresentation get(final String id) {
+        return id == null ? null : this.presentationsById.get(id);
+    }
+
+    /**
+     * Record that a presentation has been opened. Only the most recently opened presentations are kept.
+     *
+     * @param presentation           The opened presentation.
+     * @param maxRecentPresentations The maximum number of recent presentations to keep.
+     */
+    synchronized void add(final RecentPresentation presentation, final long maxRecentPresentations) {
+        if (presentation.getOpenedDateTime() == null) return;
+
+        this.presentationsById.put(presentation.getId(), presentation);
+        this.evict(maxRecentPresentations);
+        this.updateSnapshot();
+
+        try (final Writer writer = new OutputStreamWriter(new FileOutputStream(this.journalFile, true), UTF_8)) {
+            writer.write(presentation.getOpenedDateTime().toString() + SEPARATOR + presentation.getNormalizedPath() + '\n');
+            this.journalEntries++;
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not append the recent presentation to the journal", e);
+            this.scheduleCompaction();
+        }
+
+        if (this.journalEntries >= COMPACTION_THRESHOLD) {
+            this.scheduleCompaction();
+        }
+    }
+
+    /**
+     * Keep at most the given number of recent presentations, typically because the maximum has been lowered since the
+     * presentations were added. If presentations are removed, the context file is compacted in the background.
+     *
+     * @param maxRecentPresentations The maximum number of recent presentations to keep.
+     */
+    void trim(final long maxRecentPresentations) {
+        if (this.presentations.size() <= maxRecentPresentations) return;
+
+        synchronized (this) {
+            final int size = this.presentationsById.size();
+            this.evict(maxRecentPresentations);
+
+            if (this.presentationsById.size() != size) {
+                this.updateSnapshot();
+                this.scheduleCompaction();
+            }
+        }
+    }
+
+    /**
+     * Write the recent presentations to the context file and empty the journal.
+     */
+    synchronized void compact() {
+        this.compactionScheduled = false;
+
+        try {
+            ContextFileWorker.writeRecentPresentationsToFile(this.contextFile, this.presentations);
+
+            if (this.journalFile.exists() && !this.journalFile.delete()) {
+                LOGGER.warning("Can not delete the recent presentations journal");
+            }
+
+            this.journalEntries = 0;
+        } catch (ContextFileException e) {
+            LOGGER.log(WARNING, "Can not compact the recent presentations", e);
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (!this.compactionScheduled) {
+            this.compactionScheduled = true;
+            COMPACTOR.execute(this::compact);
+        }
+    }
+
+    private synchronized void load(final long maxRecentPresentations) {
+        if (this.contextFile.exists()) {
+            try {
+                ContextFileWorker.readRecentPresentationFromFile(this.contextFile)
+                        .forEach(presentation -> this.presentationsById.put(presentation.getId(), presentation));
+            } catch (ContextFileException e) {
+                LOGGER.log(WARNING, "Can not read the recent opened presentations", e);
+            }
+        }
+
+        this.journalEntries = this.replayJournal();
+
+        final int size = this.presentationsById.size();
+        this.evict(maxRecentPresentations);
+        this.updateSnapshot();
+
+        if (this.journalEntries > 0 || this.presentationsById.size() != size) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Apply the entries of the journal to the presentations read from the context file.
+     *
+     * @return The number of entries in the journal.
+     */
+    private int replayJournal() {
+        int entries = 0;
+
+        if (this.journalFile.exists()) {
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(this.journalFile), UTF_8))) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    entries++;
+
+                    final int separator = line.indexOf(SEPARATOR);
+                    if (separator <= 0) continue;
+
+                    try {
+                        final LocalDateTime openedDateTime = LocalDateTime.parse(line.substring(0, separator));
+                        final RecentPresentation presentation = new RecentPresentation(line.substring(separator + 1), openedDateTime);
+                        this.presentationsById.put(presentation.getId(), presentation);
+                    } catch (DateTimeParseException e) {
+                        LOGGER.log(Level.FINE, "Ignoring invalid journal entry: " + line, e);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Can not read the recent presentations journal", e);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Remove the least recently opened presentations in order to keep at most the given number of presentations.
+     *
+     * @param maxRecentPresentations The maximum number of presentations to keep.
+     */
+    private void evict(final long maxRecentPresentations) {
+        if (this.presentationsById.size() <= maxRecentPresentations) return;
+
+        this.presentationsById.values().stream()
+                .sorted(Comparator.comparing(RecentPresentation::getOpenedDateTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .limit(this.presentationsById.size() - Math.max(0, maxRecentPresentations))
+                .map(RecentPresentation::getId)
+                .forEach(this.presentationsById::remove);
+    }
+
+    private void updateSnapshot() {
+        this.presentations = Collections.unmodifiableSet(new TreeSet<>(this.presentationsById.values()));
+    }
+}
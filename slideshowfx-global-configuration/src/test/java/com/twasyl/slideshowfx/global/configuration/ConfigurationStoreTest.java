@@ -0,0 +1,137 @@
+package com.twasyl.slideshowfx.global.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link ConfigurationStore}.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class ConfigurationStoreTest {
+
+    private File file;
+    private ConfigurationStore store;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        final File tmpFolder = new File("build", "storeTestsTmp");
+        if (!tmpFolder.exists()) {
+            tmpFolder.mkdirs();
+        }
+
+        this.file = new File(tmpFolder, "store.properties");
+        this.file.createNewFile();
+
+        this.store = ConfigurationStore.of(this.file);
+        this.store.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.file.delete();
+        this.file.getParentFile().delete();
+    }
+
+    private Properties readFile() throws IOException {
+        final Properties properties = new Properties();
+
+        try (final Reader reader = new FileReader(this.file)) {
+            properties.load(reader);
+        }
+
+        return properties;
+    }
+
+    private void writeFile(final Properties properties) throws IOException {
+        try (final Writer writer = new FileWriter(this.file)) {
+            properties.store(writer, "");
+        }
+    }
+
+    @Test
+    public void sameStoreForSameFile() {
+        assertSame(this.store, ConfigurationStore.of(this.file.getAbsoluteFile()));
+    }
+
+    @Test
+    public void changesAreServedBeforeBeingWritten() throws IOException {
+        this.store.set("key", "value");
+
+        assertEquals("value", this.store.get("key"));
+        assertNull(readFile().getProperty("key"));
+    }
+
+    @Test
+    public void changesAreWrittenOnFlush() throws IOException {
+        this.store.set("kept", "value");
+        this.store.set("removed", "value");
+        this.store.remove("removed");
+        this.store.flush();
+
+        final Properties properties = readFile();
+        assertEquals("value", properties.getProperty("kept"));
+        assertFalse(properties.containsKey("removed"));
+    }
+
+    @Test
+    public void changesAreWrittenAfterDelay() throws Exception {
+        this.store.set("key", "value");
+
+        Thread.sleep(ConfigurationStore.WRITE_DELAY * 4);
+
+        assertEquals("value", readFile().getProperty("key"));
+    }
+
+    @Test
+    public void externalModificationIsReloadedWithUnsavedChanges() throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("external", "value");
+        writeFile(properties);
+
+        this.store.set("local", "value");
+        this.store.flush();
+
+        assertEquals("value", this.store.get("external"));
+        assertEquals("value", this.store.get("local"));
+        assertEquals("value", readFile().getProperty("external"));
+        assertEquals("value", readFile().getProperty("local"));
+    }
+
+    @Test
+    public void sameSizeModificationIsReloaded() throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("external", "first");
+        writeFile(properties);
+        this.store.reset();
+        final long lastModified = this.file.lastModified();
+
+        properties.setProperty("external", "other");
+        writeFile(properties);
+        this.file.setLastModified(lastModified);
+
+        this.store.set("local", "value");
+        this.store.flush();
+
+        assertEquals("other", this.store.get("external"));
+        assertEquals("other", readFile().getProperty("external"));
+    }
+
+    @Test
+    public void deletedFileIsNotWrittenAgain() {
+        this.store.set("key", "value");
+        this.file.delete();
+
+        this.store.flush();
+
+        assertFalse(this.file.exists());
+        assertNull(this.store.get("key"));
+    }
+}
@@ -13,7 +13,6 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -26,7 +25,6 @@ import java.util.Set;
 import static com.twasyl.slideshowfx.global.configuration.ContextFileWorker.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.xml.xpath.XPathConstants.NODE;
-import static javax.xml.xpath.XPathConstants.STRING;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
@@ -263,84 +261,6 @@ public class ContextFileWorkerTest {
         assertEquals(recentPresentation3.getId(), recentPresentation.getId());
     }
 
-    @Test
-    public void saveWithEmptyDocument() throws Exception {
-        final String path = "presentation.sfx";
-        final LocalDateTime openedDateTime = LocalDateTime.now();
-
-        final RecentPresentation recentPresentation = new RecentPresentation(path, openedDateTime);
-        final ByteArrayInputStream input = new ByteArrayInputStream(new byte[0]);
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        ContextFileWorker.saveRecentPresentation(input, output, recentPresentation);
-
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        final DocumentBuilder builder = factory.newDocumentBuilder();
-        final Document document = builder.parse(new ByteArrayInputStream(output.toByteArray()));
-
-        final XPathFactory xPathFactory = XPathFactory.newInstance();
-        final XPath xPath = xPathFactory.newXPath();
-
-        final String baseExpr = new StringBuilder("/").append(ROOT_TAG).append("/").append(RECENT_PRESENTATIONS_TAG).append("/").append(RECENT_PRESENTATION_TAG).append("[1]").toString();
-        final String actualFile = (String) xPath.evaluate(baseExpr + "/" + FILE_TAG, document.getDocumentElement(), STRING);
-        final String actualId = (String) xPath.evaluate(baseExpr + "/" + ID_TAG, document.getDocumentElement(), STRING);
-
-        assertNotNull(actualId);
-        assertEquals(recentPresentation.getId(), actualId);
-
-        assertNotNull(actualFile);
-        assertEquals(recentPresentation.getNormalizedPath(), actualFile);
-
-        final LocalDateTime actualOpenedDateTime = LocalDateTime.parse((String) xPath.evaluate(baseExpr + "/" + OPENED_DATE_TIME_TAG, document.getDocumentElement(), STRING));
-        assertEquals(openedDateTime, actualOpenedDateTime);
-    }
-
-    @Test
-    public void saveWithExistingDocument() throws Exception {
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", LocalDateTime.now().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        ContextFileWorker.saveRecentPresentation(input, output, recentPresentation2);
-
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        final DocumentBuilder builder = factory.newDocumentBuilder();
-        final Document document = builder.parse(new ByteArrayInputStream(output.toByteArray()));
-
-        final XPathFactory xPathFactory = XPathFactory.newInstance();
-        final XPath xPath = xPathFactory.newXPath();
-
-        final String baseExpr = new StringBuilder("/").append(ROOT_TAG).append("/").append(RECENT_PRESENTATIONS_TAG).append("/").append(RECENT_PRESENTATION_TAG).append("[2]").toString();
-        final String actualFile = (String) xPath.evaluate(baseExpr + "/" + FILE_TAG, document.getDocumentElement(), STRING);
-        final String actualId = (String) xPath.evaluate(baseExpr + "/" + ID_TAG, document.getDocumentElement(), STRING);
-
-        assertNotNull(actualId);
-        assertEquals(recentPresentation2.getId(), actualId);
-
-        assertNotNull(actualFile);
-        assertEquals(recentPresentation2.getNormalizedPath(), actualFile);
-
-        final LocalDateTime actualOpenedDateTime = LocalDateTime.parse((String) xPath.evaluate(baseExpr + "/" + OPENED_DATE_TIME_TAG, document.getDocumentElement(), STRING));
-        assertEquals(recentPresentation2.getOpenedDateTime(), actualOpenedDateTime);
-    }
-
-    @Test
-    public void saveWithoutOpenedPresentationDate() throws Exception {
-        final String path = "presentation.sfx";
-
-        final RecentPresentation recentPresentation = new RecentPresentation(path, null);
-        final ByteArrayInputStream input = new ByteArrayInputStream(new byte[0]);
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        ContextFileWorker.saveRecentPresentation(input, output, recentPresentation);
-
-        assertEquals(0, output.size());
-    }
-
     @Test
     public void readWithoutOpenedPresentationDate() {
         final ByteArrayInputStream input = new ByteArrayInputStream("<slideshowfx><recentPresentations><recentPresentation><id>presentation01</id><file>/presentation01.sfx</file></recentPresentation></recentPresentations></slideshowfx>".getBytes());
@@ -434,137 +354,4 @@ public class ContextFileWorkerTest {
         Node node = ContextFileWorker.findRecentPresentationNodeFromID(document, recentPresentation3);
         assertNull(node);
     }
-
-    @Test
-    public void updatePresentation() throws Exception {
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", LocalDateTime.now().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1, recentPresentation2);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        recentPresentation2.setOpenedDateTime(recentPresentation2.getOpenedDateTime().plusDays(2));
-        ContextFileWorker.updateRecentPresentation(input, output, recentPresentation2);
-
-        final Document updatedDocument = createDocumentFromString(new String(output.toByteArray(), UTF_8));
-        final List<Node> nodes = ContextFileWorker.getRecentPresentationNodes(ContextFileWorker.getRecentPresentationsNode(updatedDocument));
-
-        assertEquals(2, nodes.size());
-
-        Node recentPresentation = ContextFileWorker.findRecentPresentationNodeFromID(updatedDocument, recentPresentation1);
-        assertRecentPresentationNode(recentPresentation, recentPresentation1);
-
-        recentPresentation = ContextFileWorker.findRecentPresentationNodeFromID(updatedDocument, recentPresentation2);
-        assertRecentPresentationNode(recentPresentation, recentPresentation2);
-    }
-
-    @Test
-    public void testRecentPresentationAlreadyPresent() {
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", LocalDateTime.now().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1, recentPresentation2);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-
-        assertTrue(ContextFileWorker.recentPresentationAlreadyPresent(input, recentPresentation2));
-    }
-
-    @Test
-    public void testRecentPresentationAlreadyPresentWhenNot() {
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", LocalDateTime.now().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-
-        assertFalse(ContextFileWorker.recentPresentationAlreadyPresent(input, recentPresentation2));
-    }
-
-    @Test
-    public void purgeRecentPresentations() throws ContextFileException {
-        final int numberOfRecentPresentationsToKeep = 2;
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", recentPresentation1.getOpenedDateTime().plusDays(2));
-        final RecentPresentation recentPresentation3 = new RecentPresentation("presentation3.sfx", recentPresentation2.getOpenedDateTime().plusDays(2));
-        final RecentPresentation recentPresentation4 = new RecentPresentation("presentation4.sfx", null);
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1, recentPresentation2, recentPresentation3, recentPresentation4);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        final Set<RecentPresentation> presentations = ContextFileWorker.purgeRecentPresentations(input, output, numberOfRecentPresentationsToKeep);
-        assertEquals(numberOfRecentPresentationsToKeep, presentations.size());
-
-        final Iterator<RecentPresentation> iterator = presentations.iterator();
-        RecentPresentation recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation2.getId(), recentPresentation.getId());
-
-        recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation3.getId(), recentPresentation.getId());
-    }
-
-    @Test
-    public void purgeRecentPresentationsWhenEqualAsSpecified() throws ContextFileException {
-        final int numberOfRecentPresentationsToKeep = 3;
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", recentPresentation1.getOpenedDateTime().plusDays(2));
-        final RecentPresentation recentPresentation3 = new RecentPresentation("presentation3.sfx", recentPresentation2.getOpenedDateTime().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1, recentPresentation2, recentPresentation3);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        final Set<RecentPresentation> presentations = ContextFileWorker.purgeRecentPresentations(input, output, numberOfRecentPresentationsToKeep);
-        assertEquals(numberOfRecentPresentationsToKeep, presentations.size());
-
-        final Iterator<RecentPresentation> iterator = presentations.iterator();
-        RecentPresentation recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation1.getId(), recentPresentation.getId());
-
-        recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation2.getId(), recentPresentation.getId());
-
-        recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation3.getId(), recentPresentation.getId());
-    }
-
-    @Test
-    public void purgeRecentPresentationsWhenLessThanSpecified() throws ContextFileException {
-        final int numberOfRecentPresentationsToKeep = 4;
-        final RecentPresentation recentPresentation1 = new RecentPresentation("presentation1.sfx", LocalDateTime.now());
-        final RecentPresentation recentPresentation2 = new RecentPresentation("presentation2.sfx", recentPresentation1.getOpenedDateTime().plusDays(2));
-        final RecentPresentation recentPresentation3 = new RecentPresentation("presentation3.sfx", recentPresentation2.getOpenedDateTime().plusDays(2));
-
-        final String xml = this.createXmlStringFromRecentPresentations(recentPresentation1, recentPresentation2, recentPresentation3);
-
-        final ByteArrayInputStream input = new ByteArrayInputStream(xml.getBytes(UTF_8));
-        final ByteArrayOutputStream output = new ByteArrayOutputStream();
-
-        final Set<RecentPresentation> presentations = ContextFileWorker.purgeRecentPresentations(input, output, numberOfRecentPresentationsToKeep);
-        assertEquals(3, presentations.size());
-
-        final Iterator<RecentPresentation> iterator = presentations.iterator();
-        RecentPresentation recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation1.getId(), recentPresentation.getId());
-
-        recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation2.getId(), recentPresentation.getId());
-
-        recentPresentation = iterator.next();
-        assertNotNull(recentPresentation);
-        assertEquals(recentPresentation3.getId(), recentPresentation.getId());
-    }
 }
@@ -0,0 +1,155 @@
+package com.twasyl.slideshowfx.global.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link RecentPresentationsStore}.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class RecentPresentationsStoreTest {
+
+    private File contextFile;
+
+    @BeforeEach
+    public void setUp() {
+        final File tmpFolder = new File("build", "recentPresentationsTestsTmp");
+        if (!tmpFolder.exists()) {
+            tmpFolder.mkdirs();
+        }
+
+        this.contextFile = new File(tmpFolder, "context.xml");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        final File[] files = this.contextFile.getParentFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.contextFile.getParentFile().delete();
+    }
+
+    @Test
+    public void addedPresentationIsJournaled() {
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 10);
+        final RecentPresentation presentation = new RecentPresentation("/tmp/presentation.sfx", LocalDateTime.now());
+
+        store.add(presentation, 10);
+
+        assertEquals(Set.of(presentation), store.getAll());
+        assertSame(presentation, store.get(presentation.getId()));
+        assertTrue(store.getJournalFile().exists());
+        assertFalse(this.contextFile.exists());
+    }
+
+    @Test
+    public void journalIsReplayedAndCompactedOnLoad() throws ContextFileException {
+        final RecentPresentation first = new RecentPresentation("/tmp/first.sfx", LocalDateTime.now().minusDays(1));
+        final RecentPresentation second = new RecentPresentation("/tmp/second.sfx", LocalDateTime.now());
+
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 10);
+        store.add(first, 10);
+        store.add(second, 10);
+
+        final RecentPresentationsStore reloaded = new RecentPresentationsStore(this.contextFile, 10);
+
+        assertEquals(Set.of(first, second), reloaded.getAll());
+        assertEquals(second.getOpenedDateTime(), reloaded.get(second.getId()).getOpenedDateTime());
+        assertFalse(reloaded.getJournalFile().exists());
+        assertEquals(Set.of(first, second), ContextFileWorker.readRecentPresentationFromFile(this.contextFile));
+    }
+
+    @Test
+    public void reopenedPresentationIsUpdated() {
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 10);
+        final RecentPresentation opened = new RecentPresentation("/tmp/presentation.sfx", LocalDateTime.now().minusDays(1));
+        final RecentPresentation reopened = new RecentPresentation("/tmp/presentation.sfx", LocalDateTime.now());
+
+        store.add(opened, 10);
+        store.add(reopened, 10);
+
+        assertEquals(1, store.getAll().size());
+        assertEquals(reopened.getOpenedDateTime(), store.get(reopened.getId()).getOpenedDateTime());
+    }
+
+    @Test
+    public void oldestPresentationsAreEvicted() {
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 2);
+        final RecentPresentation oldest = new RecentPresentation("/tmp/oldest.sfx", LocalDateTime.now().minusDays(2));
+        final RecentPresentation older = new RecentPresentation("/tmp/older.sfx", LocalDateTime.now().minusDays(1));
+        final RecentPresentation newest = new RecentPresentation("/tmp/newest.sfx", LocalDateTime.now());
+
+        store.add(older, 2);
+        store.add(newest, 2);
+        store.add(oldest, 2);
+
+        assertEquals(Set.of(older, newest), store.getAll());
+        assertNull(store.get(oldest.getId()));
+    }
+
+    @Test
+    public void presentationsAreTrimmedToLoweredMaximum() throws InterruptedException, ContextFileException {
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 10);
+        final RecentPresentation oldest = new RecentPresentation("/tmp/oldest.sfx", LocalDateTime.now().minusDays(2));
+        final RecentPresentation older = new RecentPresentation("/tmp/older.sfx", LocalDateTime.now().minusDays(1));
+        final RecentPresentation newest = new RecentPresentation("/tmp/newest.sfx", LocalDateTime.now());
+
+        store.add(oldest, 10);
+        store.add(older, 10);
+        store.add(newest, 10);
+        store.trim(1);
+
+        assertEquals(Set.of(newest), store.getAll());
+
+        for (int attempt = 0; attempt < 50 && store.getJournalFile().exists(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(Set.of(newest), ContextFileWorker.readRecentPresentationFromFile(this.contextFile));
+    }
+
+    @Test
+    public void invalidJournalEntriesAreIgnored() throws IOException {
+        final RecentPresentation presentation = new RecentPresentation("/tmp/presentation.sfx", LocalDateTime.now());
+        final File journal = new RecentPresentationsStore(this.contextFile, 10).getJournalFile();
+
+        Files.writeString(journal.toPath(), "not a journal entry\n"
+                + presentation.getOpenedDateTime() + "\t" + presentation.getNormalizedPath() + "\n"
+                + "2020-13-45T00:00\t/tmp/invalid.sfx\n", UTF_8);
+
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 10);
+
+        assertEquals(Set.of(presentation), store.getAll());
+    }
+
+    @Test
+    public void journalIsCompactedInBackground() throws InterruptedException {
+        final RecentPresentationsStore store = new RecentPresentationsStore(this.contextFile, 100);
+
+        for (int index = 0; index < RecentPresentationsStore.COMPACTION_THRESHOLD; index++) {
+            store.add(new RecentPresentation("/tmp/presentation" + index + ".sfx", LocalDateTime.now()), 100);
+        }
+
+        for (int attempt = 0; attempt < 50 && store.getJournalFile().exists(); attempt++) {
+            Thread.sleep(100);
+        }
+
+        assertFalse(store.getJournalFile().exists());
+        assertTrue(this.contextFile.exists());
+    }
+}
@@ -4,10 +4,10 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
 import com.twasyl.slideshowfx.utils.OSUtils;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -134,64 +134,27 @@ public class GoSnippetExecutor extends AbstractSnippetExecutor<GoSnippetExecutor
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
-
-        final Thread snippetThread = new Thread(() -> {
-
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(SEVERE, "Can not write code to snippet file", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            }
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
 
             // Execute the Go file
             final File goExecutable = OSUtils.isWindows() ?
                     new File(this.getOptions().getGoHome(), "bin/go.exe") :
                     new File(this.getOptions().getGoHome(), "bin/go");
 
-            final String[] compilationCommand = {goExecutable.getAbsolutePath(), "run", codeFile.getName()};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(compilationCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader errorStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    errorStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(SEVERE, "Can not execute code snippet", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
+            execution.runProcess(goExecutable.getAbsolutePath(), "run", codeFile.getName());
         });
-        snippetThread.start();
-
-        return consoleOutput;
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Create the source code file for the given code snippet in the workspace of the given execution.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
      * @return The file created and containing the source code.
      */
-    protected File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), determinePackageName(codeSnippet).concat(".golo"));
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
-        }
-
-        return codeFile;
+    protected File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile(determinePackageName(codeSnippet).concat(".go"), buildSourceCode(codeSnippet));
     }
 
     /**
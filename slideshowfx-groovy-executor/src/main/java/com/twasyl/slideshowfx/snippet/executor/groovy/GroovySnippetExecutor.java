@@ -4,12 +4,13 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
+import com.twasyl.slideshowfx.snippet.executor.WarmDaemon;
 import com.twasyl.slideshowfx.utils.OSUtils;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -19,6 +20,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
 
 import java.io.*;
+import java.util.List;
 import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -29,7 +31,7 @@ import java.util.logging.Logger;
  * This implementation is identified with the code {@code JAVA}.
  *
  * @author Thierry Wasyczenko
- * @version 1.1-SNAPSHOT
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
@@ -38,6 +40,7 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
     private static final Logger LOGGER = Logger.getLogger(GroovySnippetExecutor.class.getName());
 
     private static final String GROOVY_HOME_PROPERTY_SUFFIX = ".home";
+    private static final String USE_WARM_DAEMON_PROPERTY_SUFFIX = ".useWarmDaemon";
     /**
      * Indicates if the code should be wrapped in a main or run method (depending it is a Groovy Script or Class)
      */
@@ -45,11 +48,14 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
     protected static final String IMPORTS_PROPERTY = "imports";
     protected static final String CLASS_NAME_PROPERTY = "class";
     protected static final String MAKE_SCRIPT = "makeScript";
+    private static final String GROOVY_RUNNER = "groovy.ui.GroovyMain";
 
     public GroovySnippetExecutor() {
         super("GROOVY", "Groovy", "language-groovy");
         this.setOptions(new GroovySnippetExecutorOptions());
 
+        this.getOptions().setUseWarmDaemon(GlobalConfiguration.getBooleanProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX), false));
+
         final String groovyHome = GlobalConfiguration.getProperty(this.getConfigurationBaseName().concat(GROOVY_HOME_PROPERTY_SUFFIX));
         if (groovyHome != null) {
             try {
@@ -111,6 +117,7 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
     @Override
     public Node getConfigurationUI() {
         this.newOptions = new GroovySnippetExecutorOptions();
+        this.newOptions.setUseWarmDaemon(this.getOptions().getUseWarmDaemon());
         try {
             this.newOptions.setGroovyHome(this.getOptions().getGroovyHome());
         } catch (FileNotFoundException | NullPointerException e) {
@@ -136,7 +143,11 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
         final HBox box = new HBox(5);
         box.getChildren().addAll(label, javaHomeField, browse);
 
-        return box;
+        final CheckBox useWarmDaemon = new CheckBox("Keep a Groovy daemon running");
+        useWarmDaemon.setTooltip(new Tooltip("Execute code snippets in a long-lived JVM, started when a presentation is opened"));
+        useWarmDaemon.selectedProperty().bindBidirectional(this.newOptions.useWarmDaemonProperty());
+
+        return new VBox(5, box, useWarmDaemon);
     }
 
     @Override
@@ -144,6 +155,13 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
         if (this.getNewOptions() != null) {
             this.setOptions(this.getNewOptions());
 
+            GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX),
+                    String.valueOf(this.getOptions().getUseWarmDaemon()));
+
+            if (!this.getOptions().getUseWarmDaemon()) {
+                this.stopWarmDaemon();
+            }
+
             if (this.getOptions().getGroovyHome() != null) {
                 GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(GROOVY_HOME_PROPERTY_SUFFIX),
                         this.getOptions().getGroovyHome().getAbsolutePath().replaceAll("\\\\", "/"));
@@ -153,15 +171,12 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
 
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
+            if (this.getOptions().getUseWarmDaemon()) {
+                this.executeInWarmDaemon(execution, codeFile);
+                return;
             }
 
             // Execute the class
@@ -169,46 +184,38 @@ public class GroovySnippetExecutor extends AbstractSnippetExecutor<GroovySnippet
                     new File(this.getOptions().getGroovyHome(), "bin/groovy.bat") :
                     new File(this.getOptions().getGroovyHome(), "bin/groovy");
 
-            final String[] executionCommand = {groovyExecutable.getAbsolutePath(), codeFile.getName()};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(executionCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-                try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    inputStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
+            execution.runProcess(groovyExecutable.getAbsolutePath(), codeFile.getName());
         });
-        snippetThread.start();
+    }
+
+    @Override
+    public void prepare() {
+        if (this.getOptions().getUseWarmDaemon() && this.getOptions().getGroovyHome() != null) {
+            this.warmUp(execution -> this.executeInWarmDaemon(execution, execution.createFile("WarmUp.groovy", "")));
+        }
+    }
 
-        return consoleOutput;
+    /**
+     * Execute the given source code file within the {@link WarmDaemon} of this executor. Note that Groovy stops the
+     * daemon when the execution fails, in which case it is restarted for the next execution.
+     *
+     * @param execution The execution of the code snippet.
+     * @param codeFile  The source code file to execute.
+     */
+    protected void executeInWarmDaemon(final SnippetExecution execution, final File codeFile) throws IOException {
+        this.getWarmDaemon(this.getOptions().getGroovyHome())
+                .call(execution, List.of(execution.getWorkspace()), GROOVY_RUNNER, "main", codeFile.getAbsolutePath());
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Create the source code file for the given code snippet in the workspace of the given execution.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
      * @return The file created and containing the source code.
      */
-    protected File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), determineClassName(codeSnippet).concat(".groovy"));
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
-        }
-
-        return codeFile;
+    protected File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile(determineClassName(codeSnippet).concat(".groovy"), buildSourceCode(codeSnippet));
     }
 
     /**
@@ -0,0 +1,180 @@
+package com.twasyl.slideshowfx.snippet.executor.java;
+
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Compiles Java code snippets in memory using the {@link JavaCompiler} of the running JVM. Compiled classes are cached
+ * by a hash of their source code, so executing the same snippet again doesn't compile it again. The least recently
+ * used compilations are evicted first.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+final class InMemoryJavaCompiler {
+
+    /**
+     * The maximum number of compilations kept in the cache.
+     */
+    static final int CACHE_SIZE = 32;
+
+    private static final Map<String, Map<String, byte[]>> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+                    return this.size() > CACHE_SIZE;
+                }
+            });
+
+    private InMemoryJavaCompiler() {
+    }
+
+    /**
+     * Compile the given source code. Compilation errors are added to the console output of the given execution, in
+     * the same format as {@code javac}.
+     *
+     * @param execution  The execution of the code snippet.
+     * @param className  The name of the class defined by the source code.
+     * @param sourceCode The source code to compile.
+     * @param release    The Java release to compile for, or {@code -1} to compile for the running JVM.
+     * @return The bytecode of the compiled classes, identified by their binary name, or {@code null} if the
+     * compilation failed.
+     */
+    static Map<String, byte[]> compile(final SnippetExecution execution, final String className, final String sourceCode,
+                                       final int release) {
+        final String key = hash(className, sourceCode, release);
+        Map<String, byte[]> classes = CACHE.get(key);
+
+        if (classes == null) {
+            classes = doCompile(execution, className, sourceCode, release);
+
+            if (classes != null) {
+                CACHE.put(key, classes);
+            }
+        }
+
+        return classes;
+    }
+
+    private static Map<String, byte[]> doCompile(final SnippetExecution execution, final String className,
+                                                 final String sourceCode, final int release) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) throw new IllegalStateException("No Java compiler is available in the running JVM");
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+        try (final JavaFileManager fileManager = new MemoryFileManager(
+                compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8), outputs)) {
+
+            final List<String> options = new ArrayList<>(List.of("-proc:none", "-classpath", execution.getWorkspace().getAbsolutePath()));
+            if (release > 0) {
+                options.addAll(List.of("--release", String.valueOf(release)));
+            }
+            final List<JavaFileObject> sources = List.of(new SourceFile(className, sourceCode));
+
+            final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+
+            diagnostics.getDiagnostics().forEach(diagnostic -> execution.print(format(className, diagnostic)));
+
+            if (!success) return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Can not close the compiler's file manager", e);
+        }
+
+        final Map<String, byte[]> classes = new HashMap<>();
+        outputs.forEach((name, bytes) -> classes.put(name, bytes.toByteArray()));
+        return Collections.unmodifiableMap(classes);
+    }
+
+    private static String format(final String className, final Diagnostic<? extends JavaFileObject> diagnostic) {
+        final String kind = diagnostic.getKind() == Diagnostic.Kind.ERROR ? "error" : "warning";
+
+        if (diagnostic.getLineNumber() == Diagnostic.NOPOS) {
+            return kind + ": " + diagnostic.getMessage(null);
+        }
+
+        return className + ".java:" + diagnostic.getLineNumber() + ": " + kind + ": " + diagnostic.getMessage(null);
+    }
+
+    private static String hash(final String className, final String sourceCode, final int release) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(className.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(sourceCode.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(release).getBytes(StandardCharsets.UTF_8));
+
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The source code of a snippet, held in memory.
+     */
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String sourceCode;
+
+        private SourceFile(final String className, final String sourceCode) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.sourceCode = sourceCode;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return this.sourceCode;
+        }
+    }
+
+    /**
+     * A compiled class, held in memory.
+     */
+    private static final class ClassFile extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes;
+
+        private ClassFile(final String className, final ByteArrayOutputStream bytes) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return this.bytes;
+        }
+    }
+
+    /**
+     * File manager writing compiled classes in memory instead of on disk.
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> outputs;
+
+        private MemoryFileManager(final JavaFileManager fileManager, final Map<String, ByteArrayOutputStream> outputs) {
+            super(fileManager);
+            this.outputs = outputs;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(final Location location, final String className,
+                                                   final JavaFileObject.Kind kind, final FileObject sibling) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            this.outputs.put(className, bytes);
+            return new ClassFile(className, bytes);
+        }
+    }
+}
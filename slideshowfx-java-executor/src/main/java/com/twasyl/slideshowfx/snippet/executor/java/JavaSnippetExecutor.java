@@ -4,9 +4,10 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
+import com.twasyl.slideshowfx.snippet.executor.WarmDaemon;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -16,6 +17,11 @@ import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -24,9 +30,14 @@ import java.util.logging.Logger;
  * An implementation of {@link com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor} that allows to execute
  * Java code snippets.
  * This implementation is identified with the code {@code JAVA}.
+ * By default, code snippets are compiled and executed by forked {@code javac} and {@code java} processes. When the
+ * warm daemon option is enabled and the running JVM provides a Java compiler, code snippets are compiled in memory,
+ * the compiled classes being cached by a hash of their source code, and executed within the {@link WarmDaemon} of
+ * this executor, avoiding to start two JVMs for each execution. Code snippets are never executed within the running
+ * JVM.
  *
  * @author Thierry Wasyczenko
- * @version 1.1-SNAPSHOT
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
@@ -34,14 +45,22 @@ public class JavaSnippetExecutor extends AbstractSnippetExecutor<JavaSnippetExec
     private static final Logger LOGGER = Logger.getLogger(JavaSnippetExecutor.class.getName());
 
     private static final String JAVA_HOME_PROPERTY_SUFFIX = ".home";
+    private static final String USE_WARM_DAEMON_PROPERTY_SUFFIX = ".useWarmDaemon";
     protected static final String WRAP_IN_MAIN_PROPERTY = "wrapInMain";
     protected static final String IMPORTS_PROPERTY = "imports";
     protected static final String CLASS_NAME_PROPERTY = "class";
 
+    /**
+     * Indicates if a Java compiler can be used within the running JVM.
+     */
+    private static final boolean IN_MEMORY_COMPILER_AVAILABLE = ModuleLayer.boot().findModule("jdk.compiler").isPresent();
+
     public JavaSnippetExecutor() {
         super("JAVA", "Java", "language-java");
         this.setOptions(new JavaSnippetExecutorOptions());
 
+        this.getOptions().setUseWarmDaemon(GlobalConfiguration.getBooleanProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX), false));
+
         final String javaHome = GlobalConfiguration.getProperty(this.getConfigurationBaseName().concat(JAVA_HOME_PROPERTY_SUFFIX));
         if (javaHome != null) {
             try {
@@ -88,6 +107,7 @@ public class JavaSnippetExecutor extends AbstractSnippetExecutor<JavaSnippetExec
     @Override
     public Node getConfigurationUI() {
         this.newOptions = new JavaSnippetExecutorOptions();
+        this.newOptions.setUseWarmDaemon(this.getOptions().getUseWarmDaemon());
         try {
             this.newOptions.setJavaHome(this.getOptions().getJavaHome());
         } catch (FileNotFoundException | NullPointerException e) {
@@ -113,7 +133,11 @@ public class JavaSnippetExecutor extends AbstractSnippetExecutor<JavaSnippetExec
         final HBox box = new HBox(5);
         box.getChildren().addAll(label, javaHomeField, browse);
 
-        return box;
+        final CheckBox useWarmDaemon = new CheckBox("Keep a Java daemon running");
+        useWarmDaemon.setTooltip(new Tooltip("Execute code snippets in a long-lived JVM, started when a presentation is opened"));
+        useWarmDaemon.selectedProperty().bindBidirectional(this.newOptions.useWarmDaemonProperty());
+
+        return new VBox(5, box, useWarmDaemon);
     }
 
     @Override
@@ -121,6 +145,13 @@ public class JavaSnippetExecutor extends AbstractSnippetExecutor<JavaSnippetExec
         if (this.getNewOptions() != null) {
             this.setOptions(this.getNewOptions());
 
+            GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX),
+                    String.valueOf(this.getOptions().getUseWarmDaemon()));
+
+            if (!this.getOptions().getUseWarmDaemon()) {
+                this.stopWarmDaemon();
+            }
+
             if (this.getOptions().getJavaHome() != null) {
                 GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(JAVA_HOME_PROPERTY_SUFFIX),
                         this.getOptions().getJavaHome().getAbsolutePath().replaceAll("\\\\", "/"));
@@ -130,86 +161,123 @@ public class JavaSnippetExecutor extends AbstractSnippetExecutor<JavaSnippetExec
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
-
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                appendErrorMessageToConsole(consoleOutput, e);
+        return this.executeInWorkspace(execution -> {
+            if (this.canExecuteInWarmDaemon()) {
+                this.executeInWarmDaemon(execution, determineClassName(codeSnippet), buildSourceCode(codeSnippet));
+            } else {
+                this.executeInForkedProcess(execution, codeSnippet);
             }
+        });
+    }
 
-            // Compile the Java class
-            final File javacExecutable = new File(this.getOptions().getJavaHome(), "bin/javac");
+    @Override
+    public void prepare() {
+        if (this.canExecuteInWarmDaemon()) {
+            this.warmUp(execution -> this.executeInWarmDaemon(execution, "WarmUp",
+                    "public class WarmUp { public static void main(String[] args) { } }"));
+        }
+    }
 
-            final String[] compilationCommand = {javacExecutable.getAbsolutePath(), codeFile.getName()};
+    /**
+     * Determine if code snippets are executed within the {@link WarmDaemon} of this executor. It is the case when the
+     * warm daemon option is enabled and the running JVM provides a Java compiler.
+     *
+     * @return {@code true} if code snippets are executed within the warm daemon, {@code false} if they are executed
+     * by forked {@code javac} and {@code java} processes.
+     */
+    protected boolean canExecuteInWarmDaemon() {
+        return this.getOptions().getUseWarmDaemon() && IN_MEMORY_COMPILER_AVAILABLE;
+    }
 
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(compilationCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader errorStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    errorStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                appendErrorMessageToConsole(consoleOutput, e);
-            } finally {
-                waitForProcess(process);
-            }
+    /**
+     * Compile the given source code in memory and execute the {@code main} method of the given class within the
+     * {@link WarmDaemon} of this executor, which runs the configured {@code JAVA_HOME}. The compiled classes are
+     * written in the workspace of the execution, which is the classpath of the call.
+     *
+     * @param execution  The execution of the code snippet.
+     * @param className  The name of the class to execute.
+     * @param sourceCode The source code of the class.
+     * @throws IOException If the compiled classes can not be written or the daemon can not be started.
+     */
+    protected void executeInWarmDaemon(final SnippetExecution execution, final String className, final String sourceCode) throws IOException {
+        final WarmDaemon daemon = this.getWarmDaemon(null, this.getOptions().getJavaHome());
+        final Map<String, byte[]> classes = InMemoryJavaCompiler.compile(execution, className, sourceCode,
+                determineRelease(daemon.resolveJavaHome()));
 
-            deleteGeneratedFile(codeFile);
+        if (classes == null) return;
 
-            // Execute the class only if the compilation was successful
-            if (process != null && process.exitValue() == 0) {
+        for (Map.Entry<String, byte[]> compiledClass : classes.entrySet()) {
+            final Path classFile = execution.getWorkspace().toPath().resolve(compiledClass.getKey().replace('.', '/') + ".class");
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, compiledClass.getValue());
+        }
 
-                final File javaExecutable = new File(this.getOptions().getJavaHome(), "bin/java");
-                final String[] executionCommand = {javaExecutable.getAbsolutePath(), "-cp", this.getTemporaryDirectory().getAbsolutePath(), determineClassName(codeSnippet)};
+        daemon.call(execution, List.of(execution.getWorkspace()), className, "main");
+    }
 
-                try {
-                    process = new ProcessBuilder()
-                            .redirectErrorStream(true)
-                            .command(executionCommand)
-                            .start();
+    /**
+     * Determine the Java release to compile code snippets for, so the compiled classes can be executed by the JVM of
+     * the given Java home. The version of the JVM is read from the {@code release} file of the Java home.
+     *
+     * @param javaHome The Java home executing the compiled classes.
+     * @return The release to compile for, or {@code -1} if the classes can be compiled for the running JVM.
+     */
+    protected static int determineRelease(final File javaHome) {
+        final File releaseFile = new File(javaHome, "release");
+        if (!releaseFile.isFile()) return -1;
 
-                    try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                        inputStream.lines().forEach(consoleOutput::add);
-                    }
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                    appendErrorMessageToConsole(consoleOutput, e);
-                } finally {
-                    waitForProcess(process);
-                }
+        final Properties release = new Properties();
 
-                deleteGeneratedFile(new File(this.getTemporaryDirectory(), determineClassName(codeSnippet) + ".class"));
-            }
-        });
-        snippetThread.start();
+        try (final Reader reader = new DefaultCharsetReader(releaseFile)) {
+            release.load(reader);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Can not read the release of " + javaHome.getAbsolutePath(), e);
+            return -1;
+        }
+
+        final String version = release.getProperty("JAVA_VERSION", "").replace("\"", "");
+        final String[] parts = version.startsWith("1.") ? version.substring(2).split("[.\\-_+]") : version.split("[.\\-_+]");
 
-        return consoleOutput;
+        try {
+            final int feature = Integer.parseInt(parts[0]);
+            return feature < Runtime.version().feature() ? feature : -1;
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.FINE, "Can not parse the Java version " + version, e);
+            return -1;
+        }
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Compile the code snippet with {@code javac} and execute it with {@code java}, using the configured
+     * {@code JAVA_HOME}.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
-     * @return The file created and containing the source code.
+     * @throws IOException If the source code can not be written or the processes can not be started.
      */
-    protected File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), determineClassName(codeSnippet).concat(".java"));
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
+    protected void executeInForkedProcess(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
+
+        // Compile the Java class
+        final File javacExecutable = new File(this.getOptions().getJavaHome(), "bin/javac");
+
+        // Execute the class only if the compilation was successful
+        if (execution.runProcess(javacExecutable.getAbsolutePath(), codeFile.getName()) == 0) {
+            final File javaExecutable = new File(this.getOptions().getJavaHome(), "bin/java");
+            execution.runProcess(javaExecutable.getAbsolutePath(), "-cp", execution.getWorkspace().getAbsolutePath(),
+                    determineClassName(codeSnippet));
         }
+    }
 
-        return codeFile;
+    /**
+     * Create the source code file for the given code snippet in the workspace of the given execution.
+     *
+     * @param execution   The execution of the code snippet.
+     * @param codeSnippet The code snippet.
+     * @return The file created and containing the source code.
+     */
+    protected File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile(determineClassName(codeSnippet).concat(".java"), buildSourceCode(codeSnippet));
     }
 
     /**
@@ -1,7 +1,9 @@
 package com.twasyl.slideshowfx.snippet.executor.java;
 
 import com.twasyl.slideshowfx.snippet.executor.ISnippetExecutorOptions;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
 import java.io.File;
@@ -11,11 +13,12 @@ import java.io.FileNotFoundException;
  * Options that are necessary for the Java snippet executor.
  *
  * @author Thierry Wasylczenko
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public class JavaSnippetExecutorOptions implements ISnippetExecutorOptions {
     private final ObjectProperty<File> javaHome = new SimpleObjectProperty<>();
+    private final BooleanProperty useWarmDaemon = new SimpleBooleanProperty(false);
 
     public ObjectProperty<File> javaHomeProperty() { return this.javaHome; }
 
@@ -28,4 +31,10 @@ public class JavaSnippetExecutorOptions implements ISnippetExecutorOptions {
 
         this.javaHome.setValue(javaHome);
     }
+
+    public BooleanProperty useWarmDaemonProperty() { return this.useWarmDaemon; }
+
+    public boolean getUseWarmDaemon() { return this.useWarmDaemon.get(); }
+
+    public void setUseWarmDaemon(boolean useWarmDaemon) { this.useWarmDaemon.set(useWarmDaemon); }
 }
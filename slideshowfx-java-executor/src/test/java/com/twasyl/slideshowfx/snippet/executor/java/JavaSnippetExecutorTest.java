@@ -1,10 +1,17 @@
 package com.twasyl.slideshowfx.snippet.executor.java;
 
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecutionService;
 import com.twasyl.slideshowfx.utils.io.IOUtils;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
 
 import static com.twasyl.slideshowfx.snippet.executor.java.JavaSnippetExecutor.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +26,9 @@ public class JavaSnippetExecutorTest {
 
     private final JavaSnippetExecutor snippetExecutor = new JavaSnippetExecutor();
 
+    @TempDir
+    File javaHome;
+
     @Test
     public void noClassName() {
         final CodeSnippet snippet = new CodeSnippet();
@@ -155,4 +165,48 @@ public class JavaSnippetExecutorTest {
         final String expected = IOUtils.read(JavaSnippetExecutorTest.class.getResourceAsStream("/com/twasyl/slideshowfx/snippet/executor/java/buildSourceCode_expected.txt"));
         assertEquals(expected, snippetExecutor.buildSourceCode(snippet));
     }
+
+    @Test
+    public void warmDaemonIsNotUsedByDefault() {
+        assertFalse(new JavaSnippetExecutorOptions().getUseWarmDaemon());
+    }
+
+    @Test
+    public void releaseOfOlderJdk() throws IOException {
+        Files.writeString(this.javaHome.toPath().resolve("release"), "JAVA_VERSION=\"11.0.2\"\n");
+
+        assertEquals(11, determineRelease(this.javaHome));
+    }
+
+    @Test
+    public void releaseOfLegacyJdk() throws IOException {
+        Files.writeString(this.javaHome.toPath().resolve("release"), "JAVA_VERSION=\"1.8.0_292\"\n");
+
+        assertEquals(8, determineRelease(this.javaHome));
+    }
+
+    @Test
+    public void noReleaseForRunningJdk() {
+        assertEquals(-1, determineRelease(new File(System.getProperty("java.home"))));
+    }
+
+    @Test
+    public void executeInWarmDaemon() throws IOException {
+        final CodeSnippet snippet = new CodeSnippet();
+        snippet.getProperties().put(WRAP_IN_MAIN_PROPERTY, "true");
+        snippet.setCode("System.out.print(\"Hello \");\nSystem.out.println(\"SlideshowFX\");");
+
+        final String sourceCode = snippetExecutor.buildSourceCode(snippet);
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+
+        try {
+            SnippetExecutionService.getInstance()
+                    .submit("JAVA", consoleOutput, execution -> snippetExecutor.executeInWarmDaemon(execution, "Snippet", sourceCode))
+                    .join();
+        } finally {
+            snippetExecutor.stopWarmDaemon();
+        }
+
+        assertEquals(List.of("Hello SlideshowFX"), consoleOutput);
+    }
 }
@@ -3,7 +3,6 @@ package com.twasyl.slideshowfx.snippet.executor.javascript;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -20,7 +19,7 @@ import java.io.StringWriter;
  * with the code {@code JAVASCRIPT}.
  *
  * @author Thierry Wasyczenko
- * @version 1.1-SNAPSHOT
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
@@ -48,24 +47,26 @@ public class JavaScriptSnippetExecutor extends AbstractSnippetExecutor<JavaScrip
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
-
-        final Thread snippetThread = new Thread(() -> {
+        return this.executeInWorkspace(execution -> {
             final StringWriter writer = new StringWriter();
             final ScriptEngineManager manager = new ScriptEngineManager();
 
             final ScriptEngine engine = manager.getEngineByName("nashorn");
             engine.getContext().setWriter(writer);
 
-            try {
-                engine.eval(codeSnippet.getCode());
-                consoleOutput.add(writer.toString());
-            } catch (ScriptException ex) {
-                consoleOutput.add(ex.getMessage());
+            final Thread thread = new Thread(() -> {
+                try {
+                    engine.eval(codeSnippet.getCode());
+                } catch (ScriptException ex) {
+                    execution.print(ex.getMessage());
+                }
+            }, "javascript-snippet");
+            thread.setDaemon(true);
+            thread.start();
+
+            if (execution.join(thread)) {
+                execution.print(writer.toString());
             }
         });
-        snippetThread.start();
-
-        return consoleOutput;
     }
 }
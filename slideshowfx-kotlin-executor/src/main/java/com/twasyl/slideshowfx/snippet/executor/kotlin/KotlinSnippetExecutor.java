@@ -4,10 +4,11 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
+import com.twasyl.slideshowfx.snippet.executor.WarmDaemon;
 import com.twasyl.slideshowfx.utils.OSUtils;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -17,7 +18,12 @@ import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
 
 import java.io.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,7 +33,7 @@ import java.util.logging.Logger;
  * This implementation is identified with the code {@code KOTLIN}.
  *
  * @author Thierry Wasyczenko
- * @version 1.2-SNAPSHOT
+ * @version 1.3-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
@@ -35,14 +41,18 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
     private static final Logger LOGGER = Logger.getLogger(KotlinSnippetExecutor.class.getName());
 
     private static final String KOTLIN_HOME_PROPERTY_SUFFIX = ".home";
+    private static final String USE_WARM_DAEMON_PROPERTY_SUFFIX = ".useWarmDaemon";
     protected static final String WRAP_IN_MAIN_PROPERTY = "wrapInMain";
     protected static final String IMPORTS_PROPERTY = "imports";
     protected static final String PACKAGE_NAME_PROPERTY = "class";
+    private static final String KOTLIN_COMPILER = "org.jetbrains.kotlin.cli.jvm.K2JVMCompiler";
 
     public KotlinSnippetExecutor() {
         super("KOTLIN", "Kotlin", "language-kotlin");
         this.setOptions(new KotlinSnippetExecutorOptions());
 
+        this.getOptions().setUseWarmDaemon(GlobalConfiguration.getBooleanProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX), false));
+
         final String kotlinHome = GlobalConfiguration.getProperty(this.getConfigurationBaseName().concat(KOTLIN_HOME_PROPERTY_SUFFIX));
         if (kotlinHome != null) {
             try {
@@ -89,6 +99,7 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
     @Override
     public Node getConfigurationUI() {
         this.newOptions = new KotlinSnippetExecutorOptions();
+        this.newOptions.setUseWarmDaemon(this.getOptions().getUseWarmDaemon());
         try {
             this.newOptions.setKotlinHome(this.getOptions().getKotlinHome());
         } catch (FileNotFoundException | NullPointerException e) {
@@ -114,7 +125,11 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
         final HBox box = new HBox(5);
         box.getChildren().addAll(label, kotlinHomeField, browse);
 
-        return box;
+        final CheckBox useWarmDaemon = new CheckBox("Keep a Kotlin daemon running");
+        useWarmDaemon.setTooltip(new Tooltip("Execute code snippets in a long-lived JVM, started when a presentation is opened"));
+        useWarmDaemon.selectedProperty().bindBidirectional(this.newOptions.useWarmDaemonProperty());
+
+        return new VBox(5, box, useWarmDaemon);
     }
 
     @Override
@@ -122,6 +137,13 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
         if (this.getNewOptions() != null) {
             this.setOptions(this.getNewOptions());
 
+            GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX),
+                    String.valueOf(this.getOptions().getUseWarmDaemon()));
+
+            if (!this.getOptions().getUseWarmDaemon()) {
+                this.stopWarmDaemon();
+            }
+
             if (this.getOptions().getKotlinHome() != null) {
                 GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(KOTLIN_HOME_PROPERTY_SUFFIX),
                         this.getOptions().getKotlinHome().getAbsolutePath().replaceAll("\\\\", "/"));
@@ -131,15 +153,12 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
 
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                appendErrorMessageToConsole(consoleOutput, e);
+            if (this.getOptions().getUseWarmDaemon()) {
+                this.executeInWarmDaemon(execution, codeFile);
+                return;
             }
 
             // Compile the Kotlin class
@@ -149,77 +168,75 @@ public class KotlinSnippetExecutor extends AbstractSnippetExecutor<KotlinSnippet
                     new File(this.getOptions().getKotlinHome(), "bin/kotlinc.bat") :
                     new File(this.getOptions().getKotlinHome(), "bin/kotlinc");
 
-            final String[] compilationCommand = {koltincExecutable.getAbsolutePath(), codeFile.getName(),
-                    "-include-runtime", "-d", jarFile};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(compilationCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader errorStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    errorStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                appendErrorMessageToConsole(consoleOutput, e);
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
-
             // Execute the Kotlin class only if the compilation was successful
-            if (process != null && process.exitValue() == 0) {
-
+            if (execution.runProcess(koltincExecutable.getAbsolutePath(), codeFile.getName(), "-include-runtime", "-d", jarFile) == 0) {
                 final File kotlinExecutable = OSUtils.isWindows() ?
                         new File(this.getOptions().getKotlinHome(), "bin/kotlin.bat") :
                         new File(this.getOptions().getKotlinHome(), "bin/kotlin");
 
-                final String[] executionCommand = {kotlinExecutable.getAbsolutePath(), jarFile};
-
-                try {
-                    process = new ProcessBuilder()
-                            .redirectErrorStream(true)
-                            .command(executionCommand)
-                            .directory(this.getTemporaryDirectory())
-                            .start();
-
-                    try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                        inputStream.lines().forEach(consoleOutput::add);
-                    }
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                    appendErrorMessageToConsole(consoleOutput, e);
-                } finally {
-                    waitForProcess(process);
-                }
-
-                deleteGeneratedFile(new File(this.getTemporaryDirectory(), jarFile));
+                execution.runProcess(kotlinExecutable.getAbsolutePath(), jarFile);
             }
         });
-        snippetThread.start();
+    }
 
-        return consoleOutput;
+    @Override
+    public void prepare() {
+        if (this.getOptions().getUseWarmDaemon() && this.getOptions().getKotlinHome() != null) {
+            this.warmUp(execution -> {
+                final File codeFile = execution.createFile("WarmUp.kt", "fun main(args: Array<String>) {\n}");
+                this.compileInWarmDaemon(execution, codeFile, new File(execution.getWorkspace(), "WarmUp.jar"));
+            });
+        }
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Compile and execute the given source code file within the {@link WarmDaemon} of this executor. The Kotlin
+     * runtime is provided by the daemon, so it isn't included in the compiled JAR.
      *
-     * @param codeSnippet The code snippet.
-     * @return The file created and containing the source code.
+     * @param execution The execution of the code snippet.
+     * @param codeFile  The source code file to compile and execute.
      */
-    protected File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), "Snippet.kt");
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
+    protected void executeInWarmDaemon(final SnippetExecution execution, final File codeFile) throws IOException {
+        final File jarFile = new File(execution.getWorkspace(), "Snippet.jar");
+
+        if (this.compileInWarmDaemon(execution, codeFile, jarFile) == 0) {
+            this.getWarmDaemon(this.getOptions().getKotlinHome())
+                    .call(execution, List.of(jarFile), determineMainClass(jarFile), "main");
+        }
+    }
+
+    private int compileInWarmDaemon(final SnippetExecution execution, final File codeFile, final File jarFile) throws IOException {
+        return this.getWarmDaemon(this.getOptions().getKotlinHome())
+                .call(execution, Collections.emptyList(), KOTLIN_COMPILER, "exec", codeFile.getAbsolutePath(),
+                        "-d", jarFile.getAbsolutePath(), "-kotlin-home", this.getOptions().getKotlinHome().getAbsolutePath());
+    }
+
+    /**
+     * Determine the class containing the {@code main} function of the given JAR compiled by Kotlin.
+     *
+     * @param jarFile The compiled JAR.
+     * @return The name of the main class.
+     * @throws IOException If the JAR can not be read or doesn't define a main class.
+     */
+    protected String determineMainClass(final File jarFile) throws IOException {
+        try (final JarFile jar = new JarFile(jarFile)) {
+            final Manifest manifest = jar.getManifest();
+            final String mainClass = manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.MAIN_CLASS);
+
+            if (mainClass == null) throw new IOException("The code snippet doesn't define a main function");
+            return mainClass;
         }
+    }
 
-        return codeFile;
+    /**
+     * Create the source code file for the given code snippet in the workspace of the given execution.
+     *
+     * @param execution   The execution of the code snippet.
+     * @param codeSnippet The code snippet.
+     * @return The file created and containing the source code.
+     */
+    protected File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile("Snippet.kt", buildSourceCode(codeSnippet));
     }
 
     /**
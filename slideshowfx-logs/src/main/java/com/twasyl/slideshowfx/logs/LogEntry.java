@@ -0,0 +1,79 @@
+package com.twasyl.slideshowfx.logs;
+
+import java.time.Instant;
+import java.util.logging.Level;
+
+/**
+ * A log record captured by the {@link SlideshowFXHandler}. The message is formatted when the record is published, so
+ * an entry doesn't keep references to the parameters of the record.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class LogEntry {
+    private final long sequence;
+    private final Level level;
+    private final Instant instant;
+    private final String loggerName;
+    private final String message;
+
+    LogEntry(final long sequence, final Level level, final Instant instant, final String loggerName, final String message) {
+        this.sequence = sequence;
+        this.level = level;
+        this.instant = instant;
+        this.loggerName = loggerName;
+        this.message = message;
+    }
+
+    /**
+     * Get the sequence number of this entry. Sequence numbers start at {@code 0} and are incremented for each
+     * captured record.
+     *
+     * @return The sequence number of this entry.
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Get the level of the log record.
+     *
+     * @return The level of the record.
+     */
+    public Level getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Get the instant at which the log record has been created.
+     *
+     * @return The instant of the record.
+     */
+    public Instant getInstant() {
+        return this.instant;
+    }
+
+    /**
+     * Get the name of the logger of the log record.
+     *
+     * @return The name of the logger, may be {@code null}.
+     */
+    public String getLoggerName() {
+        return this.loggerName;
+    }
+
+    /**
+     * Get the log record formatted by the formatter of the handler.
+     *
+     * @return The formatted message.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    @Override
+    public String toString() {
+        return this.message;
+    }
+}
@@ -2,44 +2,84 @@ package com.twasyl.slideshowfx.logs;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.logging.LogRecord;
-import java.util.logging.Logger;
-import java.util.logging.StreamHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.*;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.logging.Level.WARNING;
 
 /**
- * An implementation of the {@link StreamHandler} class that allows to store the logs into a {@link ByteArrayOutputStream}
- * in order to display them in a screen. The logs are only living during the application life.
- * Each time a new log message is received by this implementation, a change event is raised on the property {@code latestLog}.
+ * An implementation of the {@link StreamHandler} class that keeps the latest logs in memory in order to display them
+ * in a screen. The logs are only living during the application life.
+ * <p>
+ * Logs are stored as {@link LogEntry entries} in a bounded ring buffer: once it is full, the oldest entries are
+ * overwritten. Publishing a record doesn't take any lock. The capacity of the buffer can be defined by the
+ * {@code com.twasyl.slideshowfx.logs.SlideshowFXHandler.capacity} logging property and defaults to
+ * {@value #DEFAULT_CAPACITY} entries.
+ * <p>
+ * When new logs are received, a change event is raised on the property {@code latestLog}. Events are fired
+ * asynchronously by a background thread and are coalesced: a listener may receive only one event for several logs and
+ * should use {@link #getLogsSince(long)} to retrieve them.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class SlideshowFXHandler extends StreamHandler {
     private static final Logger LOGGER = Logger.getLogger(SlideshowFXHandler.class.getName());
 
+    /**
+     * The number of entries kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Executor DISPATCHER = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "logs-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     protected final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
-    protected String latestLog;
-    protected ByteArrayOutputStream byteOutput;
+
+    private final AtomicReferenceArray<LogEntry> entries;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private volatile String latestLog;
 
     public SlideshowFXHandler() {
+        this(configuredCapacity());
+    }
+
+    /**
+     * Create a handler keeping at least the given number of entries. The capacity is rounded up to the next power of
+     * two.
+     *
+     * @param capacity The number of entries to keep.
+     */
+    public SlideshowFXHandler(final int capacity) {
         super();
-        this.latestLog = null;
-        this.byteOutput = new ByteArrayOutputStream();
 
-        try {
-            this.setEncoding(UTF_8.displayName());
-        } catch (UnsupportedEncodingException e) {
-            LOGGER.log(WARNING, "Encoding can not be set on handler", e);
-        }
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity must be positive");
 
-        super.setOutputStream(this.byteOutput);
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+
+        if (this.getEncoding() == null) {
+            try {
+                this.setEncoding(UTF_8.displayName());
+            } catch (UnsupportedEncodingException e) {
+                LOGGER.log(WARNING, "Encoding can not be set on handler", e);
+            }
+        }
     }
 
     public void addPropertyChangeListener(PropertyChangeListener listener) {
@@ -56,39 +96,137 @@ public class SlideshowFXHandler extends StreamHandler {
      * @return The latest log or {@code null} if none.
      */
     public String getLatestLog() {
-        return latestLog;
+        return this.latestLog;
     }
 
-    protected void setLatestLog(String latestLog) {
-        final String previousMessage = this.latestLog;
-        this.latestLog = latestLog;
-        propertyChangeSupport.firePropertyChange("latestLog", previousMessage, latestLog);
+    /**
+     * Get the maximum number of logs kept by this handler.
+     *
+     * @return The capacity of this handler.
+     */
+    public int getCapacity() {
+        return this.entries.length();
+    }
+
+    /**
+     * Get the sequence number the next received log will have. It is also the number of logs received so far.
+     *
+     * @return The next sequence number.
+     */
+    public long getNextSequence() {
+        return this.nextSequence.get();
     }
 
     /**
-     * Get all logs that this handler has received.
+     * Get the logs received since the given sequence number, included, that are still kept by this handler.
+     *
+     * @param sequence The sequence number of the first log to retrieve.
+     * @return The logs, ordered by sequence number.
+     */
+    public List<LogEntry> getLogsSince(final long sequence) {
+        return this.getLogsSince(sequence, Level.ALL);
+    }
+
+    /**
+     * Get the logs received since the given sequence number, included, that are still kept by this handler and have at
+     * least the given level. The logs are contiguous: if a log is still being published by another thread, it and all
+     * following logs are left out, so that they are returned by a later call starting after the last returned log.
+     *
+     * @param sequence     The sequence number of the first log to retrieve.
+     * @param minimumLevel The minimum level of the logs to retrieve.
+     * @return The logs, ordered by sequence number.
+     */
+    public List<LogEntry> getLogsSince(final long sequence, final Level minimumLevel) {
+        if (minimumLevel == null) throw new NullPointerException("The level can not be null");
+
+        final long end = this.nextSequence.get();
+        final long start = Math.max(Math.max(0, sequence), end - this.entries.length());
+        final List<LogEntry> logs = new ArrayList<>((int) Math.max(0, end - start));
+
+        for (long current = start; current < end; current++) {
+            final LogEntry entry = this.entries.get((int) (current & this.mask));
+
+            // The entry is still being published: stop in order not to skip it
+            if (entry == null || entry.getSequence() < current) break;
+
+            // The entry has already been overwritten by a newer one
+            if (entry.getSequence() > current) continue;
+
+            if (entry.getLevel().intValue() >= minimumLevel.intValue()) {
+                logs.add(entry);
+            }
+        }
+
+        return logs;
+    }
+
+    /**
+     * Get all logs that this handler still keeps.
      *
      * @return All logs formatted as string.
      */
-    public synchronized String getAllLogs() {
-        String logs = "";
+    public String getAllLogs() {
+        final StringBuilder logs = new StringBuilder();
+        this.getLogsSince(0).forEach(entry -> logs.append(entry.getMessage()));
+        return logs.toString();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!this.isLoggable(record)) return;
 
+        final String message;
         try {
-            super.flush();
-            logs = new String(this.byteOutput.toByteArray(), this.getEncoding());
-        } catch (IOException e) {
-            LOGGER.log(WARNING, "Error retrieving all logs", e);
+            message = super.getFormatter().format(record);
+        } catch (Exception e) {
+            this.reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
         }
 
-        return logs;
+        final long sequence = this.nextSequence.getAndIncrement();
+        this.entries.set((int) (sequence & this.mask),
+                new LogEntry(sequence, record.getLevel(), record.getInstant(), record.getLoggerName(), message));
+        this.latestLog = message;
+
+        if (this.dispatchPending.compareAndSet(false, true)) {
+            DISPATCHER.execute(this::dispatch);
+        }
     }
 
+    /**
+     * Check if the given record would be captured by this handler, according to its level and filter. Contrary to
+     * {@link StreamHandler#isLoggable(LogRecord)}, no output stream is required.
+     *
+     * @param record The record to check.
+     * @return {@code true} if the record is captured, {@code false} otherwise.
+     */
     @Override
-    public synchronized void publish(LogRecord record) {
-        if (super.isLoggable(record)) {
-            final String message = super.getFormatter().format(record);
-            this.setLatestLog(message);
+    public boolean isLoggable(LogRecord record) {
+        if (record == null) return false;
+
+        final int levelValue = this.getLevel().intValue();
+        if (record.getLevel().intValue() < levelValue || levelValue == Level.OFF.intValue()) return false;
+
+        final Filter filter = this.getFilter();
+        return filter == null || filter.isLoggable(record);
+    }
+
+    private void dispatch() {
+        this.dispatchPending.set(false);
+        this.propertyChangeSupport.firePropertyChange("latestLog", null, this.latestLog);
+    }
+
+    private static int configuredCapacity() {
+        final String capacity = LogManager.getLogManager().getProperty(SlideshowFXHandler.class.getName() + ".capacity");
+
+        if (capacity != null) {
+            try {
+                return Integer.parseInt(capacity.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.log(WARNING, "Invalid capacity for the logs handler: " + capacity, e);
+            }
         }
-        super.publish(record);
+
+        return DEFAULT_CAPACITY;
     }
 }
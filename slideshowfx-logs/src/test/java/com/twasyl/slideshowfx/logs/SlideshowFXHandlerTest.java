@@ -3,10 +3,13 @@ package com.twasyl.slideshowfx.logs;
 import org.junit.jupiter.api.*;
 
 import java.beans.PropertyChangeListener;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
@@ -112,4 +115,96 @@ public class SlideshowFXHandlerTest {
 
         assertThrows(TimeoutException.class, () -> eventFired.get(5, SECONDS));
     }
+
+    @Test
+    @DisplayName("returns the logs received since a sequence number")
+    void logsSinceSequence() {
+        LOGGER.info("First message");
+        final long sequence = handler.getNextSequence();
+        LOGGER.info("Second message");
+        LOGGER.info("Third message");
+
+        final List<LogEntry> logs = handler.getLogsSince(sequence);
+
+        assertEquals(2, logs.size());
+        assertEquals(sequence, logs.get(0).getSequence());
+        assertTrue(logs.get(0).getMessage().contains("INFO: Second message"));
+        assertTrue(logs.get(1).getMessage().contains("INFO: Third message"));
+        assertTrue(handler.getLogsSince(handler.getNextSequence()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("filters the logs by level")
+    void logsFilteredByLevel() {
+        LOGGER.info("Information message");
+        LOGGER.warning("Warning message");
+
+        final List<LogEntry> logs = handler.getLogsSince(0, WARNING);
+
+        assertEquals(1, logs.size());
+        assertEquals(WARNING, logs.get(0).getLevel());
+        assertEquals(LOGGER.getName(), logs.get(0).getLoggerName());
+    }
+
+    @Test
+    @DisplayName("only keeps the latest logs")
+    void keepsOnlyLatestLogs() {
+        final SlideshowFXHandler boundedHandler = new SlideshowFXHandler(4);
+
+        for (int index = 0; index < 10; index++) {
+            boundedHandler.publish(new LogRecord(INFO, "Message " + index));
+        }
+
+        final List<LogEntry> logs = boundedHandler.getLogsSince(0);
+
+        assertEquals(4, logs.size());
+        assertEquals(6, logs.get(0).getSequence());
+        assertTrue(logs.get(3).getMessage().contains("Message 9"));
+        assertFalse(boundedHandler.getAllLogs().contains("Message 5"));
+    }
+
+    @Test
+    @DisplayName("never skips a log published concurrently to a read")
+    void concurrentPublishAndRead() throws InterruptedException {
+        final int publishers = 4;
+        final int logsPerPublisher = 5000;
+        final SlideshowFXHandler concurrentHandler = new SlideshowFXHandler(publishers * logsPerPublisher);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean failed = new AtomicBoolean();
+        final Thread[] threads = new Thread[publishers];
+
+        for (int index = 0; index < publishers; index++) {
+            threads[index] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int log = 0; log < logsPerPublisher; log++) {
+                        concurrentHandler.publish(new LogRecord(INFO, "Message " + log));
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+            threads[index].start();
+        }
+
+        start.countDown();
+
+        long expectedSequence = 0;
+        final long total = (long) publishers * logsPerPublisher;
+        final long deadline = System.nanoTime() + SECONDS.toNanos(30);
+
+        while (expectedSequence < total && System.nanoTime() < deadline) {
+            for (LogEntry entry : concurrentHandler.getLogsSince(expectedSequence)) {
+                assertEquals(expectedSequence, entry.getSequence());
+                expectedSequence++;
+            }
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(failed.get());
+        assertEquals(total, expectedSequence);
+    }
 }
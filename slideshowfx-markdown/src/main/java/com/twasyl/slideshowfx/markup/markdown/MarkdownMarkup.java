@@ -20,11 +20,16 @@ import java.util.List;
  */
 @Plugin
 public class MarkdownMarkup extends AbstractMarkup {
-    private final List<Extension> extensions;
+    private final Parser parser;
+    private final HtmlRenderer renderer;
 
     public MarkdownMarkup() {
         super("MARKDOWN", "Markdown", "ace/mode/markdown");
-        extensions = List.of(TablesExtension.create());
+
+        // The parser and the renderer are thread-safe and can be reused for every conversion
+        final List<Extension> extensions = List.of(TablesExtension.create());
+        this.parser = Parser.builder().extensions(extensions).build();
+        this.renderer = HtmlRenderer.builder().extensions(extensions).build();
     }
 
     /**
@@ -40,9 +45,7 @@ public class MarkdownMarkup extends AbstractMarkup {
         if (markupString == null)
             throw new IllegalArgumentException("Can not convert " + getName() + " to HTML : the String is null");
 
-        final Parser parser = Parser.builder().extensions(extensions).build();
-        final Node node = parser.parse(markupString);
-        final HtmlRenderer renderer = HtmlRenderer.builder().extensions(extensions).build();
-        return renderer.render(node).trim();
+        final Node node = this.parser.parse(markupString);
+        return this.renderer.render(node).trim();
     }
 }
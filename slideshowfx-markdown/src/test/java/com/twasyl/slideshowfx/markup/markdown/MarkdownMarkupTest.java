@@ -4,8 +4,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Paths;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -67,4 +69,19 @@ class MarkdownMarkupTest {
 
         assertEquals("<ul>\n<li>One</li>\n<li>Two</li>\n</ul>", result);
     }
+
+    @Test
+    void generateUsingCache() {
+        final String first = markup.convertAsHtmlUsingCache("# A cached title");
+        final String second = markup.convertAsHtmlUsingCache("# A cached title");
+
+        assertEquals("<h1>A cached title</h1>", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void generateConcurrently() {
+        IntStream.range(0, 100).parallel().forEach(index ->
+                assertEquals("<h1>Title " + index + "</h1>", markup.convertAsHtml("# Title " + index)));
+    }
 }
@@ -2,13 +2,17 @@ package com.twasyl.slideshowfx.markup;
 
 import com.twasyl.slideshowfx.plugin.IPlugin;
 
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
 /**
  * Defines the contract to be considered as a supported markup language for SlideshowFX.
  * A supported markup language allows the user to define the content of each slides instead of writing HTML code directly.
  * As supported language, a mechanism has to be provided in order to convert the markup language to HTML.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.1
  * @since SlideshowFX 1.0
  */
 public interface IMarkup extends IPlugin {
@@ -27,6 +31,31 @@ public interface IMarkup extends IPlugin {
      */
     String convertAsHtml(String markupString) throws IllegalArgumentException;
 
+    /**
+     * Convert all given strings written in the markup syntax as HTML. Markups able to convert several strings more
+     * efficiently than one after another, for instance concurrently, should override this method.
+     * @param markupStrings The strings written in the markup syntax to convert as HTML.
+     * @return The HTML representation of the given strings, in the same order.
+     * @throws NullPointerException If the given list is null.
+     * @throws IllegalArgumentException If one of the given strings is null.
+     */
+    default List<String> convertAllAsHtml(List<String> markupStrings) throws IllegalArgumentException {
+        if (markupStrings == null) throw new NullPointerException("The strings to convert can not be null");
+
+        return markupStrings.stream().map(this::convertAsHtml).collect(toList());
+    }
+
+    /**
+     * Convert the given string written in the markup syntax as HTML, reusing the result of a previous conversion of
+     * the same string if it is still present in the {@link MarkupCache}.
+     * @param markupString The string written in the markup syntax to convert as HTML.
+     * @return The HTML representation of the given String.
+     * @throws IllegalArgumentException If the given string is null this exception is thrown.
+     */
+    default String convertAsHtmlUsingCache(String markupString) throws IllegalArgumentException {
+        return MarkupCache.convertAsHtml(this, markupString);
+    }
+
     /**
      * Return the ACE mode that is used for the editor available in SlideshowFX. The editor uses ACE (from Cloud9) in
      * order to define slides' content. In order to get the right syntax highlighting, ACE needs the mode.
@@ -0,0 +1,139 @@
+package com.twasyl.slideshowfx.markup;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the HTML produced by {@link IMarkup markups}, shared by all markups. Entries are identified by the
+ * {@link IMarkup#getCode() code} of the markup and a hash of the converted content, so a content is only converted
+ * once as long as it is in the cache. The least recently used entries are evicted first.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class MarkupCache {
+
+    /**
+     * The maximum number of conversions kept in the cache.
+     */
+    public static final int CACHE_SIZE = 1024;
+
+    private static final Map<String, String> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return this.size() > CACHE_SIZE;
+                }
+            });
+
+    private MarkupCache() {
+    }
+
+    /**
+     * Convert the given content as HTML using the given markup. If the same content has already been converted by a
+     * markup having the same code, the previous result is returned.
+     *
+     * @param markup       The markup used to convert the content.
+     * @param markupString The content to convert.
+     * @return The HTML representation of the given content.
+     * @throws IllegalArgumentException If the content is {@code null}.
+     */
+    public static String convertAsHtml(final IMarkup markup, final String markupString) {
+        if (markupString == null)
+            throw new IllegalArgumentException("Can not convert " + markup.getName() + " to HTML : the String is null");
+
+        final String key = markup.getCode() + ":" + hash(markupString);
+        String html = CACHE.get(key);
+
+        if (html == null) {
+            html = markup.convertAsHtml(markupString);
+
+            if (html != null) {
+                CACHE.put(key, html);
+            }
+        }
+
+        return html;
+    }
+
+    /**
+     * Convert the given contents as HTML using the given markup. Contents that are not in the cache are converted in a
+     * single call to {@link IMarkup#convertAllAsHtml(List)}, so that the markup can convert them concurrently.
+     *
+     * @param markup        The markup used to convert the contents.
+     * @param markupStrings The contents to convert.
+     * @return The HTML representation of the given contents, in the same order.
+     * @throws NullPointerException     If the list of contents is {@code null}.
+     * @throws IllegalArgumentException If one of the contents is {@code null}.
+     */
+    public static List<String> convertAllAsHtml(final IMarkup markup, final List<String> markupStrings) {
+        if (markupStrings == null) throw new NullPointerException("The strings to convert can not be null");
+
+        final List<String> result = new ArrayList<>(markupStrings.size());
+        final Map<String, List<Integer>> missingStrings = new LinkedHashMap<>();
+
+        for (String markupString : markupStrings) {
+            if (markupString == null)
+                throw new IllegalArgumentException("Can not convert " + markup.getName() + " to HTML : the String is null");
+
+            final String html = CACHE.get(markup.getCode() + ":" + hash(markupString));
+
+            if (html == null) {
+                missingStrings.computeIfAbsent(markupString, string -> new ArrayList<>()).add(result.size());
+            }
+
+            result.add(html);
+        }
+
+        if (!missingStrings.isEmpty()) {
+            final List<String> toConvert = new ArrayList<>(missingStrings.keySet());
+            final List<String> htmls = markup.convertAllAsHtml(toConvert);
+
+            for (int index = 0; index < toConvert.size(); index++) {
+                final String html = htmls.get(index);
+
+                if (html != null) {
+                    CACHE.put(markup.getCode() + ":" + hash(toConvert.get(index)), html);
+                }
+
+                missingStrings.get(toConvert.get(index)).forEach(position -> result.set(position, html));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove all conversions from the cache.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * Get the number of conversions currently in the cache.
+     *
+     * @return The number of cached conversions.
+     */
+    public static int size() {
+        return CACHE.size();
+    }
+
+    private static String hash(final String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return new BigInteger(1, digest).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.twasyl.slideshowfx.markup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performs tests for the {@link MarkupCache}.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class MarkupCacheTest {
+
+    /**
+     * A markup recording the contents it is asked to convert.
+     */
+    private static class RecordingMarkup extends AbstractMarkup {
+        private final List<List<String>> batches = new ArrayList<>();
+
+        RecordingMarkup() {
+            super("RECORDING", "Recording", "ace/mode/text");
+        }
+
+        @Override
+        public String convertAsHtml(String markupString) throws IllegalArgumentException {
+            return "<p>" + markupString + "</p>";
+        }
+
+        @Override
+        public List<String> convertAllAsHtml(List<String> markupStrings) throws IllegalArgumentException {
+            this.batches.add(markupStrings);
+            return markupStrings.stream().map(this::convertAsHtml).collect(toList());
+        }
+    }
+
+    private RecordingMarkup markup;
+
+    @BeforeEach
+    public void before() {
+        MarkupCache.clear();
+        this.markup = new RecordingMarkup();
+    }
+
+    @Test
+    public void convertAllInOneBatch() {
+        final List<String> result = MarkupCache.convertAllAsHtml(this.markup, List.of("a", "b", "a"));
+
+        assertEquals(List.of("<p>a</p>", "<p>b</p>", "<p>a</p>"), result);
+        assertEquals(List.of(List.of("a", "b")), this.markup.batches);
+        assertEquals(2, MarkupCache.size());
+    }
+
+    @Test
+    public void convertAllOnlyConvertsMissingContents() {
+        MarkupCache.convertAsHtml(this.markup, "a");
+
+        final List<String> result = MarkupCache.convertAllAsHtml(this.markup, List.of("a", "b"));
+
+        assertEquals(List.of("<p>a</p>", "<p>b</p>"), result);
+        assertEquals(List.of(List.of("b")), this.markup.batches);
+    }
+
+    @Test
+    public void convertAllFromCache() {
+        MarkupCache.convertAllAsHtml(this.markup, List.of("a", "b"));
+        this.markup.batches.clear();
+
+        assertEquals(List.of("<p>b</p>", "<p>a</p>"), MarkupCache.convertAllAsHtml(this.markup, List.of("b", "a")));
+        assertTrue(this.markup.batches.isEmpty());
+    }
+
+    @Test
+    public void convertAllWithNull() {
+        assertThrows(NullPointerException.class, () -> MarkupCache.convertAllAsHtml(this.markup, null));
+        assertThrows(IllegalArgumentException.class, () -> MarkupCache.convertAllAsHtml(this.markup, Arrays.asList("a", null)));
+    }
+
+    @Test
+    public void defaultConvertAllKeepsOrder() {
+        final IMarkup sequential = new AbstractMarkup("SEQUENTIAL", "Sequential", "ace/mode/text") {
+            @Override
+            public String convertAsHtml(String markupString) throws IllegalArgumentException {
+                return markupString.toUpperCase();
+            }
+        };
+
+        assertEquals(List.of("A", "B", "C"), sequential.convertAllAsHtml(List.of("a", "b", "c")));
+    }
+}
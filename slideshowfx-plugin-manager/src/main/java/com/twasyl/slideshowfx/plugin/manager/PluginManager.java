@@ -4,6 +4,7 @@ import com.twasyl.slideshowfx.engine.presentation.Presentations;
 import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.IPlugin;
 import com.twasyl.slideshowfx.plugin.manager.internal.PluginFile;
+import com.twasyl.slideshowfx.plugin.manager.internal.PluginMetadataIndex;
 import com.twasyl.slideshowfx.plugin.manager.internal.RegisteredPlugin;
 
 import java.io.File;
@@ -14,11 +15,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import static java.util.logging.Level.SEVERE;
 import static java.util.logging.Level.WARNING;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
@@ -27,7 +31,7 @@ import static java.util.stream.Collectors.toSet;
  * well as it can stop it properly.
  *
  * @author Thierry Wasylczenko
- * @version 1.3-SNAPSHOT
+ * @version 1.4-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class PluginManager {
@@ -37,8 +41,25 @@ public class PluginManager {
     public static final String PRESENTATION_FOLDER = "presentation.folder";
     public static final String PRESENTATION_RESOURCES_FOLDER = "presentation.resources.folder";
 
+    /**
+     * The maximum number of plugins started at the same time.
+     */
+    public static final int MAX_CONCURRENT_STARTUPS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
     protected File pluginsDirectory;
-    protected Set<RegisteredPlugin> loadedPlugins = new HashSet<>();
+    protected Set<RegisteredPlugin> loadedPlugins = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Indicates if the current thread is starting a plugin. Such a thread must never wait for plugins to be started
+     * as the plugin it is starting, or another one waiting for it, would never complete its startup. Looking up plugins
+     * that are not all started from such a thread is therefore an error: plugins must use {@link #whenStarted(Class[])}
+     * asynchronously instead.
+     */
+    private static final ThreadLocal<Boolean> STARTING_PLUGIN = ThreadLocal.withInitial(() -> false);
+
+    private final Map<RegisteredPlugin, CompletableFuture<Void>> pendingStartups = new ConcurrentHashMap<>();
+    private final Map<String, Long> startupTimings = new ConcurrentHashMap<>();
+    private volatile CompletableFuture<Void> startup = CompletableFuture.completedFuture(null);
 
     /**
      * Default constructor of the class.
@@ -56,24 +77,149 @@ public class PluginManager {
     }
 
     /**
-     * Start all plugins in the plugins' directory.
+     * Start all plugins in the plugins' directory. Plugins are extracted and started concurrently, in the background.
+     * Methods looking for, installing or uninstalling plugins, like {@link #getServices(Class)}, wait for the plugins
+     * they concern to be started. {@link #whenStarted(Class[])} and {@link #getServicesWhenStarted(Class)} can be used
+     * to be notified when specific types of plugins are started without blocking, for instance from the JavaFX
+     * application thread or from a plugin while it starts.
+     * Plugins don't declare any dependency on other plugins, so they are not started in a particular order: a plugin
+     * needing other ones must wait for them using {@link #whenStarted(Class[])}.
+     *
+     * @return A {@link CompletableFuture} completed when all plugins have been started.
      */
-    public void start() {
+    public CompletableFuture<Void> start() {
         // Deploy initially present plugins
         if (!this.pluginsDirectory.exists() && !this.pluginsDirectory.mkdirs()) {
             LOGGER.log(SEVERE, "Can not create plugins directory");
         }
 
         if (this.pluginsDirectory.exists()) {
-            this.listMostRecentPluginFiles()
-                    .forEach(file -> {
-                        try {
-                            this.installPlugin(file);
-                        } catch (IOException e) {
-                            LOGGER.log(WARNING, "Can not deploy bundle", e);
-                        }
-                    });
+            final Collection<File> pluginFiles = this.listMostRecentPluginFiles();
+
+            if (!pluginFiles.isEmpty()) {
+                final ExecutorService executor = createStartupExecutor(Math.min(MAX_CONCURRENT_STARTUPS, pluginFiles.size()));
+                final List<CompletableFuture<Void>> startups = new ArrayList<>();
+
+                for (File file : pluginFiles) {
+                    try {
+                        final RegisteredPlugin plugin = new RegisteredPlugin(new PluginFile(file));
+                        final CompletableFuture<Void> pluginStartup = CompletableFuture.runAsync(() -> this.startPluginInBackground(plugin), executor);
+
+                        this.pendingStartups.put(plugin, pluginStartup);
+                        startups.add(pluginStartup.whenComplete((result, error) -> this.pendingStartups.remove(plugin)));
+                    } catch (IOException e) {
+                        LOGGER.log(WARNING, "Can not deploy bundle", e);
+                    }
+                }
+
+                this.startup = CompletableFuture.allOf(startups.toArray(new CompletableFuture[0]))
+                        .whenComplete((result, error) -> executor.shutdown());
+            }
         }
+
+        return this.startup;
+    }
+
+    /**
+     * Get a {@link CompletableFuture} completed when all plugins providing at least one of the given types have been
+     * started by {@link #start()}. If no type is given, the returned future is completed when all plugins have been
+     * started.
+     *
+     * @param pluginTypes The types of plugins to wait for.
+     * @return A {@link CompletableFuture} completed when the plugins are started.
+     */
+    @SafeVarargs
+    public final CompletableFuture<Void> whenStarted(final Class<? extends IPlugin>... pluginTypes) {
+        if (pluginTypes == null || pluginTypes.length == 0) {
+            return this.startup;
+        }
+
+        final CompletableFuture<?>[] startups = this.pendingStartups.entrySet()
+                .stream()
+                .filter(entry -> Arrays.stream(pluginTypes).anyMatch(entry.getKey()::isInstanceOf))
+                .map(Map.Entry::getValue)
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(startups);
+    }
+
+    /**
+     * Get the time, in milliseconds, each plugin took to be extracted and started by {@link #start()}. The key of the
+     * map is the name of the plugin.
+     *
+     * @return The startup time of each plugin.
+     */
+    public Map<String, Long> getStartupTimings() {
+        return Collections.unmodifiableMap(this.startupTimings);
+    }
+
+    /**
+     * Extract and start the given plugin. This method is called concurrently for all plugins when the plugin manager
+     * starts. As only the most recent version of each plugin is started, there can't be any conflict between them.
+     *
+     * @param plugin The plugin to start.
+     */
+    private void startPluginInBackground(final RegisteredPlugin plugin) {
+        final long begin = System.nanoTime();
+
+        STARTING_PLUGIN.set(true);
+        try {
+            plugin.install();
+
+            if (plugin.isInstalled()) {
+                this.startPlugin(plugin);
+            }
+        } finally {
+            STARTING_PLUGIN.remove();
+        }
+
+        final long duration = NANOSECONDS.toMillis(System.nanoTime() - begin);
+        this.startupTimings.put(plugin.getName(), duration);
+        LOGGER.info(String.format("Plugin [%1$s] in version [%2$s] started in %3$d ms", plugin.getName(), plugin.getVersion(), duration));
+    }
+
+    /**
+     * Wait for the plugins providing the given type to be started.
+     *
+     * @param type The type of plugin to wait for. If {@code null}, waits for all plugins.
+     * @throws IllegalStateException If the current thread is starting a plugin and the plugins of the given type are
+     *                               not all started, as waiting for them could never end.
+     */
+    private void awaitStartup(final Class<?> type) {
+        final CompletableFuture<Void> pending;
+
+        if (type == null || !IPlugin.class.isAssignableFrom(type)) {
+            pending = this.startup;
+        } else {
+            pending = this.whenStarted(type.asSubclass(IPlugin.class));
+        }
+
+        if (STARTING_PLUGIN.get() && !pending.isDone()) {
+            final String typeName = type == null ? "plugins" : type.getName();
+            throw new IllegalStateException("Can not look up " + typeName + " while a plugin is starting: use whenStarted asynchronously instead");
+        }
+
+        try {
+            pending.join();
+        } catch (CompletionException | CancellationException e) {
+            LOGGER.log(WARNING, "Error while waiting for plugins to start", e);
+        }
+    }
+
+    /**
+     * Create the executor used to start plugins concurrently.
+     *
+     * @param threads The number of threads of the executor.
+     * @return The executor used to start plugins.
+     */
+    private static ExecutorService createStartupExecutor(final int threads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "plugin-startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -86,22 +232,36 @@ public class PluginManager {
 
         final FileFilter keepPluginFiles = file -> file.exists() && file.getName().endsWith(PluginFile.EXTENSION);
 
-        for (File file : this.pluginsDirectory.listFiles(keepPluginFiles)) {
-            try {
-                final RegisteredPlugin currentPlugin = new RegisteredPlugin(new PluginFile(file));
-                final RegisteredPlugin pluginWithSameName = filteredPlugins.stream()
-                        .filter(PluginManager.this.hasSameName(currentPlugin))
-                        .findAny()
-                        .orElse(null);
-
-                if (pluginWithSameName == null) {
-                    filteredPlugins.add(currentPlugin);
-                } else if (currentPlugin.getVersion().compareTo(pluginWithSameName.getVersion()) > 0) {
-                    filteredPlugins.remove(pluginWithSameName);
-                    filteredPlugins.add(currentPlugin);
-                }
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error listing most recent plugins", e);
+        // Read the metadata of all plugins concurrently
+        final List<RegisteredPlugin> plugins = Arrays.stream(this.pluginsDirectory.listFiles(keepPluginFiles))
+                .parallel()
+                .map(file -> {
+                    try {
+                        final RegisteredPlugin plugin = new RegisteredPlugin(new PluginFile(file));
+                        plugin.getVersion();
+                        return plugin;
+                    } catch (IOException e) {
+                        LOGGER.log(WARNING, "Error listing most recent plugins", e);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(toList());
+
+        // The plugins indexed during the scan are persisted at once
+        PluginMetadataIndex.forDirectory(this.pluginsDirectory).save();
+
+        for (RegisteredPlugin currentPlugin : plugins) {
+            final RegisteredPlugin pluginWithSameName = filteredPlugins.stream()
+                    .filter(PluginManager.this.hasSameName(currentPlugin))
+                    .findAny()
+                    .orElse(null);
+
+            if (pluginWithSameName == null) {
+                filteredPlugins.add(currentPlugin);
+            } else if (currentPlugin.getVersion().compareTo(pluginWithSameName.getVersion()) > 0) {
+                filteredPlugins.remove(pluginWithSameName);
+                filteredPlugins.add(currentPlugin);
             }
         }
 
@@ -112,6 +272,7 @@ public class PluginManager {
      * Stop all plugins.
      */
     public void stop() {
+        this.awaitStartup(null);
         this.loadedPlugins.forEach(RegisteredPlugin::stop);
         this.loadedPlugins.clear();
     }
@@ -135,6 +296,8 @@ public class PluginManager {
         if (!file.exists()) throw new FileNotFoundException("The file does not exist");
         if (!file.isFile()) throw new IllegalArgumentException("The file has to be a file");
 
+        this.awaitStartup(null);
+
         final PluginFile pluginFile;
 
         if (!file.getParentFile().toPath().normalize().equals(this.pluginsDirectory.toPath())) {
@@ -165,6 +328,8 @@ public class PluginManager {
             }
         }
 
+        PluginMetadataIndex.forDirectory(this.pluginsDirectory).save();
+
         return registeredPlugin.getInstance();
     }
 
@@ -203,6 +368,8 @@ public class PluginManager {
      * @param plugin The plugin to uninstall.
      */
     public void uninstallPlugin(final PluginFile plugin) {
+        this.awaitStartup(null);
+
         this.loadedPlugins.stream()
                 .filter(rp -> Objects.equals(rp.getFile(), plugin))
                 .collect(toList())
@@ -218,6 +385,8 @@ public class PluginManager {
      * @return the list of installed services or an empty list if there is no service corresponding to the given class.
      */
     public <T> List<T> getServices(Class<T> serviceType) {
+        this.awaitStartup(serviceType);
+
         return this.loadedPlugins.stream()
                 .filter(RegisteredPlugin::isStarted)
                 .map(RegisteredPlugin::getInstance)
@@ -226,6 +395,23 @@ public class PluginManager {
                 .collect(toList());
     }
 
+    /**
+     * Get the list of installed services which are from the given {@code serviceType} class once all plugins providing
+     * it are started, without blocking the caller.
+     *
+     * @param <T>         The type of service.
+     * @param serviceType The class of service to look for.
+     * @return A {@link CompletableFuture} completed with the list of installed services, which is empty if there is no
+     * service corresponding to the given class.
+     */
+    public <T extends IPlugin> CompletableFuture<List<T>> getServicesWhenStarted(final Class<T> serviceType) {
+        return this.whenStarted(serviceType)
+                .handle((result, error) -> {
+                    if (error != null) LOGGER.log(WARNING, "Error while waiting for plugins to start", error);
+                    return this.getServices(serviceType);
+                });
+    }
+
     /**
      * Get the list of plugins of the given type.
      *
@@ -234,6 +420,8 @@ public class PluginManager {
      * @return The list containing all installed plugins of the desired type.
      */
     public <T extends IPlugin> List<RegisteredPlugin> getPlugins(Class<T> pluginType) {
+        this.awaitStartup(pluginType);
+
         return this.loadedPlugins.stream()
                 .filter(plugin -> plugin.isInstanceOf(pluginType))
                 .collect(toList());
@@ -245,6 +433,8 @@ public class PluginManager {
      * @return The list of active plugins.
      */
     public List<RegisteredPlugin> getActivePlugins() {
+        this.awaitStartup(null);
+
         return this.loadedPlugins.stream()
                 .filter(RegisteredPlugin::isStarted)
                 .collect(toList());
@@ -272,6 +462,8 @@ public class PluginManager {
      * @return {@code true} if the plugin is the most recent, {@code false} otherwise.
      */
     protected boolean isPluginMostRecent(final RegisteredPlugin plugin) {
+        this.awaitStartup(null);
+
         return plugin.getVersion().compareTo(this.loadedPlugins.stream()
                 .filter(hasSameName(plugin))
                 .max(Comparator.comparing(RegisteredPlugin::getVersion).reversed())
@@ -287,6 +479,8 @@ public class PluginManager {
      * @return {@code true} if the plugin is installed in another version, {@code false} otherwise.
      */
     protected boolean isPluginInAnotherVersionInstalled(final RegisteredPlugin plugin) {
+        this.awaitStartup(null);
+
         return this.loadedPlugins.stream()
                 .filter(hasSameName(plugin).and(isNotSameVersion(plugin)))
                 .count() > 0;
@@ -300,6 +494,8 @@ public class PluginManager {
      * @return The plugin in the other version of the given plugin, {@code null} if not found.
      */
     protected RegisteredPlugin getPluginInAnotherVersion(final RegisteredPlugin plugin) {
+        this.awaitStartup(null);
+
         return this.loadedPlugins.stream()
                 .filter(hasSameName(plugin).and(isNotSameVersion(plugin)))
                 .findAny()
@@ -1,65 +1,238 @@
 package com.twasyl.slideshowfx.plugin.manager.internal;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.Objects;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.security.CodeSource;
+import java.security.SecureClassLoader;
+import java.security.cert.Certificate;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import static java.util.logging.Level.WARNING;
+import static java.util.stream.Collectors.toList;
+
 /**
- * Class loader for loading a SlideshowFX plugin. The classloader will put all Jar files to the classpath to ensure the
- * plugin can be loaded properly.
+ * Class loader for loading a SlideshowFX plugin. The classloader loads classes and resources directly from the JAR
+ * files contained in the plugin. When the class loader is created, all entries of these JARs are indexed so that
+ * looking up a class or a resource doesn't depend on the number of JARs and files contained in the plugin.
+ * This class loader is parallel capable.
  *
  * @author Thierry Wasylczenko
- * @version 1.0-SNAPSHOT
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX @@NEXT-VERSION@@
  */
-public class PluginClassLoader extends URLClassLoader {
+public class PluginClassLoader extends SecureClassLoader implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(PluginClassLoader.class.getName());
 
-    private PluginClassLoader(URL[] urls) {
-        super(urls);
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final List<IndexedJar> jars;
+    private final Map<String, List<IndexedJar>> entries = new HashMap<>();
+
+    private PluginClassLoader(final List<IndexedJar> jars) {
+        this.jars = jars;
+
+        for (IndexedJar jar : jars) {
+            // Versioned entries of multi-release JARs are indexed under the name of the class or resource they replace
+            jar.file.versionedStream()
+                    .filter(entry -> !entry.isDirectory())
+                    .forEach(entry -> this.entries.computeIfAbsent(entry.getName(), name -> new ArrayList<>(1)).add(jar));
+        }
     }
 
     /**
-     * Creates a new instance of {@link PluginClassLoader} for the given {@link PluginFile file}.
+     * Creates a new instance of {@link PluginClassLoader} for the given {@link PluginFile file}. The plugin must have
+     * been extracted.
      *
      * @param file The plugin file to load.
      * @return An instance of {@link PluginClassLoader}.
-     * @throws IOException
+     * @throws IOException If a JAR of the plugin can not be opened.
      */
     public static PluginClassLoader newInstance(final PluginFile file) throws IOException {
         if (file == null) throw new NullPointerException("The plugin can not be null");
 
+        final List<IndexedJar> jars = new ArrayList<>();
+
         try (final ZipFile zipFile = new ZipFile(file)) {
-            final URL[] urls = zipFile.stream()
-                    .filter(onlyFiles())
-                    .map(entry -> entryToUrl(file, entry))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList())
-                    .toArray(new URL[0]);
-
-            return new PluginClassLoader(urls);
+            final List<String> jarNames = zipFile.stream()
+                    .filter(entry -> !entry.isDirectory() && entry.getName().endsWith(".jar"))
+                    .map(ZipEntry::getName)
+                    .collect(toList());
+
+            for (String jarName : jarNames) {
+                jars.add(new IndexedJar(new File(file.getExplodedDir(), jarName)));
+            }
+        } catch (IOException e) {
+            for (IndexedJar jar : jars) {
+                jar.close();
+            }
+            throw e;
         }
+
+        return new PluginClassLoader(jars);
     }
 
-    private static Predicate<ZipEntry> onlyFiles() {
-        return entry -> !entry.isDirectory();
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        final String path = name.replace('.', '/').concat(".class");
+        final List<IndexedJar> candidates = this.entries.get(path);
+
+        if (candidates == null) {
+            throw new ClassNotFoundException(name);
+        }
+
+        final IndexedJar jar = candidates.get(0);
+
+        try {
+            final JarEntry entry = jar.file.getJarEntry(path);
+            final byte[] bytes;
+
+            try (final InputStream input = jar.file.getInputStream(entry)) {
+                bytes = input.readAllBytes();
+            }
+
+            this.definePackageIfNeeded(name, jar);
+
+            final CodeSource codeSource = new CodeSource(jar.url, (Certificate[]) null);
+            return this.defineClass(name, bytes, 0, bytes.length, codeSource);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
     }
 
-    private static URL entryToUrl(final PluginFile file, final ZipEntry entry) {
-        return fileToUrl(new File(file.getExplodedDir(), entry.getName()));
+    /**
+     * Define the package of the given class if it hasn't been defined yet.
+     *
+     * @param className The name of the class which package must be defined.
+     * @param jar       The JAR containing the class.
+     * @throws IOException If the manifest of the JAR can not be read.
+     */
+    private void definePackageIfNeeded(final String className, final IndexedJar jar) throws IOException {
+        final int lastDot = className.lastIndexOf('.');
+        if (lastDot < 0) return;
+
+        final String packageName = className.substring(0, lastDot);
+
+        if (this.getDefinedPackage(packageName) == null) {
+            try {
+                final Manifest manifest = jar.file.getManifest();
+
+                if (manifest != null) {
+                    this.definePackage(packageName, manifest);
+                } else {
+                    this.definePackage(packageName, null, null, null, null, null, null, null);
+                }
+            } catch (IllegalArgumentException e) {
+                // The package has been defined concurrently by another thread
+            }
+        }
     }
 
-    private static URL fileToUrl(final File file) {
-        try {
-            return file.toURI().toURL();
-        } catch (MalformedURLException e) {
-            return null;
+    /**
+     * Define a package using the information contained in the given manifest.
+     *
+     * @param name     The name of the package.
+     * @param manifest The manifest of the JAR containing the package.
+     * @return The defined package.
+     */
+    private Package definePackage(final String name, final Manifest manifest) {
+        final Attributes attributes = manifest.getMainAttributes();
+
+        return this.definePackage(name,
+                attributes.getValue(Attributes.Name.SPECIFICATION_TITLE),
+                attributes.getValue(Attributes.Name.SPECIFICATION_VERSION),
+                attributes.getValue(Attributes.Name.SPECIFICATION_VENDOR),
+                attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE),
+                attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION),
+                attributes.getValue(Attributes.Name.IMPLEMENTATION_VENDOR),
+                null);
+    }
+
+    @Override
+    protected URL findResource(final String name) {
+        final List<IndexedJar> candidates = this.entries.get(name);
+        return candidates == null ? null : candidates.get(0).resourceUrl(name);
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(final String name) {
+        final List<IndexedJar> candidates = this.entries.get(name);
+
+        if (candidates == null) {
+            return Collections.emptyEnumeration();
+        }
+
+        final List<URL> urls = new ArrayList<>(candidates.size());
+        for (IndexedJar jar : candidates) {
+            final URL url = jar.resourceUrl(name);
+            if (url != null) urls.add(url);
+        }
+
+        return Collections.enumeration(urls);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+
+        for (IndexedJar jar : this.jars) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                if (exception == null) exception = e;
+                else exception.addSuppressed(e);
+            }
+        }
+
+        if (exception != null) throw exception;
+    }
+
+    /**
+     * A JAR of the plugin, kept open while the class loader is in use.
+     */
+    private static final class IndexedJar implements Closeable {
+        private final JarFile file;
+        private final URL url;
+        private final String baseResourceUrl;
+
+        private IndexedJar(final File jar) throws IOException {
+            this.file = new JarFile(jar, true, ZipFile.OPEN_READ, Runtime.version());
+            this.url = jar.toURI().toURL();
+            this.baseResourceUrl = "jar:" + this.url + "!/";
+        }
+
+        /**
+         * Get the URL of an entry of this JAR.
+         *
+         * @param name The name of the entry.
+         * @return The URL of the entry or {@code null} if it can not be built.
+         */
+        private URL resourceUrl(final String name) {
+            try {
+                return new URL(this.baseResourceUrl + new URI(null, null, name, null).getRawPath());
+            } catch (URISyntaxException | MalformedURLException e) {
+                LOGGER.log(WARNING, "Can not build the URL of the resource " + name, e);
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.file.close();
         }
     }
 }
@@ -0,0 +1,167 @@
+package com.twasyl.slideshowfx.plugin.manager.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Metadata of a {@link PluginFile}: the information contained in the manifest of the plugin's JAR, the services it
+ * provides and its icon. The metadata also contain the size, last modification time and hash of the plugin file they
+ * have been read from, allowing to determine if they are still valid.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+class PluginMetadata {
+    private static final String SERVICES_PREFIX = "META-INF/services/";
+    private static final String ICON_ENTRY = "META-INF/icon.png";
+
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+    private final String name;
+    private final String version;
+    private final String description;
+    private final String iconName;
+    private final byte[] icon;
+    private final Set<String> services;
+
+    PluginMetadata(final long size, final long lastModified, final String hash, final String name, final String version,
+                   final String description, final String iconName, final byte[] icon, final Set<String> services) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+        this.name = name;
+        this.version = version;
+        this.description = description;
+        this.iconName = iconName;
+        this.icon = icon;
+        this.services = Collections.unmodifiableSet(services);
+    }
+
+    /**
+     * Read the metadata of the given plugin file. The JAR of the plugin is read only once.
+     *
+     * @param file         The plugin file to read the metadata of.
+     * @param size         The size of the plugin file.
+     * @param lastModified The last modification time of the plugin file.
+     * @param hash         The hash of the plugin file.
+     * @return The metadata of the plugin.
+     * @throws IOException If the plugin file can not be read.
+     */
+    static PluginMetadata read(final PluginFile file, final long size, final long lastModified, final String hash) throws IOException {
+        Attributes attributes = null;
+        byte[] icon = new byte[0];
+        final Set<String> services = new HashSet<>();
+
+        try (final ZipFile zipFile = new ZipFile(file)) {
+            final ZipEntry jarEntry = zipFile.getEntry(file.getNameOnly() + ".jar");
+
+            if (jarEntry != null) {
+                try (final JarInputStream jar = new JarInputStream(zipFile.getInputStream(jarEntry))) {
+                    final Manifest manifest = jar.getManifest();
+
+                    if (manifest != null) {
+                        attributes = manifest.getMainAttributes();
+                    }
+
+                    JarEntry entry;
+                    while ((entry = jar.getNextJarEntry()) != null) {
+                        if (entry.isDirectory()) continue;
+
+                        if (entry.getName().startsWith(SERVICES_PREFIX)) {
+                            services.add(entry.getName().substring(SERVICES_PREFIX.length()));
+                        } else if (ICON_ENTRY.equals(entry.getName())) {
+                            icon = jar.readAllBytes();
+                        }
+                    }
+                }
+            }
+        }
+
+        return new PluginMetadata(size, lastModified, hash,
+                getAttributeValue(attributes, "Plugin-Name", file.getNameOnly()),
+                getAttributeValue(attributes, "Plugin-Version", ""),
+                getAttributeValue(attributes, "Plugin-Description", ""),
+                getAttributeValue(attributes, "Setup-Wizard-Icon-Name", ""),
+                icon, services);
+    }
+
+    /**
+     * Creates metadata for a plugin which file can not be read. Default values are used for all information.
+     *
+     * @param file The plugin file.
+     * @return The default metadata of the plugin.
+     */
+    static PluginMetadata defaultMetadata(final PluginFile file) {
+        return new PluginMetadata(-1, -1, "", file.getNameOnly(), "", "", "", new byte[0], new HashSet<>());
+    }
+
+    private static String getAttributeValue(final Attributes attributes, final String name, final String defaultValue) {
+        final String value = attributes == null ? null : attributes.getValue(name);
+
+        if (value == null || value.isEmpty()) return defaultValue;
+        else return value;
+    }
+
+    /**
+     * Creates a copy of these metadata for a plugin file that has been touched without its content being modified.
+     *
+     * @param size         The new size of the plugin file.
+     * @param lastModified The new last modification time of the plugin file.
+     * @return The updated metadata.
+     */
+    PluginMetadata withFileAttributes(final long size, final long lastModified) {
+        return new PluginMetadata(size, lastModified, this.hash, this.name, this.version, this.description,
+                this.iconName, this.icon, this.services);
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getLastModified() {
+        return lastModified;
+    }
+
+    String getHash() {
+        return hash;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getVersion() {
+        return version;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    String getIconName() {
+        return iconName;
+    }
+
+    byte[] getIcon() {
+        return icon;
+    }
+
+    /**
+     * Get the fully qualified names of the service interfaces provided by the plugin.
+     *
+     * @return The names of the provided services.
+     */
+    Set<String> getServices() {
+        return services;
+    }
+}
@@ -0,0 +1,235 @@
+package com.twasyl.slideshowfx.plugin.manager.internal;
+
+import com.twasyl.slideshowfx.utils.io.IOUtils;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * This class maintains a persistent index of the {@link PluginMetadata metadata} of the plugins present in a
+ * directory. The index is stored in the {@link #INDEX_FILE_NAME} file of the directory. Metadata are read from a
+ * plugin's JAR only when the plugin isn't indexed yet or has been modified since it has been indexed; a plugin is
+ * considered modified when its size or modification time changed and its hash is different.
+ * Newly indexed plugins are only persisted when {@link #save()} is called, typically once all plugins of the directory
+ * have been scanned. The index file is replaced atomically so that it is never left partially written.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class PluginMetadataIndex {
+    private static final Logger LOGGER = Logger.getLogger(PluginMetadataIndex.class.getName());
+
+    /**
+     * The name of the file storing the index in a plugins directory.
+     */
+    static final String INDEX_FILE_NAME = "plugins.index";
+
+    private static final Map<File, PluginMetadataIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final String SIZE = ".size";
+    private static final String LAST_MODIFIED = ".lastModified";
+    private static final String HASH = ".hash";
+    private static final String NAME = ".name";
+    private static final String VERSION = ".version";
+    private static final String DESCRIPTION = ".description";
+    private static final String ICON_NAME = ".iconName";
+    private static final String ICON = ".icon";
+    private static final String SERVICES = ".services";
+
+    private final File indexFile;
+    private final Map<String, PluginMetadata> entries = new HashMap<>();
+    private boolean modified = false;
+
+    PluginMetadataIndex(final File indexFile) {
+        this.indexFile = indexFile;
+        this.load();
+    }
+
+    /**
+     * Get the index of the plugins present in the given directory. The index is loaded only once per directory.
+     *
+     * @param directory The directory containing plugins.
+     * @return The index of the plugins of the directory.
+     */
+    public static PluginMetadataIndex forDirectory(final File directory) {
+        final File absoluteDirectory = directory.getAbsoluteFile();
+        return INDEXES.computeIfAbsent(absoluteDirectory, dir -> new PluginMetadataIndex(new File(dir, INDEX_FILE_NAME)));
+    }
+
+    /**
+     * Get the metadata of the given plugin file. If the plugin isn't indexed yet or has been modified, its metadata
+     * are read and the index is marked as modified. The index is persisted by {@link #save()}.
+     *
+     * @param file The plugin file.
+     * @return The metadata of the plugin.
+     * @throws IOException If the metadata can not be read.
+     */
+    PluginMetadata getMetadata(final PluginFile file) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().to(MICROSECONDS);
+
+        PluginMetadata metadata;
+
+        synchronized (this.entries) {
+            metadata = this.entries.get(file.getName());
+        }
+
+        if (metadata != null && metadata.getSize() == size && metadata.getLastModified() == lastModified) {
+            return metadata;
+        }
+
+        // Plugins are hashed and read outside of the lock so multiple plugins can be indexed concurrently
+        final String hash = hash(file);
+
+        if (metadata != null && metadata.getHash().equals(hash)) {
+            metadata = metadata.withFileAttributes(size, lastModified);
+        } else {
+            metadata = PluginMetadata.read(file, size, lastModified, hash);
+        }
+
+        synchronized (this.entries) {
+            this.entries.put(file.getName(), metadata);
+            this.modified = true;
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Remove the given plugin file from the index.
+     *
+     * @param file The plugin file to remove.
+     */
+    void remove(final PluginFile file) {
+        synchronized (this.entries) {
+            if (this.entries.remove(file.getName()) != null) {
+                this.modified = true;
+                this.save();
+            }
+        }
+    }
+
+    /**
+     * Compute the hash of the given file.
+     *
+     * @param file The file to compute the hash of.
+     * @return The hash of the file, in hexadecimal.
+     * @throws IOException If the file can not be read.
+     */
+    static String hash(final File file) throws IOException {
+        try (final InputStream input = new FileInputStream(file)) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            int bytesRead;
+
+            while ((bytesRead = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Can not compute the hash of the plugin", e);
+        }
+    }
+
+    /**
+     * Load the index from its file, if it exists.
+     */
+    private void load() {
+        if (!this.indexFile.exists()) return;
+
+        final Properties properties = new Properties();
+
+        try (final Reader reader = new FileReader(this.indexFile)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not load the plugins index", e);
+            return;
+        }
+
+        properties.stringPropertyNames().stream()
+                .filter(key -> key.endsWith(HASH))
+                .map(key -> key.substring(0, key.length() - HASH.length()))
+                .forEach(fileName -> {
+                    try {
+                        final String services = properties.getProperty(fileName + SERVICES, "");
+
+                        this.entries.put(fileName, new PluginMetadata(
+                                Long.parseLong(properties.getProperty(fileName + SIZE)),
+                                Long.parseLong(properties.getProperty(fileName + LAST_MODIFIED)),
+                                properties.getProperty(fileName + HASH),
+                                properties.getProperty(fileName + NAME, ""),
+                                properties.getProperty(fileName + VERSION, ""),
+                                properties.getProperty(fileName + DESCRIPTION, ""),
+                                properties.getProperty(fileName + ICON_NAME, ""),
+                                Base64.getDecoder().decode(properties.getProperty(fileName + ICON, "")),
+                                services.isEmpty() ? new HashSet<>() : new HashSet<>(Arrays.asList(services.split(",")))));
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        LOGGER.log(WARNING, "Ignoring invalid plugins index entry for " + fileName, e);
+                    }
+                });
+    }
+
+    /**
+     * Persist the index in its file if it has been modified since it has been loaded or saved. The index is written in
+     * a temporary file of the same directory which then replaces the index file.
+     */
+    public void save() {
+        synchronized (this.entries) {
+            if (!this.modified) return;
+
+            final Properties properties = new Properties();
+
+            this.entries.forEach((fileName, metadata) -> {
+                properties.setProperty(fileName + SIZE, String.valueOf(metadata.getSize()));
+                properties.setProperty(fileName + LAST_MODIFIED, String.valueOf(metadata.getLastModified()));
+                properties.setProperty(fileName + HASH, metadata.getHash());
+                properties.setProperty(fileName + NAME, metadata.getName());
+                properties.setProperty(fileName + VERSION, metadata.getVersion());
+                properties.setProperty(fileName + DESCRIPTION, metadata.getDescription());
+                properties.setProperty(fileName + ICON_NAME, metadata.getIconName());
+                properties.setProperty(fileName + ICON, Base64.getEncoder().encodeToString(metadata.getIcon()));
+                properties.setProperty(fileName + SERVICES, String.join(",", metadata.getServices()));
+            });
+
+            Path temporaryFile = null;
+
+            try {
+                temporaryFile = Files.createTempFile(this.indexFile.getAbsoluteFile().getParentFile().toPath(), INDEX_FILE_NAME, ".tmp");
+
+                try (final Writer writer = new FileWriter(temporaryFile.toFile())) {
+                    properties.store(writer, "SlideshowFX plugins index");
+                }
+
+                IOUtils.moveAtomically(temporaryFile, this.indexFile.toPath());
+                this.modified = false;
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Can not save the plugins index", e);
+                deleteTemporaryFile(temporaryFile);
+            }
+        }
+    }
+
+    private static void deleteTemporaryFile(final Path temporaryFile) {
+        if (temporaryFile == null) return;
+
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not delete the temporary plugins index", e);
+        }
+    }
+}
@@ -1,17 +1,13 @@
 package com.twasyl.slideshowfx.plugin.manager.internal;
 
 import com.twasyl.slideshowfx.plugin.IPlugin;
-import com.twasyl.slideshowfx.utils.Jar;
 import com.twasyl.slideshowfx.utils.io.IOUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.ServiceLoader;
-import java.util.jar.JarEntry;
 import java.util.logging.Logger;
 
 import static java.util.logging.Level.WARNING;
@@ -28,10 +24,7 @@ public class RegisteredPlugin implements Comparable<RegisteredPlugin> {
     private static final Logger LOGGER = Logger.getLogger(RegisteredPlugin.class.getName());
 
     private final PluginFile file;
-    private String name;
-    private String version;
-    private String description;
-    private String iconName;
+    private PluginMetadata metadata;
     private IPlugin instance;
     private PluginClassLoader classLoader;
 
@@ -43,72 +36,39 @@ public class RegisteredPlugin implements Comparable<RegisteredPlugin> {
         return file;
     }
 
-    public String getName() {
-        if (this.name == null) {
-            final String defaultValue = this.file.getNameOnly();
-
-            try (final Jar jar = this.file.getJar()) {
-                if (jar != null) {
-                    this.name = jar.getManifestAttributeValue("Plugin-Name", this.file.getNameOnly());
-                }
+    /**
+     * Get the metadata of this plugin. They are retrieved from the {@link PluginMetadataIndex index} of the plugins
+     * directory, so the plugin's JAR is only read when the plugin hasn't been indexed yet.
+     *
+     * @return The metadata of this plugin.
+     */
+    private synchronized PluginMetadata getMetadata() {
+        if (this.metadata == null) {
+            try {
+                this.metadata = PluginMetadataIndex.forDirectory(this.file.getParentFile()).getMetadata(this.file);
             } catch (IOException e) {
-                LOGGER.log(WARNING, "Error retrieving the name", e);
-                this.name = defaultValue;
+                LOGGER.log(WARNING, "Error retrieving the metadata of the plugin", e);
+                this.metadata = PluginMetadata.defaultMetadata(this.file);
             }
         }
 
-        return name;
+        return this.metadata;
     }
 
-    public String getVersion() {
-        if (this.version == null) {
-            final String defaultValue = "";
-
-            try (final Jar jar = this.file.getJar()) {
-                if (jar != null) {
-                    this.version = jar.getManifestAttributeValue("Plugin-Version", "");
-                }
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error retrieving the version", e);
-                this.version = defaultValue;
-            }
-        }
+    public String getName() {
+        return this.getMetadata().getName();
+    }
 
-        return version;
+    public String getVersion() {
+        return this.getMetadata().getVersion();
     }
 
     public String getDescription() {
-        if (this.description == null) {
-            final String defaultValue = "";
-
-            try (final Jar jar = this.file.getJar()) {
-                if (jar != null) {
-                    this.description = jar.getManifestAttributeValue("Plugin-Description", defaultValue);
-                }
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error retrieving the description", e);
-                this.description = defaultValue;
-            }
-        }
-
-        return description;
+        return this.getMetadata().getDescription();
     }
 
     public String getIconName() {
-        if (this.iconName == null) {
-            final String defaultValue = "";
-
-            try (final Jar jar = this.file.getJar()) {
-                if (jar != null) {
-                    this.iconName = jar.getManifestAttributeValue("Setup-Wizard-Icon-Name", defaultValue);
-                }
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error retrieving the icon name", e);
-                this.iconName = defaultValue;
-            }
-        }
-
-        return iconName;
+        return this.getMetadata().getIconName();
     }
 
     /**
@@ -117,50 +77,22 @@ public class RegisteredPlugin implements Comparable<RegisteredPlugin> {
      * @return The icon of the plugin.
      */
     public byte[] getIcon() {
-        final ByteArrayOutputStream icon = new ByteArrayOutputStream();
-
-        try (final Jar jar = this.file.getJar()) {
-            if (jar != null) {
-                final JarEntry entry = jar.getEntry("META-INF/icon.png");
-
-                if (entry != null) {
-                    try (final InputStream iconIn = jar.getInputStream(entry)) {
-                        final byte[] buffer = new byte[512];
-                        int numberOfBytesRead;
-
-                        while ((numberOfBytesRead = iconIn.read(buffer)) != -1) {
-                            icon.write(buffer, 0, numberOfBytesRead);
-                        }
-
-                        icon.flush();
-                        icon.close();
-                    }
-                }
-            }
-        } catch (IOException e) {
-            LOGGER.log(WARNING, "Error retrieving the icon", e);
-        }
-
-        return icon.toByteArray();
+        return this.getMetadata().getIcon().clone();
     }
 
     public IPlugin getInstance() {
         return instance;
     }
 
-    public boolean isInstanceOf(final Class<? extends IPlugin> clazz) {
-        try (final Jar jar = this.file.getJar()) {
-            return jar.getEntry("META-INF/services/" + clazz.getName()) != null;
-        } catch (IOException e) {
-            LOGGER.log(WARNING, "Can not determine instance of " + clazz, e);
-            return false;
-        }
+    public boolean isInstanceOf(final Class<?> clazz) {
+        return this.getMetadata().getServices().contains(clazz.getName());
     }
 
     public boolean install() {
         if (!isInstalled()) {
             try {
                 this.file.unarchive();
+                this.getMetadata();
                 return true;
             } catch (IOException e) {
                 LOGGER.log(WARNING, "Can not install plugin", e);
@@ -173,6 +105,7 @@ public class RegisteredPlugin implements Comparable<RegisteredPlugin> {
 
     public void uninstall() {
         this.file.deleteOnExit();
+        PluginMetadataIndex.forDirectory(this.file.getParentFile()).remove(this.file);
         try {
             IOUtils.deleteDirectory(this.file.getExplodedDir());
         } catch (IOException e) {
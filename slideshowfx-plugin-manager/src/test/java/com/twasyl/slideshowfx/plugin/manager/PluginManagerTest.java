@@ -11,8 +11,16 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.twasyl.slideshowfx.plugin.manager.PluginTestUtils.createDummyPlugin;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -24,6 +32,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class PluginManagerTest {
 
+    /**
+     * A type of plugin only declared by the plugins under test.
+     */
+    interface TypedPlugin extends IPlugin {
+    }
+
     private static final File TMP_DIR = new File("build/tmp");
 
     @BeforeEach
@@ -146,4 +160,107 @@ class PluginManagerTest {
                 () -> assertEquals("Plugin 02", plugins.get(0).getName())
         );
     }
+
+    @Test
+    void pluginsAreStartedConcurrently() throws InterruptedException, TimeoutException {
+        final int pluginCount = Math.min(3, PluginManager.MAX_CONCURRENT_STARTUPS);
+        final CyclicBarrier allStarting = new CyclicBarrier(pluginCount);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        for (int index = 1; index <= pluginCount; index++) {
+            createDummyPlugin("concurrent-0" + index, "Concurrent 0" + index, "1.0");
+        }
+
+        // Each plugin only starts once all plugins are starting, so they can only all start if they start concurrently
+        final PluginManager manager = new PluginManager() {
+            @Override
+            protected void startPlugin(final RegisteredPlugin plugin) {
+                try {
+                    allStarting.await(10, SECONDS);
+                    super.startPlugin(plugin);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                } catch (BrokenBarrierException | TimeoutException e) {
+                    errors.add(e);
+                }
+            }
+        };
+        manager.pluginsDirectory = PluginManager.getInstance().pluginsDirectory;
+
+        try {
+            manager.start().get(30, SECONDS);
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } finally {
+            manager.stop();
+        }
+
+        assertAll(
+                () -> assertTrue(errors.isEmpty(), () -> "Plugins have not been started concurrently: " + errors),
+                () -> assertEquals(pluginCount, manager.getStartupTimings().size())
+        );
+    }
+
+    @Test
+    void getServicesReturnsWhenTypeIsStartedWhileOthersAreStarting() throws InterruptedException, ExecutionException, TimeoutException {
+        final CountDownLatch releaseSlowPlugin = new CountDownLatch(1);
+
+        createDummyPlugin("typed", "Typed", "1.0", TypedPlugin.class);
+        createDummyPlugin("slow", "Slow", "1.0");
+
+        final PluginManager manager = new PluginManager() {
+            @Override
+            protected void startPlugin(final RegisteredPlugin plugin) {
+                if ("Slow".equals(plugin.getName())) {
+                    try {
+                        releaseSlowPlugin.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.startPlugin(plugin);
+            }
+        };
+        manager.pluginsDirectory = PluginManager.getInstance().pluginsDirectory;
+
+        try {
+            final CompletableFuture<Void> startup = manager.start();
+
+            // The dummy plugin is only declared as a TypedPlugin, so getServices finds no instance of it
+            CompletableFuture.runAsync(() -> manager.getServices(TypedPlugin.class)).get(10, SECONDS);
+            final List<RegisteredPlugin> typedPlugins = manager.getPlugins(TypedPlugin.class);
+
+            assertAll(
+                    () -> assertFalse(startup.isDone()),
+                    () -> assertEquals(1, typedPlugins.size()),
+                    () -> assertTrue(typedPlugins.get(0).isStarted())
+            );
+        } finally {
+            releaseSlowPlugin.countDown();
+            manager.stop();
+        }
+    }
+
+    @Test
+    void getServicesWaitsForPluginsToStart() {
+        createDummyPlugin("waited-01", "Waited 01", "1.0");
+        createDummyPlugin("waited-02", "Waited 02", "1.0");
+
+        PluginManager.getInstance().stop();
+        PluginManager.getInstance().start();
+
+        assertEquals(2, PluginManager.getInstance().getServices(IPlugin.class).size());
+    }
+
+    @Test
+    void getServicesWhenStartedDoesNotBlock() {
+        createDummyPlugin("notified-01", "Notified 01", "1.0");
+        createDummyPlugin("notified-02", "Notified 02", "1.0");
+
+        PluginManager.getInstance().stop();
+        PluginManager.getInstance().start();
+
+        assertEquals(2, PluginManager.getInstance().getServicesWhenStarted(IPlugin.class).join().size());
+    }
 }
@@ -1,5 +1,6 @@
 package com.twasyl.slideshowfx.plugin.manager.internal;
 
+import com.twasyl.slideshowfx.plugin.IPlugin;
 import com.twasyl.slideshowfx.plugin.manager.PluginTestUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,4 +45,19 @@ class PluginClassLoaderTest {
         final URL resource = clazz.getResource("/com/twasyl/slideshowfx/dummy/plugin/Application.fxml");
         assertNotNull(resource);
     }
+
+    @Test
+    void testGetServiceDescriptors() throws IOException {
+        try (final PluginClassLoader pluginClassLoader = PluginClassLoader.newInstance(PLUGIN_FILE)) {
+            final List<URL> descriptors = Collections.list(pluginClassLoader.getResources("META-INF/services/" + IPlugin.class.getName()));
+            assertEquals(1, descriptors.size());
+        }
+    }
+
+    @Test
+    void testClassNotFound() throws IOException {
+        try (final PluginClassLoader pluginClassLoader = PluginClassLoader.newInstance(PLUGIN_FILE)) {
+            assertThrows(ClassNotFoundException.class, () -> pluginClassLoader.loadClass("com.twasyl.slideshowfx.dummy.plugin.Unknown"));
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.twasyl.slideshowfx.plugin.manager.internal;
+
+import com.twasyl.slideshowfx.plugin.IPlugin;
+import com.twasyl.slideshowfx.plugin.manager.PluginTestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluginMetadataIndexTest {
+
+    private static File pluginsDir;
+
+    @BeforeAll
+    static void setup() {
+        pluginsDir = new File("build/tmp", "pluginsIndexDir-" + System.currentTimeMillis());
+        System.setProperty("plugins.dir", pluginsDir.getAbsolutePath());
+        pluginsDir.mkdirs();
+    }
+
+    @Test
+    void metadataArePersisted() throws IOException {
+        final PluginFile plugin = new PluginFile(PluginTestUtils.createDummyPlugin("persisted-plugin", "Persisted plugin", "1.0"));
+        final File indexFile = new File(pluginsDir, PluginMetadataIndex.INDEX_FILE_NAME);
+
+        final PluginMetadataIndex index = new PluginMetadataIndex(indexFile);
+        final PluginMetadata metadata = index.getMetadata(plugin);
+        index.save();
+        assertTrue(indexFile.exists());
+
+        final PluginMetadata reloaded = new PluginMetadataIndex(indexFile).getMetadata(plugin);
+        assertEquals(metadata.getHash(), reloaded.getHash());
+        assertEquals("Persisted plugin", reloaded.getName());
+        assertEquals("1.0", reloaded.getVersion());
+        assertEquals(metadata.getDescription(), reloaded.getDescription());
+        assertEquals("EXCLAMATION_TRIANGLE", reloaded.getIconName());
+        assertTrue(reloaded.getServices().contains(IPlugin.class.getName()));
+    }
+
+    @Test
+    void metadataAreNotReadAgainWhenFileIsUnchanged() throws IOException {
+        final PluginFile plugin = new PluginFile(PluginTestUtils.createDummyPlugin("unchanged-plugin", "Unchanged plugin", "1.0"));
+        final PluginMetadataIndex index = new PluginMetadataIndex(new File(pluginsDir, "unchanged.index"));
+
+        assertSame(index.getMetadata(plugin), index.getMetadata(plugin));
+    }
+
+    @Test
+    void metadataAreReadAgainWhenFileIsModified() throws IOException {
+        final PluginFile plugin = new PluginFile(PluginTestUtils.createDummyPlugin("modified-plugin", "Modified plugin", "1.0"));
+        final PluginMetadataIndex index = new PluginMetadataIndex(new File(pluginsDir, "modified.index"));
+        final PluginMetadata metadata = index.getMetadata(plugin);
+
+        PluginTestUtils.createDummyPlugin("modified-plugin", "Modified plugin", "1.0");
+        assertTrue(plugin.setLastModified(plugin.lastModified() + 2000));
+
+        final PluginMetadata modified = index.getMetadata(plugin);
+        assertNotEquals(metadata.getHash(), modified.getHash());
+        assertNotEquals(metadata.getDescription(), modified.getDescription());
+    }
+
+    @Test
+    void indexIsOnlyWrittenWhenSaved() throws IOException {
+        final File directory = new File(pluginsDir, "batched");
+        assertTrue(directory.mkdirs());
+        final File indexFile = new File(directory, PluginMetadataIndex.INDEX_FILE_NAME);
+        final PluginMetadataIndex index = new PluginMetadataIndex(indexFile);
+
+        index.getMetadata(new PluginFile(PluginTestUtils.createDummyPlugin("first-batched-plugin", "First batched plugin", "1.0")));
+        index.getMetadata(new PluginFile(PluginTestUtils.createDummyPlugin("second-batched-plugin", "Second batched plugin", "1.0")));
+        assertFalse(indexFile.exists());
+
+        index.save();
+        assertTrue(indexFile.exists());
+        assertArrayEquals(new String[]{PluginMetadataIndex.INDEX_FILE_NAME}, directory.list());
+
+        // Saving an unmodified index doesn't write it again
+        assertTrue(indexFile.setLastModified(0));
+        index.save();
+        assertEquals(0, indexFile.lastModified());
+    }
+}
@@ -54,7 +54,17 @@ public class PluginTestUtils {
         }
     }
 
-    public static File createDummyPlugin(final String name, String label, String version) {
+    /**
+     * Create a dummy plugin in the plugins directory. The plugin is declared as an {@link IPlugin} service and as
+     * every given additional service, although its class only implements {@link IPlugin}.
+     *
+     * @param name               The name of the plugin's file.
+     * @param label              The name of the plugin.
+     * @param version            The version of the plugin.
+     * @param additionalServices The other services the plugin is declared as.
+     * @return The created plugin file.
+     */
+    public static File createDummyPlugin(final String name, String label, String version, final Class<?>... additionalServices) {
         final Manifest manifest = new Manifest();
         final Attributes attributes = manifest.getMainAttributes();
         attributes.put(MANIFEST_VERSION, "1.0.0");
@@ -76,6 +86,11 @@ public class PluginTestUtils {
             jar.putNextEntry(new ZipEntry("META-INF/services/" + IPlugin.class.getName()));
             jar.write("com.twasyl.slideshowfx.dummy.plugin.Dummy".getBytes(UTF_8));
             jar.closeEntry();
+            for (Class<?> service : additionalServices) {
+                jar.putNextEntry(new ZipEntry("META-INF/services/" + service.getName()));
+                jar.write("com.twasyl.slideshowfx.dummy.plugin.Dummy".getBytes(UTF_8));
+                jar.closeEntry();
+            }
             jar.putNextEntry(new ZipEntry("com/twasyl/slideshowfx/dummy/plugin/Application.fxml"));
             jar.write("Some random content".getBytes(UTF_8));
             jar.closeEntry();
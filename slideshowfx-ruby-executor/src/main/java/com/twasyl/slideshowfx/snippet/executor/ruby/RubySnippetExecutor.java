@@ -4,9 +4,9 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
 import com.twasyl.slideshowfx.utils.OSUtils;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -115,43 +115,10 @@ public class RubySnippetExecutor extends AbstractSnippetExecutor<RubySnippetExec
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
-
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            }
-
-
-            final String[] executionCommand = {determineRubyExecutable(), codeFile.getAbsolutePath()};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(executionCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    inputStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
+            execution.runProcess(determineRubyExecutable(), codeFile.getAbsolutePath());
         });
-        snippetThread.start();
-
-        return consoleOutput;
     }
 
     private String determineRubyExecutable() {
@@ -167,19 +134,14 @@ public class RubySnippetExecutor extends AbstractSnippetExecutor<RubySnippetExec
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Create the source code file for the given code snippet in the workspace of the given execution.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
      * @return The file created and containing the source code.
      */
-    private File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), "Snippet.rb");
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
-        }
-
-        return codeFile;
+    private File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile("Snippet.rb", buildSourceCode(codeSnippet));
     }
 
     /**
@@ -4,10 +4,10 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
 import com.twasyl.slideshowfx.utils.OSUtils;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -119,68 +119,14 @@ public class RustSnippetExecutor extends AbstractSnippetExecutor<RustSnippetExec
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
 
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
-            }
-
-            // Compile the Rust file
-            final String[] compilationCommand = {determineRustExecutable(), codeFile.getName()};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(compilationCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader errorStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    errorStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                appendErrorMessageToConsole(consoleOutput, e);
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
-
-            // Execute the executable only if the compilation was successful
-            if (process != null && process.exitValue() == 0) {
-
-                final var executable = determineExecutableFile(codeFile);
-                final String[] executionCommand = {executable.getAbsolutePath()};
-
-                try {
-                    process = new ProcessBuilder()
-                            .redirectErrorStream(true)
-                            .command(executionCommand)
-                            .start();
-
-                    try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                        inputStream.lines().forEach(consoleOutput::add);
-                    }
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                    appendErrorMessageToConsole(consoleOutput, e);
-                } finally {
-                    waitForProcess(process);
-                }
-
-                deleteGeneratedFile(executable);
+            // Compile the Rust file and execute the executable only if the compilation was successful
+            if (execution.runProcess(determineRustExecutable(), codeFile.getName()) == 0) {
+                execution.runProcess(determineExecutableFile(codeFile).getAbsolutePath());
             }
         });
-        snippetThread.start();
-
-        return consoleOutput;
     }
 
     private String determineRustExecutable() {
@@ -192,19 +138,14 @@ public class RustSnippetExecutor extends AbstractSnippetExecutor<RustSnippetExec
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Create the source code file for the given code snippet in the workspace of the given execution.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
      * @return The file created and containing the source code.
      */
-    private File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), "Snippet.rs");
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
-        }
-
-        return codeFile;
+    private File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile("Snippet.rs", buildSourceCode(codeSnippet));
     }
 
     /**
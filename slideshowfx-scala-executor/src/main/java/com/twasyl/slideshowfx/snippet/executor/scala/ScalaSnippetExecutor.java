@@ -4,9 +4,10 @@ import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.Plugin;
 import com.twasyl.slideshowfx.snippet.executor.AbstractSnippetExecutor;
 import com.twasyl.slideshowfx.snippet.executor.CodeSnippet;
+import com.twasyl.slideshowfx.snippet.executor.SnippetExecution;
+import com.twasyl.slideshowfx.snippet.executor.WarmDaemon;
 import com.twasyl.slideshowfx.utils.beans.converter.FileStringConverter;
 import com.twasyl.slideshowfx.utils.io.DefaultCharsetReader;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -16,6 +17,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
 
 import java.io.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,7 +29,7 @@ import java.util.logging.Logger;
  * This implementation is identified with the code {@code SCALA}.
  *
  * @author Thierry Wasyczenko
- * @version 1.0-SNAPSHOT
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 @Plugin
@@ -34,14 +37,18 @@ public class ScalaSnippetExecutor extends AbstractSnippetExecutor<ScalaSnippetEx
     private static final Logger LOGGER = Logger.getLogger(ScalaSnippetExecutor.class.getName());
 
     protected static final String SCALA_HOME_PROPERTY_SUFFIX = ".home";
+    protected static final String USE_WARM_DAEMON_PROPERTY_SUFFIX = ".useWarmDaemon";
     protected static final String WRAP_IN_MAIN_PROPERTY = "wrapInMain";
     protected static final String IMPORTS_PROPERTY = "imports";
     protected static final String CLASS_NAME_PROPERTY = "class";
+    private static final String SCALA_COMPILER = "scala.tools.nsc.Main";
 
     public ScalaSnippetExecutor() {
         super("SCALA", "Scala", "language-scala");
         this.setOptions(new ScalaSnippetExecutorOptions());
 
+        this.getOptions().setUseWarmDaemon(GlobalConfiguration.getBooleanProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX), false));
+
         final String scalaHome = GlobalConfiguration.getProperty(this.getConfigurationBaseName().concat(SCALA_HOME_PROPERTY_SUFFIX));
         if (scalaHome != null) {
             try {
@@ -88,6 +95,7 @@ public class ScalaSnippetExecutor extends AbstractSnippetExecutor<ScalaSnippetEx
     @Override
     public Node getConfigurationUI() {
         this.newOptions = new ScalaSnippetExecutorOptions();
+        this.newOptions.setUseWarmDaemon(this.getOptions().getUseWarmDaemon());
         try {
             this.newOptions.setScalaHome(this.getOptions().getScalaHome());
         } catch (FileNotFoundException | NullPointerException e) {
@@ -113,7 +121,11 @@ public class ScalaSnippetExecutor extends AbstractSnippetExecutor<ScalaSnippetEx
         final HBox box = new HBox(5);
         box.getChildren().addAll(label, scalaHomeField, browse);
 
-        return box;
+        final CheckBox useWarmDaemon = new CheckBox("Keep a Scala daemon running");
+        useWarmDaemon.setTooltip(new Tooltip("Execute code snippets in a long-lived JVM, started when a presentation is opened"));
+        useWarmDaemon.selectedProperty().bindBidirectional(this.newOptions.useWarmDaemonProperty());
+
+        return new VBox(5, box, useWarmDaemon);
     }
 
     @Override
@@ -121,6 +133,13 @@ public class ScalaSnippetExecutor extends AbstractSnippetExecutor<ScalaSnippetEx
         if (this.getNewOptions() != null) {
             this.setOptions(this.getNewOptions());
 
+            GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(USE_WARM_DAEMON_PROPERTY_SUFFIX),
+                    String.valueOf(this.getOptions().getUseWarmDaemon()));
+
+            if (!this.getOptions().getUseWarmDaemon()) {
+                this.stopWarmDaemon();
+            }
+
             if (this.getOptions().getScalaHome() != null) {
                 GlobalConfiguration.setProperty(this.getConfigurationBaseName().concat(SCALA_HOME_PROPERTY_SUFFIX),
                         this.getOptions().getScalaHome().getAbsolutePath().replaceAll("\\\\", "/"));
@@ -130,87 +149,62 @@ public class ScalaSnippetExecutor extends AbstractSnippetExecutor<ScalaSnippetEx
 
     @Override
     public ObservableList<String> execute(final CodeSnippet codeSnippet) {
-        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        return this.executeInWorkspace(execution -> {
+            final File codeFile = this.createSourceCodeFile(execution, codeSnippet);
 
-        final Thread snippetThread = new Thread(() -> {
-            File codeFile = null;
-            try {
-                codeFile = createSourceCodeFile(codeSnippet);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not write code to snippet file", e);
-                consoleOutput.add("ERROR: ".concat(e.getMessage()));
+            if (this.getOptions().getUseWarmDaemon()) {
+                this.executeInWarmDaemon(execution, codeSnippet, codeFile);
+                return;
             }
 
             // Compile the Scala class
             final File scalacExecutable = new File(this.getOptions().getScalaHome(), "bin/scalac");
 
-            final String[] compilationCommand = {scalacExecutable.getAbsolutePath(), codeFile.getName()};
-
-            Process process = null;
-            try {
-                process = new ProcessBuilder()
-                        .redirectErrorStream(true)
-                        .command(compilationCommand)
-                        .directory(this.getTemporaryDirectory())
-                        .start();
-
-                try (final BufferedReader errorStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    errorStream.lines().forEach(consoleOutput::add);
-                }
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                appendErrorMessageToConsole(consoleOutput, e);
-            } finally {
-                waitForProcess(process);
-            }
-
-            deleteGeneratedFile(codeFile);
-
             // Execute the class only if the compilation was successful
-            if (process != null && process.exitValue() == 0) {
-
+            if (execution.runProcess(scalacExecutable.getAbsolutePath(), codeFile.getName()) == 0) {
                 final File scalaExecutable = new File(this.getOptions().getScalaHome(), "bin/scala");
-                final String[] executionCommand = {scalaExecutable.getAbsolutePath(), determineClassName(codeSnippet)};
-
-                try {
-                    process = new ProcessBuilder()
-                            .redirectErrorStream(true)
-                            .command(executionCommand)
-                            .directory(this.getTemporaryDirectory())
-                            .start();
-
-                    try (final BufferedReader inputStream = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                        inputStream.lines().forEach(consoleOutput::add);
-                    }
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Can not execute code snippet", e);
-                    appendErrorMessageToConsole(consoleOutput, e);
-                } finally {
-                    waitForProcess(process);
-                }
-
-                deleteGeneratedFile(new File(this.getTemporaryDirectory(), determineClassName(codeSnippet)));
+                execution.runProcess(scalaExecutable.getAbsolutePath(), determineClassName(codeSnippet));
             }
         });
-        snippetThread.start();
+    }
 
-        return consoleOutput;
+    @Override
+    public void prepare() {
+        if (this.getOptions().getUseWarmDaemon() && this.getOptions().getScalaHome() != null) {
+            this.warmUp(execution -> this.compileInWarmDaemon(execution, execution.createFile("WarmUp.scala", "object WarmUp")));
+        }
     }
 
     /**
-     * Create the source code file for the given code snippet.
+     * Compile and execute the given source code file within the {@link WarmDaemon} of this executor. The daemon runs
+     * the compiler of Scala 2, provided by the {@code lib} directory of the SDK.
      *
+     * @param execution   The execution of the code snippet.
      * @param codeSnippet The code snippet.
-     * @return The file created and containing the source code.
+     * @param codeFile    The source code file to compile and execute.
      */
-    protected File createSourceCodeFile(final CodeSnippet codeSnippet) throws IOException {
-        final File codeFile = new File(this.getTemporaryDirectory(), determineClassName(codeSnippet).concat(".scala"));
-        try (final FileWriter codeFileWriter = new FileWriter(codeFile)) {
-            codeFileWriter.write(buildSourceCode(codeSnippet));
-            codeFileWriter.flush();
+    protected void executeInWarmDaemon(final SnippetExecution execution, final CodeSnippet codeSnippet, final File codeFile) throws IOException {
+        if (this.compileInWarmDaemon(execution, codeFile) == 0) {
+            this.getWarmDaemon(this.getOptions().getScalaHome())
+                    .call(execution, List.of(execution.getWorkspace()), determineClassName(codeSnippet), "main");
         }
+    }
+
+    private int compileInWarmDaemon(final SnippetExecution execution, final File codeFile) throws IOException {
+        return this.getWarmDaemon(this.getOptions().getScalaHome())
+                .call(execution, Collections.emptyList(), SCALA_COMPILER, "process", "-usejavacp",
+                        "-d", execution.getWorkspace().getAbsolutePath(), codeFile.getAbsolutePath());
+    }
 
-        return codeFile;
+    /**
+     * Create the source code file for the given code snippet in the workspace of the given execution.
+     *
+     * @param execution   The execution of the code snippet.
+     * @param codeSnippet The code snippet.
+     * @return The file created and containing the source code.
+     */
+    protected File createSourceCodeFile(final SnippetExecution execution, final CodeSnippet codeSnippet) throws IOException {
+        return execution.createFile(determineClassName(codeSnippet).concat(".scala"), buildSourceCode(codeSnippet));
     }
 
     /**
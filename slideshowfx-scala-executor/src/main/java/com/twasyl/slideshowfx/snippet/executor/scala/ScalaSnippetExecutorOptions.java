@@ -1,7 +1,9 @@
 package com.twasyl.slideshowfx.snippet.executor.scala;
 
 import com.twasyl.slideshowfx.snippet.executor.ISnippetExecutorOptions;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
 import java.io.File;
@@ -11,11 +13,12 @@ import java.io.FileNotFoundException;
  * Options that are necessary for the Scala snippet executor.
  *
  * @author Thierry Wasylczenko
- * @version 1.0.0
+ * @version 1.1.0
  * @since 1.0.0
  */
 public class ScalaSnippetExecutorOptions implements ISnippetExecutorOptions {
     private final ObjectProperty<File> scalaHome = new SimpleObjectProperty<>();
+    private final BooleanProperty useWarmDaemon = new SimpleBooleanProperty(false);
 
     public ObjectProperty<File> scalaHomeProperty() { return this.scalaHome; }
 
@@ -28,4 +31,10 @@ public class ScalaSnippetExecutorOptions implements ISnippetExecutorOptions {
 
         this.scalaHome.setValue(scalaHome);
     }
+
+    public BooleanProperty useWarmDaemonProperty() { return this.useWarmDaemon; }
+
+    public boolean getUseWarmDaemon() { return this.useWarmDaemon.get(); }
+
+    public void setUseWarmDaemon(boolean useWarmDaemon) { this.useWarmDaemon.set(useWarmDaemon); }
 }
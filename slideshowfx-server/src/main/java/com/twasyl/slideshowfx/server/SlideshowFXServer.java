@@ -1,9 +1,10 @@
 package com.twasyl.slideshowfx.server;
 
 import com.twasyl.slideshowfx.server.service.ISlideshowFXServices;
-import com.twasyl.slideshowfx.utils.beans.Wrapper;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.ServerWebSocket;
@@ -14,10 +15,13 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,10 +68,21 @@ public class SlideshowFXServer {
      */
     public static final String SHARED_DATA_SERVER_PORT_TOKEN = "template.tokens.server.port";
 
+    /**
+     * The default time, in milliseconds, after which a call to a service fails if no response has been received.
+     */
+    public static final long DEFAULT_SERVICE_CALL_TIMEOUT = 10000;
+
+    /**
+     * The maximum size, in bytes, of data waiting to be written to a single WebSocket client. When this size is
+     * reached, messages sent to that client are kept in its {@link WebSocketBacklog} until its queue has been drained.
+     */
+    public static final int WEBSOCKET_WRITE_QUEUE_MAX_SIZE = 256 * 1024;
+
     private String host;
     private int port;
     private String twitterHashtag;
-    private final Set<ServerWebSocket> websockets = new HashSet<>();
+    private final Map<ServerWebSocket, WebSocketBacklog> websockets = new ConcurrentHashMap<>();
 
     private SlideshowFXServer(String host, int port, String twitterHashtag) {
         this.host = host;
@@ -120,8 +135,52 @@ public class SlideshowFXServer {
         return this.router;
     }
 
+    /**
+     * Get the WebSocket clients currently connected to this server. The returned set is thread safe and can not be
+     * modified. Use {@link #addWebSocket(ServerWebSocket)} and {@link #removeWebSocket(ServerWebSocket)} to register
+     * or unregister a client.
+     *
+     * @return The WebSocket clients connected to this server.
+     */
     public Set<ServerWebSocket> getWebSockets() {
-        return this.websockets;
+        return Collections.unmodifiableSet(this.websockets.keySet());
+    }
+
+    /**
+     * Register a WebSocket client to this server. The write queue of the client is bounded to
+     * {@link #WEBSOCKET_WRITE_QUEUE_MAX_SIZE} and a {@link WebSocketBacklog} is attached to it.
+     *
+     * @param socket The WebSocket client to register.
+     */
+    public void addWebSocket(final ServerWebSocket socket) {
+        socket.setWriteQueueMaxSize(WEBSOCKET_WRITE_QUEUE_MAX_SIZE);
+        this.websockets.computeIfAbsent(socket, s -> new WebSocketBacklog(s, WebSocketBacklog.DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * Unregister a WebSocket client from this server. Messages still waiting to be written to it are discarded.
+     *
+     * @param socket The WebSocket client to unregister.
+     */
+    public void removeWebSocket(final ServerWebSocket socket) {
+        this.websockets.remove(socket);
+    }
+
+    /**
+     * Write a message to a WebSocket client registered to this server. If the write queue of the client is full, the
+     * message is written once the client has drained its queue.
+     *
+     * @param socket  The WebSocket client to write the message to.
+     * @param message The message to write.
+     */
+    public void writeToWebSocket(final ServerWebSocket socket, final Buffer message) {
+        final WebSocketBacklog backlog = this.websockets.get(socket);
+
+        if (backlog == null) {
+            LOGGER.log(Level.FINE, "The WebSocket client {0} is no longer connected", socket.textHandlerID());
+        } else {
+            backlog.write(message);
+        }
     }
 
     /**
@@ -211,58 +270,84 @@ public class SlideshowFXServer {
      * <li>the <b>content</b> key which is the response's content returned by the service, as a JSON structured
      * (an object, an array, etc) depending on the service</li>
      * </ul>
+     * <p>This method blocks until the response is received. Use {@link #callServiceAsync(String)} in order to not
+     * block the calling thread.</p>
      *
      * @param request The JSON object corresponding to the service to call.
-     * @return The response corresponding to the request.
+     * @return The response corresponding to the request, or {@code null} if the call failed: the service could not
+     * be called, it failed, it didn't respond within {@link #DEFAULT_SERVICE_CALL_TIMEOUT} milliseconds or the calling
+     * thread has been interrupted. Callers must handle a {@code null} response.
      * @throws java.lang.IllegalArgumentException If the request is invalid.
      */
     public JsonObject callService(String request) {
-        final Wrapper<JsonObject> response = new Wrapper<>();
+        JsonObject response = null;
 
         try {
-            final var jsonRequest = new JsonObject(request);
-            final var service = jsonRequest.getString(JSON_KEY_SERVICE);
-            final var data = jsonRequest.getJsonObject(JSON_KEY_DATA);
-
-            if (service == null) throw new IllegalArgumentException("The service in the request must be present");
-            if (service.trim().isEmpty())
-                throw new IllegalArgumentException("The service in the request can not be empty");
-
-            if (data == null) throw new IllegalArgumentException("The data in the request must be present");
-
-            final var thread = new Thread(new Runnable() {
-                private boolean continueProcess = false;
-
-                @Override
-                public void run() {
-                    SlideshowFXServer.this.vertx.eventBus().request(service, data, (AsyncResult<Message<JsonObject>> ar) -> {
-                        response.setValue(ar.result().body());
-                        continueProcess = true;
-                    });
-
-                    while (!continueProcess) {
-                        try {
-                            Thread.sleep(100);
-                        } catch (InterruptedException e) {
-                            LOGGER.log(SEVERE, "Can not wait result when calling a service", e);
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-                }
-            });
-
-            thread.start();
-            thread.join();
-        } catch (DecodeException e) {
-            throw new IllegalArgumentException("The request is invalid", e);
+            response = this.callServiceAsync(request).get();
         } catch (ClassCastException e) {
             LOGGER.log(SEVERE, "An error occurred", e);
+        } catch (ExecutionException e) {
+            LOGGER.log(SEVERE, "An error occurred", e.getCause());
         } catch (InterruptedException e) {
             LOGGER.log(SEVERE, "An error occurred", e);
             Thread.currentThread().interrupt();
         }
 
-        return response.getValue();
+        return response;
+    }
+
+    /**
+     * Call a service asynchronously using the EventBus of Vert.x. The call fails if no response is received within
+     * {@link #DEFAULT_SERVICE_CALL_TIMEOUT} milliseconds.
+     *
+     * @param request The JSON object corresponding to the service to call.
+     * @return A {@link CompletableFuture} completed with the response corresponding to the request.
+     * @throws java.lang.IllegalArgumentException If the request is invalid.
+     * @see #callService(String)
+     */
+    public CompletableFuture<JsonObject> callServiceAsync(String request) {
+        return this.callServiceAsync(request, DEFAULT_SERVICE_CALL_TIMEOUT);
+    }
+
+    /**
+     * Call a service asynchronously using the EventBus of Vert.x. The format of the request and the response are
+     * described in {@link #callService(String)}.
+     *
+     * @param request The JSON object corresponding to the service to call.
+     * @param timeout The time, in milliseconds, after which the call fails if no response has been received.
+     * @return A {@link CompletableFuture} completed with the response corresponding to the request.
+     * @throws java.lang.IllegalArgumentException If the request is invalid.
+     */
+    public CompletableFuture<JsonObject> callServiceAsync(String request, long timeout) {
+        final JsonObject jsonRequest;
+
+        try {
+            jsonRequest = new JsonObject(request);
+        } catch (DecodeException e) {
+            throw new IllegalArgumentException("The request is invalid", e);
+        }
+
+        final var service = jsonRequest.getString(JSON_KEY_SERVICE);
+        final var data = jsonRequest.getJsonObject(JSON_KEY_DATA);
+
+        if (service == null) throw new IllegalArgumentException("The service in the request must be present");
+        if (service.trim().isEmpty())
+            throw new IllegalArgumentException("The service in the request can not be empty");
+
+        if (data == null) throw new IllegalArgumentException("The data in the request must be present");
+
+        final CompletableFuture<JsonObject> response = new CompletableFuture<>();
+        final DeliveryOptions options = new DeliveryOptions().setSendTimeout(timeout);
+
+        this.vertx.eventBus().request(service, data, options, (AsyncResult<Message<JsonObject>> ar) -> {
+            if (ar.succeeded()) {
+                response.complete(ar.result().body());
+            } else {
+                response.completeExceptionally(ar.cause());
+            }
+        });
+
+        return response;
     }
 
     /**
@@ -0,0 +1,86 @@
+package com.twasyl.slideshowfx.server;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ServerWebSocket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.WARNING;
+
+/**
+ * <p>This class holds the messages that couldn't be written to a WebSocket client because its write queue was full.
+ * The messages are written, in the order they have been sent, as soon as the client drains its write queue.</p>
+ * <p>The backlog is bounded: when it is full, the oldest message is discarded in order to keep the most recent
+ * state of the presentation for the client.</p>
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class WebSocketBacklog {
+    private static final Logger LOGGER = Logger.getLogger(WebSocketBacklog.class.getName());
+
+    /**
+     * The default number of messages kept for a single WebSocket client while its write queue is full.
+     */
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+    private final ServerWebSocket socket;
+    private final int maxSize;
+    private final Deque<Buffer> pending = new ArrayDeque<>();
+
+    /**
+     * Create a backlog for the given WebSocket client. The backlog registers itself as drain handler of the socket.
+     *
+     * @param socket  The WebSocket client.
+     * @param maxSize The maximum number of messages kept while the write queue of the client is full.
+     * @throws NullPointerException     If the socket is {@code null}.
+     * @throws IllegalArgumentException If the maximum size is not strictly positive.
+     */
+    public WebSocketBacklog(final ServerWebSocket socket, final int maxSize) {
+        if (socket == null) throw new NullPointerException("The socket can not be null");
+        if (maxSize <= 0) throw new IllegalArgumentException("The maximum size must be strictly positive");
+
+        this.socket = socket;
+        this.maxSize = maxSize;
+        this.socket.drainHandler(event -> this.flush());
+    }
+
+    /**
+     * Write the given message to the WebSocket client. If the write queue of the client is full, or if older messages
+     * are still waiting to be written, the message is kept until the client drains its write queue.
+     *
+     * @param message The message to write.
+     */
+    public synchronized void write(final Buffer message) {
+        if (this.pending.size() == this.maxSize) {
+            this.pending.pollFirst();
+            LOGGER.log(WARNING, "The backlog of the WebSocket client {0} is full, discarding its oldest message",
+                    this.socket.textHandlerID());
+        }
+
+        this.pending.addLast(message);
+        this.flush();
+    }
+
+    /**
+     * Write the pending messages to the WebSocket client until they are all written or the write queue of the client
+     * is full.
+     */
+    synchronized void flush() {
+        while (!this.pending.isEmpty() && !this.socket.writeQueueFull()) {
+            this.socket.write(this.pending.pollFirst());
+        }
+    }
+
+    /**
+     * Get the number of messages waiting to be written to the WebSocket client.
+     *
+     * @return The number of pending messages.
+     */
+    public synchronized int size() {
+        return this.pending.size();
+    }
+}
@@ -1,12 +1,24 @@
 package com.twasyl.slideshowfx.server.beans.quiz;
 
 import javafx.beans.property.*;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableMap;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This class represents the result of a given quiz.
+ * Answers are recorded in counters that can be safely incremented by multiple threads. The properties of this result
+ * are only updated when the recorded answers are {@link #publish() published}, which allows to refresh the UI at a
+ * fixed rate rather than for every answer.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.2
  * @since SlideshowFX 1.0
  */
 public class QuizResult {
@@ -15,6 +27,12 @@ public class QuizResult {
     private final ReadOnlyIntegerProperty totalAnswers = new SimpleIntegerProperty(0);
     private final IntegerProperty correctAnswers = new SimpleIntegerProperty(0);
     private final IntegerProperty wrongAnswers = new SimpleIntegerProperty(0);
+    private final ObservableMap<Long, Integer> answersDistribution = FXCollections.observableHashMap();
+
+    private final LongAdder recordedCorrectAnswers = new LongAdder();
+    private final LongAdder recordedWrongAnswers = new LongAdder();
+    private final Map<Long, LongAdder> recordedAnswersDistribution = new ConcurrentHashMap<>();
+    private final AtomicBoolean unpublishedAnswers = new AtomicBoolean(false);
 
     public QuizResult() {
         ((SimpleIntegerProperty) this.totalAnswers).bind(this.correctAnswers.add(this.wrongAnswers));
@@ -94,16 +112,89 @@ public class QuizResult {
     }
 
     /**
-     * Add one correct answer to the number of correct answers.
+     * Get the number of times each answer of the quiz has been chosen. The key of the map is the ID of the
+     * {@link Answer}, the value the number of times it has been chosen. This map is updated when the recorded answers
+     * are {@link #publish() published}.
+     * @return The number of times each answer has been chosen.
      */
-    public synchronized void addCorrectAnswer() {
-        this.setCorrectAnswers(this.getCorrectAnswers() + 1);
+    public ObservableMap<Long, Integer> getAnswersDistribution() { return answersDistribution; }
+
+    /**
+     * Add one correct answer to the number of correct answers. The answer will be reflected in the properties of
+     * this result at the next {@link #publish() publication}.
+     */
+    public void addCorrectAnswer() {
+        this.recordAnswer(true);
     }
 
     /**
-     * Add one wrong answer to the number of wrong answers.
+     * Add one wrong answer to the number of wrong answers. The answer will be reflected in the properties of this
+     * result at the next {@link #publish() publication}.
      */
-    public synchronized  void addWrongAnswer() {
-        this.setWrongAnswers(this.getWrongAnswers() + 1);
+    public void addWrongAnswer() {
+        this.recordAnswer(false);
+    }
+
+    /**
+     * Record an answer to the quiz. This method can be called concurrently by multiple threads. The answer will be
+     * reflected in the properties of this result at the next {@link #publish() publication}.
+     * The chosen answers must all be different and belong to the {@link #getQuiz() quiz}, otherwise nothing is
+     * recorded.
+     * @param correct Indicates if the answer is correct.
+     * @param answersIds The IDs of the {@link Answer answers} that have been chosen.
+     * @throws IllegalArgumentException If an ID is unknown or chosen more than once.
+     */
+    public void recordAnswer(final boolean correct, final Long... answersIds) {
+        this.checkAnswersIds(answersIds);
+
+        if (correct) this.recordedCorrectAnswers.increment();
+        else this.recordedWrongAnswers.increment();
+
+        for (Long answerId : answersIds) {
+            this.recordedAnswersDistribution.computeIfAbsent(answerId, id -> new LongAdder()).increment();
+        }
+
+        this.unpublishedAnswers.set(true);
+    }
+
+    /**
+     * Check that the given IDs are all different and are IDs of answers of the {@link #getQuiz() quiz}.
+     * @param answersIds The IDs to check.
+     * @throws IllegalArgumentException If an ID is unknown or present more than once.
+     */
+    private void checkAnswersIds(final Long... answersIds) {
+        final Quiz currentQuiz = this.getQuiz();
+        final Set<Long> checkedIds = new HashSet<>();
+
+        for (Long answerId : answersIds) {
+            if (answerId == null || currentQuiz == null
+                    || currentQuiz.getAnswers().stream().noneMatch(answer -> answer.getId() == answerId)) {
+                throw new IllegalArgumentException("Unknown answer: " + answerId);
+            }
+
+            if (!checkedIds.add(answerId)) {
+                throw new IllegalArgumentException("Answer chosen more than once: " + answerId);
+            }
+        }
+    }
+
+    /**
+     * Indicates if answers have been recorded since the last {@link #publish() publication}.
+     * @return {@code true} if answers haven't been published yet, {@code false} otherwise.
+     */
+    public boolean hasUnpublishedAnswers() {
+        return this.unpublishedAnswers.get();
+    }
+
+    /**
+     * Update the properties of this result with a snapshot of all recorded answers. If the properties are bound to
+     * UI elements, this method must be called from the JavaFX application thread.
+     */
+    public void publish() {
+        this.unpublishedAnswers.set(false);
+
+        this.setCorrectAnswers(this.recordedCorrectAnswers.intValue());
+        this.setWrongAnswers(this.recordedWrongAnswers.intValue());
+        this.recordedAnswersDistribution.forEach((answerId, count) -> this.answersDistribution.put(answerId, count.intValue()));
     }
 }
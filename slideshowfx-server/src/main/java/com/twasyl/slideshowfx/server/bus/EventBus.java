@@ -1,30 +1,69 @@
 package com.twasyl.slideshowfx.server.bus;
 
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.SEVERE;
 
 /**
  * This class provides a simple event bus that can be used in the whole SlideshowFX application in order to share events.
  * In order to share events, {@link Actor actors} must register to end points.
+ * Each actor has its own mailbox: messages are delivered to a given actor in the order they have been broadcast, one
+ * at a time, by an {@link Executor} shared by all actors. When the mailbox of an actor is full, messages are dropped
+ * according to the {@link OverflowPolicy overflow policy} of the bus.
  *
  * @author Thierry Wasylczenko
- * @version 1.0.0
+ * @version 1.1.0
  * @since SlideshowFX 1.0
  */
 public class EventBus {
+    private static final Logger LOGGER = Logger.getLogger(EventBus.class.getName());
+
+    /**
+     * The default maximum number of messages waiting to be delivered to a single actor.
+     */
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1000;
+
+    /**
+     * Defines what happens when a message is broadcast to an actor which mailbox is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The broadcast message is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest message of the mailbox is dropped in order to accept the broadcast message.
+         */
+        DROP_OLDEST
+    }
 
     private static EventBus singleton = null;
 
     private final Map<String, Set<Actor>> endPointsAndActorsMapping = new ConcurrentHashMap<>();
+    private final Map<Actor, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private volatile Executor executor = createDefaultExecutor();
+    private volatile int mailboxCapacity = DEFAULT_MAILBOX_CAPACITY;
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    private final LongAdder queuedMessages = new LongAdder();
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
 
     /**
-     * Private constructor of the EventBus in order to implement the singleton pattern.
+     * Constructor of the EventBus, not public in order to implement the singleton pattern. It is only visible within
+     * the package for testing purposes.
      *
      * @see #getInstance()
      */
-    private EventBus() {
+    EventBus() {
     }
 
     /**
@@ -79,8 +118,7 @@ public class EventBus {
         checkEndPointIsValid(endPoint);
 
         final String trimmedEndPoint = endPoint.trim();
-        endPointsAndActorsMapping.computeIfAbsent(trimmedEndPoint, endpoint -> endPointsAndActorsMapping.put(endpoint, new HashSet<>()));
-        this.endPointsAndActorsMapping.get(trimmedEndPoint).add(actor);
+        this.endPointsAndActorsMapping.computeIfAbsent(trimmedEndPoint, endpoint -> ConcurrentHashMap.newKeySet()).add(actor);
 
         return this;
     }
@@ -103,6 +141,8 @@ public class EventBus {
             endPointsAndActorsMapping.get(trimmedEndPoint).remove(actor);
         }
 
+        this.removeUnusedMailboxes();
+
         return this;
     }
 
@@ -121,11 +161,14 @@ public class EventBus {
         final String trimmedEndPoint = endPoint.trim();
         endPointsAndActorsMapping.remove(trimmedEndPoint);
 
+        this.removeUnusedMailboxes();
+
         return this;
     }
 
     /**
-     * Broadcast a given message to all subscribers of a given endpoint.
+     * Broadcast a given message to all subscribers of a given endpoint. The message is put in the mailbox of each
+     * actor supporting it and delivered asynchronously.
      *
      * @param endPoint The endpoint to send the message to.
      * @param message  The message to send.
@@ -140,10 +183,190 @@ public class EventBus {
         if (actors != null) {
             actors.forEach(actor -> {
                 if (actor.supportsMessage(message)) {
-                    final Runnable runnable = () -> actor.onMessage(message);
-                    new Thread(runnable).start();
+                    this.mailboxes.computeIfAbsent(actor, Mailbox::new).post(message);
                 }
             });
         }
     }
+
+    /**
+     * Defines the {@link Executor} used to deliver messages to actors. By default, a bounded pool of daemon threads is
+     * used.
+     *
+     * @param executor The executor used to deliver messages.
+     * @return This instance of {@link EventBus}.
+     * @throws NullPointerException If the executor is {@code null}.
+     */
+    public EventBus setExecutor(final Executor executor) {
+        if (executor == null) throw new NullPointerException("The executor can not be null");
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Defines the maximum number of messages waiting to be delivered to a single actor.
+     *
+     * @param mailboxCapacity The capacity of the mailbox of each actor.
+     * @return This instance of {@link EventBus}.
+     * @throws IllegalArgumentException If the capacity isn't strictly positive.
+     */
+    public EventBus setMailboxCapacity(final int mailboxCapacity) {
+        if (mailboxCapacity <= 0) throw new IllegalArgumentException("The mailbox capacity must be positive");
+        this.mailboxCapacity = mailboxCapacity;
+        return this;
+    }
+
+    /**
+     * Defines what happens when a message is broadcast to an actor which mailbox is full.
+     *
+     * @param overflowPolicy The policy to apply.
+     * @return This instance of {@link EventBus}.
+     * @throws NullPointerException If the policy is {@code null}.
+     */
+    public EventBus setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) throw new NullPointerException("The overflow policy can not be null");
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Get the number of messages that have been put in a mailbox since the creation of the bus.
+     *
+     * @return The number of queued messages.
+     */
+    public long getQueuedMessages() {
+        return this.queuedMessages.sum();
+    }
+
+    /**
+     * Get the number of messages that have been delivered to an actor since the creation of the bus.
+     *
+     * @return The number of delivered messages.
+     */
+    public long getDeliveredMessages() {
+        return this.deliveredMessages.sum();
+    }
+
+    /**
+     * Get the number of messages that have been dropped because a mailbox was full since the creation of the bus.
+     *
+     * @return The number of dropped messages.
+     */
+    public long getDroppedMessages() {
+        return this.droppedMessages.sum();
+    }
+
+    /**
+     * Get the number of messages currently waiting to be delivered.
+     *
+     * @return The number of pending messages.
+     */
+    public long getPendingMessages() {
+        return this.mailboxes.values().stream().mapToLong(Mailbox::size).sum();
+    }
+
+    /**
+     * Remove the mailboxes of actors that aren't subscribed to any endpoint anymore.
+     */
+    private void removeUnusedMailboxes() {
+        this.mailboxes.keySet().removeIf(actor -> this.endPointsAndActorsMapping.values()
+                .stream()
+                .noneMatch(actors -> actors.contains(actor)));
+    }
+
+    /**
+     * Create the default executor delivering messages: a pool of daemon threads bounded by the number of processors.
+     *
+     * @return The default executor.
+     */
+    private static Executor createDefaultExecutor() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "event-bus-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The mailbox of an actor. Messages are delivered one at a time, in the order they have been posted.
+     */
+    private final class Mailbox {
+        private final Actor actor;
+        private final Queue<Object> messages = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Mailbox(final Actor actor) {
+            this.actor = actor;
+        }
+
+        private int size() {
+            return this.size.get();
+        }
+
+        /**
+         * Post a message in this mailbox and schedule its delivery.
+         *
+         * @param message The message to post.
+         */
+        private void post(final Object message) {
+            if (this.size.get() >= mailboxCapacity) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    droppedMessages.increment();
+                    return;
+                } else if (this.messages.poll() != null) {
+                    this.size.decrementAndGet();
+                    droppedMessages.increment();
+                }
+            }
+
+            this.messages.offer(message);
+            this.size.incrementAndGet();
+            queuedMessages.increment();
+
+            this.schedule();
+        }
+
+        /**
+         * Schedule the delivery of the messages of this mailbox if it isn't already scheduled.
+         */
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::deliver);
+                } catch (RejectedExecutionException e) {
+                    this.scheduled.set(false);
+                    LOGGER.log(SEVERE, "Can not deliver messages", e);
+                }
+            }
+        }
+
+        /**
+         * Deliver all messages present in this mailbox.
+         */
+        private void deliver() {
+            Object message;
+
+            while ((message = this.messages.poll()) != null) {
+                this.size.decrementAndGet();
+
+                try {
+                    this.actor.onMessage(message);
+                    deliveredMessages.increment();
+                } catch (RuntimeException e) {
+                    LOGGER.log(SEVERE, "An actor failed to process a message", e);
+                }
+            }
+
+            this.scheduled.set(false);
+
+            // A message may have been posted after the queue has been emptied and before the flag was reset
+            if (!this.messages.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
 }
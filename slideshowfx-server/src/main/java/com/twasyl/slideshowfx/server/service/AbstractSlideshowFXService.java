@@ -6,10 +6,21 @@ import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.ext.web.RoutingContext;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.logging.Logger;
+
+import static com.twasyl.slideshowfx.server.SlideshowFXServer.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.WARNING;
 
 /**
  * This class represents the base class for creating a SlideshowFX service.
@@ -19,6 +30,7 @@ import java.util.Map;
  * @since SlideshowFX 1.0
  */
 public class AbstractSlideshowFXService extends AbstractVerticle implements ISlideshowFXServices {
+    private static final Logger LOGGER = Logger.getLogger(AbstractSlideshowFXService.class.getName());
 
     public static final String JSON_KEY_BROADCAST_MESSAGE_TYPE = "type";
     public static final String JSON_KEY_SERVICE = "service";
@@ -91,17 +103,64 @@ public class AbstractSlideshowFXService extends AbstractVerticle implements ISli
                 .put(JSON_KEY_CONTENT, responseContent);
     }
 
+    /**
+     * Render a template of the web app once. The host and port of the server being fixed while it is running, the
+     * rendered content can be served to every client without processing the template again.
+     *
+     * @param configuration The configuration used to load the template.
+     * @param templateName  The name of the template to render.
+     * @param contentType   The content type of the rendered template.
+     * @return The rendered template or {@code null} if it couldn't be rendered.
+     */
+    StaticAsset renderTemplateAsset(final Configuration configuration, final String templateName, final String contentType) {
+        final LocalMap<String, String> templateTokens = this.vertx.sharedData().getLocalMap(SHARED_DATA_TEMPLATE_TOKENS);
+        final SlideshowFXServer singleton = SlideshowFXServer.getSingleton();
+
+        final Map<String, String> tokenValues = new HashMap<>();
+        tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_HOST_TOKEN), singleton.getHost());
+        tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_PORT_TOKEN), singleton.getPort() + "");
+
+        try (final StringWriter writer = new StringWriter()) {
+            configuration.getTemplate(templateName).process(tokenValues, writer);
+            writer.flush();
+
+            return StaticAsset.of(contentType, writer.toString().getBytes(UTF_8));
+        } catch (IOException | TemplateException e) {
+            LOGGER.log(WARNING, "Error when processing the template " + templateName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Send the given asset as response of a request. If the asset is {@code null}, an error is sent.
+     *
+     * @param routingContext The context of the request.
+     * @param asset          The asset to send.
+     */
+    void serveAsset(final RoutingContext routingContext, final StaticAsset asset) {
+        if (asset == null) {
+            routingContext.response().setStatusCode(500).end();
+        } else {
+            asset.serve(routingContext);
+        }
+    }
+
     /**
      * <p>Send a given response to all WebSocket clients excluding the origin. If the given origin is {@code null}
      * or empty, no exclusion will be performed.</p>
+     * <p>The response is encoded only once and the same buffer is sent to every client. Clients which write queue is
+     * full receive the response once they have drained their queue, in order to not slow down the other clients.</p>
      *
      * @param response The response to send.
      * @param excludeOrigin The origin to exclude, if needed.
      */
     protected void sendResponseToWebSocketClients(final JsonObject response, final String excludeOrigin) {
-        SlideshowFXServer.getSingleton().getWebSockets().forEach(socket -> {
+        final Buffer buffer = response.toBuffer();
+        final SlideshowFXServer server = SlideshowFXServer.getSingleton();
+
+        server.getWebSockets().forEach(socket -> {
             if(!socket.textHandlerID().equals(excludeOrigin)) {
-                socket.write(Buffer.buffer(response.encode()));
+                server.writeToWebSocket(socket, buffer);
             }
         });
     }
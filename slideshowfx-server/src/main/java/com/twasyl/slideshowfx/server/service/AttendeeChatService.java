@@ -5,26 +5,17 @@ import com.twasyl.slideshowfx.server.beans.chat.ChatMessage;
 import com.twasyl.slideshowfx.server.beans.chat.ChatMessageAction;
 import com.twasyl.slideshowfx.server.beans.chat.ChatMessageStatus;
 import com.twasyl.slideshowfx.utils.TemplateProcessor;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
 import io.vertx.core.Handler;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.web.Router;
 
-import java.io.IOException;
-import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
-import static com.twasyl.slideshowfx.server.SlideshowFXServer.*;
 import static com.twasyl.slideshowfx.server.service.IServicesCode.*;
-import static java.util.logging.Level.WARNING;
 
 /**
  * This class represents the attendee part of the internal SlideshowFX chat.
@@ -58,31 +49,8 @@ public class AttendeeChatService extends AbstractSlideshowFXService {
         final Router router = singleton.getRouter();
 
         // Get the JavaScript resources
-        router.get("/slideshowfx/chat/js/chatService.js").handler(request -> {
-            final LocalMap templateTokens = this.vertx.sharedData().getLocalMap(SHARED_DATA_TEMPLATE_TOKENS);
-
-            final Configuration configuration = TemplateProcessor.getJsConfiguration(AttendeeChatService.class);
-
-            final Map tokenValues = new HashMap();
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_HOST_TOKEN).toString(), singleton.getHost());
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_PORT_TOKEN).toString(), singleton.getPort() + "");
-
-            try (final StringWriter writer = new StringWriter()) {
-                final Template template = configuration.getTemplate("chatService.js");
-                template.process(tokenValues, writer);
-
-                writer.flush();
-
-                request.response().putHeader("Content-Type", "application/javascript").setStatusCode(200).setChunked(true).end(Buffer.buffer(writer.toString()));
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error when a client tried to access the chat", e);
-
-                request.response().setStatusCode(500).end();
-            } catch (TemplateException e) {
-                LOGGER.log(WARNING, "Error when processing the chat template", e);
-                request.response().setStatusCode(500).end();
-            }
-        });
+        final StaticAsset chatService = this.renderTemplateAsset(TemplateProcessor.getJsConfiguration(AttendeeChatService.class), "chatService.js", "application/javascript");
+        router.get("/slideshowfx/chat/js/chatService.js").handler(request -> this.serveAsset(request, chatService));
     }
 
     private Handler<Message<JsonObject>> buildUpdateMessageHandler() {
@@ -4,28 +4,21 @@ import com.twasyl.slideshowfx.server.SlideshowFXServer;
 import com.twasyl.slideshowfx.server.beans.quiz.Quiz;
 import com.twasyl.slideshowfx.server.beans.quiz.QuizResult;
 import com.twasyl.slideshowfx.server.bus.EventBus;
+import com.twasyl.slideshowfx.utils.PlatformHelper;
 import com.twasyl.slideshowfx.utils.TemplateProcessor;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
 import io.vertx.core.Handler;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.web.Router;
 
-import java.io.IOException;
-import java.io.StringWriter;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.logging.Level;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
-import static com.twasyl.slideshowfx.server.SlideshowFXServer.*;
 import static com.twasyl.slideshowfx.server.service.IServicesCode.*;
+import static java.util.logging.Level.FINE;
 
 /**
  * This class provides the quiz services.
@@ -39,20 +32,28 @@ public class QuizService extends AbstractSlideshowFXService {
 
     public static final String SERVICE_QUIZ_ON_RESULT = "service.quiz.onResult";
 
+    /**
+     * The interval, in milliseconds, at which answers received for the current quiz are published to its
+     * {@link QuizResult}.
+     */
+    public static final long RESULTS_PUBLICATION_INTERVAL = 250;
+
     private static final String URL = "/slideshowfx/quiz";
-    private Quiz currentQuiz = null;
+    private volatile Quiz currentQuiz = null;
 
     /**
      * The results of all quiz. The key of this Map represents the ID of the {@link Quiz}, the value the {@link QuizResult} which
      * contains all correct and wrong answers.
      */
-    private final Map<Long, QuizResult> results = new HashMap<>();
+    private final Map<Long, QuizResult> results = new ConcurrentHashMap<>();
 
     @Override
     public void start() {
 
         this.updatedRouteMatcher();
 
+        this.vertx.setPeriodic(RESULTS_PUBLICATION_INTERVAL, timerId -> this.publishCurrentResult());
+
         this.register(SERVICE_QUIZ_START, this.buildStartQuizHandler())
                 .register(SERVICE_QUIZ_STOP, this.buildStopQuizHandler())
                 .register(SERVICE_QUIZ_CURRENT, buildGetCurrentQuizHandler());
@@ -66,6 +67,8 @@ public class QuizService extends AbstractSlideshowFXService {
             int statusCode = 500;
 
             try {
+                final Quiz currentQuiz = this.currentQuiz;
+
                 if (currentQuiz != null && currentQuiz.getId() == Long.parseLong(routingContext.request().getParam("quizid"))) {
 
                     final String stringAnswer = routingContext.request().getFormAttribute("answer");
@@ -82,8 +85,7 @@ public class QuizService extends AbstractSlideshowFXService {
                     final QuizResult result = results.get(currentQuiz.getId());
 
                     if (result != null) {
-                        if (isCorrect) result.addCorrectAnswer();
-                        else result.addWrongAnswer();
+                        result.recordAnswer(isCorrect, answers);
                     }
 
                     statusCode = 200;
@@ -91,36 +93,29 @@ public class QuizService extends AbstractSlideshowFXService {
                     statusCode = 406;
                     routingContext.response().setStatusCode(406).end();
                 }
+            } catch (IllegalArgumentException | ClassCastException e) {
+                LOGGER.log(FINE, "Invalid answer received for the quiz", e);
+                statusCode = 400;
             } finally {
                 routingContext.response().setStatusCode(statusCode).end();
             }
         });
         // Get the JavaScript resources
-        router.get("/slideshowfx/quiz/js/quizService.js").handler(routingContext -> {
-            final LocalMap<String, String> templateTokens = this.vertx.sharedData().getLocalMap(SHARED_DATA_TEMPLATE_TOKENS);
-
-            final Configuration configuration = TemplateProcessor.getJsConfiguration(QuizService.class);
-
-            final Map tokenValues = new HashMap();
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_HOST_TOKEN), SlideshowFXServer.getSingleton().getHost());
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_PORT_TOKEN), SlideshowFXServer.getSingleton().getPort() + "");
-
-            try (final StringWriter writer = new StringWriter()) {
-                final Template template = configuration.getTemplate("quizService.js");
-                template.process(tokenValues, writer);
-
-                writer.flush();
+        final StaticAsset quizService = this.renderTemplateAsset(TemplateProcessor.getJsConfiguration(QuizService.class), "quizService.js", "application/javascript");
+        router.get("/slideshowfx/quiz/js/quizService.js").handler(routingContext -> this.serveAsset(routingContext, quizService));
+    }
 
-                routingContext.response().putHeader("Content-Type", "application/javascript").setStatusCode(200).setChunked(true).end(Buffer.buffer(writer.toString()));
-            } catch (IOException e) {
-                LOGGER.log(Level.WARNING, "Error when a client tried to access the chat", e);
+    /**
+     * Publish the answers received for the current quiz, if any, to its {@link QuizResult}. The publication is
+     * performed on the JavaFX application thread as the result may be bound to UI elements.
+     */
+    private void publishCurrentResult() {
+        final Quiz quiz = this.currentQuiz;
+        final QuizResult result = quiz == null ? null : this.results.get(quiz.getId());
 
-                routingContext.response().setStatusCode(500).end();
-            } catch (TemplateException e) {
-                LOGGER.log(Level.WARNING, "Error when processing the chat template", e);
-                routingContext.response().setStatusCode(500).end();
-            }
-        });
+        if (result != null && result.hasUnpublishedAnswers()) {
+            PlatformHelper.run(result::publish);
+        }
     }
 
     /**
@@ -161,6 +156,8 @@ public class QuizService extends AbstractSlideshowFXService {
 
             // Ensure the ID is equal to the current quiz
             if (this.currentQuiz != null && this.currentQuiz.getId() == quizId) {
+                // Publish the answers received since the last publication
+                this.publishCurrentResult();
                 this.currentQuiz = null;
 
                 final JsonObject reply = this.buildResponse(SERVICE_QUIZ_STOP, RESPONSE_CODE_QUIZ_STOPPED, "The quiz has been stopped");
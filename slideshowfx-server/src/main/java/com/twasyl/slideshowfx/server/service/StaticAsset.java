@@ -0,0 +1,141 @@
+package com.twasyl.slideshowfx.server.service;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class represents a resource served by the SlideshowFX server which content doesn't change while the server is
+ * running. The content is loaded once and kept in memory, as well as a gzip compressed version of it when compression
+ * reduces its size. Assets are served with an {@code ETag} allowing clients to revalidate their cached copy.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+class StaticAsset {
+    private static final String GZIP = "gzip";
+
+    private final String contentType;
+    private final String cacheControl;
+    private final String etag;
+    private final Buffer content;
+    private final Buffer compressedContent;
+
+    private StaticAsset(final String contentType, final String cacheControl, final byte[] content) {
+        this.contentType = contentType;
+        this.cacheControl = cacheControl;
+        this.content = Buffer.buffer(content);
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(content);
+        this.etag = String.format("\"%x-%x\"", content.length, checksum.getValue());
+
+        final byte[] compressed = compress(content);
+        this.compressedContent = compressed.length < content.length ? Buffer.buffer(compressed) : null;
+    }
+
+    /**
+     * Creates an asset which content must be revalidated by clients each time it is requested. This is suitable for
+     * content that may differ between two runs of the server.
+     *
+     * @param contentType The content type of the asset, may be {@code null}.
+     * @param content     The content of the asset.
+     * @return The created asset.
+     */
+    static StaticAsset of(final String contentType, final byte[] content) {
+        return new StaticAsset(contentType, "no-cache", content);
+    }
+
+    /**
+     * Creates an asset from a resource which content never changes, like an image or a font. Clients are allowed to
+     * keep such assets in their cache.
+     *
+     * @param contentType The content type of the asset, may be {@code null}.
+     * @param resource    The resource to load.
+     * @return The created asset.
+     * @throws IOException If the resource can not be read.
+     */
+    static StaticAsset of(final String contentType, final URL resource) throws IOException {
+        try (final InputStream input = resource.openStream()) {
+            return new StaticAsset(contentType, "public, max-age=86400", input.readAllBytes());
+        }
+    }
+
+    /**
+     * Get the ETag of this asset.
+     *
+     * @return The ETag of this asset.
+     */
+    String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Send this asset as response of the given request. If the client already has the current version of the asset,
+     * only a {@code 304} status is sent. The compressed content is sent to clients accepting gzip encoding.
+     *
+     * @param routingContext The context of the request.
+     */
+    void serve(final RoutingContext routingContext) {
+        final HttpServerRequest request = routingContext.request();
+        final HttpServerResponse response = routingContext.response();
+
+        response.putHeader(HttpHeaders.ETAG, this.etag)
+                .putHeader(HttpHeaders.CACHE_CONTROL, this.cacheControl)
+                .putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (this.contentType != null) {
+            response.putHeader(HttpHeaders.CONTENT_TYPE, this.contentType);
+        }
+
+        final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(this.etag) || "*".equals(ifNoneMatch.trim()))) {
+            response.setStatusCode(304).end();
+        } else if (this.compressedContent != null && acceptsGzip(request)) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP).setStatusCode(200).end(this.compressedContent);
+        } else {
+            response.setStatusCode(200).end(this.content);
+        }
+    }
+
+    /**
+     * Indicates if the client performing the given request accepts gzip encoded content.
+     *
+     * @param request The request to check.
+     * @return {@code true} if the client accepts gzip encoded content, {@code false} otherwise.
+     */
+    private static boolean acceptsGzip(final HttpServerRequest request) {
+        final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    /**
+     * Compress the given content using gzip.
+     *
+     * @param content The content to compress.
+     * @return The compressed content.
+     */
+    private static byte[] compress(final byte[] content) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 32);
+
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return output.toByteArray();
+    }
+}
@@ -6,6 +6,8 @@ import com.twasyl.slideshowfx.server.beans.chat.ChatMessage;
 import com.twasyl.slideshowfx.server.beans.chat.ChatMessageSource;
 import com.twasyl.slideshowfx.server.beans.chat.ChatMessageStatus;
 import com.twasyl.slideshowfx.server.exceptions.TwitterException;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.core.json.JsonObject;
 import javafx.application.Platform;
 import javafx.concurrent.Worker;
@@ -21,8 +23,8 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLEncoder;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -39,10 +41,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.logging.Level.WARNING;
 
 /**
- * This class allow to use Twitter in the chat.
+ * This class allow to use Twitter in the chat. Tweets are received from the streaming API by a {@link TwitterStream}.
  *
  * @author Thierry Wasylczenko
- * @version 1.1
+ * @version 1.2-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public class TwitterService extends AbstractSlideshowFXService {
@@ -52,6 +54,7 @@ public class TwitterService extends AbstractSlideshowFXService {
     protected static final String ACCESS_TOKEN_PARAMETER = PROPERTY_PREFIX + "accessToken";
     protected static final String ACCESS_TOKEN_SECRET_PARAMETER = PROPERTY_PREFIX + "accessTokenSecret";
     protected static final String HMAC_SHA1 = "HMAC-SHA1";
+    protected static final String STATUSES_FILTER_URL = "https://stream.twitter.com/1.1/statuses/filter.json";
 
     protected long nonce;
     protected long timestampInSeconds;
@@ -67,13 +70,20 @@ public class TwitterService extends AbstractSlideshowFXService {
     protected String accessToken;
     protected String accessTokenSecret;
 
-    private HttpURLConnection currentConnection;
-    private Thread statusesConsumer;
+    private TwitterStream statusesStream;
 
     public TwitterService() {
+        this.renewNonce();
+        this.loadTokens();
+    }
+
+    /**
+     * Renew the timestamp and the nonce used to sign requests. Twitter rejects requests signed with a nonce that has
+     * already been used, so this method must be called before signing a new request to the streaming API.
+     */
+    protected void renewNonce() {
         this.timestampInSeconds = System.currentTimeMillis() / 1000;
         this.nonce = this.timestampInSeconds + (new SecureRandom()).nextInt();
-        this.loadTokens();
     }
 
     /**
@@ -130,13 +140,13 @@ public class TwitterService extends AbstractSlideshowFXService {
      * @throws TwitterException If the user can be authenticated, or don't allow the application to access Twitter.
      */
     protected void authenticate() throws TwitterException {
-        this.currentConnection = this.buildRequestTokenURL();
+        HttpURLConnection connection = this.buildRequestTokenURL();
 
         try {
-            int responseCode = this.currentConnection.getResponseCode();
+            int responseCode = connection.getResponseCode();
 
             if (200 == responseCode) {
-                String response = readResponse(this.currentConnection);
+                String response = readResponse(connection);
 
                 String[] tokens = response.split("&");
 
@@ -162,11 +172,11 @@ public class TwitterService extends AbstractSlideshowFXService {
                         LOGGER.fine("PIN code: " + this.pinCode);
 
                         if (this.pinCode != null && !this.pinCode.isEmpty()) {
-                            this.currentConnection = this.buildAccessTokenURL();
-                            responseCode = this.currentConnection.getResponseCode();
+                            connection = this.buildAccessTokenURL();
+                            responseCode = connection.getResponseCode();
 
                             if (200 == responseCode) {
-                                response = readResponse(this.currentConnection);
+                                response = readResponse(connection);
                                 tokens = response.split("&");
 
                                 Arrays.stream(tokens)
@@ -198,15 +208,14 @@ public class TwitterService extends AbstractSlideshowFXService {
                     throw new TwitterException(NOT_AUTHENTICATED);
                 }
             } else {
-                LOGGER.fine("Response code for request token: " + responseCode + ", Message: " + this.currentConnection.getResponseMessage());
+                LOGGER.fine("Response code for request token: " + responseCode + ", Message: " + connection.getResponseMessage());
                 throw new TwitterException(NOT_AUTHENTICATED);
             }
         } catch (IOException e) {
             LOGGER.log(WARNING, "Can not authenticate", e);
             throw new TwitterException(NOT_AUTHENTICATED, "Can not authentication", e);
         } finally {
-            this.currentConnection.disconnect();
-            this.currentConnection = null;
+            connection.disconnect();
         }
     }
 
@@ -303,26 +312,29 @@ public class TwitterService extends AbstractSlideshowFXService {
     }
 
     /**
-     * Build the connection with correct headers to obtain and filter the Twitter statuses for a track term.
+     * Build the request, with a newly signed <b>Authorization</b> header, to obtain and filter the Twitter statuses for
+     * a track term.
      *
-     * @return A properly ready to use connection to obtain and filter the Twitter statuses for a track term.
+     * @return A properly ready to use request to obtain and filter the Twitter statuses for a track term.
      */
-    protected HttpURLConnection buildStatusesURL() {
+    protected RequestOptions buildStatusesRequest() {
         try {
-            final URL url = new URL("https://stream.twitter.com/1.1/statuses/filter.json?track=" + SlideshowFXServer.getSingleton().getTwitterHashtag());
-
-            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Authorization", this.buildAuthorizationHeaderValue(connection));
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            connection.setDoInput(true);
-
-            return connection;
-        } catch (IOException e) {
-            LOGGER.log(WARNING, "Error when building the access token URL", e);
+            final String track = encode(SlideshowFXServer.getSingleton().getTwitterHashtag(), UTF_8.toString());
+            final URL url = new URL(STATUSES_FILTER_URL + "?track=" + track);
+
+            this.renewNonce();
+
+            return new RequestOptions()
+                    .setMethod(HttpMethod.POST)
+                    .setHost(url.getHost())
+                    .setPort(443)
+                    .setSsl(true)
+                    .setURI(url.getFile())
+                    .addHeader("Authorization", this.buildAuthorizationHeaderValue("POST", url))
+                    .addHeader("Content-Type", "application/x-www-form-urlencoded");
+        } catch (MalformedURLException | UnsupportedEncodingException e) {
+            throw new IllegalStateException("Can not build the statuses request", e);
         }
-
-        return null;
     }
 
     /**
@@ -442,11 +454,23 @@ public class TwitterService extends AbstractSlideshowFXService {
      * @throws UnsupportedEncodingException
      */
     protected String buildAuthorizationHeaderValue(final HttpURLConnection connection) throws UnsupportedEncodingException {
+        return this.buildAuthorizationHeaderValue(connection.getRequestMethod(), connection.getURL());
+    }
+
+    /**
+     * This method will build the correct <b>Authorization</b> header for a request.
+     *
+     * @param method The HTTP method of the request.
+     * @param url    The URL of the request.
+     * @return The value of the <b>Authorization</b> header.
+     * @throws UnsupportedEncodingException
+     */
+    protected String buildAuthorizationHeaderValue(final String method, final URL url) throws UnsupportedEncodingException {
         final StringBuilder value = new StringBuilder("OAuth ")
                 .append("oauth_consumer_key=\"").append(consumerKey).append("\", ")
                 .append("oauth_nonce=\"").append(this.nonce).append("\", ")
                 .append("oauth_signature_method=\"").append(HMAC_SHA1).append("\", ")
-                .append("oauth_signature=\"").append(encode(buildSignature(connection), UTF_8.toString())).append("\", ")
+                .append("oauth_signature=\"").append(encode(buildSignature(method, url), UTF_8.toString())).append("\", ")
                 .append("oauth_timestamp=\"").append(this.timestampInSeconds).append("\", ");
 
 
@@ -470,12 +494,22 @@ public class TwitterService extends AbstractSlideshowFXService {
      * @return The value of the <b>oauth_signature</b>.
      */
     protected String buildSignature(HttpURLConnection connection) {
+        return this.buildSignature(connection.getRequestMethod(), connection.getURL());
+    }
+
+    /**
+     * Build the OAuth <b>oauth_signature</b> parameter to be included in the <b>Authorization</b> header of a request.
+     *
+     * @param method The HTTP method of the request.
+     * @param url    The URL of the request.
+     * @return The value of the <b>oauth_signature</b>.
+     */
+    protected String buildSignature(final String method, final URL url) {
         try {
-            final URL url = connection.getURL();
             final String rawURL = url.getProtocol() + "://" + url.getAuthority() + url.getPath();
-            final String baseString = new StringBuilder(connection.getRequestMethod()).append("&")
+            final String baseString = new StringBuilder(method).append("&")
                     .append(encode(rawURL, UTF_8.toString())).append("&")
-                    .append(encode(getBaseParamQueryString(connection), UTF_8.toString()))
+                    .append(encode(getBaseParamQueryString(url), UTF_8.toString()))
                     .toString();
 
             LOGGER.fine("Signature base string: " + baseString);
@@ -510,6 +544,17 @@ public class TwitterService extends AbstractSlideshowFXService {
      * @see #buildSignature(HttpURLConnection)
      */
     protected String getBaseParamQueryString(HttpURLConnection connection) {
+        return this.getBaseParamQueryString(connection.getURL());
+    }
+
+    /**
+     * Build the parameter string to be used in the process of creating the signature of a request to the given URL.
+     *
+     * @param url The URL of the request.
+     * @return The base parameter query string.
+     * @see #buildSignature(String, URL)
+     */
+    protected String getBaseParamQueryString(final URL url) {
         final StringBuilder queryString = new StringBuilder("oauth_consumer_key=").append(consumerKey).append("&")
                 .append("oauth_nonce=").append(nonce).append("&")
                 .append("oauth_signature_method=").append(HMAC_SHA1).append("&")
@@ -527,7 +572,7 @@ public class TwitterService extends AbstractSlideshowFXService {
 
         queryString.append("oauth_version=1.0");
 
-        final String urlQueryString = connection.getURL().getQuery();
+        final String urlQueryString = url.getQuery();
         if (urlQueryString != null && urlQueryString.contains("track")) {
             try {
                 queryString.append("&track=").append(encode(SlideshowFXServer.getSingleton().getTwitterHashtag(), UTF_8.toString()));
@@ -558,37 +603,8 @@ public class TwitterService extends AbstractSlideshowFXService {
             }
 
             if (authenticated) {
-                final Runnable work = () -> {
-                    this.currentConnection = this.buildStatusesURL();
-
-                    try {
-                        final int responseCode = this.currentConnection.getResponseCode();
-
-                        if (200 == responseCode) {
-                            final StringBuilder tweet = new StringBuilder();
-                            final InputStream inputStream = this.currentConnection.getInputStream();
-                            final byte[] buffer = new byte[512];
-                            int bytesRead;
-
-                            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                                final String str = new String(buffer, 0, bytesRead, UTF_8);
-                                tweet.append(str);
-
-                                if (str.endsWith("\n") && !tweet.toString().trim().isEmpty()) {
-                                    broadcastTweet(tweet.toString().trim());
-                                    tweet.setLength(0);
-                                }
-                            }
-                        }
-                    } catch (IOException e) {
-                        LOGGER.log(Level.SEVERE, "Error when reading tweets", e);
-                    } finally {
-                        LOGGER.fine("Disconnected from the streaming API");
-                    }
-                };
-
-                this.statusesConsumer = new Thread(work);
-                this.statusesConsumer.start();
+                this.statusesStream = new TwitterStream(this.vertx, this::buildStatusesRequest, this::broadcastTweet);
+                this.statusesStream.start();
             }
         }
     }
@@ -598,13 +614,11 @@ public class TwitterService extends AbstractSlideshowFXService {
         try {
             super.stop();
 
-            if (this.statusesConsumer != null && this.statusesConsumer.isAlive()) {
-                this.statusesConsumer.interrupt();
-            }
-
-            if (this.currentConnection != null) {
-                this.currentConnection.disconnect();
-                this.currentConnection = null;
+            if (this.statusesStream != null) {
+                LOGGER.fine(() -> "Tweets received: " + this.statusesStream.getReceivedTweets()
+                        + ", dropped: " + this.statusesStream.getDroppedTweets());
+                this.statusesStream.stop();
+                this.statusesStream = null;
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Can not stop the TwitterService properly", e);
@@ -617,8 +631,16 @@ public class TwitterService extends AbstractSlideshowFXService {
      * @param tweet The tweet to broadcast.
      */
     protected void broadcastTweet(final String tweet) {
-        LOGGER.fine("Broadcasting Tweet: " + tweet);
-        final JsonObject jsonTweet = new JsonObject(tweet);
+        this.broadcastTweet(new JsonObject(tweet));
+    }
+
+    /**
+     * Broadcast a given Tweet to the event bus.
+     *
+     * @param jsonTweet The tweet to broadcast.
+     */
+    protected void broadcastTweet(final JsonObject jsonTweet) {
+        LOGGER.fine(() -> "Broadcasting Tweet: " + jsonTweet.encode());
 
         final ChatMessage chatMessage = new ChatMessage();
         chatMessage.setId(jsonTweet.getString("timestamp_ms"));
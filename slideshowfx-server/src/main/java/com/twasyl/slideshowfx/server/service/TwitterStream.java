@@ -0,0 +1,387 @@
+package com.twasyl.slideshowfx.server.service;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.RecordParser;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Consumes a Twitter streaming endpoint without blocking, using the Vert.x HTTP client. The stream is split on new
+ * lines at the byte level before being decoded, so characters encoded on several bytes are never split. Each line
+ * containing a tweet is given to a handler, empty lines being keep-alive signals.
+ * <p>
+ * When the connection is lost, refused or stalls, the stream reconnects after a delay that doubles after each failed
+ * attempt, as recommended by Twitter: network errors start with a short delay, HTTP errors with a longer one and rate
+ * limiting responses with an even longer one. The delay is reset once data is received. Tweets are given to the
+ * handler at a limited rate; tweets exceeding it are dropped.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+class TwitterStream {
+    private static final Logger LOGGER = Logger.getLogger(TwitterStream.class.getName());
+
+    /**
+     * The maximum size, in bytes, of a line of the stream.
+     */
+    static final int MAX_LINE_SIZE = 1024 * 1024;
+
+    /**
+     * Twitter sends a keep-alive signal every 30 seconds: the stream is considered stalled after 90 seconds without
+     * data.
+     */
+    static final Duration DEFAULT_STALL_TIMEOUT = Duration.ofSeconds(90);
+    static final Duration DEFAULT_NETWORK_ERROR_DELAY = Duration.ofMillis(250);
+    static final Duration DEFAULT_HTTP_ERROR_DELAY = Duration.ofSeconds(5);
+    static final Duration DEFAULT_RATE_LIMITED_DELAY = Duration.ofMinutes(1);
+    static final Duration MAX_RECONNECTION_DELAY = Duration.ofSeconds(320);
+    static final int DEFAULT_MAX_TWEETS_PER_SECOND = 5;
+
+    private final Vertx vertx;
+    private final Supplier<RequestOptions> requestFactory;
+    private final Handler<JsonObject> tweetHandler;
+
+    private Duration stallTimeout = DEFAULT_STALL_TIMEOUT;
+    private Duration networkErrorDelay = DEFAULT_NETWORK_ERROR_DELAY;
+    private Duration httpErrorDelay = DEFAULT_HTTP_ERROR_DELAY;
+    private Duration rateLimitedDelay = DEFAULT_RATE_LIMITED_DELAY;
+    private int maxTweetsPerSecond = DEFAULT_MAX_TWEETS_PER_SECOND;
+
+    private final AtomicLong receivedTweets = new AtomicLong();
+    private final AtomicLong droppedTweets = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+
+    private HttpClient client;
+    private HttpClientResponse response;
+    private volatile boolean started = false;
+    private long reconnectionTimer = -1;
+    private long stallTimer = -1;
+    private volatile long lastDataTime;
+    private Duration reconnectionDelay;
+    private int connectionAttempt = 0;
+
+    private double availableTweets;
+    private long lastRefillTime;
+
+    /**
+     * Create a stream that isn't started.
+     *
+     * @param vertx          The Vert.x instance running the HTTP client.
+     * @param requestFactory Creates the request to the streaming endpoint. It is called for each connection, so the
+     *                       request can be signed each time.
+     * @param tweetHandler   The handler receiving the tweets.
+     */
+    TwitterStream(final Vertx vertx, final Supplier<RequestOptions> requestFactory, final Handler<JsonObject> tweetHandler) {
+        if (vertx == null) throw new NullPointerException("The Vert.x instance can not be null");
+        if (requestFactory == null) throw new NullPointerException("The request factory can not be null");
+        if (tweetHandler == null) throw new NullPointerException("The tweet handler can not be null");
+
+        this.vertx = vertx;
+        this.requestFactory = requestFactory;
+        this.tweetHandler = tweetHandler;
+    }
+
+    /**
+     * Define the delays before reconnecting for the first time after an error. The delays are doubled after each
+     * failed attempt.
+     *
+     * @param networkErrorDelay The delay after a network error.
+     * @param httpErrorDelay    The delay after an HTTP error.
+     * @param rateLimitedDelay  The delay after the connection has been rate limited.
+     * @return This stream.
+     */
+    TwitterStream setReconnectionDelays(final Duration networkErrorDelay, final Duration httpErrorDelay, final Duration rateLimitedDelay) {
+        this.networkErrorDelay = networkErrorDelay;
+        this.httpErrorDelay = httpErrorDelay;
+        this.rateLimitedDelay = rateLimitedDelay;
+        return this;
+    }
+
+    /**
+     * Define the duration without receiving any data after which the stream is considered stalled and reconnected.
+     *
+     * @param stallTimeout The stall timeout.
+     * @return This stream.
+     */
+    TwitterStream setStallTimeout(final Duration stallTimeout) {
+        this.stallTimeout = stallTimeout;
+        return this;
+    }
+
+    /**
+     * Define the maximum number of tweets given to the handler per second.
+     *
+     * @param maxTweetsPerSecond The maximum number of tweets per second.
+     * @return This stream.
+     */
+    TwitterStream setMaxTweetsPerSecond(final int maxTweetsPerSecond) {
+        if (maxTweetsPerSecond <= 0) throw new IllegalArgumentException("The maximum number of tweets per second must be positive");
+
+        this.maxTweetsPerSecond = maxTweetsPerSecond;
+        return this;
+    }
+
+    /**
+     * Get the number of tweets received since the stream has been created, including the dropped ones.
+     *
+     * @return The number of received tweets.
+     */
+    long getReceivedTweets() {
+        return this.receivedTweets.get();
+    }
+
+    /**
+     * Get the number of tweets that have been dropped, either because they exceeded the rate limit or because they
+     * couldn't be parsed.
+     *
+     * @return The number of dropped tweets.
+     */
+    long getDroppedTweets() {
+        return this.droppedTweets.get();
+    }
+
+    /**
+     * Get the number of successful connections to the streaming endpoint.
+     *
+     * @return The number of connections.
+     */
+    long getConnections() {
+        return this.connections.get();
+    }
+
+    /**
+     * Connect to the streaming endpoint.
+     */
+    synchronized void start() {
+        if (this.started) return;
+
+        this.started = true;
+        this.client = this.vertx.createHttpClient();
+        this.availableTweets = this.maxTweetsPerSecond;
+        this.lastRefillTime = System.nanoTime();
+
+        this.connect();
+    }
+
+    /**
+     * Disconnect from the streaming endpoint. The stream isn't reconnected.
+     */
+    synchronized void stop() {
+        if (!this.started) return;
+
+        this.started = false;
+        this.cancelTimers();
+
+        if (this.response != null) {
+            this.response.request().connection().close();
+            this.response = null;
+        }
+
+        this.client.close();
+        this.client = null;
+    }
+
+    private synchronized void connect() {
+        if (!this.started) return;
+
+        final int attempt = ++this.connectionAttempt;
+        final RequestOptions options;
+
+        try {
+            options = this.requestFactory.get();
+        } catch (RuntimeException e) {
+            LOGGER.log(WARNING, "Can not create the request to the streaming endpoint", e);
+            this.scheduleReconnection(this.httpErrorDelay);
+            return;
+        }
+
+        this.client.request(options)
+                .compose(request -> request.send())
+                .onSuccess(response -> this.onResponse(attempt, response))
+                .onFailure(error -> this.onConnectionLost(attempt, error));
+    }
+
+    private synchronized void onResponse(final int attempt, final HttpClientResponse response) {
+        if (!this.started || attempt != this.connectionAttempt) {
+            response.request().connection().close();
+            return;
+        }
+
+        final int statusCode = response.statusCode();
+
+        if (statusCode != 200) {
+            LOGGER.warning(() -> "The streaming endpoint responded " + statusCode + " " + response.statusMessage());
+            response.request().connection().close();
+            this.scheduleReconnection(statusCode == 420 || statusCode == 429 ? this.rateLimitedDelay : this.httpErrorDelay);
+            return;
+        }
+
+        LOGGER.fine("Connected to the streaming endpoint");
+        this.connections.incrementAndGet();
+        this.response = response;
+        this.lastDataTime = System.nanoTime();
+
+        final RecordParser parser = RecordParser.newDelimited("\n", this::onLine).maxRecordSize(MAX_LINE_SIZE);
+
+        response.handler(buffer -> {
+            this.onData();
+
+            try {
+                parser.handle(buffer);
+            } catch (IllegalStateException e) {
+                // The maximum line size is exceeded
+                this.onConnectionLost(attempt, e);
+            }
+        });
+        response.exceptionHandler(error -> this.onConnectionLost(attempt, error));
+        response.endHandler(end -> this.onConnectionLost(attempt, null));
+
+        this.stallTimer = this.vertx.setPeriodic(Math.max(1, this.stallTimeout.toMillis() / 3), timer -> this.checkStalled(attempt));
+    }
+
+    /**
+     * Record that data has been received. The reconnection delay is only reset once data is received, so an endpoint
+     * accepting connections and closing them immediately doesn't cause reconnections in a loop.
+     */
+    private synchronized void onData() {
+        this.lastDataTime = System.nanoTime();
+        this.reconnectionDelay = null;
+    }
+
+    private void onLine(final Buffer line) {
+        final String tweet = line.toString(UTF_8).trim();
+
+        // Empty lines are keep-alive signals
+        if (tweet.isEmpty()) return;
+
+        final JsonObject json;
+        try {
+            json = new JsonObject(tweet);
+        } catch (DecodeException e) {
+            LOGGER.log(FINE, "Invalid message received from the streaming endpoint: " + tweet, e);
+            this.receivedTweets.incrementAndGet();
+            this.droppedTweets.incrementAndGet();
+            return;
+        }
+
+        // Other messages are notices, like deletions or limit notices
+        if (!json.containsKey("text")) return;
+
+        this.receivedTweets.incrementAndGet();
+
+        if (this.acquireTweet()) {
+            try {
+                this.tweetHandler.handle(json);
+            } catch (RuntimeException e) {
+                LOGGER.log(WARNING, "Can not handle a tweet", e);
+                this.droppedTweets.incrementAndGet();
+            }
+        } else {
+            this.droppedTweets.incrementAndGet();
+        }
+    }
+
+    /**
+     * Consume a token of the rate limit. Tokens are refilled continuously at {@link #maxTweetsPerSecond} per second.
+     *
+     * @return {@code true} if a tweet can be given to the handler, {@code false} if it must be dropped.
+     */
+    private synchronized boolean acquireTweet() {
+        final long now = System.nanoTime();
+        this.availableTweets = Math.min(this.maxTweetsPerSecond,
+                this.availableTweets + (now - this.lastRefillTime) * this.maxTweetsPerSecond / 1e9);
+        this.lastRefillTime = now;
+
+        if (this.availableTweets >= 1) {
+            this.availableTweets--;
+            return true;
+        }
+
+        return false;
+    }
+
+    private synchronized void checkStalled(final int attempt) {
+        if (attempt != this.connectionAttempt || this.response == null) return;
+
+        if (System.nanoTime() - this.lastDataTime > this.stallTimeout.toNanos()) {
+            LOGGER.warning("The streaming endpoint stalled");
+            this.onConnectionLost(attempt, null);
+        }
+    }
+
+    private synchronized void onConnectionLost(final int attempt, final Throwable error) {
+        if (!this.started || attempt != this.connectionAttempt) return;
+
+        if (error != null) {
+            LOGGER.log(WARNING, "Connection to the streaming endpoint lost", error);
+        } else {
+            LOGGER.fine("Disconnected from the streaming endpoint");
+        }
+
+        if (this.response != null) {
+            this.response.request().connection().close();
+            this.response = null;
+        }
+
+        this.scheduleReconnection(this.networkErrorDelay);
+    }
+
+    /**
+     * Schedule a new connection. If the previous connection also failed, the previous delay is doubled if it is longer
+     * than the given one, up to {@link #MAX_RECONNECTION_DELAY}.
+     *
+     * @param initialDelay The delay to use if the previous connection succeeded.
+     */
+    private void scheduleReconnection(final Duration initialDelay) {
+        this.cancelTimers();
+        // Ignore the events of the failed connection
+        this.connectionAttempt++;
+
+        if (this.reconnectionDelay == null || this.reconnectionDelay.compareTo(initialDelay) < 0) {
+            this.reconnectionDelay = initialDelay;
+        } else {
+            this.reconnectionDelay = this.reconnectionDelay.multipliedBy(2);
+        }
+
+        if (this.reconnectionDelay.compareTo(MAX_RECONNECTION_DELAY) > 0) {
+            this.reconnectionDelay = MAX_RECONNECTION_DELAY;
+        }
+
+        final Duration delay = this.reconnectionDelay;
+        LOGGER.fine(() -> "Reconnecting to the streaming endpoint in " + delay.toMillis() + " ms");
+
+        this.reconnectionTimer = this.vertx.setTimer(Math.max(1, delay.toMillis()), timer -> {
+            synchronized (this) {
+                this.reconnectionTimer = -1;
+            }
+            this.connect();
+        });
+    }
+
+    private void cancelTimers() {
+        if (this.reconnectionTimer != -1) {
+            this.vertx.cancelTimer(this.reconnectionTimer);
+            this.reconnectionTimer = -1;
+        }
+
+        if (this.stallTimer != -1) {
+            this.vertx.cancelTimer(this.stallTimer);
+            this.stallTimer = -1;
+        }
+    }
+}
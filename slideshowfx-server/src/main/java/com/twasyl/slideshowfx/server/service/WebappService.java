@@ -3,22 +3,15 @@ package com.twasyl.slideshowfx.server.service;
 import com.twasyl.slideshowfx.icons.FontAwesome;
 import com.twasyl.slideshowfx.server.SlideshowFXServer;
 import com.twasyl.slideshowfx.utils.TemplateProcessor;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
 import io.vertx.core.Handler;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.shareddata.LocalMap;
 import io.vertx.ext.web.Router;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringWriter;
-import java.util.HashMap;
+import java.net.URL;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import static com.twasyl.slideshowfx.server.SlideshowFXServer.*;
@@ -44,38 +37,13 @@ public class WebappService extends AbstractSlideshowFXService {
     }
 
     /**
-     * Manages access to the main page of the web app.
+     * Manages access to the main page of the web app. The page is rendered once when the service starts.
      *
      * @param router The router to update.
      */
     private void manageMainPage(Router router) {
-        final SlideshowFXServer singleton = SlideshowFXServer.getSingleton();
-
-        router.get(CONTEXT_PATH).handler(routingContext -> {
-            final LocalMap<String, String> templateTokens = this.vertx.sharedData().getLocalMap(SHARED_DATA_TEMPLATE_TOKENS);
-
-            final Configuration configuration = TemplateProcessor.getHtmlConfiguration(SlideshowFXServer.class);
-
-            final Map tokenValues = new HashMap();
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_HOST_TOKEN), singleton.getHost());
-            tokenValues.put(templateTokens.get(SHARED_DATA_SERVER_PORT_TOKEN), singleton.getPort() + "");
-
-            try (final StringWriter writer = new StringWriter()) {
-                final Template template = configuration.getTemplate("slideshowfx.html");
-                template.process(tokenValues, writer);
-
-                writer.flush();
-
-                routingContext.response().setStatusCode(200).setChunked(true).end(writer.toString());
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Error when a client tried to access the chat", e);
-
-                routingContext.response().setStatusCode(500).end();
-            } catch (TemplateException e) {
-                LOGGER.log(WARNING, "Error when processing the chat template", e);
-                routingContext.response().setStatusCode(500).end();
-            }
-        });
+        final StaticAsset mainPage = this.renderTemplateAsset(TemplateProcessor.getHtmlConfiguration(SlideshowFXServer.class), "slideshowfx.html", "text/html; charset=utf-8");
+        router.get(CONTEXT_PATH).handler(routingContext -> this.serveAsset(routingContext, mainPage));
     }
 
     /**
@@ -84,48 +52,27 @@ public class WebappService extends AbstractSlideshowFXService {
      * @param router The router to update.
      */
     private void manageLogo(Router router) {
-        router.get(CONTEXT_PATH.concat("/images/logo.svg")).handler(routingContext -> {
-            try (final InputStream in = SlideshowFXServer.class.getResourceAsStream("/com/twasyl/slideshowfx/server/webapp/images/logo.svg")) {
-
-                byte[] imageBuffer = new byte[1028];
-                int numberOfBytesRead;
-                Buffer buffer = Buffer.buffer();
-
-                while ((numberOfBytesRead = in.read(imageBuffer)) != -1) {
-                    buffer.appendBytes(imageBuffer, 0, numberOfBytesRead);
-                }
-
-                routingContext.response().headers().set("Content-Type", "image/svg+xml");
-                routingContext.response().setChunked(true).end(buffer);
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Can not send check images", e);
-            }
-        });
+        final StaticAsset logo = this.loadResourceAsset(SlideshowFXServer.class.getResource("/com/twasyl/slideshowfx/server/webapp/images/logo.svg"), "image/svg+xml");
+        router.get(CONTEXT_PATH.concat("/images/logo.svg")).handler(routingContext -> this.serveAsset(routingContext, logo));
     }
 
     /**
-     * Manages access to the FontAwesome resources of the web app.
+     * Manages access to the FontAwesome resources of the web app. Each file is loaded the first time it is requested.
      *
      * @param router The router to update.
      */
     private void manageFontAwesome(Router router) {
         final String FONT_AWESOME_PREFIX = "/slideshowfx/font-awesome/";
+        final Map<String, StaticAsset> fontAwesomeFiles = new ConcurrentHashMap<>();
+
         router.get(FONT_AWESOME_PREFIX.concat("*")).handler(routingContext -> {
             final String file = routingContext.request().path().substring(FONT_AWESOME_PREFIX.length());
+            final URL url = FontAwesome.getFontAwesomeFile(file);
 
-            try (final InputStream in = FontAwesome.getFontAwesomeFile(file).openStream()) {
-
-                byte[] imageBuffer = new byte[1028];
-                int numberOfBytesRead;
-                Buffer buffer = Buffer.buffer();
-
-                while ((numberOfBytesRead = in.read(imageBuffer)) != -1) {
-                    buffer.appendBytes(imageBuffer, 0, numberOfBytesRead);
-                }
-
-                routingContext.response().setChunked(true).end(buffer);
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Can not send the font awesome file", e);
+            if (url == null) {
+                routingContext.response().setStatusCode(404).end();
+            } else {
+                this.serveAsset(routingContext, fontAwesomeFiles.computeIfAbsent(file, name -> this.loadResourceAsset(url, null)));
             }
         });
     }
@@ -136,22 +83,24 @@ public class WebappService extends AbstractSlideshowFXService {
      * @param router The router to update.
      */
     private void manageCSS(Router router) {
-        router.get("/slideshowfx/css/slideshowfx.css").handler(request -> {
-            try (final InputStream in = WebappService.class.getResourceAsStream("/com/twasyl/slideshowfx/server/webapp/css/slideshowfx.css")) {
-
-                byte[] imageBuffer = new byte[1028];
-                int numberOfBytesRead;
-                Buffer buffer = Buffer.buffer();
-
-                while ((numberOfBytesRead = in.read(imageBuffer)) != -1) {
-                    buffer.appendBytes(imageBuffer, 0, numberOfBytesRead);
-                }
+        final StaticAsset css = this.loadResourceAsset(WebappService.class.getResource("/com/twasyl/slideshowfx/server/webapp/css/slideshowfx.css"), "text/css");
+        router.get("/slideshowfx/css/slideshowfx.css").handler(routingContext -> this.serveAsset(routingContext, css));
+    }
 
-                request.response().setChunked(true).end(buffer);
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "Can not send the font awesome file", e);
-            }
-        });
+    /**
+     * Load a resource of the web app.
+     *
+     * @param resource    The resource to load.
+     * @param contentType The content type of the resource, may be {@code null}.
+     * @return The loaded resource or {@code null} if it couldn't be loaded.
+     */
+    private StaticAsset loadResourceAsset(final URL resource, final String contentType) {
+        try {
+            return StaticAsset.of(contentType, resource);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not load the resource " + resource, e);
+            return null;
+        }
     }
 
 
@@ -164,11 +113,12 @@ public class WebappService extends AbstractSlideshowFXService {
         return serverWebSocket -> {
             if (CONTEXT_PATH.equals(serverWebSocket.path())) {
                 // Add the textHandlerID to the list of WebSocket clients
-                final Set<ServerWebSocket> websockets = SlideshowFXServer.getSingleton().getWebSockets();
-                websockets.add(serverWebSocket);
+                final SlideshowFXServer server = SlideshowFXServer.getSingleton();
+                server.addWebSocket(serverWebSocket);
 
                 // When the socket is closed, remove it from the list of clients
-                serverWebSocket.endHandler(event -> websockets.remove(serverWebSocket));
+                serverWebSocket.endHandler(event -> server.removeWebSocket(serverWebSocket));
+                serverWebSocket.closeHandler(event -> server.removeWebSocket(serverWebSocket));
 
                 /*
                  * When data are received, get the content which is expected to be a JSON object with two fields:
@@ -189,7 +139,7 @@ public class WebappService extends AbstractSlideshowFXService {
                     this.vertx.eventBus().request(request.getString(JSON_KEY_SERVICE), data, asyncResult -> {
                         final JsonObject json = (JsonObject) asyncResult.result().body();
 
-                        serverWebSocket.write(Buffer.buffer(json.encode()));
+                        server.writeToWebSocket(serverWebSocket, json.toBuffer());
                     });
                 });
             } else {
@@ -1,19 +1,27 @@
 package com.twasyl.slideshowfx.server;
 
+import com.twasyl.slideshowfx.server.service.AbstractSlideshowFXService;
 import com.twasyl.slideshowfx.server.service.AttendeeChatService;
 import com.twasyl.slideshowfx.server.service.PresenterChatService;
 import com.twasyl.slideshowfx.server.service.QuizService;
 import com.twasyl.slideshowfx.server.service.WebappService;
 import com.twasyl.slideshowfx.utils.NetworkUtils;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.*;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +32,25 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("The SlideshowFX server")
 public class SlideshowFXServerTest {
 
+    /**
+     * A service replying to its echo endpoint with the received data and never replying to its silent endpoint.
+     */
+    public static class TestService extends AbstractSlideshowFXService {
+        static final String ECHO_ENDPOINT = "test.echo";
+        static final String SILENT_ENDPOINT = "test.silent";
+
+        @Override
+        public void start() {
+            this.register(ECHO_ENDPOINT, message -> message.reply(this.buildResponse(ECHO_ENDPOINT, 200, message.body())));
+            this.register(SILENT_ENDPOINT, message -> {});
+        }
+
+        @Override
+        public void stop() {
+            this.unregisterAll();
+        }
+    }
+
     static final int SERVER_PORT = 50080;
     static final String SERVER_HOST = NetworkUtils.getIP();
     static Document WEBPAGE;
@@ -31,7 +58,7 @@ public class SlideshowFXServerTest {
     @BeforeAll
     static void before() throws IOException, InterruptedException, ExecutionException, TimeoutException {
         SlideshowFXServer.create(SERVER_HOST, SERVER_PORT, null)
-                .start(WebappService.class)
+                .start(WebappService.class, TestService.class)
                 .exceptionally(error -> {
                     fail(error);
                     return null;
@@ -58,6 +85,38 @@ public class SlideshowFXServerTest {
         assertEquals(SERVER_HOST, SlideshowFXServer.getSingleton().getHost());
     }
 
+    private static String buildRequest(final String service, final JsonObject data) {
+        return new JsonObject()
+                .put(AbstractSlideshowFXService.JSON_KEY_SERVICE, service)
+                .put(AbstractSlideshowFXService.JSON_KEY_DATA, data)
+                .encode();
+    }
+
+    @DisplayName("completes an asynchronous service call with the response of the service")
+    @Test
+    public void callServiceAsyncReply() throws InterruptedException, ExecutionException, TimeoutException {
+        final JsonObject data = new JsonObject().put("value", "hello");
+
+        final JsonObject response = SlideshowFXServer.getSingleton()
+                .callServiceAsync(buildRequest(TestService.ECHO_ENDPOINT, data))
+                .get(5, SECONDS);
+
+        assertEquals(TestService.ECHO_ENDPOINT, response.getString(AbstractSlideshowFXService.JSON_KEY_SERVICE));
+        assertEquals(200, response.getInteger(AbstractSlideshowFXService.JSON_KEY_CODE));
+        assertEquals(data, response.getJsonObject(AbstractSlideshowFXService.JSON_KEY_CONTENT));
+    }
+
+    @DisplayName("fails an asynchronous service call when the service doesn't reply in time")
+    @Test
+    public void callServiceAsyncTimeout() {
+        final CompletableFuture<JsonObject> response = SlideshowFXServer.getSingleton()
+                .callServiceAsync(buildRequest(TestService.SILENT_ENDPOINT, new JsonObject()), 200);
+
+        final ExecutionException error = assertThrows(ExecutionException.class, () -> response.get(5, SECONDS));
+        assertTrue(error.getCause() instanceof ReplyException);
+        assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) error.getCause()).failureType());
+    }
+
     @DisplayName("serves the web application")
     @Nested
     class WebApplication {
@@ -103,4 +162,102 @@ public class SlideshowFXServerTest {
             assertNotNull(WEBPAGE.getElementById("quiz-container"));
         }
     }
+
+    @DisplayName("serves static assets")
+    @Nested
+    class StaticAssets {
+        private static final String CSS_PATH = "/slideshowfx/css/slideshowfx.css";
+
+        private HttpURLConnection request(final String path) throws IOException {
+            final HttpURLConnection connection = (HttpURLConnection) new URL("http://" + SERVER_HOST + ":" + SERVER_PORT + path).openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(5000);
+            return connection;
+        }
+
+        private byte[] readBody(final HttpURLConnection connection) throws IOException {
+            try (final InputStream input = connection.getInputStream()) {
+                return input.readAllBytes();
+            }
+        }
+
+        private byte[] expectedContent() throws IOException {
+            try (final InputStream input = SlideshowFXServer.class.getResourceAsStream("/com/twasyl/slideshowfx/server/webapp/css/slideshowfx.css")) {
+                return input.readAllBytes();
+            }
+        }
+
+        @DisplayName("with an ETag")
+        @Test
+        void assetHasEtag() throws IOException {
+            final HttpURLConnection connection = this.request(CSS_PATH);
+
+            try {
+                assertEquals(200, connection.getResponseCode());
+                assertNotNull(connection.getHeaderField("ETag"));
+                assertArrayEquals(this.expectedContent(), this.readBody(connection));
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        @DisplayName("which are not sent again when the client has the current version")
+        @Test
+        void assetNotModified() throws IOException {
+            final HttpURLConnection first = this.request(CSS_PATH);
+            final String etag;
+
+            try {
+                assertEquals(200, first.getResponseCode());
+                etag = first.getHeaderField("ETag");
+                this.readBody(first);
+            } finally {
+                first.disconnect();
+            }
+
+            final HttpURLConnection second = this.request(CSS_PATH);
+            second.setRequestProperty("If-None-Match", etag);
+
+            try {
+                assertEquals(304, second.getResponseCode());
+                assertEquals(etag, second.getHeaderField("ETag"));
+                assertEquals(0, this.readBody(second).length);
+            } finally {
+                second.disconnect();
+            }
+        }
+
+        @DisplayName("which are compressed for clients accepting gzip")
+        @Test
+        void assetCompressed() throws IOException {
+            final HttpURLConnection connection = this.request(CSS_PATH);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+
+            try {
+                assertEquals(200, connection.getResponseCode());
+                assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+
+                try (final InputStream input = new GZIPInputStream(connection.getInputStream())) {
+                    assertArrayEquals(this.expectedContent(), input.readAllBytes());
+                }
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        @DisplayName("which are not compressed for other clients")
+        @Test
+        void assetNotCompressed() throws IOException {
+            final HttpURLConnection connection = this.request(CSS_PATH);
+            connection.setRequestProperty("Accept-Encoding", "identity");
+
+            try {
+                assertEquals(200, connection.getResponseCode());
+                assertNull(connection.getHeaderField("Content-Encoding"));
+                assertArrayEquals(this.expectedContent(), this.readBody(connection));
+            } finally {
+                connection.disconnect();
+            }
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.twasyl.slideshowfx.server;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ServerWebSocket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the {@link WebSocketBacklog} class.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class WebSocketBacklogTest {
+
+    private ServerWebSocket socket;
+    private Handler<Void> drainHandler;
+
+    @BeforeEach
+    public void before() {
+        this.socket = mock(ServerWebSocket.class);
+        when(this.socket.textHandlerID()).thenReturn("client");
+    }
+
+    @SuppressWarnings("unchecked")
+    private WebSocketBacklog createBacklog(final int maxSize) {
+        final WebSocketBacklog backlog = new WebSocketBacklog(this.socket, maxSize);
+
+        final ArgumentCaptor<Handler<Void>> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(this.socket).drainHandler(captor.capture());
+        this.drainHandler = captor.getValue();
+
+        return backlog;
+    }
+
+    @Test
+    public void writeWhenQueueNotFull() {
+        final WebSocketBacklog backlog = createBacklog(WebSocketBacklog.DEFAULT_MAX_SIZE);
+        final Buffer message = Buffer.buffer("message");
+
+        backlog.write(message);
+
+        verify(this.socket).write(message);
+        assertEquals(0, backlog.size());
+    }
+
+    @Test
+    public void messageIsWrittenAfterDrain() {
+        final WebSocketBacklog backlog = createBacklog(WebSocketBacklog.DEFAULT_MAX_SIZE);
+        final Buffer quizStarted = Buffer.buffer("quiz started");
+        final Buffer chatMessage = Buffer.buffer("chat message");
+
+        when(this.socket.writeQueueFull()).thenReturn(true);
+        backlog.write(quizStarted);
+        backlog.write(chatMessage);
+
+        verify(this.socket, never()).write(any(Buffer.class));
+        assertEquals(2, backlog.size());
+
+        when(this.socket.writeQueueFull()).thenReturn(false);
+        this.drainHandler.handle(null);
+
+        final InOrder order = inOrder(this.socket);
+        order.verify(this.socket).write(quizStarted);
+        order.verify(this.socket).write(chatMessage);
+        assertEquals(0, backlog.size());
+    }
+
+    @Test
+    public void drainStopsWhenQueueIsFullAgain() {
+        final WebSocketBacklog backlog = createBacklog(WebSocketBacklog.DEFAULT_MAX_SIZE);
+        final Buffer first = Buffer.buffer("first");
+        final Buffer second = Buffer.buffer("second");
+
+        when(this.socket.writeQueueFull()).thenReturn(true);
+        backlog.write(first);
+        backlog.write(second);
+
+        when(this.socket.writeQueueFull()).thenReturn(false, true);
+        this.drainHandler.handle(null);
+
+        verify(this.socket).write(first);
+        verify(this.socket, never()).write(second);
+        assertEquals(1, backlog.size());
+
+        when(this.socket.writeQueueFull()).thenReturn(false);
+        this.drainHandler.handle(null);
+
+        verify(this.socket).write(second);
+        assertEquals(0, backlog.size());
+    }
+
+    @Test
+    public void oldestMessageIsDiscardedWhenBacklogIsFull() {
+        final WebSocketBacklog backlog = createBacklog(2);
+        final Buffer first = Buffer.buffer("first");
+        final Buffer second = Buffer.buffer("second");
+        final Buffer third = Buffer.buffer("third");
+
+        when(this.socket.writeQueueFull()).thenReturn(true);
+        backlog.write(first);
+        backlog.write(second);
+        backlog.write(third);
+
+        assertEquals(2, backlog.size());
+
+        when(this.socket.writeQueueFull()).thenReturn(false);
+        this.drainHandler.handle(null);
+
+        verify(this.socket, never()).write(first);
+        verify(this.socket).write(second);
+        verify(this.socket).write(third);
+    }
+}
@@ -0,0 +1,111 @@
+package com.twasyl.slideshowfx.server.beans.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Perform tests on a {@link QuizResult}.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class QuizResultTest {
+
+    private static QuizResult createResult() {
+        final Quiz quiz = new Quiz();
+
+        for (long id = 1; id <= 3; id++) {
+            final Answer answer = new Answer();
+            answer.setId(id);
+            answer.setCorrect(id == 1);
+            quiz.getAnswers().add(answer);
+        }
+
+        final QuizResult result = createResult();
+        result.setQuiz(quiz);
+        return result;
+    }
+
+    @Test
+    public void answersOnlyVisibleAfterPublication() {
+        final QuizResult result = createResult();
+        result.recordAnswer(true, 1L);
+        result.recordAnswer(false, 2L);
+
+        assertTrue(result.hasUnpublishedAnswers());
+        assertEquals(0, result.getTotalAnswers());
+
+        result.publish();
+
+        assertFalse(result.hasUnpublishedAnswers());
+        assertEquals(1, result.getCorrectAnswers());
+        assertEquals(1, result.getWrongAnswers());
+        assertEquals(2, result.getTotalAnswers());
+    }
+
+    @Test
+    public void answersDistribution() {
+        final QuizResult result = createResult();
+        result.recordAnswer(true, 1L, 3L);
+        result.recordAnswer(false, 1L);
+        result.recordAnswer(false, 2L);
+        result.publish();
+
+        assertEquals(2, result.getAnswersDistribution().get(1L));
+        assertEquals(1, result.getAnswersDistribution().get(2L));
+        assertEquals(1, result.getAnswersDistribution().get(3L));
+    }
+
+    @Test
+    public void recordAnswersConcurrently() throws InterruptedException {
+        final QuizResult result = createResult();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int index = 0; index < 1000; index++) {
+            final boolean correct = index % 2 == 0;
+            executor.submit(() -> result.recordAnswer(correct, correct ? 1L : 2L));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        result.publish();
+
+        assertEquals(500, result.getCorrectAnswers());
+        assertEquals(500, result.getWrongAnswers());
+        assertEquals(1000, result.getTotalAnswers());
+    }
+
+    @Test
+    public void unknownAnswerRejected() {
+        final QuizResult result = createResult();
+
+        assertThrows(IllegalArgumentException.class, () -> result.recordAnswer(false, 1L, 42L));
+        assertFalse(result.hasUnpublishedAnswers());
+
+        result.publish();
+
+        assertEquals(0, result.getTotalAnswers());
+        assertNull(result.getAnswersDistribution().get(42L));
+        assertNull(result.getAnswersDistribution().get(1L));
+    }
+
+    @Test
+    public void duplicatedAnswerRejected() {
+        final QuizResult result = createResult();
+
+        assertThrows(IllegalArgumentException.class, () -> result.recordAnswer(true, 1L, 1L));
+        assertFalse(result.hasUnpublishedAnswers());
+    }
+
+    @Test
+    public void answerWithoutQuizRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new QuizResult().recordAnswer(true, 1L));
+    }
+}
@@ -5,6 +5,12 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -153,4 +159,101 @@ public class EventBusTest {
         EventBus.getInstance().broadcast(ENDPOINT_3, "Test");
         assertFalse(SUPPORT_MESSAGE_ACTOR_1.gotMessage);
     }
+
+    @Test
+    public void messagesDeliveredInOrder() throws InterruptedException {
+        final int numberOfMessages = 500;
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(numberOfMessages);
+        final EventBus bus = new EventBus();
+
+        bus.subscribe(ENDPOINT_1, new Actor() {
+            @Override
+            public boolean supportsMessage(Object message) {
+                return true;
+            }
+
+            @Override
+            public void onMessage(Object message) {
+                received.add(message);
+                latch.countDown();
+            }
+        });
+
+        for (int index = 0; index < numberOfMessages; index++) {
+            bus.broadcast(ENDPOINT_1, index);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        for (int index = 0; index < numberOfMessages; index++) {
+            assertEquals(index, received.get(index));
+        }
+        assertEquals(numberOfMessages, bus.getQueuedMessages());
+        assertEquals(numberOfMessages, bus.getDeliveredMessages());
+        assertEquals(0, bus.getDroppedMessages());
+    }
+
+    @Test
+    public void dropNewestMessagesWhenMailboxIsFull() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Object> received = new ArrayList<>();
+        final EventBus bus = new EventBus()
+                .setExecutor(tasks::add)
+                .setMailboxCapacity(2)
+                .setOverflowPolicy(EventBus.OverflowPolicy.DROP_NEWEST);
+
+        bus.subscribe(ENDPOINT_1, new SupportMessage() {
+            @Override
+            public void onMessage(Object message) {
+                received.add(message);
+            }
+        });
+
+        bus.broadcast(ENDPOINT_1, "1");
+        bus.broadcast(ENDPOINT_1, "2");
+        bus.broadcast(ENDPOINT_1, "3");
+
+        assertEquals(1, tasks.size());
+        assertEquals(2, bus.getPendingMessages());
+        assertEquals(1, bus.getDroppedMessages());
+
+        tasks.get(0).run();
+
+        assertEquals(List.of("1", "2"), received);
+        assertEquals(2, bus.getDeliveredMessages());
+        assertEquals(0, bus.getPendingMessages());
+    }
+
+    @Test
+    public void dropOldestMessagesWhenMailboxIsFull() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final List<Object> received = new ArrayList<>();
+        final EventBus bus = new EventBus()
+                .setExecutor(tasks::add)
+                .setMailboxCapacity(2)
+                .setOverflowPolicy(EventBus.OverflowPolicy.DROP_OLDEST);
+
+        bus.subscribe(ENDPOINT_1, new SupportMessage() {
+            @Override
+            public void onMessage(Object message) {
+                received.add(message);
+            }
+        });
+
+        bus.broadcast(ENDPOINT_1, "1");
+        bus.broadcast(ENDPOINT_1, "2");
+        bus.broadcast(ENDPOINT_1, "3");
+
+        tasks.get(0).run();
+
+        assertEquals(List.of("2", "3"), received);
+        assertEquals(3, bus.getQueuedMessages());
+        assertEquals(1, bus.getDroppedMessages());
+    }
+
+    @Test
+    public void tryToSetInvalidMailboxCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new EventBus().setMailboxCapacity(0));
+    }
 }
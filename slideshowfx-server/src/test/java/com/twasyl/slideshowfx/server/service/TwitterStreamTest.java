@@ -0,0 +1,272 @@
+package com.twasyl.slideshowfx.server.service;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the {@link TwitterStream} class against a local streaming server.
+ *
+ * @author Thierry Wasylczenko
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class TwitterStreamTest {
+
+    private Vertx vertx;
+    private HttpServer server;
+    private volatile Handler<HttpServerRequest> endpoint;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<String> tweets = new CopyOnWriteArrayList<>();
+    private TwitterStream stream;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.vertx = Vertx.vertx();
+        this.server = this.vertx.createHttpServer()
+                .requestHandler(request -> {
+                    this.requests.incrementAndGet();
+                    this.endpoint.handle(request);
+                })
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get(5, SECONDS);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        if (this.stream != null) {
+            this.stream.stop();
+        }
+
+        this.vertx.close().toCompletionStage().toCompletableFuture().get(5, SECONDS);
+    }
+
+    private TwitterStream createStream(final CountDownLatch expectedTweets) {
+        final int port = this.server.actualPort();
+
+        this.stream = new TwitterStream(this.vertx,
+                () -> new RequestOptions()
+                        .setMethod(HttpMethod.POST)
+                        .setHost("localhost")
+                        .setPort(port)
+                        .setURI("/1.1/statuses/filter.json?track=sfx"),
+                tweet -> {
+                    this.tweets.add(tweet.getString("text"));
+                    expectedTweets.countDown();
+                })
+                .setReconnectionDelays(Duration.ofMillis(10), Duration.ofMillis(20), Duration.ofMillis(40))
+                .setMaxTweetsPerSecond(100);
+
+        return this.stream;
+    }
+
+    private static String tweet(final String text) {
+        return new JsonObject()
+                .put("timestamp_ms", "1")
+                .put("text", text)
+                .put("user", new JsonObject().put("screen_name", "sfx"))
+                .encode() + "\r\n";
+    }
+
+    /**
+     * Wait for the given condition to be met, checking it regularly until the timeout expires.
+     *
+     * @param condition The condition to wait for.
+     * @param timeout   The maximum time to wait.
+     * @return {@code true} if the condition is met, {@code false} if the timeout expired before.
+     */
+    private static boolean awaitCondition(final BooleanSupplier condition, final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline >= 0) return false;
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+    private static HttpServerResponse streaming(final HttpServerRequest request) {
+        return request.response().setChunked(true).setStatusCode(200);
+    }
+
+    @Test
+    public void decodesCharactersSplitAcrossChunks() throws InterruptedException {
+        final String text = "Café 😀";
+        final byte[] bytes = tweet(text).getBytes(UTF_8);
+
+        this.endpoint = request -> {
+            final HttpServerResponse response = streaming(request);
+            // Each multi-byte character is split across several chunks
+            for (byte b : bytes) {
+                response.write(Buffer.buffer().appendByte(b));
+            }
+        };
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.createStream(latch).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(List.of(text), this.tweets);
+    }
+
+    @Test
+    public void framesTweetsIndependentlyOfChunks() throws InterruptedException {
+        final String tweets = tweet("first") + tweet("second") + tweet("third");
+        final int split = tweets.indexOf("second") + 2;
+
+        this.endpoint = request -> {
+            final HttpServerResponse response = streaming(request);
+            response.write(tweets.substring(0, split));
+            response.write(tweets.substring(split));
+        };
+
+        final CountDownLatch latch = new CountDownLatch(3);
+        this.createStream(latch).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(List.of("first", "second", "third"), this.tweets);
+        assertEquals(3, this.stream.getReceivedTweets());
+        assertEquals(0, this.stream.getDroppedTweets());
+    }
+
+    @Test
+    public void ignoresKeepAlivesAndNotices() throws InterruptedException {
+        this.endpoint = request -> {
+            final HttpServerResponse response = streaming(request);
+            response.write("\r\n");
+            response.write("{\"delete\":{\"status\":{\"id\":1}}}\r\n");
+            response.write("\r\n");
+            response.write(tweet("tweet"));
+        };
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.createStream(latch).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(List.of("tweet"), this.tweets);
+        assertEquals(1, this.stream.getReceivedTweets());
+    }
+
+    @Test
+    public void reconnectsWhenDisconnected() throws InterruptedException {
+        this.endpoint = request -> {
+            if (this.requests.get() == 1) {
+                streaming(request).end(tweet("before"));
+            } else {
+                streaming(request).write(tweet("after"));
+            }
+        };
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        this.createStream(latch).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(List.of("before", "after"), this.tweets);
+        assertEquals(2, this.stream.getConnections());
+    }
+
+    @Test
+    public void reconnectsAfterHttpErrors() throws InterruptedException {
+        this.endpoint = request -> {
+            if (this.requests.get() < 3) {
+                request.response().setStatusCode(503).end();
+            } else {
+                streaming(request).write(tweet("available"));
+            }
+        };
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.createStream(latch).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(3, this.requests.get());
+        assertEquals(1, this.stream.getConnections());
+    }
+
+    @Test
+    public void reconnectsWhenStalled() throws InterruptedException {
+        this.endpoint = request -> {
+            if (this.requests.get() == 1) {
+                streaming(request).write("\r\n");
+            } else {
+                streaming(request).write(tweet("resumed"));
+            }
+        };
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.createStream(latch).setStallTimeout(Duration.ofMillis(300)).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(List.of("resumed"), this.tweets);
+    }
+
+    @Test
+    public void dropsTweetsExceedingTheRateLimit() throws InterruptedException {
+        final StringBuilder burst = new StringBuilder();
+        for (int index = 0; index < 10; index++) {
+            burst.append(tweet("tweet " + index));
+        }
+
+        // The last message is truncated and can not be decoded
+        burst.append(tweet("invalid").substring(1));
+
+        this.endpoint = request -> streaming(request).write(burst.toString());
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        this.createStream(latch).setMaxTweetsPerSecond(2).start();
+
+        assertTrue(latch.await(5, SECONDS));
+        // The burst is fully processed once every message has been counted as received and, if needed, dropped
+        awaitCondition(() -> this.stream.getReceivedTweets() == 11 && this.stream.getDroppedTweets() == 9, Duration.ofSeconds(5));
+
+        assertEquals(11, this.stream.getReceivedTweets());
+        assertEquals(List.of("tweet 0", "tweet 1"), this.tweets);
+        assertEquals(9, this.stream.getDroppedTweets());
+    }
+
+    @Test
+    public void doesNotReconnectOnceStopped() throws InterruptedException {
+        final CountDownLatch connected = new CountDownLatch(1);
+        final CountDownLatch reconnected = new CountDownLatch(1);
+
+        this.endpoint = request -> {
+            streaming(request).write("\r\n");
+
+            if (this.requests.get() == 1) {
+                connected.countDown();
+            } else {
+                reconnected.countDown();
+            }
+        };
+
+        this.createStream(new CountDownLatch(0)).start();
+        assertTrue(connected.await(5, SECONDS));
+
+        this.stream.stop();
+
+        // The longest reconnection delay is 40ms, a reconnection would happen well before the latch times out
+        assertFalse(reconnected.await(1000, MILLISECONDS));
+        assertEquals(1, this.requests.get());
+    }
+}
@@ -159,6 +159,7 @@ public class InstallationLocationStep extends AbstractSetupStep<InstallationLoca
         this.configurationFileCreatedDuringSetup = GlobalConfiguration.createConfigurationFile();
         GlobalConfiguration.setTwitterConsumerKey(SetupProperties.getInstance().getTwitterConsumerKey());
         GlobalConfiguration.setTwitterConsumerSecret(SetupProperties.getInstance().getTwitterConsumerSecret());
+        GlobalConfiguration.flush();
     }
 
     @Override
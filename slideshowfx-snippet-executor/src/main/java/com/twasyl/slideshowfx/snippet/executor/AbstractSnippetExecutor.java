@@ -1,37 +1,39 @@
 package com.twasyl.slideshowfx.snippet.executor;
 
+import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
 import com.twasyl.slideshowfx.plugin.AbstractPlugin;
+import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.util.logging.Logger;
-
-import static java.util.logging.Level.SEVERE;
-import static java.util.logging.Level.WARNING;
+import java.util.Objects;
 
 /**
  * Abstract implementation of a {@link com.twasyl.slideshowfx.snippet.executor.ISnippetExecutor}. It takes care of
  * defining the {@link #getCode()}, {@link #getLanguage()}, {@link #getCssClass()}.
+ * Implementations execute code snippets through the {@link SnippetExecutionService} using
+ * {@link #executeInWorkspace(SnippetExecution.Task)}.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.3-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public abstract class AbstractSnippetExecutor<T extends ISnippetExecutorOptions> extends AbstractPlugin<T> implements ISnippetExecutor<T> {
-    private static final Logger LOGGER = Logger.getLogger(AbstractSnippetExecutor.class.getName());
-
     /*
      * Constants for stored properties
      */
     private static final String PROPERTIES_PREFIX = "snippet.executor.";
+    /**
+     * The property defining the JDK of the Java snippet executor, also used to run the {@link WarmDaemon warm daemons}.
+     */
+    private static final String DAEMONS_JAVA_HOME_PROPERTY = PROPERTIES_PREFIX.concat("JAVA.home");
     protected T newOptions;
 
     private final String configurationBaseName;
     private final String code;
     private final String language;
     private final String cssClass;
+    private WarmDaemon warmDaemon;
 
     protected AbstractSnippetExecutor(final String code, final String language, final String cssClass) {
         super(code);
@@ -52,10 +54,6 @@ public abstract class AbstractSnippetExecutor<T extends ISnippetExecutorOptions>
         return this.newOptions;
     }
 
-    protected File getTemporaryDirectory() {
-        return new File(System.getProperty("java.io.tmpdir"));
-    }
-
     @Override
     public String getCode() {
         return this.code;
@@ -85,41 +83,69 @@ public abstract class AbstractSnippetExecutor<T extends ISnippetExecutorOptions>
     }
 
     /**
-     * Appends the exception as an error message to the given console output.
+     * Submit the given task to the {@link SnippetExecutionService}. The task is executed asynchronously in a workspace
+     * dedicated to this execution.
      *
-     * @param consoleOutput The console output.
-     * @param e             The exception to add as output.
+     * @param task The task executing the code snippet.
+     * @return The execution console output.
      */
-    protected void appendErrorMessageToConsole(final ObservableList<String> consoleOutput, final Exception e) {
-        consoleOutput.add("ERROR: ".concat(e.getMessage()));
+    protected ObservableList<String> executeInWorkspace(final SnippetExecution.Task task) {
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        SnippetExecutionService.getInstance().submit(this.getCode(), consoleOutput, task);
+        return consoleOutput;
     }
 
     /**
-     * Wait for the process to finish. If the process is {@code null}, nothing is performed.
+     * Submit a task warming up this executor to the {@link SnippetExecutionService}. The task is executed by a thread
+     * dedicated to warm-ups, so it doesn't hold a worker needed to execute code snippets. The console output of the
+     * task is discarded.
      *
-     * @param process The process to wait for.
+     * @param task The task warming up this executor, like compiling a trivial code snippet.
      */
-    protected void waitForProcess(final Process process) {
-        if (process != null) {
-            try {
-                process.waitFor();
-            } catch (InterruptedException e) {
-                LOGGER.log(SEVERE, "Can not wait for process to end", e);
-                Thread.currentThread().interrupt();
-            }
-        }
+    protected void warmUp(final SnippetExecution.Task task) {
+        SnippetExecutionService.getInstance().warmUp(this.getCode().concat(" warm-up"), task);
+    }
+
+    /**
+     * Get the {@link WarmDaemon} of this executor running the libraries of the given SDK, located in its {@code lib}
+     * directory. The daemon runs with the JDK configured for the Java snippet executor if any, otherwise with the
+     * default JVM of {@link WarmDaemon}. The daemon is replaced when the SDK or the JDK changes.
+     *
+     * @param sdkHome The home of the SDK.
+     * @return The warm daemon of this executor.
+     */
+    protected WarmDaemon getWarmDaemon(final File sdkHome) {
+        final String configuredJavaHome = GlobalConfiguration.getProperty(DAEMONS_JAVA_HOME_PROPERTY);
+        return this.getWarmDaemon(new File(sdkHome, "lib"), configuredJavaHome == null ? null : new File(configuredJavaHome));
     }
 
     /**
-     * Deletes the generated file.
+     * Get the {@link WarmDaemon} of this executor running the given libraries with the JVM of the given Java home.
+     * The daemon is replaced when the libraries or the Java home change.
      *
-     * @param file The file to be deleted.
+     * @param libraries The directory containing the libraries of the daemon, or {@code null} if the daemon has no
+     *                  libraries.
+     * @param javaHome  The Java home providing the JVM of the daemon, or {@code null} to use the default JVM of
+     *                  {@link WarmDaemon}.
+     * @return The warm daemon of this executor.
+     */
+    protected synchronized WarmDaemon getWarmDaemon(final File libraries, final File javaHome) {
+        if (this.warmDaemon == null || !Objects.equals(this.warmDaemon.getLibraries(), libraries)
+                || !Objects.equals(this.warmDaemon.getJavaHome(), javaHome)) {
+            if (this.warmDaemon != null) this.warmDaemon.stop();
+            this.warmDaemon = new WarmDaemon(this.getCode(), libraries, javaHome);
+        }
+
+        return this.warmDaemon;
+    }
+
+    /**
+     * Stop the {@link WarmDaemon} of this executor, if any.
      */
-    protected void deleteGeneratedFile(final File file) {
-        try {
-            Files.delete(file.toPath());
-        } catch (IOException e) {
-            LOGGER.log(WARNING, "Can not delete generated file " + file.getAbsolutePath(), e);
+    protected synchronized void stopWarmDaemon() {
+        if (this.warmDaemon != null) {
+            this.warmDaemon.stop();
+            this.warmDaemon = null;
         }
     }
 
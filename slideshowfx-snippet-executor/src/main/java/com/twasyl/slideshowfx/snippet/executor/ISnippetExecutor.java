@@ -10,7 +10,7 @@ import javafx.scene.Parent;
  * to execute code snippet and display the result in the presentation.
  *
  * @author Thierry Wasylczenko
- * @version 1.0
+ * @version 1.1-SNAPSHOT
  * @since SlideshowFX 1.0
  */
 public interface ISnippetExecutor<T extends ISnippetExecutorOptions> extends IPlugin<T>, IConfigurable<T> {
@@ -51,4 +51,12 @@ public interface ISnippetExecutor<T extends ISnippetExecutorOptions> extends IPl
      * @return The execution console output.
      */
     ObservableList<String> execute(final CodeSnippet codeSnippet);
+
+    /**
+     * Prepare this snippet executor to execute code snippets. This method is called when a presentation containing
+     * code snippets of this executor is opened, so the executor can for instance start a compiler in advance. It must
+     * not block. By default, nothing is done.
+     */
+    default void prepare() {
+    }
 }
@@ -0,0 +1,291 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import javafx.collections.ObservableList;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.WARNING;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A single execution of a code snippet, performed by the {@link SnippetExecutionService}. Each execution has its own
+ * workspace, a temporary directory in which source files are written and processes are started, which is deleted once
+ * the execution is finished. Processes started by an execution are subject to the time and output limits of the
+ * service: when a limit is exceeded, the process and all its descendants are killed.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class SnippetExecution {
+    private static final Logger LOGGER = Logger.getLogger(SnippetExecution.class.getName());
+
+    /**
+     * The work performed by an execution.
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Execute the code snippet.
+         *
+         * @param execution The execution providing the workspace and the console output.
+         * @throws IOException If the code snippet can not be written or executed.
+         */
+        void execute(final SnippetExecution execution) throws IOException;
+    }
+
+    private final File workspace;
+    private final ObservableList<String> consoleOutput;
+    private final long deadline;
+    private final Duration timeout;
+    private final Duration cpuTimeout;
+    private final int outputLimit;
+
+    private int outputSize = 0;
+    private volatile Process process;
+    private volatile boolean timedOut = false;
+    private volatile boolean outputTruncated = false;
+
+    SnippetExecution(final File workspace, final ObservableList<String> consoleOutput, final Duration timeout,
+                     final Duration cpuTimeout, final int outputLimit) {
+        this.workspace = workspace;
+        this.consoleOutput = consoleOutput;
+        this.timeout = timeout;
+        this.cpuTimeout = cpuTimeout;
+        this.outputLimit = outputLimit;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Get the directory dedicated to this execution. Source files must be written in it.
+     *
+     * @return The workspace of this execution.
+     */
+    public File getWorkspace() {
+        return this.workspace;
+    }
+
+    /**
+     * Write a file in the workspace of this execution, using the default charset.
+     *
+     * @param name    The name of the file.
+     * @param content The content of the file.
+     * @return The created file.
+     * @throws IOException If the file can not be written.
+     */
+    public File createFile(final String name, final String content) throws IOException {
+        final File file = new File(this.workspace, name);
+        Files.writeString(file.toPath(), content, Charset.defaultCharset());
+        return file;
+    }
+
+    /**
+     * Start a process in the workspace of this execution and add its output to the console. This method returns once
+     * the process has ended. If a time limit is exceeded, or if the process produces too much output, the process and
+     * its descendants are killed.
+     *
+     * @param command The command to execute.
+     * @return The exit value of the process, or {@code -1} if the execution has already been stopped.
+     * @throws IOException If the process can not be started.
+     */
+    public int runProcess(final String... command) throws IOException {
+        if (this.isStopped()) return -1;
+
+        final Process started = new ProcessBuilder()
+                .redirectErrorStream(true)
+                .command(command)
+                .directory(this.workspace)
+                .start();
+        this.process = started;
+
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(started.getInputStream()))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (!this.print(line)) {
+                    killProcessTree(started);
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The stream is closed when the process is killed
+            if (!this.isStopped()) throw e;
+        } finally {
+            this.waitFor(started);
+            this.process = null;
+        }
+
+        return this.isStopped() ? -1 : started.exitValue();
+    }
+
+    /**
+     * Wait for the given thread, executing the code snippet in-process, to end. If the wall-clock limit of this
+     * execution is exceeded, the thread is interrupted and the execution is considered as timed out. Contrary to
+     * processes, a thread can not be killed: it keeps running until it ends or responds to the interruption.
+     *
+     * @param thread The thread executing the code snippet, already started.
+     * @return {@code true} if the thread has ended, {@code false} if the execution timed out.
+     */
+    public boolean join(final Thread thread) {
+        try {
+            thread.join(Math.max(1, this.getRemainingTime().toMillis()));
+        } catch (InterruptedException e) {
+            LOGGER.log(WARNING, "Interrupted while waiting for the snippet thread to end", e);
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            this.stop("time", this.timeout);
+            thread.interrupt();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Stop this execution because it exceeded its wall-clock limit while the code snippet was executed outside of a
+     * process started by this execution, like a {@link WarmDaemon}.
+     */
+    void timeOut() {
+        this.stop("time", this.timeout);
+    }
+
+    /**
+     * Get the time left before this execution exceeds its wall-clock limit.
+     *
+     * @return The remaining time, never negative.
+     */
+    public Duration getRemainingTime() {
+        return Duration.ofNanos(Math.max(0, this.deadline - System.nanoTime()));
+    }
+
+    /**
+     * Add a line to the console output. Once the output limit is reached, the line is dropped and a message indicating
+     * that the output has been truncated is added instead. Lines are also dropped once the execution timed out.
+     *
+     * @param line The line to add.
+     * @return {@code true} if the line has been added, {@code false} if the execution is stopped.
+     */
+    public synchronized boolean print(final String line) {
+        if (this.isStopped()) return false;
+
+        this.outputSize += line.length();
+
+        if (this.outputSize > this.outputLimit) {
+            this.outputTruncated = true;
+            this.consoleOutput.add("ERROR: the output has been truncated because it exceeded " + this.outputLimit + " characters");
+            return false;
+        }
+
+        this.consoleOutput.add(line);
+        return true;
+    }
+
+    /**
+     * Add the message of the given exception as an error to the console output.
+     *
+     * @param e The exception to add.
+     */
+    public synchronized void printError(final Exception e) {
+        this.consoleOutput.add("ERROR: ".concat(String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Indicates if this execution has been stopped because it exceeded a time limit.
+     *
+     * @return {@code true} if the execution timed out, {@code false} otherwise.
+     */
+    public boolean isTimedOut() {
+        return this.timedOut;
+    }
+
+    /**
+     * Indicates if the console output of this execution has been truncated.
+     *
+     * @return {@code true} if the output has been truncated, {@code false} otherwise.
+     */
+    public boolean isOutputTruncated() {
+        return this.outputTruncated;
+    }
+
+    private boolean isStopped() {
+        return this.timedOut || this.outputTruncated;
+    }
+
+    /**
+     * Check the time limits of this execution. The wall-clock limit applies to the whole execution while the CPU limit
+     * applies to each started process, including its descendants. This method is periodically called by the service.
+     */
+    void checkLimits() {
+        final Process current = this.process;
+        if (current == null || this.timedOut) return;
+
+        if (System.nanoTime() - this.deadline > 0) {
+            this.stop(current, "time", this.timeout);
+        } else if (cpuTime(current.toHandle()).compareTo(this.cpuTimeout) > 0) {
+            this.stop(current, "CPU time", this.cpuTimeout);
+        }
+    }
+
+    /**
+     * Stop this execution because it exceeded the given limit.
+     *
+     * @param limitName The name of the exceeded limit.
+     * @param limit     The value of the exceeded limit.
+     */
+    private synchronized void stop(final String limitName, final Duration limit) {
+        if (this.timedOut) return;
+
+        this.timedOut = true;
+        this.consoleOutput.add("ERROR: the execution has been stopped because it exceeded the " + limitName
+                + " limit of " + limit.toSeconds() + " seconds");
+    }
+
+    private void stop(final Process stopped, final String limitName, final Duration limit) {
+        this.stop(limitName, limit);
+        killProcessTree(stopped);
+    }
+
+    private void waitFor(final Process started) {
+        try {
+            if (!started.waitFor(this.getRemainingTime().toNanos(), NANOSECONDS)) {
+                this.stop(started, "time", this.timeout);
+                started.waitFor();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.log(WARNING, "Interrupted while waiting for the snippet process to end", e);
+            killProcessTree(started);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Duration cpuTime(final ProcessHandle handle) {
+        return handle.descendants()
+                .map(descendant -> descendant.info().totalCpuDuration().orElse(Duration.ZERO))
+                .reduce(handle.info().totalCpuDuration().orElse(Duration.ZERO), Duration::plus);
+    }
+
+    /**
+     * Forcibly kill the given process and all its descendants. Descendants are listed before the process is killed,
+     * so they are still known once re-parented.
+     *
+     * @param process The process to kill.
+     */
+    static void killProcessTree(final Process process) {
+        final List<ProcessHandle> descendants = process.descendants().collect(toList());
+
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+}
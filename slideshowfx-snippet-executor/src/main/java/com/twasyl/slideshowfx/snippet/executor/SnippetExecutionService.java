@@ -0,0 +1,331 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import com.twasyl.slideshowfx.global.configuration.GlobalConfiguration;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Service executing code snippets for all {@link ISnippetExecutor snippet executors}. Executions are performed by a
+ * bounded pool of workers and wait in a bounded queue when all workers are busy. Each execution gets its own
+ * {@link SnippetExecution#getWorkspace() workspace} so concurrent executions never share files.
+ * <p>
+ * Processes started by an execution are killed, with all their descendants, when the execution exceeds its wall-clock
+ * time limit, when a process exceeds its CPU time limit or when the console output exceeds its size limit. Limits
+ * can be defined using the {@link #WORKERS_PROPERTY}, {@link #QUEUE_CAPACITY_PROPERTY}, {@link #TIMEOUT_PROPERTY},
+ * {@link #CPU_TIMEOUT_PROPERTY} and {@link #OUTPUT_LIMIT_PROPERTY} properties of the {@link GlobalConfiguration}.
+ * <p>
+ * Tasks warming up snippet executors are executed one after the other by a dedicated thread, so they never hold a
+ * worker needed to execute code snippets.
+ * <p>
+ * The service also records how long executions wait in the queue and how long they run.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class SnippetExecutionService {
+    private static final Logger LOGGER = Logger.getLogger(SnippetExecutionService.class.getName());
+
+    /**
+     * The name of the property defining the number of snippets executed concurrently.
+     */
+    public static final String WORKERS_PROPERTY = "snippet.execution.workers";
+
+    /**
+     * The name of the property defining the number of snippets that can wait for a worker.
+     */
+    public static final String QUEUE_CAPACITY_PROPERTY = "snippet.execution.queue.capacity";
+
+    /**
+     * The name of the property defining the wall-clock time limit of an execution, in seconds.
+     */
+    public static final String TIMEOUT_PROPERTY = "snippet.execution.timeout";
+
+    /**
+     * The name of the property defining the CPU time limit of a process, in seconds.
+     */
+    public static final String CPU_TIMEOUT_PROPERTY = "snippet.execution.cpu.timeout";
+
+    /**
+     * The name of the property defining the maximum number of characters of the console output of an execution.
+     */
+    public static final String OUTPUT_LIMIT_PROPERTY = "snippet.execution.output.limit";
+
+    private static final String WORKSPACE_PREFIX = "sfx-snippet-";
+    private static final long LIMITS_CHECK_PERIOD = 200;
+
+    private static SnippetExecutionService singleton = null;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+    private final ExecutorService warmUps;
+    private final Duration timeout;
+    private final Duration cpuTimeout;
+    private final int outputLimit;
+
+    private final AtomicInteger queuedExecutions = new AtomicInteger();
+    private final AtomicInteger runningExecutions = new AtomicInteger();
+    private final LongAdder completedExecutions = new LongAdder();
+    private final LongAdder timedOutExecutions = new LongAdder();
+    private final LongAdder rejectedExecutions = new LongAdder();
+    private final LongAdder totalQueueTime = new LongAdder();
+    private final LongAdder totalExecutionTime = new LongAdder();
+
+    SnippetExecutionService(final int workers, final int queueCapacity, final Duration timeout,
+                            final Duration cpuTimeout, final int outputLimit) {
+        if (workers < 1) throw new IllegalArgumentException("The number of workers must be at least 1");
+        if (queueCapacity < 1) throw new IllegalArgumentException("The queue capacity must be at least 1");
+        if (timeout == null) throw new NullPointerException("The timeout can not be null");
+        if (cpuTimeout == null) throw new NullPointerException("The CPU timeout can not be null");
+        if (outputLimit < 1) throw new IllegalArgumentException("The output limit must be at least 1");
+
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("snippet-executor-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("snippet-watchdog-"));
+        this.warmUps = Executors.newSingleThreadExecutor(daemonThreads("snippet-warm-up-"));
+        this.timeout = timeout;
+        this.cpuTimeout = cpuTimeout;
+        this.outputLimit = outputLimit;
+    }
+
+    /**
+     * Get the service shared by all snippet executors.
+     *
+     * @return The snippet execution service.
+     */
+    public static synchronized SnippetExecutionService getInstance() {
+        if (singleton == null) {
+            final int defaultWorkers = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+            singleton = new SnippetExecutionService(
+                    valueOrDefault(GlobalConfiguration.getIntegerProperty(WORKERS_PROPERTY), defaultWorkers),
+                    valueOrDefault(GlobalConfiguration.getIntegerProperty(QUEUE_CAPACITY_PROPERTY), 32),
+                    Duration.ofSeconds(valueOrDefault(GlobalConfiguration.getLongProperty(TIMEOUT_PROPERTY), 60L)),
+                    Duration.ofSeconds(valueOrDefault(GlobalConfiguration.getLongProperty(CPU_TIMEOUT_PROPERTY), 30L)),
+                    valueOrDefault(GlobalConfiguration.getIntegerProperty(OUTPUT_LIMIT_PROPERTY), 512 * 1024));
+        }
+
+        return singleton;
+    }
+
+    private static <T> T valueOrDefault(final T value, final T defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Submit a task for execution. The task is executed in a new workspace, deleted once the task is finished. If the
+     * queue is full, the task is rejected and an error is added to the console output before this method returns.
+     * Callers listening to the console output after submitting the task must therefore first consider the lines it
+     * already contains.
+     *
+     * @param name          The name of the execution, used for logging.
+     * @param consoleOutput The console output to which the output of the execution is added.
+     * @param task          The task to execute.
+     * @return A future completed once the execution is finished, whatever its outcome.
+     */
+    public CompletableFuture<Void> submit(final String name, final ObservableList<String> consoleOutput,
+                                          final SnippetExecution.Task task) {
+        if (consoleOutput == null) throw new NullPointerException("The console output can not be null");
+        if (task == null) throw new NullPointerException("The task can not be null");
+
+        final long submitted = System.nanoTime();
+
+        try {
+            this.queuedExecutions.incrementAndGet();
+            return CompletableFuture.runAsync(() -> this.run(name, consoleOutput, task, submitted), this.workers);
+        } catch (RejectedExecutionException e) {
+            this.queuedExecutions.decrementAndGet();
+            this.rejectedExecutions.increment();
+            LOGGER.log(WARNING, "The snippet execution " + name + " has been rejected", e);
+
+            consoleOutput.add("ERROR: too many snippets are being executed, please try again later");
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Submit a task warming up a snippet executor, like starting a compiler in advance. The task is executed in a new
+     * workspace and within the same limits as executions, but by a thread dedicated to warm-ups. Warm-ups are not
+     * included in the statistics of the service and their console output is discarded.
+     *
+     * @param name The name of the warm-up, used for logging.
+     * @param task The task to execute.
+     * @return A future completed once the warm-up is finished, whatever its outcome.
+     */
+    public CompletableFuture<Void> warmUp(final String name, final SnippetExecution.Task task) {
+        if (task == null) throw new NullPointerException("The task can not be null");
+
+        return CompletableFuture.runAsync(() -> {
+            final long started = System.nanoTime();
+            this.execute(name, FXCollections.observableArrayList(), task);
+            LOGGER.fine(() -> "Warm-up " + name + " ran in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        }, this.warmUps);
+    }
+
+    private void run(final String name, final ObservableList<String> consoleOutput, final SnippetExecution.Task task,
+                     final long submitted) {
+        final long started = System.nanoTime();
+        this.queuedExecutions.decrementAndGet();
+        this.runningExecutions.incrementAndGet();
+        this.totalQueueTime.add(started - submitted);
+
+        try {
+            if (this.execute(name, consoleOutput, task)) this.timedOutExecutions.increment();
+        } finally {
+            final long ended = System.nanoTime();
+            this.totalExecutionTime.add(ended - started);
+            this.runningExecutions.decrementAndGet();
+            this.completedExecutions.increment();
+
+            LOGGER.fine(() -> "Snippet execution " + name + " waited " + (started - submitted) / 1_000_000
+                    + " ms and ran in " + (ended - started) / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * Execute the given task in a new workspace, within the limits of this service.
+     *
+     * @return {@code true} if the execution timed out, {@code false} otherwise.
+     */
+    private boolean execute(final String name, final ObservableList<String> consoleOutput, final SnippetExecution.Task task) {
+        Path workspace = null;
+        ScheduledFuture<?> limitsCheck = null;
+
+        try {
+            workspace = Files.createTempDirectory(WORKSPACE_PREFIX);
+
+            final SnippetExecution execution = new SnippetExecution(workspace.toFile(), consoleOutput,
+                    this.timeout, this.cpuTimeout, this.outputLimit);
+            limitsCheck = this.watchdog.scheduleAtFixedRate(execution::checkLimits,
+                    LIMITS_CHECK_PERIOD, LIMITS_CHECK_PERIOD, MILLISECONDS);
+
+            try {
+                task.execute(execution);
+            } catch (IOException e) {
+                LOGGER.log(SEVERE, "Can not execute code snippet " + name, e);
+                execution.printError(e);
+            }
+
+            return execution.isTimedOut();
+        } catch (IOException e) {
+            LOGGER.log(SEVERE, "Can not create the workspace of the snippet execution", e);
+            consoleOutput.add("ERROR: ".concat(String.valueOf(e.getMessage())));
+            return false;
+        } finally {
+            if (limitsCheck != null) limitsCheck.cancel(false);
+            if (workspace != null) deleteWorkspace(workspace);
+        }
+    }
+
+    private static void deleteWorkspace(final Path workspace) {
+        try (final Stream<Path> files = Files.walk(workspace)) {
+            files.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .filter(file -> !file.delete())
+                    .forEach(file -> LOGGER.log(WARNING, "Can not delete generated file " + file.getAbsolutePath()));
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not delete the workspace " + workspace, e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Get the number of executions waiting for a worker.
+     *
+     * @return The number of queued executions.
+     */
+    public int getQueuedExecutions() {
+        return this.queuedExecutions.get();
+    }
+
+    /**
+     * Get the number of executions currently running.
+     *
+     * @return The number of running executions.
+     */
+    public int getRunningExecutions() {
+        return this.runningExecutions.get();
+    }
+
+    /**
+     * Get the number of finished executions, whatever their outcome.
+     *
+     * @return The number of completed executions.
+     */
+    public long getCompletedExecutions() {
+        return this.completedExecutions.sum();
+    }
+
+    /**
+     * Get the number of executions stopped because they exceeded a time limit.
+     *
+     * @return The number of timed out executions.
+     */
+    public long getTimedOutExecutions() {
+        return this.timedOutExecutions.sum();
+    }
+
+    /**
+     * Get the number of executions rejected because the queue was full.
+     *
+     * @return The number of rejected executions.
+     */
+    public long getRejectedExecutions() {
+        return this.rejectedExecutions.sum();
+    }
+
+    /**
+     * Get the average time executions waited for a worker.
+     *
+     * @return The average queue time, or {@link Duration#ZERO} if no execution is finished.
+     */
+    public Duration getAverageQueueTime() {
+        return average(this.totalQueueTime);
+    }
+
+    /**
+     * Get the average time executions took to run, once a worker was available.
+     *
+     * @return The average execution time, or {@link Duration#ZERO} if no execution is finished.
+     */
+    public Duration getAverageExecutionTime() {
+        return average(this.totalExecutionTime);
+    }
+
+    private Duration average(final LongAdder total) {
+        final long completed = this.completedExecutions.sum();
+        return completed == 0 ? Duration.ZERO : Duration.ofNanos(total.sum() / completed);
+    }
+}
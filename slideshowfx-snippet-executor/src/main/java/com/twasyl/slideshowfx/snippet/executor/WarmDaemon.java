@@ -0,0 +1,368 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import static com.twasyl.slideshowfx.snippet.executor.WarmDaemonServer.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.WARNING;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A long-lived JVM running the libraries of a language SDK, typically its compiler, so that executing a code snippet
+ * doesn't pay the start of a new JVM and the loading of the compiler each time. A daemon can also run without
+ * libraries, only loading the classes given with each call, like already compiled snippets. The daemon is started on
+ * its first use and checked before each call: if it doesn't respond, or if it stopped, for instance because a snippet called
+ * {@code System.exit}, it is automatically restarted. The daemon is also restarted when a call exceeds the time or
+ * output limits of its execution.
+ * <p>
+ * Calls are performed one after the other. The wall-clock limit of the execution applies to each call, including the
+ * time spent waiting for a previous call to end, but not the CPU time limit since the JVM of the daemon is shared by
+ * all calls.
+ * <p>
+ * The JVM of the daemon is the one of the given Java home if any, otherwise the one of the {@code JAVA_HOME}
+ * environment variable, like the scripts of language SDKs, otherwise the one of the running JVM. Note that the runtime
+ * packaged with SlideshowFX doesn't provide a {@code java} executable.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.1-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class WarmDaemon {
+    private static final Logger LOGGER = Logger.getLogger(WarmDaemon.class.getName());
+
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(10);
+    private static final String[] END_OF_RESPONSES = new String[0];
+
+    private final String name;
+    private final File libraries;
+    private final File javaHome;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Process process;
+    private Writer requests;
+    private BlockingQueue<String[]> responses;
+    private Thread shutdownHook;
+
+    /**
+     * Create a daemon running all JAR files of the given directory with the default JVM. The daemon isn't started.
+     *
+     * @param name      The name of the daemon, used for logging.
+     * @param libraries The directory containing the libraries of the daemon, usually the {@code lib} directory of
+     *                  a language SDK.
+     */
+    public WarmDaemon(final String name, final File libraries) {
+        this(name, libraries, null);
+    }
+
+    /**
+     * Create a daemon running all JAR files of the given directory with the JVM of the given Java home. The daemon
+     * isn't started.
+     *
+     * @param name      The name of the daemon, used for logging.
+     * @param libraries The directory containing the libraries of the daemon, usually the {@code lib} directory of
+     *                  a language SDK. If {@code null}, the daemon has no libraries.
+     * @param javaHome  The Java home providing the JVM of the daemon. If {@code null}, the default JVM is used.
+     */
+    public WarmDaemon(final String name, final File libraries, final File javaHome) {
+        if (name == null) throw new NullPointerException("The name can not be null");
+
+        this.name = name;
+        this.libraries = libraries;
+        this.javaHome = javaHome;
+    }
+
+    /**
+     * Get the directory containing the libraries of this daemon.
+     *
+     * @return The libraries directory, or {@code null} if the daemon has no libraries.
+     */
+    public File getLibraries() {
+        return this.libraries;
+    }
+
+    /**
+     * Get the Java home providing the JVM of this daemon, as given when creating it.
+     *
+     * @return The Java home of this daemon, or {@code null} if the default JVM is used.
+     */
+    public File getJavaHome() {
+        return this.javaHome;
+    }
+
+    /**
+     * Determine the Java home actually providing the JVM of this daemon: its {@link #getJavaHome() Java home} if
+     * defined, otherwise the one of the {@code JAVA_HOME} environment variable if defined, like the scripts of
+     * language SDKs, otherwise the one of the running JVM.
+     *
+     * @return The Java home used to start this daemon.
+     */
+    public File resolveJavaHome() {
+        if (this.javaHome != null) return this.javaHome;
+
+        final String javaHomeVariable = System.getenv("JAVA_HOME");
+        return javaHomeVariable != null && !javaHomeVariable.isEmpty() ? new File(javaHomeVariable) : new File(System.getProperty("java.home"));
+    }
+
+    /**
+     * Call a method within this daemon, starting or restarting the daemon if necessary. The method is either a static
+     * method taking a {@code String[]}, like a {@code main} method, or an instance method taking a
+     * {@link java.io.PrintStream} and a {@code String[]}, called on a new instance of the class. What the method
+     * writes on the standard streams is added to the console output of the given execution.
+     *
+     * @param execution  The execution of the code snippet.
+     * @param classpath  Additional classpath entries used to load the class, like compiled snippets.
+     * @param className  The name of the class declaring the method.
+     * @param methodName The name of the method.
+     * @param args       The arguments given to the method.
+     * @return The exit code of the method: its result if it is an {@code int}, {@code 0} or {@code 1} if it is a
+     * {@code boolean}, {@code 1} if an exception is thrown, {@code 0} otherwise. {@code -1} if the execution is
+     * stopped, for instance because the daemon is still executing another call when the execution times out.
+     * @throws IOException If the daemon can not be started.
+     */
+    public int call(final SnippetExecution execution, final List<File> classpath, final String className,
+                    final String methodName, final String... args) throws IOException {
+        try {
+            if (!this.lock.tryLock(execution.getRemainingTime().toNanos(), NANOSECONDS)) {
+                execution.timeOut();
+                return -1;
+            }
+        } catch (InterruptedException e) {
+            LOGGER.log(WARNING, "Interrupted while waiting for the " + this.name + " daemon to be available", e);
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+
+        try {
+            return this.callLocked(execution, classpath, className, methodName, args);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Call a method within this daemon, the lock of the daemon being held by the current thread.
+     *
+     * @see #call(SnippetExecution, List, String, String, String...)
+     */
+    private int callLocked(final SnippetExecution execution, final List<File> classpath, final String className,
+                           final String methodName, final String... args) throws IOException {
+        this.ensureRunning();
+
+        final List<String> request = new ArrayList<>();
+        request.add(CALL);
+        request.add(classpath.stream().map(File::getAbsolutePath).collect(joining(File.pathSeparator)));
+        request.add(className);
+        request.add(methodName);
+        request.addAll(Arrays.asList(args));
+
+        this.send(request.toArray(new String[0]));
+
+        try {
+            while (true) {
+                final String[] response = this.responses.poll(execution.getRemainingTime().toNanos(), NANOSECONDS);
+
+                if (response == null) {
+                    execution.timeOut();
+                    this.stopLocked();
+                    return -1;
+                } else if (response == END_OF_RESPONSES) {
+                    LOGGER.info(() -> "The " + this.name + " daemon stopped while executing a snippet");
+                    final int exitValue = this.process.waitFor();
+                    this.stopLocked();
+                    return exitValue;
+                } else if (OUT.equals(response[0]) && !execution.print(response[1])) {
+                    this.stopLocked();
+                    return -1;
+                } else if (EXIT.equals(response[0])) {
+                    return Integer.parseInt(response[1]);
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.log(WARNING, "Interrupted while waiting for the " + this.name + " daemon", e);
+            this.stopLocked();
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Stop this daemon, if it is running. It will be started again by the next call.
+     */
+    public void stop() {
+        this.lock.lock();
+
+        try {
+            this.stopLocked();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void stopLocked() {
+        if (this.process != null) {
+            SnippetExecution.killProcessTree(this.process);
+
+            try {
+                this.requests.close();
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Can not close the requests of the " + this.name + " daemon", e);
+            }
+
+            this.process = null;
+            this.requests = null;
+            this.responses = null;
+        }
+
+        if (this.shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down
+            }
+            this.shutdownHook = null;
+        }
+    }
+
+    /**
+     * Make sure the daemon is running and responding, restarting it if necessary.
+     *
+     * @throws IOException If the daemon can not be started or doesn't respond.
+     */
+    private void ensureRunning() throws IOException {
+        if (this.isHealthy()) return;
+
+        if (this.process != null) {
+            LOGGER.warning(() -> "The " + this.name + " daemon doesn't respond and is restarted");
+            this.stopLocked();
+        }
+
+        this.start();
+
+        if (!this.isHealthy()) {
+            this.stopLocked();
+            throw new IOException("The " + this.name + " daemon doesn't respond");
+        }
+    }
+
+    private void start() throws IOException {
+        final long start = System.nanoTime();
+        final List<String> command = List.of(this.findJavaExecutable().getAbsolutePath(), "-cp", this.buildClasspath(),
+                WarmDaemonServer.class.getName());
+
+        final Process started = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        final BlockingQueue<String[]> queue = new LinkedBlockingQueue<>();
+        final Thread reader = new Thread(() -> readResponses(started, queue), this.name + "-daemon-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        this.process = started;
+        this.requests = new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8);
+        this.responses = queue;
+        this.shutdownHook = new Thread(() -> SnippetExecution.killProcessTree(started));
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+
+        LOGGER.fine(() -> "The " + this.name + " daemon started in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Check that the daemon is running and answers to a ping.
+     *
+     * @return {@code true} if the daemon is healthy, {@code false} otherwise.
+     */
+    private boolean isHealthy() {
+        if (this.process == null || !this.process.isAlive()) return false;
+
+        try {
+            this.responses.clear();
+            this.send(PING);
+
+            final String[] response = this.responses.poll(HEALTH_CHECK_TIMEOUT.toNanos(), NANOSECONDS);
+            return response != null && response.length == 1 && PONG.equals(response[0]);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not ping the " + this.name + " daemon", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void send(final String... fields) throws IOException {
+        this.requests.write(encode(fields));
+        this.requests.write('\n');
+        this.requests.flush();
+    }
+
+    private static void readResponses(final Process process, final BlockingQueue<String[]> responses) {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                responses.offer(decode(line));
+            }
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not read the responses of a daemon", e);
+        } finally {
+            responses.offer(END_OF_RESPONSES);
+        }
+    }
+
+    private String buildClasspath() throws IOException {
+        final List<String> entries = new ArrayList<>();
+
+        try {
+            entries.add(new File(WarmDaemonServer.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getAbsolutePath());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Can not determine the location of the daemon", e);
+        }
+
+        if (this.libraries == null) return String.join(File.pathSeparator, entries);
+
+        final File[] jars = this.libraries.listFiles((directory, fileName) -> fileName.endsWith(".jar"));
+        if (jars == null) throw new IOException("The libraries directory doesn't exist: " + this.libraries.getAbsolutePath());
+
+        Arrays.sort(jars);
+        for (File jar : jars) {
+            entries.add(jar.getAbsolutePath());
+        }
+
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Determine the Java executable used to run this daemon, within its {@link #resolveJavaHome() Java home}.
+     *
+     * @return The Java executable.
+     * @throws IOException If the Java executable doesn't exist.
+     */
+    private File findJavaExecutable() throws IOException {
+        final File home = this.resolveJavaHome();
+
+        final File windowsExecutable = new File(home, "bin/java.exe");
+        if (windowsExecutable.exists()) return windowsExecutable;
+
+        final File executable = new File(home, "bin/java");
+        if (executable.exists()) return executable;
+
+        throw new IOException("Can not start the " + this.name + " daemon because there is no Java executable in "
+                + home.getAbsolutePath() + ". Define the JDK of the Java snippet executor in the options or the JAVA_HOME environment variable");
+    }
+}
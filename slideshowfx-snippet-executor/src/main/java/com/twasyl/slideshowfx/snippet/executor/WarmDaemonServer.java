@@ -0,0 +1,216 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Entry point of the JVM started by a {@link WarmDaemon}. The daemon reads requests on its standard input, one per
+ * line, and executes them one after the other within the same JVM, so the classes of the compiler stay loaded and
+ * optimized between executions. This class only depends on the Java platform because it is launched with the
+ * libraries of a language SDK.
+ * <p>
+ * Requests and responses are lines made of fields separated by spaces, each field being encoded in Base64:
+ * <ul>
+ *     <li>{@code PING} is answered by {@code PONG};</li>
+ *     <li>{@code CALL classpath className methodName args...} loads the class from the given classpath, whose entries
+ *     are separated by {@link File#pathSeparator}, and calls its method. Each line written by the method is sent as
+ *     {@code OUT line} and the end of the call as {@code EXIT code}.</li>
+ * </ul>
+ * The daemon stops when its standard input is closed.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public final class WarmDaemonServer {
+    static final String PING = "PING";
+    static final String PONG = "PONG";
+    static final String CALL = "CALL";
+    static final String OUT = "OUT";
+    static final String EXIT = "EXIT";
+
+    private final PrintStream responses;
+
+    private WarmDaemonServer(final PrintStream responses) {
+        this.responses = responses;
+    }
+
+    public static void main(String[] args) throws IOException {
+        final PrintStream responses = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        final WarmDaemonServer server = new WarmDaemonServer(responses);
+
+        final LineStream outputLines = new LineStream(server);
+        final PrintStream output = new PrintStream(outputLines, true);
+        System.setOut(output);
+        System.setErr(output);
+
+        try (final BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            String request;
+
+            while ((request = requests.readLine()) != null) {
+                final String[] fields = decode(request);
+
+                if (fields.length == 1 && PING.equals(fields[0])) {
+                    server.respond(PONG);
+                } else if (fields.length >= 4 && CALL.equals(fields[0])) {
+                    final int code = server.call(fields[1], fields[2], fields[3], Arrays.copyOfRange(fields, 4, fields.length));
+                    output.flush();
+                    outputLines.sendPendingLine();
+                    server.respond(EXIT, String.valueOf(code));
+                }
+            }
+        }
+    }
+
+    /**
+     * Call the given method. The method is either a static method taking a {@code String[]}, like a {@code main}
+     * method, or an instance method taking a {@link PrintStream}, receiving the error output, and a {@code String[]},
+     * called on an instance created with the constructor without parameters.
+     *
+     * @return The exit code of the call.
+     */
+    private int call(final String classpath, final String className, final String methodName, final String[] args) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previousClassLoader = thread.getContextClassLoader();
+
+        try (final URLClassLoader classLoader = new URLClassLoader(toUrls(classpath), WarmDaemonServer.class.getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+
+            final Class<?> type = Class.forName(className, true, classLoader);
+
+            try {
+                final Method method = type.getMethod(methodName, String[].class);
+                if (!Modifier.isStatic(method.getModifiers())) throw new NoSuchMethodException(methodName);
+
+                return exitCode(method.invoke(null, (Object) args));
+            } catch (NoSuchMethodException e) {
+                final Method method = type.getMethod(methodName, PrintStream.class, String[].class);
+                final Object instance = type.getConstructor().newInstance();
+
+                return exitCode(method.invoke(instance, System.err, args));
+            }
+        } catch (InvocationTargetException e) {
+            e.getCause().printStackTrace();
+            return 1;
+        } catch (ReflectiveOperationException | IOException | RuntimeException | LinkageError e) {
+            e.printStackTrace();
+            return 1;
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    private static int exitCode(final Object result) throws ReflectiveOperationException {
+        if (result instanceof Number) {
+            return ((Number) result).intValue();
+        } else if (result instanceof Boolean) {
+            return (Boolean) result ? 0 : 1;
+        } else if (result instanceof Enum) {
+            // Compilers commonly return an enum having a code, like ExitCode.OK
+            return exitCode(result.getClass().getMethod("getCode").invoke(result));
+        }
+
+        return 0;
+    }
+
+    private static URL[] toUrls(final String classpath) throws IOException {
+        if (classpath.isEmpty()) return new URL[0];
+
+        final String[] entries = classpath.split(File.pathSeparator);
+        final URL[] urls = new URL[entries.length];
+
+        for (int index = 0; index < entries.length; index++) {
+            urls[index] = new File(entries[index]).toURI().toURL();
+        }
+
+        return urls;
+    }
+
+    private synchronized void respond(final String... fields) {
+        this.responses.println(encode(fields));
+    }
+
+    /**
+     * Encode the given fields as a line of the protocol.
+     *
+     * @param fields The fields to encode.
+     * @return The encoded line.
+     */
+    static String encode(final String... fields) {
+        final StringBuilder line = new StringBuilder();
+
+        for (String field : fields) {
+            if (line.length() > 0) line.append(' ');
+            line.append(Base64.getEncoder().encodeToString(field.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * Decode a line of the protocol.
+     *
+     * @param line The line to decode.
+     * @return The decoded fields.
+     */
+    static String[] decode(final String line) {
+        if (line.isEmpty()) return new String[0];
+
+        final String[] fields = line.split(" ", -1);
+
+        for (int index = 0; index < fields.length; index++) {
+            fields[index] = new String(Base64.getDecoder().decode(fields[index]), StandardCharsets.UTF_8);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Stream sending each written line as an {@code OUT} response.
+     */
+    private static final class LineStream extends OutputStream {
+        private final WarmDaemonServer server;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        private LineStream(final WarmDaemonServer server) {
+            this.server = server;
+        }
+
+        @Override
+        public synchronized void write(final int b) {
+            if (b == '\n') {
+                this.sendLine();
+            } else if (b != '\r') {
+                this.line.write(b);
+            }
+        }
+
+        /**
+         * Send the line being written, if any. Called at the end of each call.
+         */
+        synchronized void sendPendingLine() {
+            if (this.line.size() > 0) {
+                this.sendLine();
+            }
+        }
+
+        private void sendLine() {
+            this.server.respond(OUT, this.line.toString(Charset.defaultCharset()));
+            this.line.reset();
+        }
+    }
+}
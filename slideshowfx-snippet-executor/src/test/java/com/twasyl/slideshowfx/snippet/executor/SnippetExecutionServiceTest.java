@@ -0,0 +1,157 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link SnippetExecutionService}.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class SnippetExecutionServiceTest {
+
+    private static final String JAVA = new File(System.getProperty("java.home"), "bin/java").getAbsolutePath();
+
+    private final SnippetExecutionService service = new SnippetExecutionService(2, 4, Duration.ofSeconds(5),
+            Duration.ofSeconds(5), 1000);
+
+    @Test
+    public void workspacesAreIsolatedAndDeleted() {
+        final AtomicReference<File> first = new AtomicReference<>();
+        final AtomicReference<File> second = new AtomicReference<>();
+
+        service.submit("first", FXCollections.observableArrayList(), execution -> {
+            first.set(execution.getWorkspace());
+            execution.createFile("Snippet.java", "");
+        }).join();
+        service.submit("second", FXCollections.observableArrayList(), execution -> second.set(execution.getWorkspace())).join();
+
+        assertNotEquals(first.get(), second.get());
+        assertFalse(first.get().exists());
+        assertFalse(second.get().exists());
+        assertEquals(2, service.getCompletedExecutions());
+    }
+
+    @Test
+    public void processOutputIsAddedToConsole() {
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final AtomicReference<Integer> exitValue = new AtomicReference<>();
+
+        service.submit("version", consoleOutput, execution -> exitValue.set(execution.runProcess(JAVA, "-version"))).join();
+
+        assertEquals(0, exitValue.get());
+        assertFalse(consoleOutput.isEmpty());
+    }
+
+    @Test
+    public void outputIsTruncated() {
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final AtomicReference<Boolean> truncated = new AtomicReference<>();
+
+        service.submit("flood", consoleOutput, execution -> {
+            execution.createFile("Flood.java", "public class Flood { public static void main(String[] args) { " +
+                    "while (true) System.out.println(\"SlideshowFX\"); } }");
+            execution.runProcess(JAVA, "Flood.java");
+            truncated.set(execution.isOutputTruncated());
+        }).join();
+
+        assertTrue(truncated.get());
+        assertTrue(consoleOutput.get(consoleOutput.size() - 1).startsWith("ERROR: the output has been truncated"));
+    }
+
+    @Test
+    public void processIsKilledOnTimeout() {
+        final SnippetExecutionService shortService = new SnippetExecutionService(1, 1, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), 100);
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final AtomicReference<Integer> exitValue = new AtomicReference<>();
+
+        shortService.submit("sleep", consoleOutput, execution -> {
+            execution.createFile("Sleep.java", "public class Sleep { public static void main(String[] args) " +
+                    "throws Exception { Thread.sleep(60_000); } }");
+            exitValue.set(execution.runProcess(JAVA, "Sleep.java"));
+        }).join();
+
+        assertEquals(-1, exitValue.get());
+        assertEquals(1, shortService.getTimedOutExecutions());
+        assertTrue(consoleOutput.get(0).startsWith("ERROR: the execution has been stopped"));
+    }
+
+    @Test
+    public void rejectionIsAddedToConsoleBeforeReturning() throws InterruptedException {
+        final SnippetExecutionService busyService = new SnippetExecutionService(1, 1, Duration.ofSeconds(5),
+                Duration.ofSeconds(5), 100);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Void> first = busyService.submit("running", FXCollections.observableArrayList(), execution -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        final CompletableFuture<Void> second = busyService.submit("queued", FXCollections.observableArrayList(), execution -> {
+        });
+
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final CompletableFuture<Void> rejected = busyService.submit("rejected", consoleOutput, execution -> {
+        });
+
+        assertTrue(rejected.isDone());
+        assertEquals(1, consoleOutput.size());
+        assertTrue(consoleOutput.get(0).startsWith("ERROR: too many snippets"));
+
+        release.countDown();
+        CompletableFuture.allOf(first, second).join();
+
+        assertEquals(1, busyService.getRejectedExecutions());
+    }
+
+    @Test
+    public void warmUpDoesNotHoldWorkers() throws InterruptedException {
+        final SnippetExecutionService busyService = new SnippetExecutionService(1, 1, Duration.ofSeconds(5),
+                Duration.ofSeconds(5), 100);
+        final CountDownLatch warmingUp = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Void> warmUp = busyService.warmUp("warm-up", execution -> {
+            warmingUp.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        warmingUp.await();
+
+        final AtomicReference<File> workspace = new AtomicReference<>();
+        busyService.submit("execution", FXCollections.observableArrayList(), execution -> workspace.set(execution.getWorkspace())).join();
+
+        assertNotNull(workspace.get());
+        assertFalse(warmUp.isDone());
+        assertEquals(1, busyService.getCompletedExecutions());
+
+        release.countDown();
+        warmUp.join();
+        assertEquals(1, busyService.getCompletedExecutions());
+    }
+
+    @Test
+    public void submitWithNullTask() {
+        assertThrows(NullPointerException.class, () -> service.submit("null", FXCollections.observableArrayList(), null));
+    }
+}
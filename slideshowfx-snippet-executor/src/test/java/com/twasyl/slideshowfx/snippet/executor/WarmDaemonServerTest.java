@@ -0,0 +1,36 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests the protocol of the class {@link WarmDaemonServer}.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class WarmDaemonServerTest {
+
+    @Test
+    public void encodeAndDecode() {
+        final String[] fields = {WarmDaemonServer.CALL, "", "Snippet", "main", "with spaces", "with\nnew line", "\u00e9"};
+
+        assertArrayEquals(fields, WarmDaemonServer.decode(WarmDaemonServer.encode(fields)));
+    }
+
+    @Test
+    public void encodedLineIsSingleLine() {
+        final String line = WarmDaemonServer.encode(WarmDaemonServer.OUT, "first\nsecond\r\n");
+
+        assertFalse(line.contains("\n"));
+        assertFalse(line.contains("\r"));
+    }
+
+    @Test
+    public void decodeEmptyLine() {
+        assertArrayEquals(new String[0], WarmDaemonServer.decode(""));
+    }
+}
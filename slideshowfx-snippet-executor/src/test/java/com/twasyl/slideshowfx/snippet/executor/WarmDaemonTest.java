@@ -0,0 +1,128 @@
+package com.twasyl.slideshowfx.snippet.executor;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link WarmDaemon} against a real {@link WarmDaemonServer}.
+ *
+ * @author Thierry Wasylczenko
+ * @version 1.0-SNAPSHOT
+ * @since SlideshowFX @@NEXT-VERSION@@
+ */
+public class WarmDaemonTest {
+
+    @TempDir
+    Path libraries;
+
+    private final SnippetExecutionService service = new SnippetExecutionService(2, 4, Duration.ofSeconds(20),
+            Duration.ofSeconds(20), 1000);
+    private final SnippetExecutionService shortService = new SnippetExecutionService(1, 1, Duration.ofSeconds(1),
+            Duration.ofSeconds(1), 1000);
+
+    private WarmDaemon daemon;
+    private List<File> classpath;
+
+    /**
+     * Methods called within the daemon.
+     */
+    public static class Snippet {
+
+        public static int greet(final String[] args) {
+            System.out.println("Hello " + String.join(" ", args));
+            return args.length;
+        }
+
+        public static void sleep(final String[] args) throws InterruptedException {
+            Thread.sleep(Long.parseLong(args[0]));
+        }
+    }
+
+    @BeforeEach
+    public void before() throws URISyntaxException {
+        this.daemon = new WarmDaemon("test", this.libraries.toFile());
+        this.classpath = List.of(new File(WarmDaemonTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+    }
+
+    @AfterEach
+    public void after() {
+        this.daemon.stop();
+    }
+
+    private int call(final SnippetExecutionService executionService, final ObservableList<String> consoleOutput,
+                     final AtomicBoolean timedOut, final String methodName, final String... args) {
+        final AtomicInteger exitCode = new AtomicInteger(Integer.MIN_VALUE);
+
+        executionService.submit(methodName, consoleOutput, execution -> {
+            exitCode.set(this.daemon.call(execution, this.classpath, Snippet.class.getName(), methodName, args));
+            timedOut.set(execution.isTimedOut());
+        }).join();
+
+        return exitCode.get();
+    }
+
+    @Test
+    public void roundTrip() {
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final AtomicBoolean timedOut = new AtomicBoolean();
+
+        assertEquals(2, this.call(this.service, consoleOutput, timedOut, "greet", "Slideshow", "FX"));
+        assertTrue(consoleOutput.contains("Hello Slideshow FX"));
+        assertFalse(timedOut.get());
+    }
+
+    @Test
+    public void daemonIsReused() {
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+        final AtomicBoolean timedOut = new AtomicBoolean();
+
+        assertEquals(1, this.call(this.service, consoleOutput, timedOut, "greet", "first"));
+        assertEquals(1, this.call(this.service, consoleOutput, timedOut, "greet", "second"));
+        assertTrue(consoleOutput.contains("Hello first"));
+        assertTrue(consoleOutput.contains("Hello second"));
+    }
+
+    @Test
+    public void callTimesOutWhileDaemonIsBusy() throws InterruptedException {
+        final AtomicBoolean timedOut = new AtomicBoolean();
+
+        // Start the daemon so that the busy call below holds the daemon right away
+        this.call(this.service, FXCollections.observableArrayList(), timedOut, "greet");
+
+        final CompletableFuture<Integer> busy = CompletableFuture.supplyAsync(() ->
+                this.call(this.service, FXCollections.observableArrayList(), new AtomicBoolean(), "sleep", "4000"));
+        Thread.sleep(500);
+
+        final long start = System.nanoTime();
+        assertEquals(-1, this.call(this.shortService, FXCollections.observableArrayList(), timedOut, "greet"));
+        assertTrue(timedOut.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+
+        assertEquals(0, (int) busy.join());
+    }
+
+    @Test
+    public void missingJavaExecutableIsReported() {
+        this.daemon = new WarmDaemon("test", this.libraries.toFile(), this.libraries.toFile());
+        final ObservableList<String> consoleOutput = FXCollections.observableArrayList();
+
+        assertEquals(Integer.MIN_VALUE, this.call(this.service, consoleOutput, new AtomicBoolean(), "greet"));
+        assertEquals(1, consoleOutput.size());
+        assertTrue(consoleOutput.get(0).startsWith("ERROR: Can not start the test daemon because there is no Java executable"));
+    }
+}
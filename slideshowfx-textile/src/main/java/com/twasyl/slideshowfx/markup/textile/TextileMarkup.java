@@ -24,6 +24,11 @@ import java.util.logging.Logger;
 public class TextileMarkup extends AbstractMarkup {
     private static final Logger LOGGER = Logger.getLogger(TextileMarkup.class.getName());
 
+    /**
+     * Parsers are not thread-safe but can be reused: each thread gets its own parser.
+     */
+    private final ThreadLocal<MarkupParser> parsers = ThreadLocal.withInitial(() -> new MarkupParser(new TextileLanguage()));
+
     public TextileMarkup() {
         super("TEXTILE", "Textile", "ace/mode/textile");
     }
@@ -45,9 +50,16 @@ public class TextileMarkup extends AbstractMarkup {
 
         try (final StringWriter writer = new StringWriter()) {
             final DocumentBuilder builder = new HtmlDocumentBuilder(writer);
-            final MarkupParser parser = new MarkupParser(new TextileLanguage(), builder);
+            final MarkupParser parser = this.parsers.get();
+            parser.setBuilder(builder);
+
+            try {
+                parser.parse(markupString, false);
+            } finally {
+                // The parser is reused by this thread, it must not keep a reference to the writer
+                parser.setBuilder(null);
+            }
 
-            parser.parse(markupString, false);
             builder.flush();
             writer.flush();
 
@@ -3,6 +3,8 @@ package com.twasyl.slideshowfx.markup.textile;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -74,4 +76,10 @@ public class TextileMarkupTest {
 
         assertEquals("<table><tr><th>Column 1</th><th>Column 2</th></tr><tr><td>Value 1</td><td>Value 2</td></tr></table>", result);
     }
+
+    @Test
+    public void generateConcurrently() {
+        IntStream.range(0, 100).parallel().forEach(index ->
+                assertEquals("<h1 id=\"Title" + index + "\">Title " + index + "</h1>", markup.convertAsHtml("h1. Title " + index)));
+    }
 }
@@ -2,6 +2,9 @@ package com.twasyl.slideshowfx.utils;
 
 import freemarker.template.Configuration;
 
+import java.io.File;
+import java.io.IOException;
+
 import static com.twasyl.slideshowfx.global.configuration.GlobalConfiguration.getDefaultCharset;
 
 /**
@@ -33,6 +36,24 @@ public class TemplateProcessor {
         return configurationSingleton;
     }
 
+    /**
+     * This method creates a new {@link freemarker.template.Configuration} loading templates from the given directory.
+     * Contrary to {@link #getDefaultConfiguration()}, the returned configuration is not shared and can safely be used
+     * concurrently with configurations loading templates from other directories.
+     *
+     * @param directoryForTemplateLoading The directory templates are loaded from.
+     * @return A never {code null} Configuration object.
+     * @throws IOException If the directory can not be used for loading templates.
+     */
+    public static Configuration createConfiguration(final File directoryForTemplateLoading) throws IOException {
+        final Configuration configuration = new Configuration(Configuration.VERSION_2_3_23);
+        configuration.setIncompatibleImprovements(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
+        configuration.setDefaultEncoding(getDefaultCharset().displayName());
+        configuration.setDirectoryForTemplateLoading(directoryForTemplateLoading);
+
+        return configuration;
+    }
+
     /**
      * This method returns a {@link freemarker.template.Configuration} as a singleton object, as recommended in the
      * freemarker documentation.
@@ -1,17 +1,34 @@
 package com.twasyl.slideshowfx.utils;
 
+import com.twasyl.slideshowfx.utils.io.IOUtils;
 import com.twasyl.slideshowfx.utils.io.ListFilesFileVisitor;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.util.List;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipError;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.FINEST;
+import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
 
 /**
  * This class provides utility methods for working with Zip files.
@@ -22,6 +39,26 @@ public class ZipUtils {
 
     private static final Logger LOGGER = Logger.getLogger(ZipUtils.class.getName());
 
+    /**
+     * Executor extracting large entries in the background. It has its own thread so that blocking I/O doesn't occupy
+     * the common pool which is used for rendering.
+     */
+    private static final ExecutorService DEFERRED_EXTRACTION_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "zip-deferred-extraction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Suffix of the temporary files into which entries are extracted before being moved to their final location.
+     */
+    private static final String PARTIAL_FILE_SUFFIX = ".part";
+
+    /**
+     * Precision, in milliseconds, of the modification time of the entries of ZIP archives.
+     */
+    private static final long ZIP_TIME_PRECISION = 2000;
+
     private ZipUtils() {
     }
 
@@ -104,6 +141,215 @@ public class ZipUtils {
         zipReader.close();
     }
 
+    /**
+     * Unzip the given archive into the provided destination by using the index of the archive. Entries which uncompressed
+     * size is lower than {@code deferredEntriesMinSize} are extracted before this method returns. Bigger entries, like
+     * videos or high resolution images, are extracted in the background by a dedicated thread and the returned
+     * {@link CompletableFuture} is completed when all of them are extracted.
+     * Each file is written into a temporary file which is then moved to its final location, so that a file present in
+     * the destination is always complete.
+     * If the destination does not exist it is created.
+     *
+     * @param archive                The archive file to unzip.
+     * @param destination            The destination directory where the archive will be unzipped.
+     * @param deferredEntriesMinSize The minimal uncompressed size, in bytes, of entries extracted in the background.
+     * @return A {@link CompletableFuture} completed when all deferred entries have been extracted.
+     * @throws IOException          If the archive file does not exist or an entry can not be extracted.
+     * @throws NullPointerException If the archive file or the destination is null.
+     * @see #unzipMissingLargeEntries(File, File, long)
+     */
+    public static CompletableFuture<Void> unzipDeferringLargeEntries(File archive, File destination, long deferredEntriesMinSize) throws IOException {
+        return unzipDeferringLargeEntries(archive, destination, deferredEntriesMinSize, file -> {});
+    }
+
+    /**
+     * Unzip the given archive into the provided destination like {@link #unzipDeferringLargeEntries(File, File, long)}
+     * does, and notify the given {@code listener} each time a large entry has been extracted in the background. The
+     * listener is called by the thread extracting the entries.
+     *
+     * @param archive                The archive file to unzip.
+     * @param destination            The destination directory where the archive will be unzipped.
+     * @param deferredEntriesMinSize The minimal uncompressed size, in bytes, of entries extracted in the background.
+     * @param listener               The listener receiving each file extracted in the background.
+     * @return A {@link CompletableFuture} completed when all deferred entries have been extracted.
+     * @throws IOException          If the archive file does not exist or an entry can not be extracted.
+     * @throws NullPointerException If the archive file, the destination or the listener is null.
+     */
+    public static CompletableFuture<Void> unzipDeferringLargeEntries(File archive, File destination, long deferredEntriesMinSize,
+                                                                     Consumer<File> listener) throws IOException {
+        return unzipDeferringLargeEntries(archive, destination, deferredEntriesMinSize, listener, DEFERRED_EXTRACTION_EXECUTOR);
+    }
+
+    /**
+     * Unzip the given archive into the provided destination like
+     * {@link #unzipDeferringLargeEntries(File, File, long, Consumer)} does, but large entries are extracted by the given
+     * {@code executor}. An entry that can not be extracted doesn't prevent the next ones from being extracted, and the
+     * returned {@link CompletableFuture} is then completed exceptionally once all entries have been processed.
+     * A large entry which file already exists in the destination when it is about to be extracted is skipped, so that a
+     * file modified in the meantime is never overwritten.
+     *
+     * @param archive                The archive file to unzip.
+     * @param destination            The destination directory where the archive will be unzipped.
+     * @param deferredEntriesMinSize The minimal uncompressed size, in bytes, of entries extracted in the background.
+     * @param listener               The listener receiving each file extracted in the background.
+     * @param executor               The executor extracting the large entries.
+     * @return A {@link CompletableFuture} completed when all deferred entries have been extracted.
+     * @throws IOException          If the archive file does not exist or an entry can not be extracted.
+     * @throws NullPointerException If the archive file, the destination, the listener or the executor is null.
+     */
+    public static CompletableFuture<Void> unzipDeferringLargeEntries(File archive, File destination, long deferredEntriesMinSize,
+                                                                     Consumer<File> listener, Executor executor) throws IOException {
+        if (archive == null) throw new NullPointerException("The ZIP file can not be null");
+        if (!archive.exists()) throw new FileNotFoundException("The ZIP file does not exist");
+        if (destination == null) throw new NullPointerException("The destination can not be null");
+        if (listener == null) throw new NullPointerException("The listener can not be null");
+        if (executor == null) throw new NullPointerException("The executor can not be null");
+
+        if (!destination.exists() && !destination.mkdirs()) {
+            throw new IOException("Can not create destination folder");
+        }
+
+        LOGGER.log(FINE, "Extracting file {0}", archive.toURI().toASCIIString());
+
+        final ZipFile zipFile = new ZipFile(archive);
+        final List<ZipEntry> deferredEntries = new ArrayList<>();
+
+        try {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+
+                if (!entry.isDirectory() && entry.getSize() >= deferredEntriesMinSize) {
+                    deferredEntries.add(entry);
+                } else {
+                    extractEntry(zipFile, entry, destination);
+                }
+            }
+        } catch (IOException e) {
+            zipFile.close();
+            throw e;
+        }
+
+        if (deferredEntries.isEmpty()) {
+            zipFile.close();
+            LOGGER.fine("Extraction done");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        LOGGER.log(FINE, "Extracting {0} large entries in the background", deferredEntries.size());
+
+        return CompletableFuture.runAsync(() -> {
+            IOException failure = null;
+
+            try (zipFile) {
+                for (ZipEntry entry : deferredEntries) {
+                    final File extractedFile = new File(destination, entry.getName());
+
+                    if (extractedFile.exists()) {
+                        LOGGER.log(FINE, "Skipping entry {0} which already exists", entry.getName());
+                        continue;
+                    }
+
+                    try {
+                        extractEntry(zipFile, entry, destination);
+                    } catch (IOException e) {
+                        LOGGER.log(SEVERE, "Can not extract entry " + entry.getName(), e);
+                        if (failure == null) failure = e;
+                        else failure.addSuppressed(e);
+                        continue;
+                    }
+
+                    try {
+                        listener.accept(extractedFile);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(WARNING, "Can not notify the extraction of entry " + entry.getName(), e);
+                    }
+                }
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+
+            if (failure != null) throw new UncheckedIOException(failure);
+            LOGGER.fine("Extraction of large entries done");
+        }, executor);
+    }
+
+    /**
+     * Extract the entries of the given archive which uncompressed size is at least {@code minSize} and which aren't
+     * present in the destination. This allows to recover from a failed
+     * {@link #unzipDeferringLargeEntries(File, File, long) deferred extraction} without overwriting files that may have
+     * been modified in the destination since then.
+     *
+     * @param archive     The archive file to unzip.
+     * @param destination The destination directory where the archive has been unzipped.
+     * @param minSize     The minimal uncompressed size, in bytes, of the entries to extract.
+     * @throws IOException          If the archive file does not exist or an entry can not be extracted.
+     * @throws NullPointerException If the archive file or the destination is null.
+     */
+    public static void unzipMissingLargeEntries(File archive, File destination, long minSize) throws IOException {
+        if (archive == null) throw new NullPointerException("The ZIP file can not be null");
+        if (!archive.exists()) throw new FileNotFoundException("The ZIP file does not exist");
+        if (destination == null) throw new NullPointerException("The destination can not be null");
+
+        try (final ZipFile zipFile = new ZipFile(archive)) {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+
+                if (!entry.isDirectory() && entry.getSize() >= minSize && !new File(destination, entry.getName()).exists()) {
+                    extractEntry(zipFile, entry, destination);
+                }
+            }
+        }
+    }
+
+    /**
+     * Extract a single entry of the given {@link ZipFile} into the provided destination. Entries that are not located
+     * within the destination are skipped. Files are extracted into a temporary sibling file which is then moved to its
+     * final location, so that readers never see a partially written file. The modification time of the entry is kept
+     * so that an archive updated {@link #zipIncrementally(File, File) incrementally} knows the file is unchanged.
+     *
+     * @param zipFile     The archive containing the entry.
+     * @param entry       The entry to extract.
+     * @param destination The destination directory where the entry will be extracted.
+     * @throws IOException If the entry can not be extracted.
+     */
+    private static void extractEntry(final ZipFile zipFile, final ZipEntry entry, final File destination) throws IOException {
+        final File extractedFile = new File(destination, entry.getName());
+
+        if (isFileInParent(extractedFile, destination)) {
+            LOGGER.fine("Extracting file: " + extractedFile.getAbsolutePath());
+
+            if (entry.isDirectory()) {
+                if (!extractedFile.exists() && !extractedFile.mkdirs()) {
+                    throw new IOException("Can not create folder");
+                }
+            } else {
+                // Ensure to create the parents directories
+                if (!extractedFile.getParentFile().exists() && !extractedFile.getParentFile().mkdirs()) {
+                    throw new IOException("Can not create the parent folder");
+                }
+
+                final Path partialFile = extractedFile.toPath().resolveSibling(extractedFile.getName() + PARTIAL_FILE_SUFFIX);
+
+                try (final var entryInputStream = zipFile.getInputStream(entry)) {
+                    Files.copy(entryInputStream, partialFile, REPLACE_EXISTING);
+                    if (entry.getLastModifiedTime() != null) {
+                        Files.setLastModifiedTime(partialFile, entry.getLastModifiedTime());
+                    }
+                    IOUtils.moveAtomically(partialFile, extractedFile.toPath());
+                } finally {
+                    Files.deleteIfExists(partialFile);
+                }
+            }
+        } else {
+            LOGGER.severe("Skipping unzipping entry " + entry.getName() + " as it isn't in the destination");
+        }
+    }
+
     /**
      * Compress the given fileToZip into the given destination. This method manages if the fileToZip is a folder or a simple file.
      *
@@ -125,8 +371,6 @@ public class ZipUtils {
         try (final var zipOutput = new ZipOutputStream(new FileOutputStream(destination))) {
             ZipEntry entry;
             String entryName;
-            final var buffer = new byte[1024];
-            int length;
 
             final String prefixToDelete;
             if (fileToZip.isDirectory()) {
@@ -150,9 +394,7 @@ public class ZipUtils {
                     zipOutput.putNextEntry(entry);
 
                     try (final var fileInput = new FileInputStream(file)) {
-                        while ((length = fileInput.read(buffer)) > 0) {
-                            zipOutput.write(buffer, 0, length);
-                        }
+                        fileInput.transferTo(zipOutput);
                     }
                 }
             }
@@ -164,6 +406,162 @@ public class ZipUtils {
         LOGGER.fine("File compressed");
     }
 
+    /**
+     * Compress the content of the given directory into the given destination by only compressing what changed since
+     * the destination has been written. If the destination already exists, it is updated in place: entries of files
+     * which are unchanged are kept as is, without being compressed again. A file is unchanged if it has the same size
+     * and modification time than its entry and hasn't been modified since the destination has been written, otherwise
+     * its checksum is compared with the one of its entry. New and modified files are
+     * compressed concurrently and entries of files that don't exist anymore are removed. The unchanged entries are
+     * copied without being decompressed when the archive is written.
+     * The update is applied to a temporary copy of the destination which then replaces the destination, so that the
+     * destination is never left partially written. If the destination can not be updated, for instance because it is
+     * corrupted, a new archive is written into the temporary file instead.
+     *
+     * @param directory   The directory to compress.
+     * @param destination The destination into the content will be compressed.
+     * @throws NullPointerException  If the directory or the destination is null.
+     * @throws FileNotFoundException If the directory does not exist.
+     * @throws IOException           If the archive can not be written.
+     */
+    public static void zipIncrementally(File directory, File destination) throws IOException {
+        if (directory == null) throw new NullPointerException("The directory to zip can not be null");
+        if (!directory.exists()) throw new FileNotFoundException("The directory to zip does not exist");
+        if (destination == null) throw new NullPointerException("The destination can not be null");
+
+        final Path source = directory.toPath().toAbsolutePath();
+        final Path target = destination.toPath().toAbsolutePath();
+        final Path temporaryArchive = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            Files.deleteIfExists(temporaryArchive);
+
+            if (Files.exists(target)) {
+                // The modification time of the destination is kept as it tells which files may have changed
+                Files.copy(target, temporaryArchive, COPY_ATTRIBUTES);
+
+                try {
+                    updateArchive(source, temporaryArchive);
+                } catch (IOException | ZipError e) {
+                    LOGGER.log(FINE, "Can not update the previous archive, creating a new one", e);
+
+                    Files.deleteIfExists(temporaryArchive);
+                    updateArchive(source, temporaryArchive);
+                }
+            } else {
+                updateArchive(source, temporaryArchive);
+            }
+
+            IOUtils.moveAtomically(temporaryArchive, target);
+        } finally {
+            Files.deleteIfExists(temporaryArchive);
+        }
+
+        LOGGER.fine("File compressed");
+    }
+
+    /**
+     * Update the given archive, created if it doesn't exist, with the content of the given directory.
+     *
+     * @param directory The directory to compress.
+     * @param archive   The archive to update.
+     * @throws IOException If the archive can not be updated.
+     */
+    private static void updateArchive(final Path directory, final Path archive) throws IOException {
+        final FileTime archiveTime = Files.exists(archive) ? Files.getLastModifiedTime(archive) : null;
+        final List<Path> files;
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(path -> !path.equals(directory)).collect(Collectors.toList());
+        }
+
+        try (final FileSystem zipFileSystem = FileSystems.newFileSystem(archive, Map.of("create", "true"))) {
+            final Path root = zipFileSystem.getPath("/");
+            final Set<String> expectedEntries = new HashSet<>();
+            final List<Path> regularFiles = new ArrayList<>();
+
+            // Directories are created first so that files can be compressed concurrently
+            for (Path file : files) {
+                final String entryName = directory.relativize(file).toString().replace(File.separator, "/");
+                expectedEntries.add(entryName);
+
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(root.resolve(entryName));
+                } else {
+                    regularFiles.add(file);
+                }
+            }
+
+            try {
+                regularFiles.parallelStream().forEach(file -> {
+                    final Path entry = root.resolve(directory.relativize(file).toString().replace(File.separator, "/"));
+
+                    try {
+                        if (isEntryUpToDate(file, entry, archiveTime)) {
+                            LOGGER.log(FINEST, "Entry up to date: {0}", entry);
+                        } else {
+                            LOGGER.fine("Compressing file: " + file);
+                            Files.copy(file, entry, REPLACE_EXISTING);
+                            Files.setLastModifiedTime(entry, Files.getLastModifiedTime(file));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            // Remove entries of files that don't exist anymore, deepest entries first
+            final List<Path> obsoleteEntries;
+            try (final Stream<Path> walk = Files.walk(root)) {
+                obsoleteEntries = walk.filter(entry -> !entry.equals(root))
+                        .filter(entry -> !expectedEntries.contains(root.relativize(entry).toString().replaceAll("/$", "")))
+                        .sorted(Comparator.comparingInt(Path::getNameCount).reversed())
+                        .collect(Collectors.toList());
+            }
+
+            for (Path entry : obsoleteEntries) {
+                LOGGER.log(FINEST, "Removing entry: {0}", entry);
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    /**
+     * Indicates if the given entry of an archive has the same content than the given file. The entry is considered
+     * up to date if it has the same size and the same modification time than the file, and if the file has been
+     * modified before the archive was written, without reading the file. Because of the 2 seconds precision of ZIP
+     * archives, a file modified within that delay before the archive was written may have been modified again without
+     * its modification time changing: in that case the entry is considered up to date if it has the same checksum than
+     * the file.
+     *
+     * @param file        The file to compare the entry with.
+     * @param entry       The entry of the archive.
+     * @param archiveTime The modification time of the archive before it is updated, {@code null} if it didn't exist.
+     * @return {@code true} if the entry is up to date, {@code false} otherwise.
+     * @throws IOException If the file or the entry can not be read.
+     */
+    private static boolean isEntryUpToDate(final Path file, final Path entry, final FileTime archiveTime) throws IOException {
+        if (!Files.exists(entry) || Files.size(entry) != Files.size(file)) {
+            return false;
+        }
+
+        final long fileTime = Files.getLastModifiedTime(file).toMillis();
+        final long entryTime = Files.getLastModifiedTime(entry).toMillis();
+
+        if (archiveTime != null && Math.abs(fileTime - entryTime) < ZIP_TIME_PRECISION
+                && fileTime + ZIP_TIME_PRECISION < archiveTime.toMillis()) {
+            return true;
+        }
+
+        final CRC32 crc = new CRC32();
+        try (final var input = new CheckedInputStream(Files.newInputStream(file), crc)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return Objects.equals(Files.getAttribute(entry, "zip:crc"), crc.getValue());
+    }
+
     /**
      * Tests if the given file is contained within a given parent folder.
      *
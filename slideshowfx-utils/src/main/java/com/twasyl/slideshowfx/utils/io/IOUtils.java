@@ -1,12 +1,15 @@
 package com.twasyl.slideshowfx.utils.io;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.logging.Level.WARNING;
 
 /**
@@ -41,6 +44,21 @@ public class IOUtils {
         Files.walkFileTree(directory, new DeleteFileVisitor());
     }
 
+    /**
+     * Move the given file to the given target, replacing it, atomically if the file system supports it.
+     *
+     * @param source The file to move.
+     * @param target The location of the file once moved.
+     * @throws IOException If the file can not be moved.
+     */
+    public static void moveAtomically(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Reads a given {@link InputStream} and return it's content to a {@link String}. This method
      * uses the {@link DefaultCharsetReader} in order to read the resource.
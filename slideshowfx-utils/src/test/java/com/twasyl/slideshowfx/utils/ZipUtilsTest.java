@@ -13,18 +13,26 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class ZipUtilsTest {
 
     private static final Logger LOGGER = Logger.getLogger(ZipUtilsTest.class.getName());
 
+    private static final long ENTRY_TIME = 1_600_000_000_000L;
+
     private static File testResultsDir;
     private static File resourcesDir;
 
@@ -81,6 +89,146 @@ public class ZipUtilsTest {
         zip.delete();
     }
 
+    @Test
+    public void zipIncrementally() throws IOException {
+        final File directory = new File(testResultsDir, "toZipIncrementally");
+        final File zip = new File(testResultsDir, "zippedIncrementally.zip");
+        Files.createDirectories(new File(directory, "dir").toPath());
+        Files.write(new File(directory, "unchanged.txt").toPath(), "Unchanged".getBytes(UTF_8));
+        Files.write(new File(directory, "changed.txt").toPath(), "Original".getBytes(UTF_8));
+        Files.write(new File(directory, "dir/deleted.txt").toPath(), "Deleted".getBytes(UTF_8));
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        Files.write(new File(directory, "changed.txt").toPath(), "Changed content".getBytes(UTF_8));
+        Files.delete(new File(directory, "dir/deleted.txt").toPath());
+        Files.write(new File(directory, "added.txt").toPath(), "Added".getBytes(UTF_8));
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        try (final ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals("Unchanged", new String(zipFile.getInputStream(zipFile.getEntry("unchanged.txt")).readAllBytes(), UTF_8));
+            assertEquals("Changed content", new String(zipFile.getInputStream(zipFile.getEntry("changed.txt")).readAllBytes(), UTF_8));
+            assertEquals("Added", new String(zipFile.getInputStream(zipFile.getEntry("added.txt")).readAllBytes(), UTF_8));
+            assertNull(zipFile.getEntry("dir/deleted.txt"));
+            assertNotNull(zipFile.getEntry("dir/"));
+        }
+
+        assertFalse(new File(testResultsDir, "zippedIncrementally.zip.tmp").exists());
+
+        Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+        zip.delete();
+    }
+
+    @Test
+    public void zipIncrementallySameSizeChange() throws IOException {
+        final File directory = new File(testResultsDir, "toZipIncrementallySameSize");
+        final File zip = new File(testResultsDir, "zippedIncrementallySameSize.zip");
+        final File file = new File(directory, "file.txt");
+        Files.createDirectories(directory.toPath());
+        Files.write(file.toPath(), "Original".getBytes(UTF_8));
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        // Same length and same modification time, as if saved again within the precision of ZIP archives
+        final FileTime lastModifiedTime = Files.getLastModifiedTime(file.toPath());
+        Files.write(file.toPath(), "Modified".getBytes(UTF_8));
+        Files.setLastModifiedTime(file.toPath(), lastModifiedTime);
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        try (final ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals("Modified", new String(zipFile.getInputStream(zipFile.getEntry("file.txt")).readAllBytes(), UTF_8));
+        }
+
+        Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+        zip.delete();
+    }
+
+    @Test
+    public void zipIncrementallySkipsFilesOlderThanArchive() throws IOException {
+        final File directory = new File(testResultsDir, "toZipIncrementallyOlder");
+        final File zip = new File(testResultsDir, "zippedIncrementallyOlder.zip");
+        final File unchanged = new File(directory, "unchanged.txt");
+        final File changed = new File(directory, "changed.txt");
+        Files.createDirectories(directory.toPath());
+        Files.write(unchanged.toPath(), "Original".getBytes(UTF_8));
+        Files.write(changed.toPath(), "Original".getBytes(UTF_8));
+
+        final FileTime anHourAgo = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000);
+        Files.setLastModifiedTime(unchanged.toPath(), anHourAgo);
+        Files.setLastModifiedTime(changed.toPath(), anHourAgo);
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        // Only the modification time tells the files apart: the unchanged one is trusted without being read
+        Files.write(unchanged.toPath(), "Modified".getBytes(UTF_8));
+        Files.setLastModifiedTime(unchanged.toPath(), anHourAgo);
+        Files.write(changed.toPath(), "Modified".getBytes(UTF_8));
+        Files.setLastModifiedTime(zip.toPath(), FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        try (final ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals("Original", new String(zipFile.getInputStream(zipFile.getEntry("unchanged.txt")).readAllBytes(), UTF_8));
+            assertEquals("Modified", new String(zipFile.getInputStream(zipFile.getEntry("changed.txt")).readAllBytes(), UTF_8));
+        }
+
+        Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+        zip.delete();
+    }
+
+    @Test
+    public void zipIncrementallyFailureKeepsArchive() throws IOException {
+        final File directory = new File(testResultsDir, "toZipIncrementallyFailing");
+        final File zip = new File(testResultsDir, "zippedIncrementallyFailing.zip");
+        Files.createDirectories(directory.toPath());
+        Files.write(new File(directory, "changed.txt").toPath(), "Original".getBytes(UTF_8));
+
+        ZipUtils.zipIncrementally(directory, zip);
+        final byte[] archiveContent = Files.readAllBytes(zip.toPath());
+
+        Files.write(new File(directory, "changed.txt").toPath(), "Changed content".getBytes(UTF_8));
+        Files.write(new File(directory, "added.txt").toPath(), "Added".getBytes(UTF_8));
+
+        // A link to a file that doesn't exist can not be compressed, which makes the update fail partway through
+        try {
+            Files.createSymbolicLink(new File(directory, "broken.txt").toPath(), new File(directory, "missing.txt").toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+            zip.delete();
+            assumeTrue(false, "Symbolic links are not supported");
+        }
+
+        assertThrows(IOException.class, () -> ZipUtils.zipIncrementally(directory, zip));
+
+        assertArrayEquals(archiveContent, Files.readAllBytes(zip.toPath()));
+        assertFalse(new File(testResultsDir, "zippedIncrementallyFailing.zip.tmp").exists());
+
+        Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+        zip.delete();
+    }
+
+    @Test
+    public void zipIncrementallyCorruptedArchive() throws IOException {
+        final File directory = new File(testResultsDir, "toZipIncrementallyCorrupted");
+        final File zip = new File(testResultsDir, "zippedIncrementallyCorrupted.zip");
+        Files.createDirectories(directory.toPath());
+        Files.write(new File(directory, "file.txt").toPath(), "Content".getBytes(UTF_8));
+        Files.write(zip.toPath(), "Not an archive".getBytes(UTF_8));
+
+        ZipUtils.zipIncrementally(directory, zip);
+
+        try (final ZipFile zipFile = new ZipFile(zip)) {
+            assertEquals("Content", new String(zipFile.getInputStream(zipFile.getEntry("file.txt")).readAllBytes(), UTF_8));
+        }
+
+        assertFalse(new File(testResultsDir, "zippedIncrementallyCorrupted.zip.tmp").exists());
+
+        Files.walkFileTree(directory.toPath(), new DeleteFileVisitor());
+        zip.delete();
+    }
+
     @Test
     public void unzip() throws IOException {
         final File zip = new File(resourcesDir, "archive.zip");
@@ -117,6 +265,135 @@ public class ZipUtilsTest {
         Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
     }
 
+    @Test
+    public void unzipDeferringLargeEntries() throws IOException {
+        final File zip = new File(resourcesDir, "archive.zip");
+        final File unzippedFolder = new File(testResultsDir, "unzippedDeferred").toPath().toAbsolutePath().toFile();
+
+        // All files are bigger than 1 byte, so they are all extracted in the background
+        ZipUtils.unzipDeferringLargeEntries(zip, unzippedFolder, 1).join();
+
+        File unzippedFile = Paths.get(unzippedFolder.getAbsolutePath(), "dir", "otherDir").toFile();
+        assertTrue(unzippedFile.exists());
+        assertTrue(unzippedFile.isDirectory());
+
+        unzippedFile = Paths.get(unzippedFolder.getAbsolutePath(), "dir", "otherDir", "otherDirTest.html").toFile();
+        assertTrue(unzippedFile.exists());
+        assertTrue(unzippedFile.isFile());
+
+        unzippedFile = Paths.get(unzippedFolder.getAbsolutePath(), "dir", "dirTest.txt").toFile();
+        assertTrue(unzippedFile.exists());
+        assertTrue(unzippedFile.isFile());
+
+        unzippedFile = Paths.get(unzippedFolder.getAbsolutePath(), "test.html").toFile();
+        assertTrue(unzippedFile.exists());
+        assertTrue(unzippedFile.isFile());
+
+        unzippedFile = Paths.get(unzippedFolder.getAbsolutePath(), "test.txt").toFile();
+        assertTrue(unzippedFile.exists());
+        assertTrue(unzippedFile.isFile());
+
+        Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
+    }
+
+    @Test
+    public void unzipDeferringOnlyLargeEntries() throws IOException {
+        final File zip = createArchiveWithSmallAndLargeEntries("mixedEntries.zip");
+        final File unzippedFolder = new File(testResultsDir, "unzippedMixed").toPath().toAbsolutePath().toFile();
+        final List<Runnable> deferredTasks = new ArrayList<>();
+
+        final CompletableFuture<Void> extraction = ZipUtils.unzipDeferringLargeEntries(zip, unzippedFolder, 1024, file -> {}, deferredTasks::add);
+
+        assertTrue(new File(unzippedFolder, "small.txt").exists());
+        assertFalse(new File(unzippedFolder, "media/large.bin").exists());
+        assertFalse(extraction.isDone());
+        assertEquals(1, deferredTasks.size());
+
+        deferredTasks.forEach(Runnable::run);
+        extraction.join();
+
+        final File largeFile = new File(unzippedFolder, "media/large.bin");
+        assertTrue(largeFile.exists());
+        assertEquals(4096, largeFile.length());
+        assertEquals(ENTRY_TIME, Files.getLastModifiedTime(largeFile.toPath()).toMillis());
+        assertFalse(new File(unzippedFolder, "media/large.bin.part").exists());
+
+        Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
+    }
+
+    @Test
+    public void unzipDeferringLargeEntriesNotifiesExtractedFiles() throws IOException {
+        final File zip = createArchiveWithSmallAndLargeEntries("notifiedEntries.zip");
+        final File unzippedFolder = new File(testResultsDir, "unzippedNotified").toPath().toAbsolutePath().toFile();
+        final List<File> extractedFiles = new ArrayList<>();
+
+        ZipUtils.unzipDeferringLargeEntries(zip, unzippedFolder, 1024, extractedFiles::add, Runnable::run).join();
+
+        assertEquals(List.of(new File(unzippedFolder, "media/large.bin")), extractedFiles);
+
+        Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
+    }
+
+    @Test
+    public void unzipDeferringLargeEntriesKeepsExistingFiles() throws IOException {
+        final File zip = createArchiveWithSmallAndLargeEntries("existingEntries.zip");
+        final File unzippedFolder = new File(testResultsDir, "unzippedExisting").toPath().toAbsolutePath().toFile();
+        final List<Runnable> deferredTasks = new ArrayList<>();
+        final List<File> extractedFiles = new ArrayList<>();
+
+        final CompletableFuture<Void> extraction = ZipUtils.unzipDeferringLargeEntries(zip, unzippedFolder, 1024, extractedFiles::add, deferredTasks::add);
+
+        // The user modifies the file before the deferred extraction runs
+        final File largeFile = new File(unzippedFolder, "media/large.bin");
+        Files.createDirectories(largeFile.getParentFile().toPath());
+        Files.writeString(largeFile.toPath(), "Modified", UTF_8);
+
+        deferredTasks.forEach(Runnable::run);
+        extraction.join();
+
+        assertEquals("Modified", Files.readString(largeFile.toPath(), UTF_8));
+        assertTrue(extractedFiles.isEmpty());
+
+        Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
+    }
+
+    @Test
+    public void unzipMissingLargeEntries() throws IOException {
+        final File zip = createArchiveWithSmallAndLargeEntries("missingEntries.zip");
+        final File unzippedFolder = new File(testResultsDir, "unzippedMissing").toPath().toAbsolutePath().toFile();
+
+        // The deferred extraction never runs, as if it failed
+        ZipUtils.unzipDeferringLargeEntries(zip, unzippedFolder, 1024, file -> {}, task -> {});
+        Files.writeString(new File(unzippedFolder, "small.txt").toPath(), "Modified", UTF_8);
+
+        ZipUtils.unzipMissingLargeEntries(zip, unzippedFolder, 1024);
+
+        assertEquals(4096, new File(unzippedFolder, "media/large.bin").length());
+        assertEquals("Modified", Files.readString(new File(unzippedFolder, "small.txt").toPath(), UTF_8));
+
+        Files.walkFileTree(unzippedFolder.toPath(), new DeleteFileVisitor());
+    }
+
+    private static File createArchiveWithSmallAndLargeEntries(final String name) throws IOException {
+        final File zipFile = new File(testResultsDir, name);
+        zipFile.getParentFile().mkdirs();
+        zipFile.deleteOnExit();
+
+        try (final ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            outputStream.putNextEntry(new ZipEntry("small.txt"));
+            outputStream.write("Small".getBytes(UTF_8));
+            outputStream.closeEntry();
+
+            final ZipEntry largeEntry = new ZipEntry("media/large.bin");
+            largeEntry.setTime(ENTRY_TIME);
+            outputStream.putNextEntry(largeEntry);
+            outputStream.write(new byte[4096]);
+            outputStream.closeEntry();
+        }
+
+        return zipFile;
+    }
+
     @Test
     public void zipSlipVulnerabilityManaged() throws IOException {
         final File zipFile = new File(testResultsDir, "zipSlipVulnerability.zip");